@@ -0,0 +1,139 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import cl.daplay.jbuda.model.OrderBook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+/**
+ * OrderBookAnalytics against the usual BigDecimal loops over OrderBook.Offer lists
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderBookAnalyticsBenchmark {
+
+    private static final BigDecimal QUANTITY = new BigDecimal("1.5");
+    private static final long FIXED_QUANTITY = 150_000_000L;
+
+    private OrderBook orderBook;
+    private PrimitiveOrderBook primitiveOrderBook;
+    private PrimitiveOrderBook changedOrderBook;
+    private OrderBookAnalytics analytics;
+    private OrderBookDiff diff;
+
+    @Setup
+    public void setup() throws IOException {
+        final String json = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+
+        orderBook = BudaJSON.INSTANCE.orderBook(json);
+        primitiveOrderBook = BudaJSON.INSTANCE.primitiveOrderBook(json, 2, 8);
+        analytics = new OrderBookAnalytics(primitiveOrderBook);
+
+        // same book with more amount at the best bid
+        final PrimitiveOrderBook.Side bids = primitiveOrderBook.bids();
+        final PrimitiveOrderBook.Side asks = primitiveOrderBook.asks();
+
+        final long[] bidPrices = new long[bids.size()];
+        final long[] bidAmounts = new long[bids.size()];
+        for (int i = 0; i < bids.size(); i++) {
+            bidPrices[i] = bids.price(i);
+            bidAmounts[i] = bids.amount(i) + (i == 0 ? 1 : 0);
+        }
+
+        final long[] askPrices = new long[asks.size()];
+        final long[] askAmounts = new long[asks.size()];
+        for (int i = 0; i < asks.size(); i++) {
+            askPrices[i] = asks.price(i);
+            askAmounts[i] = asks.amount(i);
+        }
+
+        changedOrderBook = new PrimitiveOrderBook(2, 8, bidPrices, bidAmounts, bidPrices.length, askPrices, askAmounts, askPrices.length);
+
+        final OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.update(primitiveOrderBook);
+        diff = tracker.update(changedOrderBook);
+    }
+
+    @Benchmark
+    public BigDecimal cost_bigDecimal() {
+        return cost(orderBook.getBids(), QUANTITY);
+    }
+
+    @Benchmark
+    public double cost_analytics() {
+        return analytics.cost(false, FIXED_QUANTITY);
+    }
+
+    @Benchmark
+    public BigDecimal imbalance_bigDecimal() {
+        final BigDecimal bids = depth(orderBook.getBids(), 20);
+        final BigDecimal asks = depth(orderBook.getAsks(), 20);
+        return bids.subtract(asks).divide(bids.add(asks), 8, RoundingMode.HALF_EVEN);
+    }
+
+    @Benchmark
+    public double imbalance_analytics() {
+        return analytics.imbalance(20);
+    }
+
+    @Benchmark
+    public OrderBookAnalytics update_full() {
+        analytics.update(changedOrderBook);
+        analytics.update(primitiveOrderBook);
+        return analytics;
+    }
+
+    @Benchmark
+    public OrderBookAnalytics update_incremental() {
+        // analytics is at primitiveOrderBook, which diff follows
+        analytics.update(diff);
+        analytics.update(primitiveOrderBook);
+        return analytics;
+    }
+
+    private static BigDecimal cost(final List<OrderBook.Offer> offers, final BigDecimal quantity) {
+        BigDecimal cost = BigDecimal.ZERO;
+        BigDecimal remaining = quantity;
+
+        for (OrderBook.Offer offer : offers) {
+            final BigDecimal filled = remaining.min(offer.getAmount());
+            cost = cost.add(filled.multiply(offer.getPrice()));
+            remaining = remaining.subtract(filled);
+
+            if (remaining.signum() == 0) {
+                return cost;
+            }
+        }
+
+        return null;
+    }
+
+    private static BigDecimal depth(final List<OrderBook.Offer> offers, final int levels) {
+        BigDecimal depth = BigDecimal.ZERO;
+        for (int i = 0; i < Math.min(levels, offers.size()); i++) {
+            depth = depth.add(offers.get(i).getAmount());
+        }
+        return depth;
+    }
+
+}
@@ -0,0 +1,93 @@
+package cl.daplay.jbuda.jackson;
+
+import cl.daplay.jbuda.jackson.dto.OrderBookDTO;
+import cl.daplay.jbuda.jackson.dto.OrdersDTO;
+import cl.daplay.jbuda.jackson.dto.TradesDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+/**
+ * compares parsing through ObjectMapper.readValue(json, Class) (the way JacksonJSON used to work)
+ * against JacksonJSON pre-built readers, with and without Afterburner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonJSONBenchmark {
+
+    private final ObjectMapper objectMapper = JacksonJSON.newObjectMapper();
+
+    private String orders;
+    private String trades;
+    private String orderBook;
+
+    @Setup
+    public void setup() {
+        orders = convertStreamToString(getClass().getResourceAsStream("/orders.json"));
+        trades = convertStreamToString(getClass().getResourceAsStream("/trades1.json"));
+        orderBook = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+    }
+
+    @Benchmark
+    public Object orders_objectMapper() throws IOException {
+        return objectMapper.readValue(orders, OrdersDTO.class).getOrders();
+    }
+
+    @Benchmark
+    public Object orders_instance() throws IOException {
+        return JacksonJSON.INSTANCE.orders(orders);
+    }
+
+    @Benchmark
+    public Object orders_afterburner() throws IOException {
+        return JacksonJSON.AFTERBURNER.orders(orders);
+    }
+
+    @Benchmark
+    public Object trades_objectMapper() throws IOException {
+        return objectMapper.readValue(trades, TradesDTO.class).getTrades();
+    }
+
+    @Benchmark
+    public Object trades_instance() throws IOException {
+        return JacksonJSON.INSTANCE.trades(trades);
+    }
+
+    @Benchmark
+    public Object trades_afterburner() throws IOException {
+        return JacksonJSON.AFTERBURNER.trades(trades);
+    }
+
+    @Benchmark
+    public Object orderBook_objectMapper() throws IOException {
+        return objectMapper.readValue(orderBook, OrderBookDTO.class).getOrderBook();
+    }
+
+    @Benchmark
+    public Object orderBook_instance() throws IOException {
+        return JacksonJSON.INSTANCE.orderBook(orderBook);
+    }
+
+    @Benchmark
+    public Object orderBook_afterburner() throws IOException {
+        return JacksonJSON.AFTERBURNER.orderBook(orderBook);
+    }
+
+}
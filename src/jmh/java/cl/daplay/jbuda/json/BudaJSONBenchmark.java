@@ -0,0 +1,104 @@
+package cl.daplay.jbuda.json;
+
+import cl.daplay.jbuda.JSON;
+import cl.daplay.jbuda.jackson.JacksonJSON;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+/**
+ * BudaJSON against JacksonJSON.
+ *
+ * For allocation run with GC profiler: ./gradlew jmh -Pjmh.profilers=gc
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BudaJSONBenchmark {
+
+    @Param({ "jackson", "buda" })
+    public String implementation;
+
+    private JSON json;
+
+    private String orders;
+    private String trades;
+    private String orderBook;
+    private String withdrawals;
+
+    @Setup
+    public void setup() {
+        json = "buda".equals(implementation) ? BudaJSON.INSTANCE : JacksonJSON.INSTANCE;
+
+        orders = convertStreamToString(getClass().getResourceAsStream("/orders.json"));
+        trades = convertStreamToString(getClass().getResourceAsStream("/trades1.json"));
+        orderBook = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        withdrawals = convertStreamToString(getClass().getResourceAsStream("/withdrawals_clp.json"));
+    }
+
+    @Benchmark
+    public Object orders() throws IOException {
+        return json.orders(orders);
+    }
+
+    @Benchmark
+    public Object trades() throws IOException {
+        return json.trades(trades);
+    }
+
+    @Benchmark
+    public Object orderBook() throws IOException {
+        return json.orderBook(orderBook);
+    }
+
+    @Benchmark
+    public Object withdrawals() throws IOException {
+        return json.withdrawls(withdrawals);
+    }
+
+    /**
+     * time to first parse on a fresh JVM, class loading and initialization included
+     */
+    @State(Scope.Benchmark)
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public static class ColdStart {
+
+        @Param({ "jackson", "buda" })
+        public String implementation;
+
+        private String orders;
+
+        @Setup
+        public void setup() {
+            orders = convertStreamToString(getClass().getResourceAsStream("/orders.json"));
+        }
+
+        @Benchmark
+        public Object orders() throws IOException {
+            final JSON json = "buda".equals(implementation) ? BudaJSON.INSTANCE : JacksonJSON.INSTANCE;
+            return json.orders(orders);
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+package cl.daplay.jbuda.kernel;
+
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import cl.daplay.jbuda.model.Trades;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * VWAP, buy volume and price range of a million trades: ColumnKernels (vector kernels when running on Java 17+
+ * with jdk.incubator.vector, see build.gradle), the scalar kernels, and loops over Trades.Transaction BigDecimals
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ColumnKernelsBenchmark {
+
+    private static final int TRADES = 1_000_000;
+
+    private long[] prices;
+    private long[] amounts;
+    private boolean[] buys;
+    private List<Trades.Transaction> transactions;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+
+        prices = new long[TRADES];
+        amounts = new long[TRADES];
+        buys = new boolean[TRADES];
+        transactions = new ArrayList<>(TRADES);
+
+        for (int i = 0; i < TRADES; i++) {
+            prices[i] = 380_000_000L + random.nextInt(1_000_000);
+            amounts[i] = 1_000_000L + random.nextInt(100_000_000);
+            buys[i] = random.nextBoolean();
+
+            transactions.add(new BudaTransaction(Instant.ofEpochMilli(1_500_000_000_000L + i * 250L),
+                    BigDecimal.valueOf(amounts[i], 8),
+                    BigDecimal.valueOf(prices[i], 2),
+                    buys[i] ? "buy" : "sell"));
+        }
+    }
+
+    @Benchmark
+    public double vwap() {
+        return ColumnKernels.vwap(prices, amounts, 0, TRADES);
+    }
+
+    @Benchmark
+    public double vwapScalar() {
+        return ScalarKernels.INSTANCE.dot(prices, amounts, 0, TRADES) / ScalarKernels.INSTANCE.sum(amounts, 0, TRADES);
+    }
+
+    @Benchmark
+    public BigDecimal vwapTransactions() {
+        BigDecimal notional = BigDecimal.ZERO;
+        BigDecimal volume = BigDecimal.ZERO;
+
+        for (Trades.Transaction transaction : transactions) {
+            notional = notional.add(transaction.getPrice().multiply(transaction.getAmount()));
+            volume = volume.add(transaction.getAmount());
+        }
+
+        return notional.divide(volume, MathContext.DECIMAL64);
+    }
+
+    @Benchmark
+    public long buyVolume() {
+        return ColumnKernels.sum(amounts, buys, true, 0, TRADES);
+    }
+
+    @Benchmark
+    public long buyVolumeScalar() {
+        return ScalarKernels.INSTANCE.sum(amounts, buys, true, 0, TRADES);
+    }
+
+    @Benchmark
+    public BigDecimal buyVolumeTransactions() {
+        BigDecimal volume = BigDecimal.ZERO;
+
+        for (Trades.Transaction transaction : transactions) {
+            if ("buy".equals(transaction.getDirection())) {
+                volume = volume.add(transaction.getAmount());
+            }
+        }
+
+        return volume;
+    }
+
+    @Benchmark
+    public long range() {
+        return ColumnKernels.max(prices, 0, TRADES) - ColumnKernels.min(prices, 0, TRADES);
+    }
+
+    @Benchmark
+    public long rangeScalar() {
+        return ScalarKernels.INSTANCE.max(prices, 0, TRADES) - ScalarKernels.INSTANCE.min(prices, 0, TRADES);
+    }
+
+    @Benchmark
+    public BigDecimal rangeTransactions() {
+        BigDecimal min = null;
+        BigDecimal max = null;
+
+        for (Trades.Transaction transaction : transactions) {
+            final BigDecimal price = transaction.getPrice();
+            min = min == null || price.compareTo(min) < 0 ? price : min;
+            max = max == null || price.compareTo(max) > 0 ? price : max;
+        }
+
+        return max.subtract(min);
+    }
+
+}
@@ -0,0 +1,99 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.model.Trades;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * replaying a million stored trades, against summing the same trades as Trades.Transaction objects
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TradeStoreBenchmark {
+
+    private static final int TRADES = 1_000_000;
+
+    private Path directory;
+    private TradeStore store;
+    private List<Trades.Transaction> transactions;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("jbuda-trade-store-benchmark");
+        store = TradeStore.open(directory, 2, 8);
+
+        for (int i = 0; i < TRADES; i++) {
+            store.append(1_500_000_000_000L + i * 250L, 380_000_000L + (i % 101) * 100, 1_000_000L + (i % 997) * 10_000, i % 2 == 0);
+        }
+        store.flush();
+
+        transactions = new ArrayList<>(TRADES);
+        final TradeReader reader = store.reader();
+        while (reader.next()) {
+            transactions.add(reader.transaction());
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        store.close();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long replay() throws IOException {
+        final TradeReader reader = store.reader();
+        long volume = 0;
+
+        while (reader.next()) {
+            volume += reader.amount();
+        }
+
+        return volume;
+    }
+
+    @Benchmark
+    public BigDecimal transactions() {
+        BigDecimal volume = BigDecimal.ZERO;
+
+        for (Trades.Transaction transaction : transactions) {
+            volume = volume.add(transaction.getAmount());
+        }
+
+        return volume;
+    }
+
+    @Benchmark
+    public TradeStore open() throws IOException {
+        final TradeStore reopened = TradeStore.open(directory, 2, 8);
+        reopened.close();
+        return reopened;
+    }
+
+}
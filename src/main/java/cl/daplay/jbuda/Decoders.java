@@ -0,0 +1,373 @@
+package cl.daplay.jbuda;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+
+/**
+ * Decoders for the scalar formats Buda uses, reading ASCII text straight from byte or char arrays.
+ *
+ * - instants: epoch millis ("1509127464240") or ISO-8601 ("2017-10-22T23:37:15.279Z")
+ * - decimals: plain notation ("-0.00050403")
+ *
+ * Common shapes are decoded by hand, without regex, formatters nor intermediate Strings. Anything
+ * else falls back to the JDK parsers, so results are the same as Instant.parse and new BigDecimal.
+ * Char input is first copied as ASCII into a per-thread scratch array, so it doesn't allocate either.
+ * These don't depend on any JSON library, so every JSON implementation can use them.
+ */
+public final class Decoders {
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    /**
+     * longest text decoded by hand, anything longer goes through the JDK
+     */
+    private static final int MAX_LENGTH = 64;
+
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+
+    private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[MAX_LENGTH]);
+
+    private Decoders() {}
+
+    /**
+     * @return instant from epoch millis or ISO-8601 text, null if empty
+     * @throws DateTimeParseException if text is neither
+     */
+    public static Instant parseInstant(final byte[] in, final int offset, final int length) {
+        if (length == 0) {
+            return null;
+        }
+
+        final long epochMillis = parseEpochMillis(in, offset, length);
+        if (epochMillis != Long.MIN_VALUE) {
+            return Instant.ofEpochMilli(epochMillis);
+        }
+
+        final Instant iso = parseISO(in, offset, length);
+        if (iso != null) {
+            return iso;
+        }
+
+        return parseInstantSlow(new String(in, offset, length, ISO_8859_1));
+    }
+
+    /**
+     * @see #parseInstant(byte[], int, int)
+     */
+    public static Instant parseInstant(final char[] in, final int offset, final int length) {
+        final byte[] ascii = ascii(in, offset, length);
+        return ascii == null ? parseInstantSlow(new String(in, offset, length)) : parseInstant(ascii, 0, length);
+    }
+
+    /**
+     * @return decimal with same unscaled value and scale as new BigDecimal(text), null if empty
+     * @throws NumberFormatException if text isn't a decimal
+     */
+    public static BigDecimal parseDecimal(final byte[] in, final int offset, final int length) {
+        if (length == 0) {
+            return null;
+        }
+
+        final long parsed = parseMantissa(in, offset, length);
+        if (parsed != Long.MIN_VALUE) {
+            return BigDecimal.valueOf(parsed, fractionDigits(in, offset, length));
+        }
+
+        return new BigDecimal(new String(in, offset, length, ISO_8859_1));
+    }
+
+    /**
+     * @see #parseDecimal(byte[], int, int)
+     */
+    public static BigDecimal parseDecimal(final char[] in, final int offset, final int length) {
+        final byte[] ascii = ascii(in, offset, length);
+        return ascii == null ? new BigDecimal(in, offset, length) : parseDecimal(ascii, 0, length);
+    }
+
+    /**
+     * Decodes a decimal as a fixed-point long, "12.5" at scale 2 is 1250.
+     *
+     * @return decimal times 10^scale
+     * @throws NumberFormatException if text isn't a decimal
+     * @throws ArithmeticException if value doesn't fit in a long, or it has more fraction digits than scale (other than zeros)
+     * @throws IllegalArgumentException if scale is negative
+     */
+    public static long parseFixed(final byte[] in, final int offset, final int length, final int scale) {
+        checkScale(scale);
+
+        final long mantissa = length == 0 ? Long.MIN_VALUE : parseMantissa(in, offset, length);
+
+        if (mantissa == Long.MIN_VALUE) {
+            return new BigDecimal(new String(in, offset, length, ISO_8859_1))
+                    .setScale(scale, RoundingMode.UNNECESSARY)
+                    .longValueExact();
+        }
+
+        final int fractionDigits = fractionDigits(in, offset, length);
+        if (fractionDigits <= scale) {
+            return scale - fractionDigits < POW10.length
+                    ? Math.multiplyExact(mantissa, POW10[scale - fractionDigits])
+                    : BigDecimal.valueOf(mantissa, fractionDigits).setScale(scale).longValueExact();
+        }
+
+        final long divisor = POW10[fractionDigits - scale];
+        if (mantissa % divisor != 0) {
+            throw new ArithmeticException("Rounding necessary");
+        }
+        return mantissa / divisor;
+    }
+
+    /**
+     * @see #parseFixed(byte[], int, int, int)
+     */
+    public static long parseFixed(final char[] in, final int offset, final int length, final int scale) {
+        checkScale(scale);
+
+        final byte[] ascii = ascii(in, offset, length);
+        return ascii == null
+                ? new BigDecimal(in, offset, length).setScale(scale, RoundingMode.UNNECESSARY).longValueExact()
+                : parseFixed(ascii, 0, length, scale);
+    }
+
+    /**
+     * same fixed point as parseFixed, for a decimal already decoded
+     *
+     * @return value times 10^scale
+     * @throws ArithmeticException if value doesn't fit in a long, or it has more fraction digits than scale (other than zeros)
+     */
+    public static long toFixed(final BigDecimal value, final int scale) {
+        return value.movePointRight(scale).longValueExact();
+    }
+
+    // ** implementation methods **
+
+    private static void checkScale(final int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException(format("Invalid scale: %d", scale));
+        }
+    }
+
+    /**
+     * @return digits of [+-]digits[.digits] as a long ignoring the point, Long.MIN_VALUE if
+     *         text has another shape or more than 18 digits
+     */
+    private static long parseMantissa(final byte[] in, final int offset, final int length) {
+        final int end = offset + length;
+        int i = offset;
+
+        final boolean negative = in[i] == '-';
+        if (negative || in[i] == '+') {
+            i++;
+        }
+
+        long value = 0;
+        int digits = 0;
+        boolean point = false;
+
+        for (; i < end; i++) {
+            final int c = in[i];
+
+            if (c == '.' && !point) {
+                point = true;
+                continue;
+            }
+
+            final int digit = c - '0';
+            if (digit < 0 || digit > 9 || ++digits > 18) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+
+        // "-" and "." aren't decimals
+        if (digits == 0) {
+            return Long.MIN_VALUE;
+        }
+
+        return negative ? -value : value;
+    }
+
+    private static int fractionDigits(final byte[] in, final int offset, final int length) {
+        for (int i = offset + length - 1; i >= offset; i--) {
+            if (in[i] == '.') {
+                return offset + length - 1 - i;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return millis from text made of digits only (up to 18), Long.MIN_VALUE otherwise
+     */
+    private static long parseEpochMillis(final byte[] in, final int offset, final int length) {
+        if (length > 18) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = offset; i < offset + length; i++) {
+            final int digit = in[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * @return instant from yyyy-MM-ddTHH:mm:ss[.fraction](Z|+HH:mm|-HH:mm), null if text has another shape
+     */
+    private static Instant parseISO(final byte[] in, final int offset, final int length) {
+        final int end = offset + length;
+
+        if (length < 20
+                || in[offset + 4] != '-' || in[offset + 7] != '-' || (in[offset + 10] != 'T' && in[offset + 10] != 't')
+                || in[offset + 13] != ':' || in[offset + 16] != ':') {
+            return null;
+        }
+
+        final int year = digits(in, offset, 4);
+        final int month = digits(in, offset + 5, 2);
+        final int day = digits(in, offset + 8, 2);
+        final int hour = digits(in, offset + 11, 2);
+        final int minute = digits(in, offset + 14, 2);
+        final int second = digits(in, offset + 17, 2);
+
+        if (year < 0 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)
+                || hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) {
+            return null;
+        }
+
+        int i = offset + 19;
+
+        int nanos = 0;
+        if (in[i] == '.') {
+            int fractionDigits = 0;
+            for (i++; i < end && in[i] >= '0' && in[i] <= '9'; i++) {
+                if (++fractionDigits > 9) {
+                    return null;
+                }
+                nanos = nanos * 10 + (in[i] - '0');
+            }
+            if (fractionDigits == 0) {
+                return null;
+            }
+            nanos *= (int) POW10[9 - fractionDigits];
+        }
+
+        int offsetSeconds;
+        if (i < end && (in[i] == 'Z' || in[i] == 'z')) {
+            offsetSeconds = 0;
+            i++;
+        } else if (i + 6 == end && (in[i] == '+' || in[i] == '-') && in[i + 3] == ':') {
+            final int offsetHours = digits(in, i + 1, 2);
+            final int offsetMinutes = digits(in, i + 4, 2);
+            if (offsetHours < 0 || offsetHours > 18 || offsetMinutes < 0 || offsetMinutes > 59) {
+                return null;
+            }
+            offsetSeconds = (offsetHours * 3600 + offsetMinutes * 60) * (in[i] == '-' ? -1 : 1);
+            i += 6;
+        } else {
+            return null;
+        }
+
+        if (i != end) {
+            return null;
+        }
+
+        final long epochSecond = epochDay(year, month, day) * 86_400L + hour * 3600 + minute * 60 + second - offsetSeconds;
+        return Instant.ofEpochSecond(epochSecond, nanos);
+    }
+
+    private static Instant parseInstantSlow(final String text) {
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException e) {
+            // Instant.parse doesn't take offsets before Java 12
+            return OffsetDateTime.parse(text).toInstant();
+        }
+    }
+
+    /**
+     * @return value of count digits, -1 if any isn't a digit
+     */
+    private static int digits(final byte[] in, final int offset, final int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            final int digit = in[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int daysInMonth(final int year, final int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * same as LocalDate.of(year, month, day).toEpochDay(), for years 0 to 9999
+     */
+    private static long epochDay(final long year, final long month, final int day) {
+        long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+
+        if (month > 2) {
+            total--;
+            if (!isLeapYear(year)) {
+                total--;
+            }
+        }
+
+        return total - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * @return chars as bytes, from 0 to length of this thread's scratch array, null if any isn't ASCII or text is
+     *         too long to be decoded by hand
+     */
+    private static byte[] ascii(final char[] in, final int offset, final int length) {
+        if (length > MAX_LENGTH) {
+            return null;
+        }
+
+        final byte[] out = SCRATCH.get();
+        for (int i = 0; i < length; i++) {
+            final char c = in[offset + i];
+            if (c > 127) {
+                return null;
+            }
+            out[i] = (byte) c;
+        }
+        return out;
+    }
+
+}
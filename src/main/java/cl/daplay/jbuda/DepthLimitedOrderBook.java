@@ -0,0 +1,57 @@
+package cl.daplay.jbuda;
+
+import cl.daplay.jbuda.model.OrderBook;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * first levels of another order book, used by JSON implementations which can't stop parsing at a given depth
+ */
+final class DepthLimitedOrderBook implements OrderBook {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    static OrderBook of(final OrderBook orderBook, final int maxDepth) {
+        if (orderBook == null) {
+            return null;
+        }
+
+        if (orderBook.getBids().size() <= maxDepth && orderBook.getAsks().size() <= maxDepth) {
+            return orderBook;
+        }
+
+        return new DepthLimitedOrderBook(limit(orderBook.getBids(), maxDepth), limit(orderBook.getAsks(), maxDepth));
+    }
+
+    private final List<Offer> bids;
+    private final List<Offer> asks;
+
+    private DepthLimitedOrderBook(final List<Offer> bids, final List<Offer> asks) {
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    @Override
+    public List<Offer> getBids() {
+        return bids;
+    }
+
+    @Override
+    public List<Offer> getAsks() {
+        return asks;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBook{" +
+                "bids=" + bids +
+                ", asks=" + asks +
+                '}';
+    }
+
+    private static List<Offer> limit(final List<Offer> offers, final int maxDepth) {
+        return new ArrayList<>(offers.subList(0, Math.min(maxDepth, offers.size())));
+    }
+
+}
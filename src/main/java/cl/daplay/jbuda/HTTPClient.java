@@ -1,5 +1,9 @@
 package cl.daplay.jbuda;
 
+import java.nio.ByteBuffer;
+
+import static cl.daplay.jbuda.Utils.decode;
+
 public interface HTTPClient {
 
     @FunctionalInterface
@@ -7,6 +11,20 @@ public interface HTTPClient {
 
         T handle(final int statusCode, final String responseBody) throws Exception;
 
+        /**
+         * @param responseBody UTF-8 bytes between position and limit, may be a pooled buffer
+         *                     so it must not be kept after returning
+         */
+        default T handle(final int statusCode, final ByteBuffer responseBody) throws Exception {
+            return handle(statusCode, decode(responseBody));
+        }
+
+        /**
+         * called right before the request is sent, once it no longer waits on other requests; again on every retry
+         */
+        default void onSend() {
+        }
+
     }
 
     <T> T get(String path, Signer signer, HTTPResponseHandler<T> responseMapper) throws Exception;
@@ -1,5 +1,6 @@
 package cl.daplay.jbuda;
 
+import cl.daplay.jbuda.book.PrimitiveOrderBook;
 import cl.daplay.jbuda.http.DefaultHTTPClient;
 import cl.daplay.jbuda.http.RetryHTTPClient;
 import cl.daplay.jbuda.jackson.JacksonJSON;
@@ -7,28 +8,40 @@ import cl.daplay.jbuda.model.ApiKey;
 import cl.daplay.jbuda.model.Page;
 import cl.daplay.jbuda.model.Ticker;
 import cl.daplay.jbuda.model.Balance;
+import cl.daplay.jbuda.model.CurrencyRegistry;
 import cl.daplay.jbuda.model.Deposit;
+import cl.daplay.jbuda.model.DepositField;
 import cl.daplay.jbuda.model.Market;
 import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.model.OrderField;
 import cl.daplay.jbuda.model.OrderBook;
 import cl.daplay.jbuda.model.Trades;
 import cl.daplay.jbuda.model.Withdrawal;
+import cl.daplay.jbuda.model.WithdrawalField;
+import cl.daplay.jbuda.page.PageIterator;
+import cl.daplay.jbuda.page.PageSizer;
+import cl.daplay.jbuda.page.PagedList;
 import cl.daplay.jbuda.signer.DefaultSigner;
 import cl.daplay.jbuda.signer.NOOPSigner;
+import cl.daplay.jbuda.trades.TradeCursor;
 import cl.daplay.jfun.ThrowingFunction;
-import cl.daplay.lazylist.LazyList;
 
 import java.math.BigDecimal;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
+import java.nio.ByteBuffer;
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.LongSupplier;
+import java.util.stream.Stream;
 import java.util.logging.Logger;
 
+import static cl.daplay.jbuda.Utils.encode;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 
@@ -71,6 +84,8 @@ public class JBuda {
     private final JSON json;
     private final Signer defaultSigner;
     private final Signer noSignatureSigner;
+    private final int pagePrefetch;
+    private final PageSizer pageSizer;
 
     public JBuda() {
         this(null, null, JBuda.newNonce(), null, HTTP_MAX_RETRY);
@@ -92,7 +107,7 @@ public class JBuda {
         this(key, secret, nonceSupplier, JacksonJSON.INSTANCE, httpProxy == null ? null : new Proxy(Proxy.Type.HTTP, httpProxy), httpMaxRetry);
     }
 
-    public JBuda(final String key, final String secret, final LongSupplier nonceSupplier, final JacksonJSON json, final Proxy proxy, int httpMaxRetry) {
+    public JBuda(final String key, final String secret, final LongSupplier nonceSupplier, final JSON json, final Proxy proxy, int httpMaxRetry) {
         this(new RetryHTTPClient(new DefaultHTTPClient(proxy, key, nonceSupplier, VERSION_SUPPLIER.get()), httpMaxRetry),
                 newBigDecimalFormat(), 
                 json,
@@ -101,11 +116,17 @@ public class JBuda {
     }
 
     public JBuda(JBuda other) {
+        this(other, other.pagePrefetch);
+    }
+
+    private JBuda(final JBuda other, final int pagePrefetch) {
         this.bigDecimalFormat = other.bigDecimalFormat;
         this.httpClient = other.httpClient;
         this.json = other.json;
         this.defaultSigner = other.defaultSigner;
         this.noSignatureSigner = other.noSignatureSigner;
+        this.pagePrefetch = pagePrefetch;
+        this.pageSizer = other.pageSizer;
     }
 
     public JBuda(final HTTPClient httpClient,
@@ -118,6 +139,25 @@ public class JBuda {
         this.json = json;
         this.defaultSigner = defaultSigner;
         this.noSignatureSigner = noSignatureSigner;
+        this.pagePrefetch = 0;
+        this.pageSizer = new PageSizer();
+    }
+
+    /**
+     * Paginated lists (orders, deposits, withdrawals) of the returned client fetch all their remaining pages in the
+     * background right after the first one, up to parallelism at once, see PrefetchingList. 0 goes back to
+     * fetching each page when it's first accessed.
+     *
+     * Signed requests (ie: private endpoints) are still sent one at a time in nonce order by DefaultHTTPClient,
+     * so they only overlap with reading and parsing other pages. Custom HTTPClients sharing a nonce supplier
+     * must keep that order too.
+     */
+    public JBuda withPagePrefetch(final int parallelism) {
+        if (parallelism < 0) {
+            throw new IllegalArgumentException(format("Invalid parallelism: %d", parallelism));
+        }
+
+        return new JBuda(this, parallelism);
     }
 
     public ApiKey newAPIKey(final String name, final Instant expiration) throws Exception {
@@ -147,6 +187,14 @@ public class JBuda {
         return httpClient.get(path, noSignatureSigner, responseHandler(json::trades));
     }
 
+    /**
+     * @return trades from newest to oldest between from (inclusive) and to (exclusive), paging through
+     * getTrades(marketId, timestamp) one batch ahead, see TradeCursor. Close the stream when done early.
+     */
+    public Stream<Trades.Transaction> streamTrades(final String marketId, final Instant from, final Instant to) {
+        return new TradeCursor(this, marketId, from, to).stream();
+    }
+
     public Order cancelOrder(final long orderId) throws Exception {
         checkOrderId(orderId);
         final String path = format("/api/v2/orders/%d", orderId);
@@ -161,6 +209,14 @@ public class JBuda {
         return httpClient.get(path, noSignatureSigner, responseHandler(json::markets));
     }
 
+    /**
+     * @return currencies of every market, with the scale their amounts are kept at. Markets rarely
+     * change, so callers should keep the registry instead of fetching it on each use.
+     */
+    public CurrencyRegistry getCurrencies() throws Exception {
+        return CurrencyRegistry.of(getMarkets());
+    }
+
     public Ticker getTicker(final String marketId) throws Exception {
         final String path = format("/api/v2/markets/%s/ticker", marketId).toLowerCase();
         return httpClient.get(path, noSignatureSigner, responseHandler(json::ticker));
@@ -171,6 +227,36 @@ public class JBuda {
         return httpClient.get(path, noSignatureSigner, responseHandler(json::orderBook));
     }
 
+    /**
+     * @return order book with up to maxDepth levels on each side, deeper levels aren't parsed
+     */
+    public OrderBook getOrderBook(final String marketId, final int maxDepth) throws Exception {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException(format("Invalid max depth: %d", maxDepth));
+        }
+
+        final String path = format("/api/v2/markets/%s/order_book", marketId).toLowerCase();
+        return httpClient.get(path, noSignatureSigner, responseHandler(responseBody -> json.orderBook(responseBody, maxDepth)));
+    }
+
+    /**
+     * @param priceScale fraction digits kept from prices, ie: 0 for CLP prices, 2 for USD prices
+     * @param amountScale fraction digits kept from amounts, ie: 8 for BTC amounts
+     * @return order book as fixed-point arrays, parsed without building an Offer per level
+     */
+    public PrimitiveOrderBook getPrimitiveOrderBook(final String marketId, final int priceScale, final int amountScale) throws Exception {
+        final String path = format("/api/v2/markets/%s/order_book", marketId).toLowerCase();
+        return httpClient.get(path, noSignatureSigner, responseHandler(responseBody -> json.primitiveOrderBook(responseBody, priceScale, amountScale)));
+    }
+
+    /**
+     * @return order book as fixed-point arrays, prices at the market's quote currency scale and
+     * amounts at its base currency scale
+     */
+    public PrimitiveOrderBook getPrimitiveOrderBook(final String marketId, final CurrencyRegistry currencies) throws Exception {
+        return getPrimitiveOrderBook(marketId, currencies.quote(marketId).getScale(), currencies.base(marketId).getScale());
+    }
+
     public Balance getBalance(final String currency) throws Exception {
         final String path = format("/api/v2/balances/%s", currency).toLowerCase();
         return httpClient.get(path, defaultSigner, responseHandler(json::balance));
@@ -200,6 +286,57 @@ public class JBuda {
         return newPaginatedList(path, defaultSigner, json::orders);
     }
 
+    /**
+     * @param fields properties to read, others are skipped while parsing and left null (or 0)
+     */
+    public List<Order> getOrders(final String marketId, final Set<OrderField> fields) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders", marketId).toLowerCase();
+        return newPaginatedList(path, defaultSigner, responseBody -> json.orders(responseBody, fields));
+    }
+
+    /**
+     * @param fields properties to read, others are skipped while parsing and left null (or 0)
+     */
+    public List<Order> getOrders(final String marketId, final String orderState, final Set<OrderField> fields) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders?state=%s&algo=", marketId, orderState).toLowerCase();
+        return newPaginatedList(path, defaultSigner, responseBody -> json.orders(responseBody, fields));
+    }
+
+    /**
+     * @return every order of market, newest first, reading one page ahead and keeping at most two pages in
+     * memory, see PageIterator. Pages are as large as PageSizer.scan() allows. Close the stream when done early.
+     */
+    public Stream<Order> streamOrders(final String marketId) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders", marketId).toLowerCase();
+        return newPaginatedStream(path, defaultSigner, json::orders);
+    }
+
+    /**
+     * @return orders of market in orderState, as streamOrders(marketId)
+     */
+    public Stream<Order> streamOrders(final String marketId, final String orderState) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders?state=%s&algo=", marketId, orderState).toLowerCase();
+        return newPaginatedStream(path, defaultSigner, json::orders);
+    }
+
+    /**
+     * @return up to limit newest orders of market, fetched in pages of about limit orders, see PageSizer
+     * @throws IllegalArgumentException if limit isn't positive
+     */
+    public List<Order> getLatestOrders(final String marketId, final int limit) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders", marketId).toLowerCase();
+        return newLatestList(path, defaultSigner, json::orders, limit);
+    }
+
+    /**
+     * @return up to limit newest orders of market in orderState, as getLatestOrders(marketId, limit)
+     * @throws IllegalArgumentException if limit isn't positive
+     */
+    public List<Order> getLatestOrders(final String marketId, final String orderState, final int limit) throws Exception {
+        final String path = format("/api/v2/markets/%s/orders?state=%s&algo=", marketId, orderState).toLowerCase();
+        return newLatestList(path, defaultSigner, json::orders, limit);
+    }
+
     public Order getOrder(final long orderId) throws Exception {
         checkOrderId(orderId);
         final String path = format("/api/v2/orders/%d", orderId).toLowerCase();
@@ -216,47 +353,199 @@ public class JBuda {
         return newPaginatedList(path, defaultSigner, json::withdrawls);
     }
 
+    /**
+     * @return every deposit of currency, as streamOrders(marketId)
+     */
+    public Stream<Deposit> streamDeposits(final String currency) throws Exception {
+        final String path = format("/api/v2/currencies/%s/deposits", currency).toLowerCase();
+        return newPaginatedStream(path, defaultSigner, json::deposits);
+    }
+
+    /**
+     * @return every withdrawal of currency, as streamOrders(marketId)
+     */
+    public Stream<Withdrawal> streamWithdrawals(final String currency) throws Exception {
+        final String path = format("/api/v2/currencies/%s/withdrawals", currency).toLowerCase();
+        return newPaginatedStream(path, defaultSigner, json::withdrawls);
+    }
+
+    /**
+     * @param fields properties to read, others are skipped while parsing and left null (or 0)
+     */
+    public List<Deposit> getDeposits(final String currency, final Set<DepositField> fields) throws Exception {
+        final String path = format("/api/v2/currencies/%s/deposits", currency).toLowerCase();
+        return newPaginatedList(path, defaultSigner, responseBody -> json.deposits(responseBody, fields));
+    }
+
+    /**
+     * @param fields properties to read, others are skipped while parsing and left null (or 0)
+     */
+    public List<Withdrawal> getWithdrawals(final String currency, final Set<WithdrawalField> fields) throws Exception {
+        final String path = format("/api/v2/currencies/%s/withdrawals", currency).toLowerCase();
+        return newPaginatedList(path, defaultSigner, responseBody -> json.withdrawls(responseBody, fields));
+    }
+
     public String getVersion() {
         return VERSION_SUPPLIER.get();
     }
 
     // ** implementation methods **
 
-    private <T> LazyList<T> newPaginatedList(String path,
-                                             Signer signer,
-                                             ThrowingFunction<String, List<T>> parseList) throws Exception {
-        return httpClient.get(path, signer, responseHandler((responseBody) -> {
+    private <T> List<T> newPaginatedList(String path,
+                                         Signer signer,
+                                         ThrowingFunction<ByteBuffer, List<T>> parseList) throws Exception {
+        final SendTime sent = new SendTime();
+
+        final PagedList<T> list = httpClient.get(path, signer, responseHandler(sent, (responseBody) -> {
             final List<T> page = parseList.apply(responseBody);
             final Page pagination = json.page(responseBody);
+            pageSizer.record(page.size(), sent.elapsed());
+
+            // lists keep buda.com's page size, as they may only be read at their head
+            final ThrowingFunction<Integer, List<T>> loader = pageLoader(path, signer, parseList, 0);
 
-            final int totalPages = pagination.getTotalPages();
-            final int totalCount = pagination.getTotalCount();
+            return new PagedList<>(page, loader, pagination.getTotalPages(), pagination.getTotalCount());
+        }));
 
-            return new LazyList<>(page, index -> {
-                final boolean append = path.contains("?");
-                final String nextPath = format("%s%spage=%d", path, append ? "&" : "?", index + 1);
+        // prefetching starts once the first request is done
+        return pagePrefetch > 0 ? list.prefetch(pagePrefetch) : list;
+    }
 
-                return httpClient.get(nextPath, signer, responseHandler(parseList));
-            }, totalPages, totalCount);
+    private <T> Stream<T> newPaginatedStream(String path,
+                                             Signer signer,
+                                             ThrowingFunction<ByteBuffer, List<T>> parseList) throws Exception {
+        // the whole scan uses the same page size, so pages don't overlap
+        final int per = pageSizer.scan();
+        final SendTime sent = new SendTime();
+
+        return httpClient.get(pagePath(path, 0, per), signer, responseHandler(sent, (responseBody) -> {
+            final List<T> page = parseList.apply(responseBody);
+            final Page pagination = json.page(responseBody);
+            pageSizer.record(page.size(), sent.elapsed());
+
+            return new PageIterator<>(page, pageLoader(path, signer, parseList, per), pagination.getTotalPages()).stream();
         }));
     }
 
+    private <T> List<T> newLatestList(String path,
+                                      Signer signer,
+                                      ThrowingFunction<ByteBuffer, List<T>> parseList,
+                                      int limit) throws Exception {
+        if (limit < 1) {
+            throw new IllegalArgumentException(format("Invalid limit: %d", limit));
+        }
+
+        final int per = pageSizer.latest(limit);
+        final ThrowingFunction<Integer, List<T>> loader = pageLoader(path, signer, parseList, per);
+
+        final List<T> out = new ArrayList<>(Math.min(limit, per));
+
+        for (int index = 0; out.size() < limit; index++) {
+            final List<T> page = loader.apply(index);
+            out.addAll(page.subList(0, Math.min(page.size(), limit - out.size())));
+
+            if (page.size() < per) {
+                break;
+            }
+        }
+
+        return out;
+    }
+
+    /**
+     * @param per page size, 0 for buda.com's default
+     * @return function fetching a page of path by index, 0 being the first one
+     */
+    private <T> ThrowingFunction<Integer, List<T>> pageLoader(String path,
+                                                              Signer signer,
+                                                              ThrowingFunction<ByteBuffer, List<T>> parseList,
+                                                              int per) {
+        return index -> {
+            final SendTime sent = new SendTime();
+            final List<T> page = httpClient.get(pagePath(path, index + 1, per), signer, responseHandler(sent, parseList));
+            pageSizer.record(page.size(), sent.elapsed());
+
+            return page;
+        };
+    }
+
+    /**
+     * @param page 1 based, 0 to leave it out
+     * @param per 0 to leave it out
+     */
+    private static String pagePath(final String path, final int page, final int per) {
+        final StringBuilder out = new StringBuilder(path);
+
+        if (page > 0) {
+            out.append(out.indexOf("?") < 0 ? '?' : '&').append("page=").append(page);
+        }
+        if (per > 0) {
+            out.append(out.indexOf("?") < 0 ? '?' : '&').append("per=").append(per);
+        }
+
+        return out.toString();
+    }
+
     private void checkOrderId(final long orderId) {
         if (orderId <= 0) {
             throw new IllegalArgumentException(format("Invalid order id: %d", orderId));
         }
     }
 
-    private <T> HTTPClient.HTTPResponseHandler<T> responseHandler(final ThrowingFunction<String, T> mapper) {
-        return (statusCode, responseBody) -> {
-            // OK(200) or CREATED(201)
-            final boolean successful = statusCode == 200 || statusCode == 201;
-            if (!successful) {
-                throw json.exception(statusCode, responseBody);
+    /**
+     * response bodies are parsed from the bytes read by the HTTPClient, without decoding them to String first
+     */
+    private <T> HTTPClient.HTTPResponseHandler<T> responseHandler(final ThrowingFunction<ByteBuffer, T> mapper) {
+        return responseHandler(null, mapper);
+    }
+
+    /**
+     * @param sent stamped when the request is sent, so page latencies don't count time queued behind other requests
+     */
+    private <T> HTTPClient.HTTPResponseHandler<T> responseHandler(final SendTime sent, final ThrowingFunction<ByteBuffer, T> mapper) {
+        return new HTTPClient.HTTPResponseHandler<T>() {
+
+            @Override
+            public void onSend() {
+                if (sent != null) {
+                    sent.stamp();
+                }
+            }
+
+            @Override
+            public T handle(final int statusCode, final ByteBuffer responseBody) throws Exception {
+                // OK(200) or CREATED(201)
+                final boolean successful = statusCode == 200 || statusCode == 201;
+                if (!successful) {
+                    throw json.exception(statusCode, responseBody);
+                }
+
+                return mapper.apply(responseBody);
+            }
+
+            @Override
+            public T handle(final int statusCode, final String responseBody) throws Exception {
+                return handle(statusCode, encode(responseBody));
             }
 
-            return mapper.apply(responseBody);
         };
     }
 
+    /**
+     * time a request was sent, see HTTPResponseHandler.onSend, its creation time until the client calls it
+     */
+    private final static class SendTime {
+
+        private volatile long nanos = System.nanoTime();
+
+        private void stamp() {
+            nanos = System.nanoTime();
+        }
+
+        private long elapsed() {
+            return System.nanoTime() - nanos;
+        }
+
+    }
+
 }
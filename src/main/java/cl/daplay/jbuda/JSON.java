@@ -1,21 +1,29 @@
 package cl.daplay.jbuda;
 
+import cl.daplay.jbuda.book.PrimitiveOrderBook;
 import cl.daplay.jbuda.model.ApiKey;
 import cl.daplay.jbuda.model.JBudaException;
 import cl.daplay.jbuda.model.Page;
 import cl.daplay.jbuda.model.Ticker;
 import cl.daplay.jbuda.model.Balance;
 import cl.daplay.jbuda.model.Deposit;
+import cl.daplay.jbuda.model.DepositField;
 import cl.daplay.jbuda.model.Market;
 import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.model.OrderField;
 import cl.daplay.jbuda.model.OrderBook;
 import cl.daplay.jbuda.model.Trades;
 import cl.daplay.jbuda.model.Withdrawal;
+import cl.daplay.jbuda.model.WithdrawalField;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.List;
+import java.util.Set;
+
+import static cl.daplay.jbuda.Utils.decode;
 
 public interface JSON {
 
@@ -38,6 +46,23 @@ public interface JSON {
 
     OrderBook orderBook(String json) throws IOException;
 
+    /**
+     * @return order book with up to maxDepth levels on each side. Implementations should skip deeper
+     * levels while parsing, this default parses the whole book and drops them afterwards.
+     */
+    default OrderBook orderBook(String json, int maxDepth) throws IOException {
+        return DepthLimitedOrderBook.of(orderBook(json), maxDepth);
+    }
+
+    /**
+     * @return order book with prices and amounts as fixed-point longs at given scales. Implementations
+     * should parse straight into it, this default converts the result of orderBook.
+     */
+    default PrimitiveOrderBook primitiveOrderBook(String json, int priceScale, int amountScale) throws IOException {
+        final OrderBook orderBook = orderBook(json);
+        return orderBook == null ? null : PrimitiveOrderBook.of(orderBook, priceScale, amountScale);
+    }
+
     Balance balance(String json) throws IOException;
 
     Trades trades(String json) throws IOException;
@@ -52,7 +77,98 @@ public interface JSON {
 
     List<Withdrawal> withdrawls(String json) throws IOException;
 
+    // projected variants: implementations may skip properties not in fields, leaving them null (or 0).
+    // Defaults read every property.
+
+    default List<Order> orders(String json, Set<OrderField> fields) throws IOException {
+        return orders(json);
+    }
+
+    default List<Deposit> deposits(String json, Set<DepositField> fields) throws IOException {
+        return deposits(json);
+    }
+
+    default List<Withdrawal> withdrawls(String json, Set<WithdrawalField> fields) throws IOException {
+        return withdrawls(json);
+    }
+
     Page page(String json) throws IOException;
 
     JBudaException exception(int statusCode, String json) throws Exception;
+
+    // ByteBuffer variants parse UTF-8 bytes between position and limit, as read from the wire.
+    // Buffers may be pooled: implementations can't modify nor keep a reference to them after returning.
+    // Defaults decode to String, override them to parse bytes directly.
+
+    default ApiKey apiKey(ByteBuffer json) throws IOException {
+        return apiKey(decode(json));
+    }
+
+    default Order order(ByteBuffer json) throws IOException {
+        return order(decode(json));
+    }
+
+    default Ticker ticker(ByteBuffer json) throws IOException {
+        return ticker(decode(json));
+    }
+
+    default OrderBook orderBook(ByteBuffer json) throws IOException {
+        return orderBook(decode(json));
+    }
+
+    default OrderBook orderBook(ByteBuffer json, int maxDepth) throws IOException {
+        return orderBook(decode(json), maxDepth);
+    }
+
+    default PrimitiveOrderBook primitiveOrderBook(ByteBuffer json, int priceScale, int amountScale) throws IOException {
+        return primitiveOrderBook(decode(json), priceScale, amountScale);
+    }
+
+    default Balance balance(ByteBuffer json) throws IOException {
+        return balance(decode(json));
+    }
+
+    default Trades trades(ByteBuffer json) throws IOException {
+        return trades(decode(json));
+    }
+
+    default List<Market> markets(ByteBuffer json) throws IOException {
+        return markets(decode(json));
+    }
+
+    default List<Balance> balances(ByteBuffer json) throws IOException {
+        return balances(decode(json));
+    }
+
+    default List<Order> orders(ByteBuffer json) throws IOException {
+        return orders(decode(json));
+    }
+
+    default List<Deposit> deposits(ByteBuffer json) throws IOException {
+        return deposits(decode(json));
+    }
+
+    default List<Withdrawal> withdrawls(ByteBuffer json) throws IOException {
+        return withdrawls(decode(json));
+    }
+
+    default List<Order> orders(ByteBuffer json, Set<OrderField> fields) throws IOException {
+        return orders(decode(json), fields);
+    }
+
+    default List<Deposit> deposits(ByteBuffer json, Set<DepositField> fields) throws IOException {
+        return deposits(decode(json), fields);
+    }
+
+    default List<Withdrawal> withdrawls(ByteBuffer json, Set<WithdrawalField> fields) throws IOException {
+        return withdrawls(decode(json), fields);
+    }
+
+    default Page page(ByteBuffer json) throws IOException {
+        return page(decode(json));
+    }
+
+    default JBudaException exception(int statusCode, ByteBuffer json) throws Exception {
+        return exception(statusCode, decode(json));
+    }
 }
@@ -5,4 +5,11 @@ public interface Signer {
 
 	String sign(final String body, final String method, final String path, long nonce) throws Exception;
 
+	/**
+	 * @return false if sign always returns an empty signature, so requests don't wait for signed ones
+	 */
+	default boolean isSigning() {
+		return true;
+	}
+
 }
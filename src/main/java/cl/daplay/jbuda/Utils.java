@@ -1,12 +1,37 @@
 package cl.daplay.jbuda;
 
 import java.io.Reader;
+import java.nio.ByteBuffer;
 import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
 
 public final class Utils {
 
+    /**
+     * runs background requests (page and trade prefetch), on daemon threads
+     */
+    public final static ExecutorService PREFETCH_EXECUTOR = Executors.newCachedThreadPool(newDaemonThreadFactory("jbuda-prefetch-"));
+
     private Utils() {}
 
+    /**
+     * @return factory of daemon threads named prefix plus a counter
+     */
+    public static ThreadFactory newDaemonThreadFactory(final String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+
+        return runnable -> {
+            final Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
     public static boolean isEmpty(String cs) {
         return cs == null || cs.trim().length() == 0;
     }
@@ -16,6 +41,17 @@ public final class Utils {
         return s.hasNext() ? s.next() : "";
     }
 
+    /**
+     * @return UTF-8 bytes between position and limit as String, buffer is left untouched
+     */
+    public static String decode(ByteBuffer buffer) {
+        return UTF_8.decode(buffer.duplicate()).toString();
+    }
+
+    public static ByteBuffer encode(String string) {
+        return ByteBuffer.wrap(string.getBytes(UTF_8));
+    }
+
     public static String convertStreamToString(Reader is) {
         Scanner s = new Scanner(is).useDelimiter("\\A");
         return s.hasNext() ? s.next() : "";
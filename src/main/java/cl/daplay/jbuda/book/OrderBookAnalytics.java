@@ -0,0 +1,251 @@
+package cl.daplay.jbuda.book;
+
+import java.util.Arrays;
+
+/**
+ * Market impact estimates over a {@link PrimitiveOrderBook}: cost and average price to fill a
+ * quantity, price reached after filling it, depth near mid, imbalance and weighted mid.
+ *
+ * Quantities and prices are fixed-point longs at the book's scales, costs and averages are doubles
+ * in the quote currency. Cumulative amounts come from the book, cumulative notional (price times
+ * amount) is computed here, so fills are a binary search plus one level of arithmetic.
+ *
+ * Updating from an OrderBookDiff only recomputes cumulative notional from the first changed level
+ * down, so changes near the top are cheap. Register it on an OrderBookTracker to keep it current.
+ * Instances aren't thread safe.
+ */
+public final class OrderBookAnalytics implements OrderBookListener {
+
+    /**
+     * basis points are taken to the hundredth, so depthWithin() bands are exact in fixed point
+     */
+    private final static long BPS_UNIT = 100 * 10_000;
+
+    private PrimitiveOrderBook book;
+    private double[] bidNotional = new double[0];
+    private double[] askNotional = new double[0];
+    private double notionalUnit;
+    private double priceUnit;
+    private double amountUnit;
+
+    public OrderBookAnalytics(final PrimitiveOrderBook book) {
+        update(book);
+    }
+
+    public PrimitiveOrderBook getBook() {
+        return book;
+    }
+
+    /**
+     * recomputes everything for book
+     */
+    public void update(final PrimitiveOrderBook book) {
+        this.book = book;
+        this.priceUnit = Math.pow(10, -book.getPriceScale());
+        this.amountUnit = Math.pow(10, -book.getAmountScale());
+        this.notionalUnit = priceUnit * amountUnit;
+
+        bidNotional = notional(book.bids(), bidNotional, 0);
+        askNotional = notional(book.asks(), askNotional, 0);
+    }
+
+    /**
+     * recomputes from the first level diff changed on each side, or everything if diff doesn't follow the current book
+     */
+    public void update(final OrderBookDiff diff) {
+        if (diff.getPrevious() != book) {
+            update(diff.getCurrent());
+            return;
+        }
+
+        final PrimitiveOrderBook current = diff.getCurrent();
+        this.book = current;
+
+        bidNotional = notional(current.bids(), bidNotional, firstChanged(current.bids(), diff.bids()));
+        askNotional = notional(current.asks(), askNotional, firstChanged(current.asks(), diff.asks()));
+    }
+
+    @Override
+    public void onChange(final OrderBookDiff diff) {
+        update(diff);
+    }
+
+    /**
+     * @return mid price, NaN if any side is empty
+     */
+    public double mid() {
+        if (book.bids().isEmpty() || book.asks().isEmpty()) {
+            return Double.NaN;
+        }
+        return (book.bids().price(0) + (double) book.asks().price(0)) / 2 * priceUnit;
+    }
+
+    /**
+     * @return best prices weighted by the amount on the opposite side, NaN if any side is empty
+     */
+    public double weightedMid() {
+        if (book.bids().isEmpty() || book.asks().isEmpty()) {
+            return Double.NaN;
+        }
+
+        final double bidAmount = book.bids().amount(0);
+        final double askAmount = book.asks().amount(0);
+
+        return (book.bids().price(0) * askAmount + book.asks().price(0) * bidAmount) / (bidAmount + askAmount) * priceUnit;
+    }
+
+    /**
+     * @return (bid depth - ask depth) / (bid depth + ask depth) over the first levels of each side, in [-1, 1]
+     */
+    public double imbalance(final int levels) {
+        final long bidDepth = depth(book.bids(), levels);
+        final long askDepth = depth(book.asks(), levels);
+
+        return bidDepth + askDepth == 0 ? 0 : (bidDepth - (double) askDepth) / (bidDepth + askDepth);
+    }
+
+    /**
+     * @param bps band around mid, in basis points rounded to the hundredth
+     * @return amount of side within bps basis points of mid, at amount scale
+     */
+    public long depthWithin(final boolean bids, final double bps) {
+        if (book.bids().isEmpty() || book.asks().isEmpty()) {
+            return 0;
+        }
+
+        // mid * (1 -/+ bps / 10_000), as (best bid + best ask) * (BPS_UNIT -/+ band) / (2 * BPS_UNIT)
+        final long sum = book.bids().price(0) + book.asks().price(0);
+        final long band = Math.round(bps * 100);
+
+        if (bids) {
+            return book.bids().depthAt(-scale(-sum, BPS_UNIT - band, 2 * BPS_UNIT));
+        }
+        return book.asks().depthAt(scale(sum, BPS_UNIT + band, 2 * BPS_UNIT));
+    }
+
+    /**
+     * @param buy true to fill against asks, false against bids
+     * @param quantity at amount scale
+     * @return quote currency paid (or received) filling quantity, NaN if side doesn't have it
+     */
+    public double cost(final boolean buy, final long quantity) {
+        final PrimitiveOrderBook.Side side = buy ? book.asks() : book.bids();
+        final double[] notional = buy ? askNotional : bidNotional;
+
+        final int level = fillLevel(side, quantity);
+        if (level < 0) {
+            return Double.NaN;
+        }
+
+        final long before = level == 0 ? 0 : side.depth(level - 1);
+        final double notionalBefore = level == 0 ? 0 : notional[level - 1];
+
+        return (notionalBefore + (double) (quantity - before) * side.price(level)) * notionalUnit;
+    }
+
+    /**
+     * @return average price filling quantity (VWAP), NaN if side doesn't have it
+     */
+    public double averagePrice(final boolean buy, final long quantity) {
+        return quantity == 0 ? Double.NaN : cost(buy, quantity) / (quantity * amountUnit);
+    }
+
+    /**
+     * @return price of the last level touched filling quantity, at price scale, -1 if side doesn't have it
+     */
+    public long priceAfter(final boolean buy, final long quantity) {
+        final PrimitiveOrderBook.Side side = buy ? book.asks() : book.bids();
+        final int level = fillLevel(side, quantity);
+
+        return level < 0 ? -1 : side.price(level);
+    }
+
+    /**
+     * @return average price filling quantity relative to best price, in basis points, NaN if side doesn't have it
+     */
+    public double slippage(final boolean buy, final long quantity) {
+        final PrimitiveOrderBook.Side side = buy ? book.asks() : book.bids();
+
+        if (side.isEmpty()) {
+            return Double.NaN;
+        }
+
+        final double best = side.price(0) * priceUnit;
+        final double slippage = (averagePrice(buy, quantity) - best) / best * 10_000;
+
+        return buy ? slippage : -slippage;
+    }
+
+    // ** implementation methods **
+
+    /**
+     * @return floor(value * numerator / denominator), without overflowing for any price and |numerator| <= denominator
+     */
+    private static long scale(final long value, final long numerator, final long denominator) {
+        final long quotient = Math.floorDiv(value, denominator);
+        final long remainder = Math.floorMod(value, denominator);
+
+        return quotient * numerator + Math.floorDiv(remainder * numerator, denominator);
+    }
+
+    /**
+     * @return first level whose cumulative amount reaches quantity, -1 if none
+     */
+    private static int fillLevel(final PrimitiveOrderBook.Side side, final long quantity) {
+        if (quantity <= 0) {
+            return side.isEmpty() ? -1 : 0;
+        }
+
+        if (side.totalDepth() < quantity) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = side.size() - 1;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (side.depth(mid) < quantity) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private static long depth(final PrimitiveOrderBook.Side side, final int levels) {
+        final int last = Math.min(levels, side.size()) - 1;
+        return last < 0 ? 0 : side.depth(last);
+    }
+
+    /**
+     * @return level of current where changes start, size of current if there are none
+     */
+    private static int firstChanged(final PrimitiveOrderBook.Side current, final OrderBookDiff.Levels changes) {
+        if (changes.size() == 0) {
+            return current.size();
+        }
+
+        final int index = current.indexOf(changes.price(0));
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * @return cumulative price times amount of side, reusing out when it's big enough and keeping levels before from
+     */
+    private static double[] notional(final PrimitiveOrderBook.Side side, final double[] out, final int from) {
+        final double[] notional = out.length >= side.size() ? out : Arrays.copyOf(out, Math.max(side.size(), out.length * 2));
+
+        double total = from == 0 ? 0 : notional[from - 1];
+        for (int i = from; i < side.size(); i++) {
+            total += (double) side.price(i) * side.amount(i);
+            notional[i] = total;
+        }
+
+        return notional;
+    }
+
+}
@@ -0,0 +1,554 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.model.CurrencyRegistry;
+import cl.daplay.jbuda.store.SegmentFiles;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+import static cl.daplay.jbuda.store.SegmentFiles.getVarLong;
+import static cl.daplay.jbuda.store.SegmentFiles.putVarLong;
+import static cl.daplay.jbuda.store.SegmentFiles.unzigzag;
+import static cl.daplay.jbuda.store.SegmentFiles.zigzag;
+import static java.lang.String.format;
+
+/**
+ * Append only archive of a market's order book snapshots, in segment files, able to rebuild the book as of any
+ * instant.
+ *
+ * Every keyframeInterval snapshots, and at the start of every segment, the whole book is written as a keyframe;
+ * other snapshots are written as the levels that changed from the previous one (see OrderBookTracker.diff).
+ * Levels are fixed point longs at the archive's scales, prices as zigzag varint deltas and amounts as varints,
+ * so a delta usually takes a few dozen bytes instead of the whole book. Snapshots which didn't change the book
+ * aren't written.
+ *
+ * Only keyframes are indexed in memory. at() binary searches the last keyframe at or before the asked instant
+ * and applies at most keyframeInterval deltas to it.
+ *
+ * As an OrderBookListener it archives every change an OrderBookTracker publishes, stamped with the time it's
+ * received. Thread safe.
+ */
+public final class OrderBookArchive implements OrderBookListener, AutoCloseable {
+
+    public final static int DEFAULT_KEYFRAME_INTERVAL = 256;
+
+    final static long SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    final static int SEGMENT_MAGIC = 0x4A424F42; // "JBOB"
+    final static short SEGMENT_VERSION = 1;
+
+    /**
+     * length, type and timestamp
+     */
+    final static int RECORD_HEADER_BYTES = 4 + 1 + 8;
+
+    final static byte KEYFRAME = 0;
+    final static byte DELTA = 1;
+
+    private final Path directory;
+    private final int priceScale;
+    private final int amountScale;
+    private final int keyframeInterval;
+    private final Clock clock;
+    private final SegmentFiles files;
+
+    // keyframe index, parallel arrays
+    private int keyframes;
+    private long[] keyframeTimestamp = new long[64];
+    private int[] keyframeSegment = new int[64];
+    private int[] keyframeOffset = new int[64];
+
+    private long size;
+    private long newest = Long.MIN_VALUE;
+    private int sinceKeyframe;
+    private PrimitiveOrderBook last;
+
+    private ByteBuffer scratch = ByteBuffer.allocate(4096);
+    private boolean closed;
+
+    private OrderBookArchive(final Path directory, final int priceScale, final int amountScale, final int keyframeInterval, final Clock clock) {
+        this.directory = directory;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+        this.keyframeInterval = keyframeInterval;
+        this.clock = clock;
+        this.files = new SegmentFiles(directory, "book", SEGMENT_MAGIC, SEGMENT_VERSION, priceScale, amountScale);
+    }
+
+    public static OrderBookArchive open(final Path directory, final int priceScale, final int amountScale) throws IOException {
+        return open(directory, priceScale, amountScale, DEFAULT_KEYFRAME_INTERVAL);
+    }
+
+    /**
+     * opens the archive in directory, creating it if needed
+     *
+     * @param keyframeInterval snapshots between keyframes, bounds the deltas applied by at()
+     * @throws IllegalArgumentException if directory holds an archive with different scales
+     */
+    public static OrderBookArchive open(final Path directory, final int priceScale, final int amountScale, final int keyframeInterval) throws IOException {
+        return open(directory, priceScale, amountScale, keyframeInterval, Clock.systemUTC());
+    }
+
+    /**
+     * opens the archive with the scales of the market's quote (prices) and base (amounts) currencies
+     */
+    public static OrderBookArchive open(final Path directory, final CurrencyRegistry currencies, final String marketId) throws IOException {
+        return open(directory, currencies.quote(marketId).getScale(), currencies.base(marketId).getScale());
+    }
+
+    static OrderBookArchive open(final Path directory, final int priceScale, final int amountScale, final int keyframeInterval, final Clock clock) throws IOException {
+        if (priceScale < 0 || priceScale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid price scale: %d", priceScale));
+        }
+        if (amountScale < 0 || amountScale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid amount scale: %d", amountScale));
+        }
+        if (keyframeInterval < 1) {
+            throw new IllegalArgumentException(format("Invalid keyframe interval: %d", keyframeInterval));
+        }
+
+        Files.createDirectories(directory);
+
+        final OrderBookArchive archive = new OrderBookArchive(directory, priceScale, amountScale, keyframeInterval, clock);
+        archive.load();
+        return archive;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @return snapshots archived
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    /**
+     * @return time of the first snapshot, null if empty
+     */
+    public synchronized Instant getOldest() {
+        return keyframes == 0 ? null : Instant.ofEpochMilli(keyframeTimestamp[0]);
+    }
+
+    /**
+     * @return time of the last snapshot, null if empty
+     */
+    public synchronized Instant getNewest() {
+        return size == 0 ? null : Instant.ofEpochMilli(newest);
+    }
+
+    /**
+     * archives the tracker's new snapshot, stamped with the current time
+     *
+     * @throws UncheckedIOException if it couldn't be written
+     */
+    @Override
+    public void onChange(final OrderBookDiff diff) {
+        try {
+            append(clock.instant(), diff.getCurrent());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return false if book didn't change since the last snapshot, so it wasn't written
+     * @throws IllegalArgumentException if book has other scales, or time is older than the last snapshot
+     */
+    public synchronized boolean append(final Instant time, final PrimitiveOrderBook book) throws IOException {
+        checkOpen();
+
+        if (book.getPriceScale() != priceScale || book.getAmountScale() != amountScale) {
+            throw new IllegalArgumentException(format("Invalid scales: %d/%d, expected %d/%d",
+                    book.getPriceScale(), book.getAmountScale(), priceScale, amountScale));
+        }
+
+        final long timestamp = time.toEpochMilli();
+        if (timestamp < newest) {
+            throw new IllegalArgumentException(format("Invalid time: %s, older than last snapshot: %s", time, Instant.ofEpochMilli(newest)));
+        }
+
+        if (files.length() >= SEGMENT_SIZE) {
+            files.roll();
+        }
+
+        final boolean keyframe = last == null || sinceKeyframe + 1 >= keyframeInterval || files.length() == SegmentFiles.HEADER_BYTES;
+
+        if (keyframe) {
+            writeKeyframe(timestamp, book);
+        } else {
+            final OrderBookDiff.Levels bids = new OrderBookDiff.Levels();
+            final OrderBookDiff.Levels asks = new OrderBookDiff.Levels();
+            OrderBookTracker.diff(last.bids(), book.bids(), true, bids);
+            OrderBookTracker.diff(last.asks(), book.asks(), false, asks);
+
+            if (bids.size() == 0 && asks.size() == 0) {
+                return false;
+            }
+
+            writeDelta(timestamp, bids, asks);
+        }
+
+        last = book;
+        newest = timestamp;
+        size++;
+        return true;
+    }
+
+    /**
+     * @return order book as of time: the last snapshot at or before it, null if there's none
+     */
+    public synchronized PrimitiveOrderBook at(final Instant time) throws IOException {
+        final long timestamp = time.toEpochMilli();
+        final int keyframe = keyframe(timestamp);
+
+        if (keyframe < 0) {
+            return null;
+        }
+        if (timestamp >= newest) {
+            return last;
+        }
+
+        final State state = new State();
+        walk(keyframe, timestamp, state, null);
+        return state.book(priceScale, amountScale);
+    }
+
+    /**
+     * calls consumer with every snapshot within [from, to), oldest first
+     */
+    public synchronized void replay(final Instant from, final Instant to, final BiConsumer<Instant, PrimitiveOrderBook> consumer) throws IOException {
+        final long start = from.toEpochMilli();
+        final int keyframe = Math.max(0, keyframe(start));
+
+        if (keyframes == 0 || !from.isBefore(to)) {
+            return;
+        }
+
+        walk(keyframe, to.toEpochMilli() - 1, new State(), (timestamp, state) -> {
+            if (timestamp >= start) {
+                consumer.accept(Instant.ofEpochMilli(timestamp), state.book(priceScale, amountScale));
+            }
+        });
+    }
+
+    /**
+     * forces written snapshots to disk
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+        files.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            files.close();
+        }
+    }
+
+    // ** implementation methods **
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(format("OrderBookArchive '%s' is closed", directory));
+        }
+    }
+
+    /**
+     * @return last keyframe at or before timestamp, -1 if there's none
+     */
+    private int keyframe(final long timestamp) {
+        int low = 0;
+        int high = keyframes - 1;
+
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+
+            if (keyframeTimestamp[mid] <= timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        return high;
+    }
+
+    /**
+     * applies every record from keyframe on, while their timestamps are not after until
+     */
+    private void walk(final int keyframe, final long until, final State state, final Visitor visitor) throws IOException {
+        int offset = keyframeOffset[keyframe];
+
+        for (int i = keyframeSegment[keyframe]; i < files.count(); i++) {
+            final ByteBuffer buffer = files.map(i);
+            final long end = files.length(i);
+
+            while (offset < end) {
+                final int length = buffer.getInt(offset);
+                final long timestamp = buffer.getLong(offset + 5);
+
+                if (timestamp > until) {
+                    return;
+                }
+
+                buffer.position(offset + RECORD_HEADER_BYTES);
+                if (buffer.get(offset + 4) == KEYFRAME) {
+                    state.bids.read(buffer);
+                    state.asks.read(buffer);
+                } else {
+                    state.bids.apply(buffer, true);
+                    state.asks.apply(buffer, false);
+                }
+
+                if (visitor != null) {
+                    visitor.visit(timestamp, state);
+                }
+
+                offset += length;
+            }
+
+            offset = SegmentFiles.HEADER_BYTES;
+        }
+    }
+
+    private void load() throws IOException {
+        files.open((segment, buffer, length) -> {
+            int offset = SegmentFiles.HEADER_BYTES;
+            while (offset + RECORD_HEADER_BYTES <= length) {
+                final int recordLength = buffer.getInt(offset);
+                final byte type = buffer.get(offset + 4);
+
+                if (recordLength < RECORD_HEADER_BYTES || offset + (long) recordLength > length || (type != KEYFRAME && type != DELTA)) {
+                    break;
+                }
+                // a segment must start with a keyframe, deltas after a torn one are useless
+                if (type == DELTA && offset == SegmentFiles.HEADER_BYTES) {
+                    break;
+                }
+
+                final long timestamp = buffer.getLong(offset + 5);
+                if (type == KEYFRAME) {
+                    index(segment, offset, timestamp);
+                    sinceKeyframe = 0;
+                } else {
+                    sinceKeyframe++;
+                }
+
+                newest = timestamp;
+                size++;
+                offset += recordLength;
+            }
+
+            return offset;
+        });
+
+        if (keyframes > 0) {
+            final State state = new State();
+            walk(keyframes - 1, Long.MAX_VALUE, state, null);
+            last = state.book(priceScale, amountScale);
+        }
+
+        if (files.length() >= SEGMENT_SIZE) {
+            files.roll();
+        }
+    }
+
+    private void writeKeyframe(final long timestamp, final PrimitiveOrderBook book) throws IOException {
+        final ByteBuffer out = record(KEYFRAME, timestamp, book.bids().size() + book.asks().size());
+
+        for (PrimitiveOrderBook.Side side : new PrimitiveOrderBook.Side[]{book.bids(), book.asks()}) {
+            putVarLong(out, side.size());
+
+            long previous = 0;
+            for (int i = 0; i < side.size(); i++) {
+                putVarLong(out, zigzag(side.price(i) - previous));
+                putVarLong(out, side.amount(i));
+                previous = side.price(i);
+            }
+        }
+
+        final int offset = (int) files.length();
+        writeRecord(out);
+        index(files.count() - 1, offset, timestamp);
+        sinceKeyframe = 0;
+    }
+
+    private void writeDelta(final long timestamp, final OrderBookDiff.Levels bids, final OrderBookDiff.Levels asks) throws IOException {
+        final ByteBuffer out = record(DELTA, timestamp, bids.size() + asks.size());
+
+        for (OrderBookDiff.Levels levels : new OrderBookDiff.Levels[]{bids, asks}) {
+            putVarLong(out, levels.size());
+
+            long previous = 0;
+            for (int i = 0; i < levels.size(); i++) {
+                putVarLong(out, zigzag(levels.price(i) - previous));
+                putVarLong(out, levels.amount(i));
+                previous = levels.price(i);
+            }
+        }
+
+        writeRecord(out);
+        sinceKeyframe++;
+    }
+
+    /**
+     * @return scratch buffer, large enough for levels, positioned after the record's header
+     */
+    private ByteBuffer record(final byte type, final long timestamp, final int levels) {
+        final int capacity = RECORD_HEADER_BYTES + 2 * 10 + levels * 20;
+        if (scratch.capacity() < capacity) {
+            scratch = ByteBuffer.allocate(Math.max(capacity, scratch.capacity() * 2));
+        }
+
+        scratch.clear();
+        scratch.putInt(0).put(type).putLong(timestamp);
+        return scratch;
+    }
+
+    private void writeRecord(final ByteBuffer out) throws IOException {
+        out.putInt(0, out.position());
+        out.flip();
+
+        files.write(out);
+    }
+
+    private void index(final int segment, final int offset, final long timestamp) {
+        if (keyframes == keyframeTimestamp.length) {
+            final int capacity = keyframes * 2;
+            keyframeTimestamp = Arrays.copyOf(keyframeTimestamp, capacity);
+            keyframeSegment = Arrays.copyOf(keyframeSegment, capacity);
+            keyframeOffset = Arrays.copyOf(keyframeOffset, capacity);
+        }
+
+        keyframeTimestamp[keyframes] = timestamp;
+        keyframeSegment[keyframes] = segment;
+        keyframeOffset[keyframes] = offset;
+        keyframes++;
+    }
+
+    @FunctionalInterface
+    private interface Visitor {
+
+        void visit(long timestamp, State state);
+
+    }
+
+    /**
+     * book being rebuilt from records
+     */
+    private final static class State {
+
+        private final Levels bids = new Levels();
+        private final Levels asks = new Levels();
+
+        private PrimitiveOrderBook book(final int priceScale, final int amountScale) {
+            return new PrimitiveOrderBook(priceScale, amountScale,
+                    Arrays.copyOf(bids.prices, bids.size), Arrays.copyOf(bids.amounts, bids.size), bids.size,
+                    Arrays.copyOf(asks.prices, asks.size), Arrays.copyOf(asks.amounts, asks.size), asks.size);
+        }
+
+    }
+
+    /**
+     * levels of one side in book order, double buffered so deltas merge in O(levels)
+     */
+    private final static class Levels {
+
+        private long[] prices = new long[64];
+        private long[] amounts = new long[64];
+        private int size;
+
+        private long[] nextPrices = new long[64];
+        private long[] nextAmounts = new long[64];
+
+        private void read(final ByteBuffer in) {
+            final int count = (int) getVarLong(in);
+            prices = ensure(prices, count);
+            amounts = ensure(amounts, count);
+
+            long price = 0;
+            for (int i = 0; i < count; i++) {
+                price += unzigzag(getVarLong(in));
+                prices[i] = price;
+                amounts[i] = getVarLong(in);
+            }
+
+            size = count;
+        }
+
+        /**
+         * merges changed levels, in book order, into these: amount 0 removes a level
+         */
+        private void apply(final ByteBuffer in, final boolean descending) {
+            final int changes = (int) getVarLong(in);
+            nextPrices = ensure(nextPrices, size + changes);
+            nextAmounts = ensure(nextAmounts, size + changes);
+
+            int i = 0;
+            int out = 0;
+            long price = 0;
+
+            for (int j = 0; j < changes; j++) {
+                price += unzigzag(getVarLong(in));
+                final long amount = getVarLong(in);
+
+                while (i < size && (descending ? prices[i] > price : prices[i] < price)) {
+                    nextPrices[out] = prices[i];
+                    nextAmounts[out++] = amounts[i++];
+                }
+                if (i < size && prices[i] == price) {
+                    i++;
+                }
+                if (amount != 0) {
+                    nextPrices[out] = price;
+                    nextAmounts[out++] = amount;
+                }
+            }
+
+            while (i < size) {
+                nextPrices[out] = prices[i];
+                nextAmounts[out++] = amounts[i++];
+            }
+
+            final long[] swapPrices = prices;
+            final long[] swapAmounts = amounts;
+            prices = nextPrices;
+            amounts = nextAmounts;
+            nextPrices = swapPrices;
+            nextAmounts = swapAmounts;
+            size = out;
+        }
+
+        private static long[] ensure(final long[] array, final int capacity) {
+            return array.length >= capacity ? array : new long[Math.max(capacity, array.length * 2)];
+        }
+
+    }
+
+}
@@ -0,0 +1,172 @@
+package cl.daplay.jbuda.book;
+
+import java.util.Arrays;
+
+/**
+ * Changes between two snapshots of an order book, at the scales of the snapshots.
+ *
+ * Each side lists changed levels in book order (best price first): added levels have a previous
+ * amount of 0, removed levels an amount of 0.
+ */
+public final class OrderBookDiff {
+
+    public enum Change {
+        ADDED, REMOVED, CHANGED
+    }
+
+    private final String marketId;
+    private final PrimitiveOrderBook previous;
+    private final PrimitiveOrderBook current;
+    private final Levels bids;
+    private final Levels asks;
+
+    OrderBookDiff(final String marketId,
+                  final PrimitiveOrderBook previous,
+                  final PrimitiveOrderBook current,
+                  final Levels bids,
+                  final Levels asks) {
+        this.marketId = marketId;
+        this.previous = previous;
+        this.current = current;
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    public String getMarketId() {
+        return marketId;
+    }
+
+    /**
+     * @return snapshot before this diff, null for the first one
+     */
+    public PrimitiveOrderBook getPrevious() {
+        return previous;
+    }
+
+    public PrimitiveOrderBook getCurrent() {
+        return current;
+    }
+
+    public Levels bids() {
+        return bids;
+    }
+
+    public Levels asks() {
+        return asks;
+    }
+
+    public boolean isEmpty() {
+        return bids.size() == 0 && asks.size() == 0;
+    }
+
+    /**
+     * @return true if best price or its amount changed on any side
+     */
+    public boolean isTopOfBookChanged() {
+        return topChanged(previous == null ? null : previous.bids(), current.bids())
+                || topChanged(previous == null ? null : previous.asks(), current.asks());
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBookDiff{" +
+                "marketId='" + marketId + '\'' +
+                ", bids=" + bids +
+                ", asks=" + asks +
+                ", topOfBookChanged=" + isTopOfBookChanged() +
+                '}';
+    }
+
+    private static boolean topChanged(final PrimitiveOrderBook.Side previous, final PrimitiveOrderBook.Side current) {
+        final boolean previousEmpty = previous == null || previous.isEmpty();
+
+        if (previousEmpty || current.isEmpty()) {
+            return previousEmpty != current.isEmpty();
+        }
+
+        return previous.price(0) != current.price(0) || previous.amount(0) != current.amount(0);
+    }
+
+    /**
+     * changed levels of one side, as parallel arrays
+     */
+    public static final class Levels {
+
+        private long[] prices = new long[8];
+        private long[] previousAmounts = new long[8];
+        private long[] amounts = new long[8];
+        private int size;
+
+        Levels() {
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public long price(final int index) {
+            checkIndex(index);
+            return prices[index];
+        }
+
+        /**
+         * @return amount before the change, 0 if level was added
+         */
+        public long previousAmount(final int index) {
+            checkIndex(index);
+            return previousAmounts[index];
+        }
+
+        /**
+         * @return amount after the change, 0 if level was removed
+         */
+        public long amount(final int index) {
+            checkIndex(index);
+            return amounts[index];
+        }
+
+        public Change change(final int index) {
+            checkIndex(index);
+
+            if (previousAmounts[index] == 0) {
+                return Change.ADDED;
+            }
+
+            return amounts[index] == 0 ? Change.REMOVED : Change.CHANGED;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder out = new StringBuilder("[");
+
+            for (int i = 0; i < size; i++) {
+                if (i > 0) {
+                    out.append(", ");
+                }
+                out.append(change(i)).append(' ').append(prices[i]).append(": ").append(previousAmounts[i]).append(" -> ").append(amounts[i]);
+            }
+
+            return out.append(']').toString();
+        }
+
+        void add(final long price, final long previousAmount, final long amount) {
+            if (size == prices.length) {
+                prices = Arrays.copyOf(prices, size * 2);
+                previousAmounts = Arrays.copyOf(previousAmounts, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+            }
+
+            prices[size] = price;
+            previousAmounts[size] = previousAmount;
+            amounts[size] = amount;
+            size++;
+        }
+
+        private void checkIndex(final int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(String.format("Index: %d, size: %d", index, size));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,14 @@
+package cl.daplay.jbuda.book;
+
+/**
+ * receives the changes of an order book tracked by {@link OrderBookTracker}
+ */
+@FunctionalInterface
+public interface OrderBookListener {
+
+    /**
+     * called once per snapshot which changed the book, on the thread that updated the tracker
+     */
+    void onChange(OrderBookDiff diff);
+
+}
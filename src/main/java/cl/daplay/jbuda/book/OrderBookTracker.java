@@ -0,0 +1,137 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.model.CurrencyRegistry;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Keeps the last order book snapshot of a market and publishes what changed on each new one.
+ *
+ * Both snapshots have their sides sorted by price, so the diff is a single merge pass over each
+ * side: O(levels), without maps nor boxing. Listeners are only called when something changed, in snapshot
+ * order: they run while the tracker's lock is held, so concurrent updates wait for them.
+ */
+public final class OrderBookTracker {
+
+    private final static Logger LOGGER = Logger.getLogger(OrderBookTracker.class.getName());
+
+    private final String marketId;
+    private final List<OrderBookListener> listeners = new CopyOnWriteArrayList<>();
+
+    private PrimitiveOrderBook last;
+
+    public OrderBookTracker(final String marketId) {
+        this.marketId = marketId;
+    }
+
+    public String getMarketId() {
+        return marketId;
+    }
+
+    public void addListener(final OrderBookListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(final OrderBookListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * @return last snapshot, null before the first update
+     */
+    public synchronized PrimitiveOrderBook getLast() {
+        return last;
+    }
+
+    /**
+     * fetches the market's order book and updates this tracker with it
+     */
+    public OrderBookDiff poll(final JBuda jbuda, final CurrencyRegistry currencies) throws Exception {
+        return update(jbuda.getPrimitiveOrderBook(marketId, currencies));
+    }
+
+    /**
+     * @return changes from the last snapshot to this one, the first snapshot is all additions
+     * @throws IllegalArgumentException if snapshot has different scales than the last one
+     */
+    public synchronized OrderBookDiff update(final PrimitiveOrderBook snapshot) {
+        if (last != null && (last.getPriceScale() != snapshot.getPriceScale() || last.getAmountScale() != snapshot.getAmountScale())) {
+            throw new IllegalArgumentException(format("Scales changed for market '%s', from %d/%d to %d/%d", marketId,
+                    last.getPriceScale(), last.getAmountScale(), snapshot.getPriceScale(), snapshot.getAmountScale()));
+        }
+
+        final OrderBookDiff.Levels bids = new OrderBookDiff.Levels();
+        final OrderBookDiff.Levels asks = new OrderBookDiff.Levels();
+
+        if (last == null) {
+            diff(null, snapshot.bids(), true, bids);
+            diff(null, snapshot.asks(), false, asks);
+        } else {
+            diff(last.bids(), snapshot.bids(), true, bids);
+            diff(last.asks(), snapshot.asks(), false, asks);
+        }
+
+        final OrderBookDiff diff = new OrderBookDiff(marketId, last, snapshot, bids, asks);
+        last = snapshot;
+
+        // published under the lock, so listeners see diffs in the order they were computed
+        if (!diff.isEmpty()) {
+            publish(diff);
+        }
+
+        return diff;
+    }
+
+    // ** implementation methods **
+
+    /**
+     * merges previous and current levels, both in book order, appending changed ones to out
+     */
+    static void diff(final PrimitiveOrderBook.Side previous,
+                     final PrimitiveOrderBook.Side current,
+                     final boolean descending,
+                     final OrderBookDiff.Levels out) {
+        final int previousSize = previous == null ? 0 : previous.size();
+        final int currentSize = current.size();
+
+        int i = 0;
+        int j = 0;
+
+        while (i < previousSize || j < currentSize) {
+            if (j == currentSize || (i < previousSize && before(previous.price(i), current.price(j), descending))) {
+                out.add(previous.price(i), previous.amount(i), 0);
+                i++;
+            } else if (i == previousSize || before(current.price(j), previous.price(i), descending)) {
+                out.add(current.price(j), 0, current.amount(j));
+                j++;
+            } else {
+                if (previous.amount(i) != current.amount(j)) {
+                    out.add(current.price(j), previous.amount(i), current.amount(j));
+                }
+                i++;
+                j++;
+            }
+        }
+    }
+
+    private static boolean before(final long price, final long other, final boolean descending) {
+        return descending ? price > other : price < other;
+    }
+
+    private void publish(final OrderBookDiff diff) {
+        for (OrderBookListener listener : listeners) {
+            try {
+                listener.onChange(diff);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, format("Order book listener failed for market '%s'", marketId), e);
+            }
+        }
+    }
+
+}
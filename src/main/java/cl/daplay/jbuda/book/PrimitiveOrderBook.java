@@ -0,0 +1,408 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.kernel.ColumnKernels;
+import cl.daplay.jbuda.model.OrderBook;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import static cl.daplay.jbuda.Decoders.toFixed;
+
+/**
+ * Order book as parallel arrays of fixed-point longs: a price of "7497977.5" at price scale 2 is
+ * 749797750, an amount of "0.0457" at amount scale 8 is 4570000.
+ *
+ * Bids are sorted by descending price and asks by ascending price, so level 0 is the best one on
+ * each side. Cumulative amounts are computed once, so depth up to any level or price is a lookup
+ * (plus a binary search for prices).
+ *
+ * getBids/getAsks adapt levels to OrderBook.Offer views, building their BigDecimals on demand.
+ */
+public final class PrimitiveOrderBook implements OrderBook {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    /**
+     * @return order book with prices and amounts of orderBook at given scales
+     * @throws ArithmeticException if any value has more fraction digits than its scale, or doesn't fit in a long
+     */
+    public static PrimitiveOrderBook of(final OrderBook orderBook, final int priceScale, final int amountScale) {
+        if (orderBook instanceof PrimitiveOrderBook
+                && ((PrimitiveOrderBook) orderBook).priceScale == priceScale
+                && ((PrimitiveOrderBook) orderBook).amountScale == amountScale) {
+            return (PrimitiveOrderBook) orderBook;
+        }
+
+        final List<Offer> bids = orderBook.getBids();
+        final List<Offer> asks = orderBook.getAsks();
+
+        final long[] bidPrices = new long[bids.size()];
+        final long[] bidAmounts = new long[bids.size()];
+        for (int i = 0; i < bidPrices.length; i++) {
+            bidPrices[i] = toFixed(bids.get(i).getPrice(), priceScale);
+            bidAmounts[i] = toFixed(bids.get(i).getAmount(), amountScale);
+        }
+
+        final long[] askPrices = new long[asks.size()];
+        final long[] askAmounts = new long[asks.size()];
+        for (int i = 0; i < askPrices.length; i++) {
+            askPrices[i] = toFixed(asks.get(i).getPrice(), priceScale);
+            askAmounts[i] = toFixed(asks.get(i).getAmount(), amountScale);
+        }
+
+        return new PrimitiveOrderBook(priceScale, amountScale,
+                bidPrices, bidAmounts, bidPrices.length,
+                askPrices, askAmounts, askPrices.length);
+    }
+
+    private final int priceScale;
+    private final int amountScale;
+    private final Side bids;
+    private final Side asks;
+
+    /**
+     * Arrays are owned by the new instance, levels past count are ignored. Levels are sorted
+     * (bids by descending price, asks by ascending price) if they aren't already.
+     */
+    public PrimitiveOrderBook(final int priceScale,
+                              final int amountScale,
+                              final long[] bidPrices,
+                              final long[] bidAmounts,
+                              final int bidCount,
+                              final long[] askPrices,
+                              final long[] askAmounts,
+                              final int askCount) {
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+        this.bids = new Side(bidPrices, bidAmounts, bidCount, true, priceScale, amountScale);
+        this.asks = new Side(askPrices, askAmounts, askCount, false, priceScale, amountScale);
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @return bids, best (highest price) first
+     */
+    public Side bids() {
+        return bids;
+    }
+
+    /**
+     * @return asks, best (lowest price) first
+     */
+    public Side asks() {
+        return asks;
+    }
+
+    /**
+     * @return best ask minus best bid, at price scale
+     * @throws IllegalStateException if any side is empty
+     */
+    public long spread() {
+        return asks.bestPrice() - bids.bestPrice();
+    }
+
+    @Override
+    public List<Offer> getBids() {
+        return bids.offers();
+    }
+
+    @Override
+    public List<Offer> getAsks() {
+        return asks.offers();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PrimitiveOrderBook that = (PrimitiveOrderBook) o;
+
+        if (priceScale != that.priceScale) return false;
+        if (amountScale != that.amountScale) return false;
+        if (!bids.equals(that.bids)) return false;
+        return asks.equals(that.asks);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(priceScale, amountScale, bids, asks);
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBook{" +
+                "bids=" + getBids() +
+                ", asks=" + getAsks() +
+                '}';
+    }
+
+    /**
+     * one side of the book, level 0 is the best price
+     */
+    public static final class Side implements Serializable {
+
+        private static final long serialVersionUID = 2026_10_19;
+
+        private final long[] prices;
+        private final long[] amounts;
+        private final long[] depth;
+        private final int size;
+        private final boolean descending;
+        private final int priceScale;
+        private final int amountScale;
+
+        private Side(final long[] prices,
+                     final long[] amounts,
+                     final int size,
+                     final boolean descending,
+                     final int priceScale,
+                     final int amountScale) {
+            if (size < 0 || size > prices.length || size > amounts.length) {
+                throw new IllegalArgumentException(String.format("Invalid level count: %d", size));
+            }
+
+            this.prices = prices;
+            this.amounts = amounts;
+            this.size = size;
+            this.descending = descending;
+            this.priceScale = priceScale;
+            this.amountScale = amountScale;
+
+            sort();
+
+            this.depth = new long[size];
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                total = Math.addExact(total, amounts[i]);
+                depth[i] = total;
+            }
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * @return price of level, at price scale
+         */
+        public long price(final int level) {
+            checkLevel(level);
+            return prices[level];
+        }
+
+        /**
+         * @return amount of level, at amount scale
+         */
+        public long amount(final int level) {
+            checkLevel(level);
+            return amounts[level];
+        }
+
+        /**
+         * @return amount of levels 0 to level (inclusive), at amount scale
+         */
+        public long depth(final int level) {
+            checkLevel(level);
+            return depth[level];
+        }
+
+        /**
+         * @return total amount of this side, at amount scale
+         */
+        public long totalDepth() {
+            return size == 0 ? 0 : depth[size - 1];
+        }
+
+        /**
+         * @return sum of price times amount of every level, in quote currency
+         */
+        public double notional() {
+            return ColumnKernels.dot(prices, amounts, 0, size) * Math.pow(10, -(priceScale + amountScale));
+        }
+
+        /**
+         * @return price of level 0
+         * @throws IllegalStateException if side is empty
+         */
+        public long bestPrice() {
+            if (size == 0) {
+                throw new IllegalStateException("Empty order book side");
+            }
+            return prices[0];
+        }
+
+        /**
+         * @return level with price, or (-(insertion level) - 1) as Arrays.binarySearch
+         */
+        public int indexOf(final long price) {
+            int low = 0;
+            int high = size - 1;
+
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final long midPrice = prices[mid];
+
+                if (midPrice == price) {
+                    return mid;
+                }
+
+                if (descending ? midPrice > price : midPrice < price) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+
+            return -(low + 1);
+        }
+
+        /**
+         * @return amount offered at price or better (higher for bids, lower for asks), at amount scale
+         */
+        public long depthAt(final long price) {
+            final int index = indexOf(price);
+            final int levels = index >= 0 ? index + 1 : -(index + 1);
+            return levels == 0 ? 0 : depth[levels - 1];
+        }
+
+        /**
+         * @return levels as OrderBook.Offer, BigDecimals are built on access
+         */
+        public List<Offer> offers() {
+            return new Offers();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Side that = (Side) o;
+
+            if (size != that.size) return false;
+            if (descending != that.descending) return false;
+            for (int i = 0; i < size; i++) {
+                if (prices[i] != that.prices[i] || amounts[i] != that.amounts[i]) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = Boolean.hashCode(descending);
+            for (int i = 0; i < size; i++) {
+                result = 31 * result + Long.hashCode(prices[i]);
+                result = 31 * result + Long.hashCode(amounts[i]);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return offers().toString();
+        }
+
+        private void checkLevel(final int level) {
+            if (level < 0 || level >= size) {
+                throw new IndexOutOfBoundsException(String.format("Level: %d, levels: %d", level, size));
+            }
+        }
+
+        /**
+         * books come sorted from Buda, so this is usually a single pass
+         */
+        private void sort() {
+            for (int i = 1; i < size; i++) {
+                final long price = prices[i];
+                final long amount = amounts[i];
+
+                int j = i - 1;
+                while (j >= 0 && (descending ? prices[j] < price : prices[j] > price)) {
+                    prices[j + 1] = prices[j];
+                    amounts[j + 1] = amounts[j];
+                    j--;
+                }
+
+                prices[j + 1] = price;
+                amounts[j + 1] = amount;
+            }
+        }
+
+        private final class Offers extends AbstractList<Offer> implements RandomAccess {
+
+            @Override
+            public Offer get(final int index) {
+                checkLevel(index);
+                return new Level(BigDecimal.valueOf(prices[index], priceScale), BigDecimal.valueOf(amounts[index], amountScale));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }
+    }
+
+    private static final class Level implements Offer {
+
+        private static final long serialVersionUID = 2026_10_19;
+
+        private final BigDecimal price;
+        private final BigDecimal amount;
+
+        private Level(final BigDecimal price, final BigDecimal amount) {
+            this.price = price;
+            this.amount = amount;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        @Override
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Level level = (Level) o;
+
+            return price.equals(level.price) && amount.equals(level.amount);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(price, amount);
+        }
+
+        @Override
+        public String toString() {
+            return "Offer{" +
+                    "price=" + price +
+                    ", amount=" + amount +
+                    '}';
+        }
+    }
+
+}
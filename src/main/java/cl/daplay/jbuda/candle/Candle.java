@@ -0,0 +1,158 @@
+package cl.daplay.jbuda.candle;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * OHLCV bar of a market over [start, start + resolution).
+ *
+ * Prices are fixed point at price scale and volumes at amount scale, the same as the trades it was built from.
+ */
+public final class Candle implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final Instant start;
+    private final Duration resolution;
+    private final long open;
+    private final long high;
+    private final long low;
+    private final long close;
+    private final long buyVolume;
+    private final long sellVolume;
+    private final long count;
+    private final int priceScale;
+    private final int amountScale;
+
+    public Candle(final Instant start,
+                  final Duration resolution,
+                  final long open,
+                  final long high,
+                  final long low,
+                  final long close,
+                  final long buyVolume,
+                  final long sellVolume,
+                  final long count,
+                  final int priceScale,
+                  final int amountScale) {
+        this.start = start;
+        this.resolution = resolution;
+        this.open = open;
+        this.high = high;
+        this.low = low;
+        this.close = close;
+        this.buyVolume = buyVolume;
+        this.sellVolume = sellVolume;
+        this.count = count;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return start.plus(resolution);
+    }
+
+    public Duration getResolution() {
+        return resolution;
+    }
+
+    public long getOpen() {
+        return open;
+    }
+
+    public long getHigh() {
+        return high;
+    }
+
+    public long getLow() {
+        return low;
+    }
+
+    public long getClose() {
+        return close;
+    }
+
+    public long getVolume() {
+        return buyVolume + sellVolume;
+    }
+
+    public long getBuyVolume() {
+        return buyVolume;
+    }
+
+    public long getSellVolume() {
+        return sellVolume;
+    }
+
+    /**
+     * @return number of trades
+     */
+    public long getCount() {
+        return count;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final Candle candle = (Candle) o;
+
+        if (open != candle.open) return false;
+        if (high != candle.high) return false;
+        if (low != candle.low) return false;
+        if (close != candle.close) return false;
+        if (buyVolume != candle.buyVolume) return false;
+        if (sellVolume != candle.sellVolume) return false;
+        if (count != candle.count) return false;
+        if (priceScale != candle.priceScale) return false;
+        if (amountScale != candle.amountScale) return false;
+        if (!start.equals(candle.start)) return false;
+        return resolution.equals(candle.resolution);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = start.hashCode();
+        result = 31 * result + resolution.hashCode();
+        result = 31 * result + Long.hashCode(open);
+        result = 31 * result + Long.hashCode(high);
+        result = 31 * result + Long.hashCode(low);
+        result = 31 * result + Long.hashCode(close);
+        result = 31 * result + Long.hashCode(buyVolume);
+        result = 31 * result + Long.hashCode(sellVolume);
+        result = 31 * result + Long.hashCode(count);
+        result = 31 * result + priceScale;
+        result = 31 * result + amountScale;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Candle{" +
+                "start=" + start +
+                ", resolution=" + resolution +
+                ", open=" + open +
+                ", high=" + high +
+                ", low=" + low +
+                ", close=" + close +
+                ", buyVolume=" + buyVolume +
+                ", sellVolume=" + sellVolume +
+                ", count=" + count +
+                '}';
+    }
+
+}
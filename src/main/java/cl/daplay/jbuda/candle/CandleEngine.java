@@ -0,0 +1,163 @@
+package cl.daplay.jbuda.candle;
+
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jbuda.store.TradeReader;
+import cl.daplay.jbuda.store.TradeVisitor;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static cl.daplay.jbuda.Decoders.toFixed;
+import static java.lang.String.format;
+
+/**
+ * Builds OHLCV candles, with buy and sell volume, of a market at several resolutions at once from its trades.
+ *
+ * Each trade costs O(1) per resolution and allocates nothing. Trades may arrive late and out of order (ie:
+ * getTrades batches come newest first): they're applied to their candle as long as it's within the last
+ * capacity candles of that resolution, otherwise they're counted as dropped. Buckets without trades have no
+ * candle.
+ *
+ * As a TradeVisitor and a Consumer it plugs into TradeQuery.scan, TradeIngestor or MarketPoller feeds, and
+ * rebuild() replays a whole TradeStore. Thread safe.
+ */
+public final class CandleEngine implements TradeVisitor, Consumer<Trades.Transaction> {
+
+    public final static Duration[] DEFAULT_RESOLUTIONS = {
+            Duration.ofSeconds(1), Duration.ofMinutes(1), Duration.ofMinutes(5), Duration.ofHours(1)
+    };
+
+    private final int priceScale;
+    private final int amountScale;
+    private final CandleSeries[] series;
+
+    private long dropped;
+
+    /**
+     * keeps a day of candles for each of DEFAULT_RESOLUTIONS
+     */
+    public CandleEngine(final int priceScale, final int amountScale) {
+        this(priceScale, amountScale, DEFAULT_RESOLUTIONS, new int[]{86_400, 1_440, 288, 24});
+    }
+
+    /**
+     * @param capacities candles kept for each resolution
+     */
+    public CandleEngine(final int priceScale, final int amountScale, final Duration[] resolutions, final int[] capacities) {
+        if (resolutions.length == 0 || resolutions.length != capacities.length) {
+            throw new IllegalArgumentException(format("Invalid resolutions: %s, capacities: %s", Arrays.toString(resolutions), Arrays.toString(capacities)));
+        }
+
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+        this.series = new CandleSeries[resolutions.length];
+
+        for (int i = 0; i < resolutions.length; i++) {
+            if (resolutions[i].isNegative() || resolutions[i].toMillis() == 0) {
+                throw new IllegalArgumentException(format("Invalid resolution: %s", resolutions[i]));
+            }
+            if (capacities[i] < 1) {
+                throw new IllegalArgumentException(format("Invalid capacity: %d", capacities[i]));
+            }
+
+            series[i] = new CandleSeries(resolutions[i], capacities[i], priceScale, amountScale);
+        }
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @throws ArithmeticException if price or amount have more decimals than the engine's scales
+     */
+    @Override
+    public void accept(final Trades.Transaction transaction) {
+        visit(transaction.getTimestamp().toEpochMilli(),
+                toFixed(transaction.getPrice(), priceScale),
+                toFixed(transaction.getAmount(), amountScale),
+                "buy".equals(transaction.getDirection()));
+    }
+
+    /**
+     * @param price fixed point, at price scale
+     * @param amount fixed point, at amount scale
+     */
+    @Override
+    public synchronized void visit(final long timestamp, final long price, final long amount, final boolean buy) {
+        for (CandleSeries candles : series) {
+            if (!candles.add(timestamp, price, amount, buy)) {
+                dropped++;
+            }
+        }
+    }
+
+    /**
+     * clears every candle and replays the whole reader's snapshot
+     *
+     * @throws IllegalArgumentException if reader's scales are not the engine's
+     */
+    public synchronized void rebuild(final TradeReader reader) {
+        if (reader.getPriceScale() != priceScale || reader.getAmountScale() != amountScale) {
+            throw new IllegalArgumentException(format("Invalid scales: %d/%d, expected %d/%d",
+                    reader.getPriceScale(), reader.getAmountScale(), priceScale, amountScale));
+        }
+
+        for (CandleSeries candles : series) {
+            candles.clear();
+        }
+        dropped = 0;
+
+        while (reader.next()) {
+            visit(reader.timestamp(), reader.price(), reader.amount(), reader.isBuy());
+        }
+    }
+
+    /**
+     * @return candle containing time, null if it has no trades or it's no longer kept
+     */
+    public synchronized Candle get(final Duration resolution, final Instant time) {
+        return series(resolution).get(time.toEpochMilli());
+    }
+
+    /**
+     * @return newest candle of resolution, null if there are none
+     */
+    public synchronized Candle last(final Duration resolution) {
+        return series(resolution).last();
+    }
+
+    /**
+     * @return candles with trades within [from, to), oldest first
+     */
+    public synchronized List<Candle> candles(final Duration resolution, final Instant from, final Instant to) {
+        return series(resolution).candles(from.toEpochMilli(), to.toEpochMilli());
+    }
+
+    /**
+     * @return trades times resolutions that arrived too late to be applied
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    // ** implementation methods **
+
+    private CandleSeries series(final Duration resolution) {
+        for (CandleSeries candles : series) {
+            if (candles.getResolution().equals(resolution)) {
+                return candles;
+            }
+        }
+
+        throw new IllegalArgumentException(format("Invalid resolution: %s", resolution));
+    }
+
+}
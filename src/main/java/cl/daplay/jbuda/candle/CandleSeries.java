@@ -0,0 +1,166 @@
+package cl.daplay.jbuda.candle;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Last capacity candles of one resolution, in a ring of primitive arrays indexed by bucket number modulo
+ * capacity. A trade updates its bucket in O(1), wherever it is in the ring, so late trades are simply applied
+ * to their (already closed) candle: open and close follow the earliest and latest trade times of the bucket.
+ * Not thread safe, see CandleEngine.
+ */
+final class CandleSeries {
+
+    private final static long EMPTY = Long.MIN_VALUE;
+
+    private final Duration resolution;
+    private final long millis;
+    private final int capacity;
+    private final int priceScale;
+    private final int amountScale;
+
+    private final long[] buckets;
+    private final long[] open;
+    private final long[] high;
+    private final long[] low;
+    private final long[] close;
+    private final long[] openTime;
+    private final long[] closeTime;
+    private final long[] buyVolume;
+    private final long[] sellVolume;
+    private final long[] count;
+
+    private long newest = EMPTY;
+
+    CandleSeries(final Duration resolution, final int capacity, final int priceScale, final int amountScale) {
+        this.resolution = resolution;
+        this.millis = resolution.toMillis();
+        this.capacity = capacity;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+
+        this.buckets = new long[capacity];
+        this.open = new long[capacity];
+        this.high = new long[capacity];
+        this.low = new long[capacity];
+        this.close = new long[capacity];
+        this.openTime = new long[capacity];
+        this.closeTime = new long[capacity];
+        this.buyVolume = new long[capacity];
+        this.sellVolume = new long[capacity];
+        this.count = new long[capacity];
+
+        clear();
+    }
+
+    Duration getResolution() {
+        return resolution;
+    }
+
+    void clear() {
+        Arrays.fill(buckets, EMPTY);
+        newest = EMPTY;
+    }
+
+    /**
+     * @return false if the trade's candle is older than the ring, and so it was dropped
+     */
+    boolean add(final long timestamp, final long price, final long amount, final boolean buy) {
+        final long bucket = Math.floorDiv(timestamp, millis);
+
+        if (newest != EMPTY && bucket <= newest - capacity) {
+            return false;
+        }
+
+        final int slot = (int) Math.floorMod(bucket, (long) capacity);
+
+        if (buckets[slot] != bucket) {
+            buckets[slot] = bucket;
+            open[slot] = high[slot] = low[slot] = close[slot] = price;
+            openTime[slot] = closeTime[slot] = timestamp;
+            buyVolume[slot] = sellVolume[slot] = count[slot] = 0;
+        } else {
+            if (price > high[slot]) {
+                high[slot] = price;
+            }
+            if (price < low[slot]) {
+                low[slot] = price;
+            }
+            if (timestamp < openTime[slot]) {
+                openTime[slot] = timestamp;
+                open[slot] = price;
+            }
+            if (timestamp >= closeTime[slot]) {
+                closeTime[slot] = timestamp;
+                close[slot] = price;
+            }
+        }
+
+        if (buy) {
+            buyVolume[slot] += amount;
+        } else {
+            sellVolume[slot] += amount;
+        }
+        count[slot]++;
+
+        if (bucket > newest) {
+            newest = bucket;
+        }
+
+        return true;
+    }
+
+    /**
+     * @return candle containing timestamp, null if it has no trades or it's older than the ring
+     */
+    Candle get(final long timestamp) {
+        final long bucket = Math.floorDiv(timestamp, millis);
+        final int slot = (int) Math.floorMod(bucket, (long) capacity);
+
+        return buckets[slot] == bucket ? candle(slot) : null;
+    }
+
+    /**
+     * @return newest candle, null if there are none
+     */
+    Candle last() {
+        return newest == EMPTY ? null : get(newest * millis);
+    }
+
+    /**
+     * @return candles with trades within [from, to), oldest first
+     */
+    List<Candle> candles(final long from, final long to) {
+        final List<Candle> out = new ArrayList<>();
+
+        if (newest == EMPTY) {
+            return out;
+        }
+
+        final long first = Math.max(Math.floorDiv(from, millis), newest - capacity + 1);
+        final long last = Math.min(Math.floorDiv(to - 1, millis), newest);
+
+        for (long bucket = first; bucket <= last; bucket++) {
+            final int slot = (int) Math.floorMod(bucket, (long) capacity);
+
+            if (buckets[slot] == bucket) {
+                out.add(candle(slot));
+            }
+        }
+
+        return out;
+    }
+
+    // ** implementation methods **
+
+    private Candle candle(final int slot) {
+        return new Candle(Instant.ofEpochMilli(buckets[slot] * millis), resolution,
+                open[slot], high[slot], low[slot], close[slot],
+                buyVolume[slot], sellVolume[slot], count[slot],
+                priceScale, amountScale);
+    }
+
+}
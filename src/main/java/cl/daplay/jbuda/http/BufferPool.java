@@ -0,0 +1,36 @@
+package cl.daplay.jbuda.http;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Pool of byte arrays to read response bodies into.
+ *
+ * Arrays grown past maxRetainedSize aren't pooled back, so one huge response doesn't pin
+ * its memory forever.
+ */
+final class BufferPool {
+
+    private final int initialSize;
+    private final int maxRetainedSize;
+    private final BlockingQueue<byte[]> pool;
+
+    BufferPool(final int initialSize, final int maxRetainedSize, final int maxPooled) {
+        this.initialSize = initialSize;
+        this.maxRetainedSize = maxRetainedSize;
+        this.pool = new ArrayBlockingQueue<>(maxPooled);
+    }
+
+    byte[] acquire() {
+        final byte[] buffer = pool.poll();
+        return buffer == null ? new byte[initialSize] : buffer;
+    }
+
+    void release(final byte[] buffer) {
+        if (buffer.length <= maxRetainedSize) {
+            // if pool is full, buffer is left to GC
+            pool.offer(buffer);
+        }
+    }
+
+}
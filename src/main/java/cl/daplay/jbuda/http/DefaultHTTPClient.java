@@ -2,13 +2,16 @@ package cl.daplay.jbuda.http;
 
 import cl.daplay.jbuda.HTTPClient;
 import cl.daplay.jbuda.Signer;
-import cl.daplay.jbuda.Utils;
 import cl.daplay.jbuda.jackson.model.JacksonJBudaException;
 
 import java.io.*;
 import java.net.HttpURLConnection;
 import java.net.Proxy;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.LongSupplier;
 import java.util.zip.GZIPInputStream;
 
@@ -16,15 +19,39 @@ public final class DefaultHTTPClient implements HTTPClient {
 
     private static final String BASE_PATH = "https://www.buda.com";
 
+    /**
+     * response bodies are read into pooled arrays, most of them fit in 64KB,
+     * arrays grown past 4MB are released to GC.
+     */
+    private static final int BUFFER_INITIAL_SIZE = 64 * 1024;
+    private static final int BUFFER_MAX_RETAINED_SIZE = 4 * 1024 * 1024;
+    private static final int BUFFER_MAX_POOLED = 16;
+
+    private final String basePath;
     private final Proxy proxy;
     private final String key;
     private final LongSupplier nonceSupplier;
     private final String version;
+    private final BufferPool bufferPool = new BufferPool(BUFFER_INITIAL_SIZE, BUFFER_MAX_RETAINED_SIZE, BUFFER_MAX_POOLED);
+
+    /**
+     * held from a nonce being drawn until its request's response arrives
+     */
+    private final Lock signedRequests = new ReentrantLock(true);
 
     public DefaultHTTPClient(final Proxy proxy,
                              final String key,
                              final LongSupplier nonceSupplier,
                              final String version) {
+        this(BASE_PATH, proxy, key, nonceSupplier, version);
+    }
+
+    DefaultHTTPClient(final String basePath,
+                      final Proxy proxy,
+                      final String key,
+                      final LongSupplier nonceSupplier,
+                      final String version) {
+        this.basePath = basePath;
         this.proxy = proxy;
         this.key = key;
         this.nonceSupplier = nonceSupplier;
@@ -49,6 +76,11 @@ public final class DefaultHTTPClient implements HTTPClient {
 
     }
 
+    /**
+     * buda.com rejects a nonce lower than one it has already seen, so signed requests are sent one at a time, in
+     * nonce order: each holds signedRequests until its response arrives. Reading and handling response bodies,
+     * and unsigned requests (see Signer.isSigning), run concurrently, unsigned ones never wait for the lock.
+     */
     private <T> T doRequest(final String path,
                             final Signer signer,
                             final String method,
@@ -56,36 +88,46 @@ public final class DefaultHTTPClient implements HTTPClient {
                             final HTTPResponseHandler<T> responseHandler) throws Exception {
         final String requestBody = _requestBody == null ? "" : _requestBody.trim();
 
-        final URL url = new URL(BASE_PATH + path);
+        final URL url = new URL(basePath + path);
         final HttpURLConnection con = (HttpURLConnection) (proxy == null ? url.openConnection() : url.openConnection(proxy));
 
-        final long nonce = nonceSupplier.getAsLong();
-        final String signature = signer.sign(requestBody, method, path, nonce);
+        final InputStream pipe;
 
-        if (!signature.isEmpty()) {
-            // headers
-            con.setRequestMethod(method);
+        boolean locked = signer.isSigning();
+        if (locked) {
+            signedRequests.lock();
+        }
 
-            if (key == null || key.isEmpty()) {
-                throw new JacksonJBudaException("API Key is missing.");
-            }
+        try {
+            final long nonce = nonceSupplier.getAsLong();
+            final String signature = signer.sign(requestBody, method, path, nonce);
 
-            con.setRequestProperty("X-SBTC-APIKEY", key);
-            con.setRequestProperty("X-SBTC-NONCE", Long.toString(nonce, 10));
-            con.setRequestProperty("X-SBTC-SIGNATURE", signature);
+            if (!signature.isEmpty()) {
+                // headers
+                con.setRequestMethod(method);
 
-            if (!requestBody.isEmpty()) {
-                con.setRequestProperty("Content-Type", "application/json");
+                if (key == null || key.isEmpty()) {
+                    throw new JacksonJBudaException("API Key is missing.");
+                }
+
+                con.setRequestProperty("X-SBTC-APIKEY", key);
+                con.setRequestProperty("X-SBTC-NONCE", Long.toString(nonce, 10));
+                con.setRequestProperty("X-SBTC-SIGNATURE", signature);
+
+                if (!requestBody.isEmpty()) {
+                    con.setRequestProperty("Content-Type", "application/json");
+                }
+            } else if (locked) {
+                signedRequests.unlock();
+                locked = false;
             }
-        }
 
-        con.setRequestProperty("accept", "application/json");
-        con.setRequestProperty("Accept-Encoding", "gzip,deflate");
-        con.setRequestProperty("User-Agent", "JBuda/" + version);
+            con.setRequestProperty("accept", "application/json");
+            con.setRequestProperty("Accept-Encoding", "gzip,deflate");
+            con.setRequestProperty("User-Agent", "JBuda/" + version);
 
-        Reader reader = null;
+            responseHandler.onSend();
 
-        try {
             // writes body if any
             if (!requestBody.isEmpty()) {
                 con.setDoOutput(true);
@@ -94,26 +136,47 @@ public final class DefaultHTTPClient implements HTTPClient {
                 writer.close();
             }
 
-            final InputStream pipe = pipe(con);
+            // sends the request (if not sent yet) and waits for the response
+            pipe = pipe(con);
+        } finally {
+            if (locked) {
+                signedRequests.unlock();
+            }
+        }
+
+        InputStream in = null;
+        byte[] buffer = bufferPool.acquire();
 
+        try {
             // handles input
             if (null != pipe) {
                 if ("gzip".equals(con.getContentEncoding())) {
-                    reader = new InputStreamReader(new GZIPInputStream(pipe(con)));
+                    in = new GZIPInputStream(pipe);
                 } else {
-                    reader = new InputStreamReader(pipe(con));
+                    in = pipe;
                 }
-            } else {
-                reader = new StringReader("");
             }
 
             final int statusCode = con.getResponseCode();
-            final String body = Utils.convertStreamToString(reader);
 
-            return responseHandler.handle(statusCode, body);
+            // reads raw bytes, decoding is left to the handler
+            int length = 0;
+            if (in != null) {
+                int read;
+                while ((read = in.read(buffer, length, buffer.length - length)) != -1) {
+                    length += read;
+                    if (length == buffer.length) {
+                        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                    }
+                }
+            }
+
+            return responseHandler.handle(statusCode, ByteBuffer.wrap(buffer, 0, length));
         } finally {
-            if (reader != null) {
-                reader.close();
+            bufferPool.release(buffer);
+
+            if (in != null) {
+                in.close();
             }
         }
     }
@@ -0,0 +1,69 @@
+package cl.daplay.jbuda.http;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static java.lang.String.format;
+
+/**
+ * Spaces requests evenly so every thread sharing it stays, together, under a requests per second budget.
+ *
+ * Each permit reserves the next free time slot, lock free. Callers that must not block (ie: scheduled tasks)
+ * use reserve() and delay themselves, the rest use acquire().
+ */
+public final class RateLimiter {
+
+    private final double permitsPerSecond;
+    private final long intervalNanos;
+    private final LongSupplier nanoClock;
+    private final AtomicLong nextFree;
+
+    public RateLimiter(final double permitsPerSecond) {
+        this(permitsPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(final double permitsPerSecond, final LongSupplier nanoClock) {
+        if (!(permitsPerSecond > 0)) {
+            throw new IllegalArgumentException(format("Invalid permits per second: %s", permitsPerSecond));
+        }
+
+        this.permitsPerSecond = permitsPerSecond;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.nanoClock = nanoClock;
+        this.nextFree = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public double getRate() {
+        return permitsPerSecond;
+    }
+
+    /**
+     * reserves the next permit
+     *
+     * @return nanoseconds to wait before using it, 0 if it may be used right away
+     */
+    public long reserve() {
+        while (true) {
+            final long now = nanoClock.getAsLong();
+            final long next = nextFree.get();
+            final long slot = next - now > 0 ? next : now;
+
+            if (nextFree.compareAndSet(next, slot + intervalNanos)) {
+                return slot - now;
+            }
+        }
+    }
+
+    /**
+     * blocks until the next permit is available
+     */
+    public void acquire() throws InterruptedException {
+        final long wait = reserve();
+
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+}
@@ -0,0 +1,94 @@
+package cl.daplay.jbuda.indicator;
+
+import static java.lang.String.format;
+
+/**
+ * Simple moving average of the last period values, plus and minus width standard deviations.
+ *
+ * Sum and sum of squares slide with the window, and are recomputed from the ring once per period to keep
+ * floating point drift from building up: O(1) amortized per update. Not thread safe.
+ */
+public final class BollingerBands {
+
+    private final int period;
+    private final double width;
+    private final DoubleRing window;
+
+    private double sum;
+    private double sumOfSquares;
+    private int sinceRecompute;
+
+    public BollingerBands(final int period, final double width) {
+        if (period < 2) {
+            throw new IllegalArgumentException(format("Invalid period: %d", period));
+        }
+
+        this.period = period;
+        this.width = width;
+        this.window = new DoubleRing(period);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public double getWidth() {
+        return width;
+    }
+
+    public void update(final double x) {
+        final double evicted = window.add(x);
+
+        if (++sinceRecompute == period) {
+            sinceRecompute = 0;
+            sum = 0;
+            sumOfSquares = 0;
+
+            for (int i = 0; i < window.size(); i++) {
+                final double value = window.get(i);
+                sum += value;
+                sumOfSquares += value * value;
+            }
+        } else {
+            sum += x;
+            sumOfSquares += x * x;
+
+            if (!Double.isNaN(evicted)) {
+                sum -= evicted;
+                sumOfSquares -= evicted * evicted;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return window.isFull();
+    }
+
+    /**
+     * @return moving average, NaN until period values were seen
+     */
+    public double middle() {
+        return isReady() ? sum / period : Double.NaN;
+    }
+
+    /**
+     * @return population standard deviation of the window, NaN until period values were seen
+     */
+    public double deviation() {
+        if (!isReady()) {
+            return Double.NaN;
+        }
+
+        final double mean = sum / period;
+        return Math.sqrt(Math.max(0, sumOfSquares / period - mean * mean));
+    }
+
+    public double upper() {
+        return middle() + width * deviation();
+    }
+
+    public double lower() {
+        return middle() - width * deviation();
+    }
+
+}
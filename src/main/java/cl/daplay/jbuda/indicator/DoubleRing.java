@@ -0,0 +1,47 @@
+package cl.daplay.jbuda.indicator;
+
+/**
+ * Fixed capacity ring of doubles, keeping the last capacity values added. Not thread safe.
+ */
+final class DoubleRing {
+
+    private final double[] values;
+    private int next;
+    private int size;
+
+    DoubleRing(final int capacity) {
+        this.values = new double[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == values.length;
+    }
+
+    /**
+     * @return value evicted to make room, NaN if the ring wasn't full
+     */
+    double add(final double value) {
+        final double evicted = isFull() ? values[next] : Double.NaN;
+
+        values[next] = value;
+        next = next + 1 == values.length ? 0 : next + 1;
+        if (size < values.length) {
+            size++;
+        }
+
+        return evicted;
+    }
+
+    /**
+     * @param i 0 for the oldest value
+     */
+    double get(final int i) {
+        final int index = (isFull() ? next : 0) + i;
+        return values[index >= values.length ? index - values.length : index];
+    }
+
+}
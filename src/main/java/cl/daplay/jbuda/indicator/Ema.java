@@ -0,0 +1,53 @@
+package cl.daplay.jbuda.indicator;
+
+import static java.lang.String.format;
+
+/**
+ * Exponential moving average, seeded with the simple average of its first period values. Not thread safe.
+ */
+public final class Ema {
+
+    private final int period;
+    private final double alpha;
+
+    private int count;
+    private double value;
+
+    public Ema(final int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException(format("Invalid period: %d", period));
+        }
+
+        this.period = period;
+        this.alpha = 2.0 / (period + 1);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void update(final double x) {
+        if (count < period) {
+            value += x;
+            count++;
+
+            if (count == period) {
+                value /= period;
+            }
+        } else {
+            value += alpha * (x - value);
+        }
+    }
+
+    public boolean isReady() {
+        return count == period;
+    }
+
+    /**
+     * @return NaN until period values were seen
+     */
+    public double value() {
+        return isReady() ? value : Double.NaN;
+    }
+
+}
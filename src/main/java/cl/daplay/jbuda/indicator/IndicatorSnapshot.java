@@ -0,0 +1,135 @@
+package cl.daplay.jbuda.indicator;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Values of every indicator of an Indicators instance after the same observation. Values not ready yet are NaN.
+ */
+public final class IndicatorSnapshot implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long count;
+    private final Instant timestamp;
+    private final double price;
+    private final double ema;
+    private final double rsi;
+    private final double bollingerMiddle;
+    private final double bollingerUpper;
+    private final double bollingerLower;
+    private final double volatility;
+
+    public IndicatorSnapshot(final long count,
+                             final Instant timestamp,
+                             final double price,
+                             final double ema,
+                             final double rsi,
+                             final double bollingerMiddle,
+                             final double bollingerUpper,
+                             final double bollingerLower,
+                             final double volatility) {
+        this.count = count;
+        this.timestamp = timestamp;
+        this.price = price;
+        this.ema = ema;
+        this.rsi = rsi;
+        this.bollingerMiddle = bollingerMiddle;
+        this.bollingerUpper = bollingerUpper;
+        this.bollingerLower = bollingerLower;
+        this.volatility = volatility;
+    }
+
+    /**
+     * @return observations seen
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return time of the last observation, null if there are none
+     */
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return last observed price, NaN if there are none
+     */
+    public double getPrice() {
+        return price;
+    }
+
+    public double getEma() {
+        return ema;
+    }
+
+    public double getRsi() {
+        return rsi;
+    }
+
+    public double getBollingerMiddle() {
+        return bollingerMiddle;
+    }
+
+    public double getBollingerUpper() {
+        return bollingerUpper;
+    }
+
+    public double getBollingerLower() {
+        return bollingerLower;
+    }
+
+    public double getVolatility() {
+        return volatility;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final IndicatorSnapshot that = (IndicatorSnapshot) o;
+
+        if (count != that.count) return false;
+        if (Double.compare(that.price, price) != 0) return false;
+        if (Double.compare(that.ema, ema) != 0) return false;
+        if (Double.compare(that.rsi, rsi) != 0) return false;
+        if (Double.compare(that.bollingerMiddle, bollingerMiddle) != 0) return false;
+        if (Double.compare(that.bollingerUpper, bollingerUpper) != 0) return false;
+        if (Double.compare(that.bollingerLower, bollingerLower) != 0) return false;
+        if (Double.compare(that.volatility, volatility) != 0) return false;
+        return timestamp != null ? timestamp.equals(that.timestamp) : that.timestamp == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(count);
+        result = 31 * result + (timestamp != null ? timestamp.hashCode() : 0);
+        result = 31 * result + Double.hashCode(price);
+        result = 31 * result + Double.hashCode(ema);
+        result = 31 * result + Double.hashCode(rsi);
+        result = 31 * result + Double.hashCode(bollingerMiddle);
+        result = 31 * result + Double.hashCode(bollingerUpper);
+        result = 31 * result + Double.hashCode(bollingerLower);
+        result = 31 * result + Double.hashCode(volatility);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IndicatorSnapshot{" +
+                "count=" + count +
+                ", timestamp=" + timestamp +
+                ", price=" + price +
+                ", ema=" + ema +
+                ", rsi=" + rsi +
+                ", bollingerMiddle=" + bollingerMiddle +
+                ", bollingerUpper=" + bollingerUpper +
+                ", bollingerLower=" + bollingerLower +
+                ", volatility=" + volatility +
+                '}';
+    }
+
+}
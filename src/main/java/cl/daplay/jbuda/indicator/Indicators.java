@@ -0,0 +1,137 @@
+package cl.daplay.jbuda.indicator;
+
+import cl.daplay.jbuda.model.Ticker;
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jbuda.store.TradeVisitor;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+
+/**
+ * EMA, RSI, Bollinger bands and realized volatility of one price series, updated together in O(1) per
+ * observation without allocating.
+ *
+ * Observations come from trades (as a Consumer, or visitor() for TradeQuery.scan and CandleEngine style
+ * feeds) or from tickers through onTicker, ie: {@code poller.watchTicker("BTC-CLP", indicators::onTicker)}.
+ *
+ * Writers are serialized through a StampedLock. snapshot() never takes it: it reads with an optimistic stamp,
+ * retrying if a write raced it, so readers on other threads never block writers nor each other, and always see
+ * every indicator after the same observation.
+ */
+public final class Indicators implements Consumer<Trades.Transaction> {
+
+    private final Clock clock;
+    private final StampedLock lock = new StampedLock();
+
+    private final Ema ema;
+    private final Rsi rsi;
+    private final BollingerBands bollinger;
+    private final RealizedVolatility volatility;
+
+    private long count;
+    private long timestamp;
+    private double price = Double.NaN;
+
+    /**
+     * EMA 20, RSI 14, Bollinger 20 with 2 deviations, volatility over 30 returns
+     */
+    public Indicators() {
+        this(20, 14, 20, 2, 30);
+    }
+
+    public Indicators(final int emaPeriod,
+                      final int rsiPeriod,
+                      final int bollingerPeriod,
+                      final double bollingerWidth,
+                      final int volatilityPeriod) {
+        this(emaPeriod, rsiPeriod, bollingerPeriod, bollingerWidth, volatilityPeriod, Clock.systemUTC());
+    }
+
+    Indicators(final int emaPeriod,
+               final int rsiPeriod,
+               final int bollingerPeriod,
+               final double bollingerWidth,
+               final int volatilityPeriod,
+               final Clock clock) {
+        this.ema = new Ema(emaPeriod);
+        this.rsi = new Rsi(rsiPeriod);
+        this.bollinger = new BollingerBands(bollingerPeriod, bollingerWidth);
+        this.volatility = new RealizedVolatility(volatilityPeriod);
+        this.clock = clock;
+    }
+
+    /**
+     * @param timestamp epoch millis
+     */
+    public void update(final long timestamp, final double price) {
+        final long stamp = lock.writeLock();
+
+        try {
+            ema.update(price);
+            rsi.update(price);
+            bollinger.update(price);
+            volatility.update(price);
+
+            this.count++;
+            this.timestamp = timestamp;
+            this.price = price;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void accept(final Trades.Transaction transaction) {
+        update(transaction.getTimestamp().toEpochMilli(), transaction.getPrice().doubleValue());
+    }
+
+    /**
+     * tickers carry no time, they're stamped with the time they're observed
+     */
+    public void onTicker(final Ticker ticker) {
+        update(clock.millis(), ticker.getLastPrice().doubleValue());
+    }
+
+    /**
+     * @param priceScale of the fixed point prices visited
+     */
+    public TradeVisitor visitor(final int priceScale) {
+        final double unit = Math.pow(10, -priceScale);
+        return (timestamp, price, amount, buy) -> update(timestamp, price * unit);
+    }
+
+    public IndicatorSnapshot snapshot() {
+        long stamp = lock.tryOptimisticRead();
+
+        while (true) {
+            final long count = this.count;
+            final long timestamp = this.timestamp;
+            final double price = this.price;
+            final double ema = this.ema.value();
+            final double rsi = this.rsi.value();
+            final double middle = bollinger.middle();
+            final double deviation = bollinger.deviation();
+            final double volatility = this.volatility.value();
+
+            if (lock.validate(stamp)) {
+                final double width = bollinger.getWidth();
+
+                return new IndicatorSnapshot(count,
+                        count == 0 ? null : Instant.ofEpochMilli(timestamp),
+                        price,
+                        ema,
+                        rsi,
+                        middle,
+                        middle + width * deviation,
+                        middle - width * deviation,
+                        volatility);
+            }
+
+            // a writer got in, updates take a few dozen nanoseconds so just try again
+            stamp = lock.tryOptimisticRead();
+        }
+    }
+
+}
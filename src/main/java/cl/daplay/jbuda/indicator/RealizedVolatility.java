@@ -0,0 +1,77 @@
+package cl.daplay.jbuda.indicator;
+
+import static java.lang.String.format;
+
+/**
+ * Realized volatility: square root of the sum of squared log returns over the last period returns.
+ *
+ * Like BollingerBands, the sliding sum is recomputed from the ring once per period. Not thread safe.
+ */
+public final class RealizedVolatility {
+
+    private final int period;
+    private final DoubleRing returns;
+
+    private double previous = Double.NaN;
+    private double sumOfSquares;
+    private int sinceRecompute;
+
+    public RealizedVolatility(final int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException(format("Invalid period: %d", period));
+        }
+
+        this.period = period;
+        this.returns = new DoubleRing(period);
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    /**
+     * @param price must be positive, others are ignored
+     */
+    public void update(final double price) {
+        if (!(price > 0)) {
+            return;
+        }
+
+        if (Double.isNaN(previous)) {
+            previous = price;
+            return;
+        }
+
+        final double r = Math.log(price / previous);
+        previous = price;
+
+        final double evicted = returns.add(r);
+
+        if (++sinceRecompute == period) {
+            sinceRecompute = 0;
+            sumOfSquares = 0;
+
+            for (int i = 0; i < returns.size(); i++) {
+                sumOfSquares += returns.get(i) * returns.get(i);
+            }
+        } else {
+            sumOfSquares += r * r;
+
+            if (!Double.isNaN(evicted)) {
+                sumOfSquares -= evicted * evicted;
+            }
+        }
+    }
+
+    public boolean isReady() {
+        return returns.isFull();
+    }
+
+    /**
+     * @return NaN until period returns were seen
+     */
+    public double value() {
+        return isReady() ? Math.sqrt(Math.max(0, sumOfSquares)) : Double.NaN;
+    }
+
+}
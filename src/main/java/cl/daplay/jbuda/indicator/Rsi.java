@@ -0,0 +1,71 @@
+package cl.daplay.jbuda.indicator;
+
+import static java.lang.String.format;
+
+/**
+ * Relative strength index with Wilder's smoothing: average gains and losses start as simple averages of the
+ * first period changes, then each new change weighs 1 / period. Not thread safe.
+ */
+public final class Rsi {
+
+    private final int period;
+
+    private boolean started;
+    private double previous;
+    private int changes;
+    private double averageGain;
+    private double averageLoss;
+
+    public Rsi(final int period) {
+        if (period < 1) {
+            throw new IllegalArgumentException(format("Invalid period: %d", period));
+        }
+
+        this.period = period;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void update(final double x) {
+        if (!started) {
+            started = true;
+            previous = x;
+            return;
+        }
+
+        final double change = x - previous;
+        final double gain = change > 0 ? change : 0;
+        final double loss = change < 0 ? -change : 0;
+        previous = x;
+
+        if (changes < period) {
+            averageGain += gain / period;
+            averageLoss += loss / period;
+            changes++;
+        } else {
+            averageGain = (averageGain * (period - 1) + gain) / period;
+            averageLoss = (averageLoss * (period - 1) + loss) / period;
+        }
+    }
+
+    public boolean isReady() {
+        return changes == period;
+    }
+
+    /**
+     * @return in [0, 100], NaN until period changes were seen
+     */
+    public double value() {
+        if (!isReady()) {
+            return Double.NaN;
+        }
+        if (averageLoss == 0) {
+            return averageGain == 0 ? 50 : 100;
+        }
+
+        return 100 - 100 / (1 + averageGain / averageLoss);
+    }
+
+}
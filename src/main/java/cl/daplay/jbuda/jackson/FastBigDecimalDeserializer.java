@@ -0,0 +1,37 @@
+package cl.daplay.jbuda.jackson;
+
+import cl.daplay.jbuda.Decoders;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Reads decimal strings, such as the amount in [ "0.00050403", "BTC" ], with {@link Decoders}:
+ * up to 18 digits are taken as an unscaled long plus scale, without building a String first.
+ * Other tokens are read by Jackson's own BigDecimal deserializer.
+ */
+public final class FastBigDecimalDeserializer extends JsonDeserializer<BigDecimal> {
+
+    @Override
+    public BigDecimal deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        if (!jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            return NumberDeserializers.BigDecimalDeserializer.instance.deserialize(jsonParser, deserializationContext);
+        }
+
+        try {
+            return Decoders.parseDecimal(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+        } catch (NumberFormatException e) {
+            return (BigDecimal) deserializationContext.handleWeirdStringValue(BigDecimal.class, jsonParser.getText(), "not a valid representation");
+        }
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return BigDecimal.class;
+    }
+}
@@ -0,0 +1,37 @@
+package cl.daplay.jbuda.jackson;
+
+import cl.daplay.jbuda.Decoders;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Instant;
+
+/**
+ * Reads epoch millis and ISO-8601 strings with {@link Decoders}, straight from the parser's
+ * char buffer. Other tokens (numeric timestamps) are read by JavaTimeModule's deserializer.
+ */
+public final class FastInstantDeserializer extends JsonDeserializer<Instant> {
+
+    @Override
+    public Instant deserialize(JsonParser jsonParser, DeserializationContext deserializationContext) throws IOException {
+        if (!jsonParser.hasToken(JsonToken.VALUE_STRING)) {
+            return InstantDeserializer.INSTANT.deserialize(jsonParser, deserializationContext);
+        }
+
+        try {
+            return Decoders.parseInstant(jsonParser.getTextCharacters(), jsonParser.getTextOffset(), jsonParser.getTextLength());
+        } catch (DateTimeException e) {
+            return (Instant) deserializationContext.handleWeirdStringValue(Instant.class, jsonParser.getText(), e.getMessage());
+        }
+    }
+
+    @Override
+    public Class<?> handledType() {
+        return Instant.class;
+    }
+}
@@ -3,37 +3,61 @@ package cl.daplay.jbuda.jackson;
 import cl.daplay.jbuda.JBuda;
 import cl.daplay.jbuda.JSON;
 import cl.daplay.jbuda.jackson.dto.*;
+import cl.daplay.jbuda.jackson.model.order.JacksonOffer;
+import cl.daplay.jbuda.jackson.model.order.JacksonOrderBook;
 import cl.daplay.jbuda.model.ApiKey;
 import cl.daplay.jbuda.model.JBudaException;
 import cl.daplay.jbuda.model.Page;
 import cl.daplay.jbuda.model.Ticker;
 import cl.daplay.jbuda.model.Balance;
 import cl.daplay.jbuda.model.Deposit;
+import cl.daplay.jbuda.model.DepositField;
+import cl.daplay.jbuda.model.Field;
 import cl.daplay.jbuda.model.Market;
 import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.model.OrderField;
 import cl.daplay.jbuda.model.OrderBook;
 import cl.daplay.jbuda.model.Trades;
 import cl.daplay.jbuda.model.Withdrawal;
+import cl.daplay.jbuda.model.WithdrawalField;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.text.DecimalFormat;
 import java.text.SimpleDateFormat;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
+import static cl.daplay.jbuda.Utils.decode;
 import static java.lang.String.format;
 import static java.util.Arrays.stream;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
 
 public enum JacksonJSON implements JSON {
-    INSTANCE;
+    INSTANCE(newObjectMapper()),
+
+    /**
+     * same as INSTANCE, but bytecode-accelerated by Afterburner module. Property
+     * access and creator invocation are done by generated classes instead of reflection.
+     */
+    AFTERBURNER(newObjectMapper().registerModule(new AfterburnerModule()));
 
     public static ObjectMapper newObjectMapper() {
         final SimpleDateFormat simpleDateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
@@ -41,12 +65,51 @@ public enum JacksonJSON implements JSON {
         return new ObjectMapper()
                 .setDateFormat(simpleDateFormat)
                 .registerModule(new Jdk8Module())
-                .registerModule(new JavaTimeModule());
+                .registerModule(new JavaTimeModule())
+                // registered last, so these take precedence over JavaTimeModule and databind defaults
+                .registerModule(new SimpleModule("jbuda")
+                        .addDeserializer(Instant.class, new FastInstantDeserializer())
+                        .addDeserializer(BigDecimal.class, new FastBigDecimalDeserializer()));
     }
 
-    private final ObjectMapper objectMapper = newObjectMapper();
     private final DecimalFormat decimalFormat = JBuda.newBigDecimalFormat();
 
+    // readers and writers are immutable and thread safe, building them once
+    // avoids a type lookup on every call
+    private final ObjectWriter mapWriter;
+    private final ObjectReader apiKeyReader;
+    private final ObjectReader marketsReader;
+    private final ObjectReader orderReader;
+    private final ObjectReader tickerReader;
+    private final ObjectReader orderBookReader;
+    private final ObjectReader balanceReader;
+    private final ObjectReader tradesReader;
+    private final ObjectReader balancesReader;
+    private final ObjectReader ordersReader;
+    private final ObjectReader depositsReader;
+    private final ObjectReader withdrawalsReader;
+    private final ObjectReader pageReader;
+    private final ObjectReader exceptionReader;
+    private final ObjectReader offerReader;
+
+    JacksonJSON(final ObjectMapper objectMapper) {
+        this.mapWriter = objectMapper.writerFor(Map.class);
+        this.apiKeyReader = objectMapper.readerFor(ApiKeyDTO.class);
+        this.marketsReader = objectMapper.readerFor(MarketsDTO.class);
+        this.orderReader = objectMapper.readerFor(OrderDTO.class);
+        this.tickerReader = objectMapper.readerFor(TickerDTO.class);
+        this.orderBookReader = objectMapper.readerFor(OrderBookDTO.class);
+        this.balanceReader = objectMapper.readerFor(BalanceDTO.class);
+        this.tradesReader = objectMapper.readerFor(TradesDTO.class);
+        this.balancesReader = objectMapper.readerFor(BalancesDTO.class);
+        this.ordersReader = objectMapper.readerFor(OrdersDTO.class);
+        this.depositsReader = objectMapper.readerFor(DepositsDTO.class);
+        this.withdrawalsReader = objectMapper.readerFor(WithdrawalsDTO.class);
+        this.pageReader = objectMapper.readerFor(PageDTO.class);
+        this.exceptionReader = objectMapper.readerFor(ExceptionDTO.class);
+        this.offerReader = objectMapper.readerFor(JacksonOffer.class);
+    }
+
     @Override
     public String newAPIKey(String name, Instant expiration) throws IOException {
         final Map payload = new LinkedHashMap<>();
@@ -54,7 +117,7 @@ public enum JacksonJSON implements JSON {
         payload.put("name", name);
         payload.put("expiration_time", expiration);
 
-        return objectMapper.writeValueAsString(singletonMap("api_key", payload));
+        return mapWriter.writeValueAsString(singletonMap("api_key", payload));
     }
 
     @Override
@@ -66,22 +129,22 @@ public enum JacksonJSON implements JSON {
         payload.put("limit", decimalFormat.format(price));
         payload.put("amount", decimalFormat.format(qty));
 
-        return objectMapper.writeValueAsString(singletonMap("order", payload));
+        return mapWriter.writeValueAsString(singletonMap("order", payload));
     }
 
     @Override
     public String cancelOrder(long __) throws IOException {
-        return objectMapper.writeValueAsString(singletonMap("state", "CANCELING"));
+        return mapWriter.writeValueAsString(singletonMap("state", "CANCELING"));
     }
 
     @Override
     public ApiKey apiKey(String json) throws IOException {
-        return objectMapper.readValue(json, ApiKeyDTO.class).getApiKey();
+        return apiKeyReader.<ApiKeyDTO>readValue(json).getApiKey();
     }
 
     @Override
     public List<Market> markets(String json) throws IOException {
-        return objectMapper.readValue(json, MarketsDTO.class)
+        return marketsReader.<MarketsDTO>readValue(json)
                 .getMarkets()
                 .stream()
                 .collect(toList());
@@ -89,32 +152,39 @@ public enum JacksonJSON implements JSON {
 
     @Override
     public Order order(String json) throws IOException {
-        return objectMapper.readValue(json, OrderDTO.class).getOrder();
+        return orderReader.<OrderDTO>readValue(json).getOrder();
     }
 
     @Override
     public Ticker ticker(String json) throws IOException {
-        return objectMapper.readValue(json, TickerDTO.class).getTicker();
+        return tickerReader.<TickerDTO>readValue(json).getTicker();
     }
 
     @Override
     public OrderBook orderBook(String json) throws IOException {
-        return objectMapper.readValue(json, OrderBookDTO.class).getOrderBook();
+        return orderBookReader.<OrderBookDTO>readValue(json).getOrderBook();
+    }
+
+    @Override
+    public OrderBook orderBook(String json, int maxDepth) throws IOException {
+        try (final JsonParser parser = offerReader.getFactory().createParser(json)) {
+            return orderBook(parser, maxDepth);
+        }
     }
 
     @Override
     public Balance balance(String json) throws IOException {
-        return objectMapper.readValue(json, BalanceDTO.class).getBalance();
+        return balanceReader.<BalanceDTO>readValue(json).getBalance();
     }
 
     @Override
     public Trades trades(String json) throws IOException {
-        return objectMapper.readValue(json, TradesDTO.class).getTrades();
+        return tradesReader.<TradesDTO>readValue(json).getTrades();
     }
 
     @Override
     public List<Balance> balances(String json) throws IOException {
-        return objectMapper.readValue(json, BalancesDTO.class).getBalances()
+        return balancesReader.<BalancesDTO>readValue(json).getBalances()
                 .stream()
                 .collect(toList());
 
@@ -122,33 +192,60 @@ public enum JacksonJSON implements JSON {
 
     @Override
     public List<Order> orders(String json) throws IOException {
-        return objectMapper.readValue(json, OrdersDTO.class).getOrders()
+        return ordersReader.<OrdersDTO>readValue(json).getOrders()
                 .stream()
                 .collect(toList());
     }
 
+    @Override
+    public List<Order> orders(String json, Set<OrderField> fields) throws IOException {
+        try (final JsonParser parser = project(ordersReader.getFactory().createParser(json), "orders", fields)) {
+            return ordersReader.<OrdersDTO>readValue(parser).getOrders()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
     @Override
     public List<Deposit> deposits(String json) throws IOException {
-        return objectMapper.readValue(json, DepositsDTO.class).getDeposits()
+        return depositsReader.<DepositsDTO>readValue(json).getDeposits()
                 .stream()
                 .collect(toList());
     }
 
+    @Override
+    public List<Deposit> deposits(String json, Set<DepositField> fields) throws IOException {
+        try (final JsonParser parser = project(depositsReader.getFactory().createParser(json), "deposits", fields)) {
+            return depositsReader.<DepositsDTO>readValue(parser).getDeposits()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
     @Override
     public List<Withdrawal> withdrawls(String json) throws IOException {
-        return objectMapper.readValue(json, WithdrawalsDTO.class).getWithdrawals()
+        return withdrawalsReader.<WithdrawalsDTO>readValue(json).getWithdrawals()
                 .stream()
                 .collect(toList());
     }
 
+    @Override
+    public List<Withdrawal> withdrawls(String json, Set<WithdrawalField> fields) throws IOException {
+        try (final JsonParser parser = project(withdrawalsReader.getFactory().createParser(json), "withdrawals", fields)) {
+            return withdrawalsReader.<WithdrawalsDTO>readValue(parser).getWithdrawals()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
     @Override
     public Page page(String json) throws IOException {
-        return objectMapper.readValue(json, PageDTO.class).getMeta();
+        return pageReader.<PageDTO>readValue(json).getMeta();
     }
 
     @Override
     public JBudaException exception(int statusCode, String json) throws Exception {
-        final ExceptionDTO exceptionDTO = objectMapper.readValue(json, ExceptionDTO.class);
+        final ExceptionDTO exceptionDTO = exceptionReader.<ExceptionDTO>readValue(json);
 
         if (null == exceptionDTO) {
             throw new Exception(format("Buda request failed. status code: '%d' response body: '%s'", statusCode, json));
@@ -157,6 +254,216 @@ public enum JacksonJSON implements JSON {
         return error2Error(statusCode, exceptionDTO);
     }
 
+    @Override
+    public ApiKey apiKey(ByteBuffer json) throws IOException {
+        return JacksonJSON.<ApiKeyDTO>read(apiKeyReader, json).getApiKey();
+    }
+
+    @Override
+    public List<Market> markets(ByteBuffer json) throws IOException {
+        return JacksonJSON.<MarketsDTO>read(marketsReader, json)
+                .getMarkets()
+                .stream()
+                .collect(toList());
+    }
+
+    @Override
+    public Order order(ByteBuffer json) throws IOException {
+        return JacksonJSON.<OrderDTO>read(orderReader, json).getOrder();
+    }
+
+    @Override
+    public Ticker ticker(ByteBuffer json) throws IOException {
+        return JacksonJSON.<TickerDTO>read(tickerReader, json).getTicker();
+    }
+
+    @Override
+    public OrderBook orderBook(ByteBuffer json) throws IOException {
+        return JacksonJSON.<OrderBookDTO>read(orderBookReader, json).getOrderBook();
+    }
+
+    @Override
+    public OrderBook orderBook(ByteBuffer json, int maxDepth) throws IOException {
+        try (final JsonParser parser = createParser(json)) {
+            return orderBook(parser, maxDepth);
+        }
+    }
+
+    @Override
+    public Balance balance(ByteBuffer json) throws IOException {
+        return JacksonJSON.<BalanceDTO>read(balanceReader, json).getBalance();
+    }
+
+    @Override
+    public Trades trades(ByteBuffer json) throws IOException {
+        return JacksonJSON.<TradesDTO>read(tradesReader, json).getTrades();
+    }
+
+    @Override
+    public List<Balance> balances(ByteBuffer json) throws IOException {
+        return JacksonJSON.<BalancesDTO>read(balancesReader, json).getBalances()
+                .stream()
+                .collect(toList());
+    }
+
+    @Override
+    public List<Order> orders(ByteBuffer json) throws IOException {
+        return JacksonJSON.<OrdersDTO>read(ordersReader, json).getOrders()
+                .stream()
+                .collect(toList());
+    }
+
+    @Override
+    public List<Order> orders(ByteBuffer json, Set<OrderField> fields) throws IOException {
+        try (final JsonParser parser = project(createParser(json), "orders", fields)) {
+            return ordersReader.<OrdersDTO>readValue(parser).getOrders()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
+    @Override
+    public List<Deposit> deposits(ByteBuffer json) throws IOException {
+        return JacksonJSON.<DepositsDTO>read(depositsReader, json).getDeposits()
+                .stream()
+                .collect(toList());
+    }
+
+    @Override
+    public List<Deposit> deposits(ByteBuffer json, Set<DepositField> fields) throws IOException {
+        try (final JsonParser parser = project(createParser(json), "deposits", fields)) {
+            return depositsReader.<DepositsDTO>readValue(parser).getDeposits()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(ByteBuffer json) throws IOException {
+        return JacksonJSON.<WithdrawalsDTO>read(withdrawalsReader, json).getWithdrawals()
+                .stream()
+                .collect(toList());
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(ByteBuffer json, Set<WithdrawalField> fields) throws IOException {
+        try (final JsonParser parser = project(createParser(json), "withdrawals", fields)) {
+            return withdrawalsReader.<WithdrawalsDTO>readValue(parser).getWithdrawals()
+                    .stream()
+                    .collect(toList());
+        }
+    }
+
+    @Override
+    public Page page(ByteBuffer json) throws IOException {
+        return JacksonJSON.<PageDTO>read(pageReader, json).getMeta();
+    }
+
+    @Override
+    public JBudaException exception(int statusCode, ByteBuffer json) throws Exception {
+        final ExceptionDTO exceptionDTO = read(exceptionReader, json);
+
+        if (null == exceptionDTO) {
+            throw new Exception(format("Buda request failed. status code: '%d' response body: '%s'", statusCode, decode(json)));
+        }
+
+        return error2Error(statusCode, exceptionDTO);
+    }
+
+    private static <T> T read(final ObjectReader reader, final ByteBuffer json) throws IOException {
+        if (json.hasArray()) {
+            return reader.readValue(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+
+        final byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return reader.readValue(bytes);
+    }
+
+    /**
+     * a parser which skips properties not in fields from the elements of root list
+     */
+    private static JsonParser project(final JsonParser parser, final String root, final Set<? extends Field> fields) {
+        return new ProjectingParser(parser, root, Field.properties(fields));
+    }
+
+    private JsonParser createParser(final ByteBuffer json) throws IOException {
+        if (json.hasArray()) {
+            return offerReader.getFactory().createParser(json.array(), json.arrayOffset() + json.position(), json.remaining());
+        }
+
+        final byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return offerReader.getFactory().createParser(bytes);
+    }
+
+    /**
+     * streams { "order_book": { "bids": [ ... ], "asks": [ ... ] } } binding only the first maxDepth
+     * offers of each side, deeper ones are skipped token by token
+     */
+    private OrderBook orderBook(final JsonParser parser, final int maxDepth) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an object");
+        }
+
+        JacksonOrderBook orderBook = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            if ("order_book".equals(name) && parser.hasToken(JsonToken.START_OBJECT)) {
+                orderBook = orderBookSides(parser, maxDepth);
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return orderBook;
+    }
+
+    private JacksonOrderBook orderBookSides(final JsonParser parser, final int maxDepth) throws IOException {
+        List<JacksonOffer> bids = emptyList();
+        List<JacksonOffer> asks = emptyList();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String name = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (name) {
+                case "bids": bids = offers(parser, maxDepth); break;
+                case "asks": asks = offers(parser, maxDepth); break;
+                default: parser.skipChildren();
+            }
+        }
+
+        return new JacksonOrderBook(bids, asks);
+    }
+
+    private List<JacksonOffer> offers(final JsonParser parser, final int maxDepth) throws IOException {
+        if (!parser.hasToken(JsonToken.START_ARRAY)) {
+            parser.skipChildren();
+            return emptyList();
+        }
+
+        final List<JacksonOffer> offers = new ArrayList<>(Math.min(maxDepth, 16));
+
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token == null) {
+                throw new JsonParseException(parser, "Unexpected end of input");
+            }
+
+            if (offers.size() < maxDepth) {
+                offers.add(offerReader.readValue(parser));
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return offers;
+    }
+
     private JBudaException.Detail error2Error(ExceptionDTO.ErrorDTO in) {
         return new JBudaException.Detail(in.resource, in.field, in.code, in.message);
     }
@@ -0,0 +1,79 @@
+package cl.daplay.jbuda.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Parser which hides properties not in properties from the elements of a root list,
+ * { "root": [ { ... }, ... ] }. Hidden values are skipped by the underlying parser, so
+ * they're never bound nor allocated.
+ */
+final class ProjectingParser extends JsonParserDelegate {
+
+    private final String root;
+    private final Set<String> properties;
+
+    ProjectingParser(final JsonParser delegate, final String root, final Set<String> properties) {
+        super(delegate);
+        this.root = root;
+        this.properties = properties;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException {
+        JsonToken token = delegate.nextToken();
+
+        while (token == JsonToken.FIELD_NAME && hidden()) {
+            delegate.nextToken();
+            delegate.skipChildren();
+            token = delegate.nextToken();
+        }
+
+        return token;
+    }
+
+    @Override
+    public JsonToken nextValue() throws IOException {
+        final JsonToken token = nextToken();
+        return token == JsonToken.FIELD_NAME ? nextToken() : token;
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        return nextToken() == JsonToken.FIELD_NAME ? getCurrentName() : null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString name) throws IOException {
+        return nextToken() == JsonToken.FIELD_NAME && name.getValue().equals(getCurrentName());
+    }
+
+    // ** implementation methods **
+
+    /**
+     * @return true if parser is at a property, not in properties, of an element of root list
+     */
+    private boolean hidden() throws IOException {
+        final JsonStreamContext element = delegate.getParsingContext();
+        final JsonStreamContext list = element.getParent();
+
+        if (list == null || !list.inArray()) {
+            return false;
+        }
+
+        final JsonStreamContext document = list.getParent();
+        return document != null
+                && document.inObject()
+                && document.getParent() != null
+                && document.getParent().inRoot()
+                && root.equals(document.getCurrentName())
+                && !properties.contains(delegate.getCurrentName());
+    }
+
+}
@@ -7,11 +7,14 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
+import java.io.Serializable;
 import java.math.BigDecimal;
 
 @JsonFormat(shape = JsonFormat.Shape.ARRAY)
 @JsonPropertyOrder({ "amount", "currency" })
-public class JacksonAmount {
+public class JacksonAmount implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
 
     @JsonProperty("currency")
     private final String currency;
@@ -34,6 +37,24 @@ public class JacksonAmount {
         return amount;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        JacksonAmount that = (JacksonAmount) o;
+
+        if (currency != null ? !currency.equals(that.currency) : that.currency != null) return false;
+        return amount != null ? amount.equals(that.amount) : that.amount == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = currency != null ? currency.hashCode() : 0;
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        return result;
+    }
+
     @Override
     public String toString() {
         return "JacksonAmount{" +
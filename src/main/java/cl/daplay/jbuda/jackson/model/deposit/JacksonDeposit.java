@@ -61,12 +61,12 @@ public class JacksonDeposit  implements Deposit, Serializable {
 
     @Override
     public BigDecimal getAmount() {
-        return amount.getAmount();
+        return amount == null ? null : amount.getAmount();
     }
 
     @Override
     public String getAmountCurrency() {
-        return amount.getCurrency();
+        return amount == null ? null : amount.getCurrency();
     }
 
     @Override
@@ -86,12 +86,12 @@ public class JacksonDeposit  implements Deposit, Serializable {
 
     @Override
     public BigDecimal getFee() {
-        return fee.getAmount();
+        return fee == null ? null : fee.getAmount();
     }
 
     @Override
     public String getFeeCurrency() {
-        return fee.getCurrency();
+        return fee == null ? null : fee.getCurrency();
     }
 
     @Override
@@ -112,62 +112,62 @@ public class JacksonOrder implements Order, Serializable {
 
     @Override
     public BigDecimal getLimit() {
-        return limit.getAmount();
+        return limit == null ? null : limit.getAmount();
     }
 
     @Override
     public String getLimitCurrency() {
-        return limit.getCurrency();
+        return limit == null ? null : limit.getCurrency();
     }
 
     @Override
     public BigDecimal getAmount() {
-        return amount.getAmount();
+        return amount == null ? null : amount.getAmount();
     }
 
     @Override
     public String getAmountCurrency() {
-        return amount.getCurrency();
+        return amount == null ? null : amount.getCurrency();
     }
 
     @Override
     public BigDecimal getOriginalAmount() {
-        return originalAmount.getAmount();
+        return originalAmount == null ? null : originalAmount.getAmount();
     }
 
     @Override
     public String getOriginalAmountCurrency() {
-        return originalAmount.getCurrency();
+        return originalAmount == null ? null : originalAmount.getCurrency();
     }
 
     @Override
     public BigDecimal getTradedAmount() {
-        return tradedAmount.getAmount();
+        return tradedAmount == null ? null : tradedAmount.getAmount();
     }
 
     @Override
     public String getTradedAmountCurrency() {
-        return tradedAmount.getCurrency();
+        return tradedAmount == null ? null : tradedAmount.getCurrency();
     }
 
     @Override
     public BigDecimal getTotalExchanged() {
-        return totalExchanged.getAmount();
+        return totalExchanged == null ? null : totalExchanged.getAmount();
     }
 
     @Override
     public String getTotalExchangedCurrency() {
-        return totalExchanged.getCurrency();
+        return totalExchanged == null ? null : totalExchanged.getCurrency();
     }
 
     @Override
     public BigDecimal getPaidFee() {
-        return paidFee.getAmount();
+        return paidFee == null ? null : paidFee.getAmount();
     }
 
     @Override
     public String getPaidFeeCurrency() {
-        return paidFee.getCurrency();
+        return paidFee == null ? null : paidFee.getCurrency();
     }
 
     @Override
@@ -178,9 +178,9 @@ public class JacksonOrder implements Order, Serializable {
         JacksonOrder order = (JacksonOrder) o;
 
         if (id != order.id) return false;
-        if (marketId != order.marketId) return false;
         if (accountId != order.accountId) return false;
         if (type != null ? !type.equals(order.type) : order.type != null) return false;
+        if (marketId != null ? !marketId.equals(order.marketId) : order.marketId != null) return false;
         if (state != null ? !state.equals(order.state) : order.state != null) return false;
         if (createdAt != null ? !createdAt.equals(order.createdAt) : order.createdAt != null) return false;
         if (feeCurrency != null ? !feeCurrency.equals(order.feeCurrency) : order.feeCurrency != null) return false;
@@ -74,22 +74,22 @@ public class JacksonWithdrawal implements Withdrawal, Serializable {
 
     @Override
     public BigDecimal getAmount() {
-        return amount.getAmount();
+        return amount == null ? null : amount.getAmount();
     }
 
     @Override
     public String getAmountCurrency() {
-        return amount.getCurrency();
+        return amount == null ? null : amount.getCurrency();
     }
 
     @Override
     public BigDecimal getFee() {
-        return fee.getAmount();
+        return fee == null ? null : fee.getAmount();
     }
 
     @Override
     public String getFeeCurrency() {
-        return fee.getCurrency();
+        return fee == null ? null : fee.getCurrency();
     }
 
     @Override
@@ -0,0 +1,299 @@
+package cl.daplay.jbuda.json;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.JSON;
+import cl.daplay.jbuda.book.PrimitiveOrderBook;
+import cl.daplay.jbuda.model.ApiKey;
+import cl.daplay.jbuda.model.Balance;
+import cl.daplay.jbuda.model.Deposit;
+import cl.daplay.jbuda.model.DepositField;
+import cl.daplay.jbuda.model.Field;
+import cl.daplay.jbuda.model.JBudaException;
+import cl.daplay.jbuda.model.Market;
+import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.model.OrderField;
+import cl.daplay.jbuda.model.OrderBook;
+import cl.daplay.jbuda.model.Page;
+import cl.daplay.jbuda.model.Ticker;
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jbuda.model.Withdrawal;
+import cl.daplay.jbuda.model.WithdrawalField;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.text.DecimalFormat;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static cl.daplay.jbuda.Utils.decode;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * JSON implementation without dependencies, hand written for Buda payloads.
+ *
+ * Instead of binding through reflection, each payload is read by a method that knows its
+ * structure (see BudaSchema), skipping anything else. UTF-8 input (ByteBuffer methods) is parsed
+ * as is, String input is encoded first.
+ */
+public enum BudaJSON implements JSON {
+    INSTANCE;
+
+    // DecimalFormat isn't thread safe
+    private static final ThreadLocal<DecimalFormat> DECIMAL_FORMAT = ThreadLocal.withInitial(JBuda::newBigDecimalFormat);
+
+    @Override
+    public String newAPIKey(String name, Instant expiration) throws IOException {
+        return new JSONWriter()
+                .beginObject()
+                .name("api_key")
+                .beginObject()
+                .name("name").value(name)
+                .name("expiration_time").value(expiration == null ? null : expiration.toString())
+                .endObject()
+                .endObject()
+                .toString();
+    }
+
+    @Override
+    public String newOrder(String marketId, String orderType, String orderPriceType, BigDecimal qty, BigDecimal price) throws IOException {
+        final DecimalFormat decimalFormat = DECIMAL_FORMAT.get();
+
+        return new JSONWriter()
+                .beginObject()
+                .name("order")
+                .beginObject()
+                .name("type").value(orderType)
+                .name("price_type").value(orderPriceType)
+                .name("limit").value(decimalFormat.format(price))
+                .name("amount").value(decimalFormat.format(qty))
+                .endObject()
+                .endObject()
+                .toString();
+    }
+
+    @Override
+    public String cancelOrder(long __) throws IOException {
+        return new JSONWriter()
+                .beginObject()
+                .name("state").value("CANCELING")
+                .endObject()
+                .toString();
+    }
+
+    @Override
+    public ApiKey apiKey(String json) throws IOException {
+        return BudaSchema.root(reader(json), "api_key", BudaSchema::apiKey);
+    }
+
+    @Override
+    public Order order(String json) throws IOException {
+        return BudaSchema.root(reader(json), "order", BudaSchema::order);
+    }
+
+    @Override
+    public Ticker ticker(String json) throws IOException {
+        return BudaSchema.root(reader(json), "ticker", BudaSchema::ticker);
+    }
+
+    @Override
+    public OrderBook orderBook(String json) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", BudaSchema::orderBook);
+    }
+
+    @Override
+    public OrderBook orderBook(String json, int maxDepth) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", reader -> BudaSchema.orderBook(reader, maxDepth));
+    }
+
+    @Override
+    public PrimitiveOrderBook primitiveOrderBook(String json, int priceScale, int amountScale) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", reader -> BudaSchema.primitiveOrderBook(reader, priceScale, amountScale));
+    }
+
+    @Override
+    public Balance balance(String json) throws IOException {
+        return BudaSchema.root(reader(json), "balance", BudaSchema::balance);
+    }
+
+    @Override
+    public Trades trades(String json) throws IOException {
+        return BudaSchema.root(reader(json), "trades", BudaSchema::trades);
+    }
+
+    @Override
+    public List<Market> markets(String json) throws IOException {
+        return BudaSchema.root(reader(json), "markets", reader -> BudaSchema.list(reader, BudaSchema::market));
+    }
+
+    @Override
+    public List<Balance> balances(String json) throws IOException {
+        return BudaSchema.root(reader(json), "balances", reader -> BudaSchema.list(reader, BudaSchema::balance));
+    }
+
+    @Override
+    public List<Order> orders(String json) throws IOException {
+        return BudaSchema.root(reader(json), "orders", reader -> BudaSchema.list(reader, BudaSchema::order));
+    }
+
+    @Override
+    public List<Order> orders(String json, Set<OrderField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "orders", reader -> BudaSchema.list(reader, element -> BudaSchema.order(element, properties)));
+    }
+
+    @Override
+    public List<Deposit> deposits(String json) throws IOException {
+        return BudaSchema.root(reader(json), "deposits", reader -> BudaSchema.list(reader, BudaSchema::deposit));
+    }
+
+    @Override
+    public List<Deposit> deposits(String json, Set<DepositField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "deposits", reader -> BudaSchema.list(reader, element -> BudaSchema.deposit(element, properties)));
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(String json) throws IOException {
+        return BudaSchema.root(reader(json), "withdrawals", reader -> BudaSchema.list(reader, BudaSchema::withdrawal));
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(String json, Set<WithdrawalField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "withdrawals", reader -> BudaSchema.list(reader, element -> BudaSchema.withdrawal(element, properties)));
+    }
+
+    @Override
+    public Page page(String json) throws IOException {
+        return BudaSchema.root(reader(json), "meta", BudaSchema::page);
+    }
+
+    @Override
+    public JBudaException exception(int statusCode, String json) throws Exception {
+        final JSONReader reader = reader(json == null ? "" : json);
+
+        if (reader.isEmpty() || !reader.isObject()) {
+            throw new Exception(format("Buda request failed. status code: '%d' response body: '%s'", statusCode, json));
+        }
+
+        return BudaSchema.exception(statusCode, reader);
+    }
+
+    @Override
+    public ApiKey apiKey(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "api_key", BudaSchema::apiKey);
+    }
+
+    @Override
+    public Order order(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "order", BudaSchema::order);
+    }
+
+    @Override
+    public Ticker ticker(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "ticker", BudaSchema::ticker);
+    }
+
+    @Override
+    public OrderBook orderBook(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", BudaSchema::orderBook);
+    }
+
+    @Override
+    public OrderBook orderBook(ByteBuffer json, int maxDepth) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", reader -> BudaSchema.orderBook(reader, maxDepth));
+    }
+
+    @Override
+    public PrimitiveOrderBook primitiveOrderBook(ByteBuffer json, int priceScale, int amountScale) throws IOException {
+        return BudaSchema.root(reader(json), "order_book", reader -> BudaSchema.primitiveOrderBook(reader, priceScale, amountScale));
+    }
+
+    @Override
+    public Balance balance(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "balance", BudaSchema::balance);
+    }
+
+    @Override
+    public Trades trades(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "trades", BudaSchema::trades);
+    }
+
+    @Override
+    public List<Market> markets(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "markets", reader -> BudaSchema.list(reader, BudaSchema::market));
+    }
+
+    @Override
+    public List<Balance> balances(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "balances", reader -> BudaSchema.list(reader, BudaSchema::balance));
+    }
+
+    @Override
+    public List<Order> orders(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "orders", reader -> BudaSchema.list(reader, BudaSchema::order));
+    }
+
+    @Override
+    public List<Order> orders(ByteBuffer json, Set<OrderField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "orders", reader -> BudaSchema.list(reader, element -> BudaSchema.order(element, properties)));
+    }
+
+    @Override
+    public List<Deposit> deposits(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "deposits", reader -> BudaSchema.list(reader, BudaSchema::deposit));
+    }
+
+    @Override
+    public List<Deposit> deposits(ByteBuffer json, Set<DepositField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "deposits", reader -> BudaSchema.list(reader, element -> BudaSchema.deposit(element, properties)));
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "withdrawals", reader -> BudaSchema.list(reader, BudaSchema::withdrawal));
+    }
+
+    @Override
+    public List<Withdrawal> withdrawls(ByteBuffer json, Set<WithdrawalField> fields) throws IOException {
+        final Set<String> properties = Field.properties(fields);
+        return BudaSchema.root(reader(json), "withdrawals", reader -> BudaSchema.list(reader, element -> BudaSchema.withdrawal(element, properties)));
+    }
+
+    @Override
+    public Page page(ByteBuffer json) throws IOException {
+        return BudaSchema.root(reader(json), "meta", BudaSchema::page);
+    }
+
+    @Override
+    public JBudaException exception(int statusCode, ByteBuffer json) throws Exception {
+        final JSONReader reader = reader(json);
+
+        if (reader.isEmpty() || !reader.isObject()) {
+            throw new Exception(format("Buda request failed. status code: '%d' response body: '%s'", statusCode, decode(json)));
+        }
+
+        return BudaSchema.exception(statusCode, reader);
+    }
+
+    private JSONReader reader(final String json) {
+        final byte[] bytes = json.getBytes(UTF_8);
+        return new JSONReader(bytes, 0, bytes.length, BudaSchema.NAMES);
+    }
+
+    private JSONReader reader(final ByteBuffer json) {
+        if (json.hasArray()) {
+            return new JSONReader(json.array(), json.arrayOffset() + json.position(), json.remaining(), BudaSchema.NAMES);
+        }
+
+        final byte[] bytes = new byte[json.remaining()];
+        json.duplicate().get(bytes);
+        return new JSONReader(bytes, 0, bytes.length, BudaSchema.NAMES);
+    }
+
+}
@@ -0,0 +1,781 @@
+package cl.daplay.jbuda.json;
+
+import cl.daplay.jbuda.book.PrimitiveOrderBook;
+import cl.daplay.jbuda.json.model.BudaAccount;
+import cl.daplay.jbuda.json.model.BudaApiKey;
+import cl.daplay.jbuda.json.model.BudaBalance;
+import cl.daplay.jbuda.json.model.BudaBitcoinWithdrawalData;
+import cl.daplay.jbuda.json.model.BudaDeposit;
+import cl.daplay.jbuda.json.model.BudaDepositData;
+import cl.daplay.jbuda.json.model.BudaFiatWithdrawalData;
+import cl.daplay.jbuda.json.model.BudaMarket;
+import cl.daplay.jbuda.json.model.BudaOffer;
+import cl.daplay.jbuda.json.model.BudaOrder;
+import cl.daplay.jbuda.json.model.BudaOrderBook;
+import cl.daplay.jbuda.json.model.BudaPage;
+import cl.daplay.jbuda.json.model.BudaTicker;
+import cl.daplay.jbuda.json.model.BudaTrades;
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import cl.daplay.jbuda.json.model.BudaWithdrawal;
+import cl.daplay.jbuda.model.Account;
+import cl.daplay.jbuda.model.ApiKey;
+import cl.daplay.jbuda.model.Balance;
+import cl.daplay.jbuda.model.Deposit;
+import cl.daplay.jbuda.model.JBudaException;
+import cl.daplay.jbuda.model.Market;
+import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.model.OrderBook;
+import cl.daplay.jbuda.model.Page;
+import cl.daplay.jbuda.model.Ticker;
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jbuda.model.Withdrawal;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Buda payloads, one method per object, hand written after https://api.buda.com
+ *
+ * Every method expects the reader positioned at the value to read, unknown properties are skipped.
+ */
+final class BudaSchema {
+
+    /**
+     * reads one value from current position of a reader
+     */
+    @FunctionalInterface
+    interface ValueReader<T> {
+
+        T read(JSONReader reader) throws IOException;
+
+    }
+
+    /**
+     * every property name found on Buda payloads
+     */
+    static final String[] NAMES = JSONReader.names(
+            "account_id", "account_number", "account_type", "address", "amount", "api_key", "asks",
+            "available_amount", "balance", "balances", "bank_id", "bank_name", "base_currency", "bids",
+            "code", "created_at", "currency", "current_page", "deposit_data", "deposits", "document_number",
+            "email", "enabled", "entries", "errors", "expiration_time", "expired", "fee", "fee_currency",
+            "fiat_account", "field", "frozen_amount", "full_name", "id", "last_access_at", "last_price",
+            "last_timestamp", "limit", "market_id", "markets", "max_bid", "message", "meta", "min_ask",
+            "minimum_order_amount", "name", "national_number_identifier", "order", "order_book", "orders",
+            "original_amount", "paid_fee", "pe_cci_number", "pending_withdraw_amount", "phone",
+            "price_type", "price_variation_24h", "price_variation_7d", "quote_currency", "resource",
+            "secret", "source_account", "state", "statement_ref", "target_address", "ticker", "timestamp",
+            "total_count", "total_exchanged", "total_pages", "traded_amount", "trades", "transacted_at",
+            "tx_hash", "type", "updated_at", "upload_url", "volume", "withdrawal_data", "withdrawals");
+
+    private BudaSchema() {}
+
+    /**
+     * @return value of property "name" of root object, or null when missing
+     */
+    static <T> T root(final JSONReader reader, final String name, final ValueReader<T> valueReader) throws IOException {
+        T out = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (name.equals(reader.nextName())) {
+                out = valueReader.read(reader);
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return out;
+    }
+
+    /**
+     * @return elements of an array, empty list for null
+     */
+    static <T> List<T> list(final JSONReader reader, final ValueReader<? extends T> elementReader) throws IOException {
+        return list(reader, elementReader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * elements past maxSize are skipped without being read
+     */
+    static <T> List<T> list(final JSONReader reader, final ValueReader<? extends T> elementReader, final int maxSize) throws IOException {
+        if (reader.nextNull()) {
+            return Collections.emptyList();
+        }
+
+        final List<T> out = new ArrayList<>(Math.min(maxSize, 16));
+
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (out.size() < maxSize) {
+                out.add(elementReader.read(reader));
+            } else {
+                reader.skipValue();
+            }
+        }
+        reader.endArray();
+
+        return out;
+    }
+
+    static ApiKey apiKey(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String id = null;
+        String name = null;
+        Instant expirationTime = null;
+        boolean enabled = false;
+        boolean expired = false;
+        Instant lastAccessAt = null;
+        String secret = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id": id = reader.nextString(); break;
+                case "name": name = reader.nextString(); break;
+                case "expiration_time": expirationTime = reader.nextInstant(); break;
+                case "enabled": enabled = reader.nextBoolean(); break;
+                case "expired": expired = reader.nextBoolean(); break;
+                case "last_access_at": lastAccessAt = reader.nextInstant(); break;
+                case "secret": secret = reader.nextString(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaApiKey(id, name, expirationTime, enabled, expired, lastAccessAt, secret);
+    }
+
+    static Market market(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String id = null;
+        String name = null;
+        String baseCurrency = null;
+        String quoteCurrency = null;
+        final Amount minimumOrderAmount = new Amount();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id": id = reader.nextString(); break;
+                case "name": name = reader.nextString(); break;
+                case "base_currency": baseCurrency = reader.nextString(); break;
+                case "quote_currency": quoteCurrency = reader.nextString(); break;
+                case "minimum_order_amount": minimumOrderAmount.read(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaMarket(id, name, baseCurrency, quoteCurrency, minimumOrderAmount.amount, minimumOrderAmount.currency);
+    }
+
+    static Ticker ticker(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String marketId = null;
+        final Amount lastPrice = new Amount();
+        final Amount minAsk = new Amount();
+        final Amount maxBid = new Amount();
+        final Amount volume = new Amount();
+        BigDecimal priceVariation24Hours = null;
+        BigDecimal priceVariation7Days = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "market_id": marketId = reader.nextString(); break;
+                case "last_price": lastPrice.read(reader); break;
+                case "min_ask": minAsk.read(reader); break;
+                case "max_bid": maxBid.read(reader); break;
+                case "volume": volume.read(reader); break;
+                case "price_variation_24h": priceVariation24Hours = reader.nextDecimal(); break;
+                case "price_variation_7d": priceVariation7Days = reader.nextDecimal(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaTicker(marketId,
+                lastPrice.amount, lastPrice.currency,
+                minAsk.amount, minAsk.currency,
+                maxBid.amount, maxBid.currency,
+                volume.amount, volume.currency,
+                priceVariation24Hours,
+                priceVariation7Days);
+    }
+
+    static OrderBook orderBook(final JSONReader reader) throws IOException {
+        return orderBook(reader, Integer.MAX_VALUE);
+    }
+
+    /**
+     * levels past maxDepth are skipped on each side
+     */
+    static OrderBook orderBook(final JSONReader reader, final int maxDepth) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        List<OrderBook.Offer> bids = Collections.emptyList();
+        List<OrderBook.Offer> asks = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bids": bids = list(reader, BudaSchema::offer, maxDepth); break;
+                case "asks": asks = list(reader, BudaSchema::offer, maxDepth); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaOrderBook(bids, asks);
+    }
+
+    /**
+     * order book read straight into fixed-point arrays, without building an Offer per level
+     */
+    static PrimitiveOrderBook primitiveOrderBook(final JSONReader reader, final int priceScale, final int amountScale) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        final Levels bids = new Levels();
+        final Levels asks = new Levels();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "bids": bids.read(reader, priceScale, amountScale); break;
+                case "asks": asks.read(reader, priceScale, amountScale); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new PrimitiveOrderBook(priceScale, amountScale,
+                bids.prices, bids.amounts, bids.count,
+                asks.prices, asks.amounts, asks.count);
+    }
+
+    /**
+     * offers are arrays: [ price, amount ]
+     */
+    static OrderBook.Offer offer(final JSONReader reader) throws IOException {
+        reader.beginArray();
+        reader.hasNext();
+        final BigDecimal price = reader.nextDecimal();
+        reader.hasNext();
+        final BigDecimal amount = reader.nextDecimal();
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+
+        return new BudaOffer(price, amount);
+    }
+
+    static Balance balance(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        long accountId = 0;
+        String id = null;
+        final Amount amount = new Amount();
+        final Amount availableAmount = new Amount();
+        final Amount frozenAmount = new Amount();
+        final Amount pendingWithdrawAmount = new Amount();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "account_id": accountId = reader.nextLong(); break;
+                case "id": id = reader.nextString(); break;
+                case "amount": amount.read(reader); break;
+                case "available_amount": availableAmount.read(reader); break;
+                case "frozen_amount": frozenAmount.read(reader); break;
+                case "pending_withdraw_amount": pendingWithdrawAmount.read(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaBalance(accountId, id,
+                amount.amount, amount.currency,
+                availableAmount.amount, availableAmount.currency,
+                frozenAmount.amount, frozenAmount.currency,
+                pendingWithdrawAmount.amount, pendingWithdrawAmount.currency);
+    }
+
+    static Trades trades(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String marketId = null;
+        Instant timestamp = null;
+        Instant lastTimestamp = null;
+        List<Trades.Transaction> entries = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "market_id": marketId = reader.nextString(); break;
+                case "timestamp": timestamp = reader.nextInstant(); break;
+                case "last_timestamp": lastTimestamp = reader.nextInstant(); break;
+                case "entries": entries = list(reader, BudaSchema::transaction); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaTrades(marketId, timestamp, lastTimestamp, entries);
+    }
+
+    /**
+     * transactions are arrays: [ timestamp, amount, price, direction ]
+     */
+    static Trades.Transaction transaction(final JSONReader reader) throws IOException {
+        reader.beginArray();
+        reader.hasNext();
+        final Instant timestamp = reader.nextInstant();
+        reader.hasNext();
+        final BigDecimal amount = reader.nextDecimal();
+        reader.hasNext();
+        final BigDecimal price = reader.nextDecimal();
+        reader.hasNext();
+        final String direction = reader.nextString();
+        while (reader.hasNext()) {
+            reader.skipValue();
+        }
+        reader.endArray();
+
+        return new BudaTransaction(timestamp, amount, price, direction);
+    }
+
+    static Order order(final JSONReader reader) throws IOException {
+        return order(reader, null);
+    }
+
+    /**
+     * properties not in properties are skipped, null reads them all
+     */
+    static Order order(final JSONReader reader, final Set<String> properties) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        long id = 0;
+        String type = null;
+        String state = null;
+        Instant createdAt = null;
+        String marketId = null;
+        long accountId = 0;
+        String feeCurrency = null;
+        String priceType = null;
+        final Amount limit = new Amount();
+        final Amount amount = new Amount();
+        final Amount originalAmount = new Amount();
+        final Amount tradedAmount = new Amount();
+        final Amount totalExchanged = new Amount();
+        final Amount paidFee = new Amount();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+
+            if (properties != null && !properties.contains(name)) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (name) {
+                case "id": id = reader.nextLong(); break;
+                case "type": type = reader.nextString(); break;
+                case "state": state = reader.nextString(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "market_id": marketId = reader.nextString(); break;
+                case "account_id": accountId = reader.nextLong(); break;
+                case "fee_currency": feeCurrency = reader.nextString(); break;
+                case "price_type": priceType = reader.nextString(); break;
+                case "limit": limit.read(reader); break;
+                case "amount": amount.read(reader); break;
+                case "original_amount": originalAmount.read(reader); break;
+                case "traded_amount": tradedAmount.read(reader); break;
+                case "total_exchanged": totalExchanged.read(reader); break;
+                case "paid_fee": paidFee.read(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaOrder(id, type, state, createdAt, marketId, accountId, feeCurrency, priceType,
+                limit.amount, limit.currency,
+                amount.amount, amount.currency,
+                originalAmount.amount, originalAmount.currency,
+                tradedAmount.amount, tradedAmount.currency,
+                totalExchanged.amount, totalExchanged.currency,
+                paidFee.amount, paidFee.currency);
+    }
+
+    static Deposit deposit(final JSONReader reader) throws IOException {
+        return deposit(reader, null);
+    }
+
+    /**
+     * properties not in properties are skipped, null reads them all
+     */
+    static Deposit deposit(final JSONReader reader, final Set<String> properties) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        long id = 0;
+        String state = null;
+        String currency = null;
+        Instant createdAt = null;
+        Deposit.DepositData depositData = null;
+        final Amount amount = new Amount();
+        final Amount fee = new Amount();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+
+            if (properties != null && !properties.contains(name)) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (name) {
+                case "id": id = reader.nextLong(); break;
+                case "state": state = reader.nextString(); break;
+                case "currency": currency = reader.nextString(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "deposit_data": depositData = depositData(reader); break;
+                case "amount": amount.read(reader); break;
+                case "fee": fee.read(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaDeposit(id, state, amount.amount, amount.currency, currency, createdAt, depositData, fee.amount, fee.currency);
+    }
+
+    static Deposit.DepositData depositData(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String type = null;
+        String address = null;
+        String txHash = null;
+        Instant createdAt = null;
+        Instant updatedAt = null;
+        String uploadUrl = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type": type = reader.nextString(); break;
+                case "address": address = reader.nextString(); break;
+                case "tx_hash": txHash = reader.nextString(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "updated_at": updatedAt = reader.nextInstant(); break;
+                case "upload_url": uploadUrl = reader.nextString(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaDepositData(type, address, txHash, createdAt, updatedAt, uploadUrl);
+    }
+
+    static Withdrawal withdrawal(final JSONReader reader) throws IOException {
+        return withdrawal(reader, null);
+    }
+
+    /**
+     * properties not in properties are skipped, null reads them all
+     */
+    static Withdrawal withdrawal(final JSONReader reader, final Set<String> properties) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        long id = 0;
+        String state = null;
+        String currency = null;
+        Instant createdAt = null;
+        Withdrawal.WithdrawalData withdrawalData = null;
+        final Amount amount = new Amount();
+        final Amount fee = new Amount();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            final String name = reader.nextName();
+
+            if (properties != null && !properties.contains(name)) {
+                reader.skipValue();
+                continue;
+            }
+
+            switch (name) {
+                case "id": id = reader.nextLong(); break;
+                case "state": state = reader.nextString(); break;
+                case "currency": currency = reader.nextString(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "withdrawal_data": withdrawalData = withdrawalData(reader); break;
+                case "amount": amount.read(reader); break;
+                case "fee": fee.read(reader); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaWithdrawal(id, state, currency, createdAt, withdrawalData, amount.amount, amount.currency, fee.amount, fee.currency);
+    }
+
+    /**
+     * "type" tells fiat withdrawals ("fiat/withdrawal_data") from crypto ones ("btc_withdrawal_data", ...),
+     * as it isn't guaranteed to be the first property, both shapes are read and the type decides at the end.
+     */
+    static Withdrawal.WithdrawalData withdrawalData(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        String type = null;
+        long id = 0;
+        Instant createdAt = null;
+        Instant updatedAt = null;
+        Instant transactedAt = null;
+        String statementRef = null;
+        Account account = null;
+        Account sourceAccount = null;
+        String targetAddress = null;
+        String txHash = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "type": type = reader.nextString(); break;
+                case "id": id = reader.nextLong(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "updated_at": updatedAt = reader.nextInstant(); break;
+                case "transacted_at": transactedAt = reader.nextInstant(); break;
+                case "statement_ref": statementRef = reader.nextString(); break;
+                case "fiat_account": account = account(reader); break;
+                case "source_account": sourceAccount = account(reader); break;
+                case "target_address": targetAddress = reader.nextString(); break;
+                case "tx_hash": txHash = reader.nextString(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (type != null && type.startsWith("fiat")) {
+            return new BudaFiatWithdrawalData(id, createdAt, updatedAt, transactedAt, statementRef, account, sourceAccount);
+        }
+
+        return new BudaBitcoinWithdrawalData(targetAddress, txHash);
+    }
+
+    static Account account(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        long id = 0;
+        String accountNumber = null;
+        String accountType = null;
+        long bankId = 0;
+        Instant createdAt = null;
+        String currency = null;
+        String documentNumber = null;
+        String email = null;
+        String fullName = null;
+        String nationalNumberIdentifier = null;
+        String phone = null;
+        Instant updatedAt = null;
+        String bankName = null;
+        String peCciNumber = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "id": id = reader.nextLong(); break;
+                case "account_number": accountNumber = reader.nextString(); break;
+                case "account_type": accountType = reader.nextString(); break;
+                case "bank_id": bankId = reader.nextLong(); break;
+                case "created_at": createdAt = reader.nextInstant(); break;
+                case "currency": currency = reader.nextString(); break;
+                case "document_number": documentNumber = reader.nextString(); break;
+                case "email": email = reader.nextString(); break;
+                case "full_name": fullName = reader.nextString(); break;
+                case "national_number_identifier": nationalNumberIdentifier = reader.nextString(); break;
+                case "phone": phone = reader.nextString(); break;
+                case "updated_at": updatedAt = reader.nextInstant(); break;
+                case "bank_name": bankName = reader.nextString(); break;
+                case "pe_cci_number": peCciNumber = reader.nextString(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaAccount(id, accountNumber, accountType, bankId, createdAt, currency, documentNumber, email,
+                fullName, nationalNumberIdentifier, phone, updatedAt, bankName, peCciNumber);
+    }
+
+    static Page page(final JSONReader reader) throws IOException {
+        if (reader.nextNull()) {
+            return null;
+        }
+
+        int totalPages = 0;
+        int totalCount = 0;
+        int currentPage = 0;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "total_pages": totalPages = reader.nextInt(); break;
+                case "total_count": totalCount = reader.nextInt(); break;
+                case "current_page": currentPage = reader.nextInt(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new BudaPage(totalPages, totalCount, currentPage);
+    }
+
+    /**
+     * error payloads are the root object: { "message": ..., "code": ..., "errors": [ ... ] }
+     */
+    static JBudaException exception(final int statusCode, final JSONReader reader) throws IOException {
+        String message = null;
+        String code = null;
+        List<JBudaException.Detail> details = Collections.emptyList();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "message": message = reader.nextString(); break;
+                case "code": code = reader.nextString(); break;
+                case "errors": details = list(reader, BudaSchema::detail); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new JBudaException(statusCode, message, code, details.toArray(new JBudaException.Detail[0]));
+    }
+
+    static JBudaException.Detail detail(final JSONReader reader) throws IOException {
+        String resource = null;
+        String field = null;
+        String code = null;
+        String message = null;
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case "resource": resource = reader.nextString(); break;
+                case "field": field = reader.nextString(); break;
+                case "code": code = reader.nextString(); break;
+                case "message": message = reader.nextString(); break;
+                default: reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        return new JBudaException.Detail(resource, field, code, message);
+    }
+
+    /**
+     * amounts are arrays: [ amount, currency ], models keep both as plain fields instead of an object per amount
+     */
+    private static final class Amount {
+
+        private BigDecimal amount;
+        private String currency;
+
+        private void read(final JSONReader reader) throws IOException {
+            if (reader.nextNull()) {
+                return;
+            }
+
+            reader.beginArray();
+            if (reader.hasNext()) {
+                amount = reader.nextDecimal();
+            }
+            if (reader.hasNext()) {
+                currency = reader.nextString();
+            }
+            while (reader.hasNext()) {
+                reader.skipValue();
+            }
+            reader.endArray();
+        }
+
+    }
+
+    /**
+     * growable parallel arrays of [ price, amount ] offers
+     */
+    private static final class Levels {
+
+        private long[] prices = new long[0];
+        private long[] amounts = new long[0];
+        private int count;
+
+        private void read(final JSONReader reader, final int priceScale, final int amountScale) throws IOException {
+            count = 0;
+
+            if (reader.nextNull()) {
+                return;
+            }
+
+            reader.beginArray();
+            while (reader.hasNext()) {
+                if (count == prices.length) {
+                    prices = Arrays.copyOf(prices, Math.max(64, count * 2));
+                    amounts = Arrays.copyOf(amounts, prices.length);
+                }
+
+                reader.beginArray();
+                reader.hasNext();
+                prices[count] = reader.nextFixed(priceScale);
+                reader.hasNext();
+                amounts[count] = reader.nextFixed(amountScale);
+                while (reader.hasNext()) {
+                    reader.skipValue();
+                }
+                reader.endArray();
+
+                count++;
+            }
+            reader.endArray();
+        }
+
+    }
+
+}
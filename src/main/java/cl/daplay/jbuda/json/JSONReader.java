@@ -0,0 +1,593 @@
+package cl.daplay.jbuda.json;
+
+import cl.daplay.jbuda.Decoders;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Pull reader over a JSON document encoded as UTF-8.
+ *
+ * It knows nothing about Buda payloads, callers drive it following the structure they expect
+ * (see BudaSchema), asking for names and typed values, and skipping whatever they don't need.
+ *
+ * Structural characters are all ASCII, so the document is scanned as bytes, only string values
+ * are decoded. Not thread safe, create one per document.
+ */
+final class JSONReader {
+
+    /**
+     * @param names property names expected by the caller
+     * @return lookup table for {@link JSONReader#JSONReader(byte[], int, int, String[])}
+     */
+    static String[] names(final String... names) {
+        final String[] table = new String[Math.max(16, Integer.highestOneBit(names.length * 4))];
+        final int mask = table.length - 1;
+
+        for (final String name : names) {
+            int index = name.hashCode() & mask;
+            while (table[index] != null && !table[index].equals(name)) {
+                index = (index + 1) & mask;
+            }
+            table[index] = name;
+        }
+
+        return table;
+    }
+
+    private final byte[] in;
+    private final int end;
+    private final String[] names;
+    private int pos;
+
+    /**
+     * true right after an object or array starts, when no separator comes before the next element
+     */
+    private boolean first;
+
+    /**
+     * @param in UTF-8 JSON document, only read between offset and offset + length
+     * @param names table built by {@link #names(String...)}, property names found there are
+     *              returned without allocating a new String
+     */
+    JSONReader(final byte[] in, final int offset, final int length, final String[] names) {
+        this.in = in;
+        this.end = offset + length;
+        this.names = names;
+        this.pos = offset;
+    }
+
+    void beginObject() throws IOException {
+        expect('{');
+        first = true;
+    }
+
+    void endObject() throws IOException {
+        expect('}');
+        first = false;
+    }
+
+    void beginArray() throws IOException {
+        expect('[');
+        first = true;
+    }
+
+    void endArray() throws IOException {
+        expect(']');
+        first = false;
+    }
+
+    /**
+     * @return true if current object or array has one more element, consuming the separator
+     * @throws IOException if elements aren't separated by a comma
+     */
+    boolean hasNext() throws IOException {
+        final byte c = peek();
+
+        if (c == '}' || c == ']') {
+            return false;
+        }
+
+        if (first) {
+            first = false;
+            return true;
+        }
+
+        if (c != ',') {
+            throw syntaxError("','");
+        }
+        pos++;
+        return true;
+    }
+
+    /**
+     * @return true if next token is null, consuming it
+     */
+    boolean nextNull() throws IOException {
+        if (peek() == 'n') {
+            literal("null");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return true if document has nothing but whitespace
+     */
+    boolean isEmpty() {
+        for (int i = pos; i < end; i++) {
+            if (!isWhitespace(in[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if next token is the start of an object
+     */
+    boolean isObject() throws IOException {
+        return peek() == '{';
+    }
+
+    String nextName() throws IOException {
+        expect('"');
+
+        final int start = pos;
+        int hash = 0;
+
+        for (int i = start; i < end; i++) {
+            final byte c = in[i];
+
+            if (c == '"') {
+                pos = i + 1;
+                expect(':');
+                return name(start, i - start, hash);
+            }
+
+            if (c == '\\' || c < 0) {
+                // escaped or non ASCII, won't be in the table
+                pos = start - 1;
+                final String name = readString();
+                expect(':');
+                return name;
+            }
+
+            hash = 31 * hash + c;
+        }
+
+        throw eof();
+    }
+
+    /**
+     * @return string value, raw text for numbers and booleans, or null
+     */
+    String nextString() throws IOException {
+        final byte c = peek();
+
+        if (c == '"') {
+            return readString();
+        }
+
+        if (c == 'n') {
+            literal("null");
+            return null;
+        }
+
+        final int start = pos;
+        pos = scalarEnd(start);
+        if (start == pos) {
+            throw syntaxError("a string");
+        }
+
+        return new String(in, start, pos - start, US_ASCII);
+    }
+
+    long nextLong() throws IOException {
+        final byte c = peek();
+
+        if (c == 'n') {
+            literal("null");
+            return 0L;
+        }
+
+        final boolean quoted = c == '"';
+        final int start = quoted ? pos + 1 : pos;
+        final int scalarEnd = quoted ? indexOfQuote(start) : scalarEnd(start);
+
+        final long value = parseLong(start, scalarEnd);
+        pos = quoted ? scalarEnd + 1 : scalarEnd;
+        return value;
+    }
+
+    int nextInt() throws IOException {
+        final long value = nextLong();
+
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new IOException(format("Integer out of range: %d at position %d", value, pos));
+        }
+
+        return (int) value;
+    }
+
+    boolean nextBoolean() throws IOException {
+        final byte c = peek();
+
+        switch (c) {
+            case 't':
+                literal("true");
+                return true;
+            case 'f':
+                literal("false");
+                return false;
+            case 'n':
+                literal("null");
+                return false;
+            default:
+                throw syntaxError("a boolean");
+        }
+    }
+
+    /**
+     * @return decimal from a JSON string or number, null for JSON null or empty string
+     */
+    BigDecimal nextDecimal() throws IOException {
+        final byte c = peek();
+
+        if (c == 'n') {
+            literal("null");
+            return null;
+        }
+
+        final boolean quoted = c == '"';
+        final int start = quoted ? pos + 1 : pos;
+        final int scalarEnd = quoted ? indexOfQuote(start) : scalarEnd(start);
+
+        if (!quoted && scalarEnd == start) {
+            throw syntaxError("a decimal");
+        }
+
+        final BigDecimal value;
+        try {
+            value = Decoders.parseDecimal(in, start, scalarEnd - start);
+        } catch (NumberFormatException e) {
+            throw new IOException(format("Invalid decimal: '%s' at position %d", text(start, scalarEnd), start), e);
+        }
+
+        pos = quoted ? scalarEnd + 1 : scalarEnd;
+        return value;
+    }
+
+    /**
+     * @return decimal from a JSON string or number as a fixed-point long, 0 for JSON null or empty string
+     * @throws IOException if value has more fraction digits than scale, or doesn't fit in a long
+     */
+    long nextFixed(final int scale) throws IOException {
+        final byte c = peek();
+
+        if (c == 'n') {
+            literal("null");
+            return 0L;
+        }
+
+        final boolean quoted = c == '"';
+        final int start = quoted ? pos + 1 : pos;
+        final int scalarEnd = quoted ? indexOfQuote(start) : scalarEnd(start);
+
+        if (!quoted && scalarEnd == start) {
+            throw syntaxError("a decimal");
+        }
+
+        final long value;
+        try {
+            value = scalarEnd == start ? 0L : Decoders.parseFixed(in, start, scalarEnd - start, scale);
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IOException(format("Invalid decimal at scale %d: '%s' at position %d", scale, text(start, scalarEnd), start), e);
+        }
+
+        pos = quoted ? scalarEnd + 1 : scalarEnd;
+        return value;
+    }
+
+    /**
+     * Buda sends instants as ISO-8601 strings, and as epoch millis strings in trades.
+     *
+     * @return instant, or null for JSON null or empty string
+     */
+    Instant nextInstant() throws IOException {
+        final byte c = peek();
+
+        if (c != '"' && c != 'n') {
+            // numeric timestamps are seconds with nanoseconds as fraction
+            final BigDecimal seconds = nextDecimal();
+            final long epochSecond = seconds.longValue();
+            final long nanos = seconds.subtract(BigDecimal.valueOf(epochSecond)).movePointRight(9).longValue();
+            return Instant.ofEpochSecond(epochSecond, nanos);
+        }
+
+        if (c == 'n') {
+            literal("null");
+            return null;
+        }
+
+        final int start = pos + 1;
+        final int scalarEnd = indexOfQuote(start);
+
+        final Instant value;
+        try {
+            value = Decoders.parseInstant(in, start, scalarEnd - start);
+        } catch (RuntimeException e) {
+            throw new IOException(format("Invalid instant: '%s' at position %d", text(start, scalarEnd), start), e);
+        }
+
+        pos = scalarEnd + 1;
+        return value;
+    }
+
+    void skipValue() throws IOException {
+        final byte c = peek();
+
+        if (c == '"') {
+            skipString();
+            return;
+        }
+
+        if (c != '{' && c != '[') {
+            final int start = pos;
+            pos = scalarEnd(start);
+            if (start == pos) {
+                throw syntaxError("a value");
+            }
+            return;
+        }
+
+        int depth = 0;
+        do {
+            if (pos >= end) {
+                throw eof();
+            }
+
+            final byte ch = in[pos];
+            if (ch == '"') {
+                skipString();
+                continue;
+            }
+
+            if (ch == '{' || ch == '[') {
+                depth++;
+            } else if (ch == '}' || ch == ']') {
+                depth--;
+            }
+            pos++;
+        } while (depth > 0);
+    }
+
+    // ** implementation methods **
+
+    private String name(final int start, final int length, final int hash) {
+        final int mask = names.length - 1;
+        int index = hash & mask;
+
+        for (String name = names[index]; name != null; name = names[index]) {
+            if (name.length() == length && matches(start, name)) {
+                return name;
+            }
+            index = (index + 1) & mask;
+        }
+
+        return new String(in, start, length, US_ASCII);
+    }
+
+    private boolean matches(final int start, final String name) {
+        for (int i = 0; i < name.length(); i++) {
+            if (in[start + i] != name.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readString() throws IOException {
+        expect('"');
+
+        final int start = pos;
+        for (int i = start; i < end; i++) {
+            final byte c = in[i];
+
+            if (c == '"') {
+                pos = i + 1;
+                return new String(in, start, i - start, UTF_8);
+            }
+
+            if (c == '\\') {
+                pos = start;
+                return readEscapedString();
+            }
+        }
+
+        throw eof();
+    }
+
+    private String readEscapedString() throws IOException {
+        final StringBuilder out = new StringBuilder();
+        int segment = pos;
+
+        while (pos < end) {
+            final byte c = in[pos];
+
+            if (c != '"' && c != '\\') {
+                pos++;
+                continue;
+            }
+
+            // UTF-8 sequences never contain '"' or '\\' bytes, segments can be decoded on their own
+            out.append(new String(in, segment, pos - segment, UTF_8));
+            pos++;
+
+            if (c == '"') {
+                return out.toString();
+            }
+
+            if (pos >= end) {
+                throw eof();
+            }
+
+            final byte escaped = in[pos++];
+            switch (escaped) {
+                case '"':
+                case '\\':
+                case '/':
+                    out.append((char) escaped);
+                    break;
+                case 'b':
+                    out.append('\b');
+                    break;
+                case 'f':
+                    out.append('\f');
+                    break;
+                case 'n':
+                    out.append('\n');
+                    break;
+                case 'r':
+                    out.append('\r');
+                    break;
+                case 't':
+                    out.append('\t');
+                    break;
+                case 'u':
+                    if (pos + 4 > end) {
+                        throw eof();
+                    }
+                    try {
+                        out.append((char) Integer.parseInt(new String(in, pos, 4, US_ASCII), 16));
+                    } catch (NumberFormatException e) {
+                        throw syntaxError("an unicode escape");
+                    }
+                    pos += 4;
+                    break;
+                default:
+                    throw syntaxError("an escape sequence");
+            }
+
+            segment = pos;
+        }
+
+        throw eof();
+    }
+
+    private void skipString() throws IOException {
+        for (int i = pos + 1; i < end; i++) {
+            final byte c = in[i];
+
+            if (c == '\\') {
+                i++;
+            } else if (c == '"') {
+                pos = i + 1;
+                return;
+            }
+        }
+
+        throw eof();
+    }
+
+    private int indexOfQuote(final int start) throws IOException {
+        for (int i = start; i < end; i++) {
+            if (in[i] == '"') {
+                return i;
+            }
+        }
+
+        throw eof();
+    }
+
+    private long parseLong(final int start, final int scalarEnd) throws IOException {
+        final boolean negative = start < scalarEnd && in[start] == '-';
+        int i = negative ? start + 1 : start;
+
+        if (i == scalarEnd || scalarEnd - i > 18) {
+            return parseLongSlow(start, scalarEnd);
+        }
+
+        long value = 0;
+        for (; i < scalarEnd; i++) {
+            final int digit = in[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return parseLongSlow(start, scalarEnd);
+            }
+            value = value * 10 + digit;
+        }
+
+        return negative ? -value : value;
+    }
+
+    private long parseLongSlow(final int start, final int scalarEnd) throws IOException {
+        final String text = new String(in, start, scalarEnd - start, UTF_8);
+
+        try {
+            return new BigDecimal(text).longValueExact();
+        } catch (ArithmeticException | NumberFormatException e) {
+            throw new IOException(format("Invalid integer: '%s' at position %d", text, start), e);
+        }
+    }
+
+    private int scalarEnd(final int start) {
+        int i = start;
+        while (i < end && !isDelimiter(in[i])) {
+            i++;
+        }
+        return i;
+    }
+
+    private String text(final int start, final int scalarEnd) {
+        return new String(in, start, scalarEnd - start, UTF_8);
+    }
+
+    private void literal(final String literal) throws IOException {
+        if (pos + literal.length() > end || !matches(pos, literal)) {
+            throw syntaxError(literal);
+        }
+        pos += literal.length();
+    }
+
+    private void expect(final char c) throws IOException {
+        if (peek() != c) {
+            throw syntaxError("'" + c + "'");
+        }
+        pos++;
+    }
+
+    private byte peek() throws IOException {
+        while (pos < end) {
+            final byte c = in[pos];
+            if (!isWhitespace(c)) {
+                return c;
+            }
+            pos++;
+        }
+
+        throw eof();
+    }
+
+    private IOException syntaxError(final String expected) {
+        final String found = pos < end ? "'" + (char) (in[pos] & 0xFF) + "'" : "end of input";
+        return new IOException(format("Malformed JSON, expected %s but found %s at position %d", expected, found, pos));
+    }
+
+    private IOException eof() {
+        return new IOException(format("Malformed JSON, unexpected end of input at position %d", end));
+    }
+
+    private static boolean isWhitespace(final byte c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private static boolean isDelimiter(final byte c) {
+        return c == ',' || c == '}' || c == ']' || c == ':' || c == '"' || isWhitespace(c);
+    }
+
+}
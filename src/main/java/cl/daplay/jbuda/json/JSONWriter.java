@@ -0,0 +1,94 @@
+package cl.daplay.jbuda.json;
+
+/**
+ * Writes compact JSON documents, just enough for request payloads.
+ *
+ * Not thread safe, create one per document.
+ */
+final class JSONWriter {
+
+    private final StringBuilder out = new StringBuilder(64);
+
+    /**
+     * true when next property or element needs a separator
+     */
+    private boolean separate = false;
+
+    JSONWriter beginObject() {
+        separator();
+        out.append('{');
+        separate = false;
+        return this;
+    }
+
+    JSONWriter endObject() {
+        out.append('}');
+        separate = true;
+        return this;
+    }
+
+    JSONWriter name(final String name) {
+        separator();
+        quote(name);
+        out.append(':');
+        separate = false;
+        return this;
+    }
+
+    JSONWriter value(final String value) {
+        separator();
+        if (value == null) {
+            out.append("null");
+        } else {
+            quote(value);
+        }
+        separate = true;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return out.toString();
+    }
+
+    private void separator() {
+        if (separate) {
+            out.append(',');
+        }
+    }
+
+    private void quote(final String value) {
+        out.append('"');
+
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+
+            switch (c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+
+        out.append('"');
+    }
+
+}
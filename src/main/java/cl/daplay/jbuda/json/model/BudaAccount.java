@@ -0,0 +1,188 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Account;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public final class BudaAccount implements Account, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long id;
+    private final String accountNumber;
+    private final String accountType;
+    private final long bankId;
+    private final Instant createdAt;
+    private final String currency;
+    private final String documentNumber;
+    private final String email;
+    private final String fullName;
+    private final String nationalNumberIdentifier;
+    private final String phone;
+    private final Instant updatedAt;
+    private final String bankName;
+    private final String peCciNumber;
+
+    public BudaAccount(final long id,
+                       final String accountNumber,
+                       final String accountType,
+                       final long bankId,
+                       final Instant createdAt,
+                       final String currency,
+                       final String documentNumber,
+                       final String email,
+                       final String fullName,
+                       final String nationalNumberIdentifier,
+                       final String phone,
+                       final Instant updatedAt,
+                       final String bankName,
+                       final String peCciNumber) {
+        this.id = id;
+        this.accountNumber = accountNumber;
+        this.accountType = accountType;
+        this.bankId = bankId;
+        this.createdAt = createdAt;
+        this.currency = currency;
+        this.documentNumber = documentNumber;
+        this.email = email;
+        this.fullName = fullName;
+        this.nationalNumberIdentifier = nationalNumberIdentifier;
+        this.phone = phone;
+        this.updatedAt = updatedAt;
+        this.bankName = bankName;
+        this.peCciNumber = peCciNumber;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    @Override
+    public String getAccountType() {
+        return accountType;
+    }
+
+    @Override
+    public long getBankId() {
+        return bankId;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public String getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public String getDocumentNumber() {
+        return documentNumber;
+    }
+
+    @Override
+    public String getEmail() {
+        return email;
+    }
+
+    @Override
+    public String getFullName() {
+        return fullName;
+    }
+
+    @Override
+    public String getNationalNumberIdentifier() {
+        return nationalNumberIdentifier;
+    }
+
+    @Override
+    public String getPhone() {
+        return phone;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String getBankName() {
+        return bankName;
+    }
+
+    @Override
+    public String getPeCciNumber() {
+        return peCciNumber;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaAccount that = (BudaAccount) o;
+
+        if (id != that.id) return false;
+        if (bankId != that.bankId) return false;
+        if (accountNumber != null ? !accountNumber.equals(that.accountNumber) : that.accountNumber != null) return false;
+        if (accountType != null ? !accountType.equals(that.accountType) : that.accountType != null) return false;
+        if (createdAt != null ? !createdAt.equals(that.createdAt) : that.createdAt != null) return false;
+        if (currency != null ? !currency.equals(that.currency) : that.currency != null) return false;
+        if (documentNumber != null ? !documentNumber.equals(that.documentNumber) : that.documentNumber != null) return false;
+        if (email != null ? !email.equals(that.email) : that.email != null) return false;
+        if (fullName != null ? !fullName.equals(that.fullName) : that.fullName != null) return false;
+        if (nationalNumberIdentifier != null ? !nationalNumberIdentifier.equals(that.nationalNumberIdentifier) : that.nationalNumberIdentifier != null) return false;
+        if (phone != null ? !phone.equals(that.phone) : that.phone != null) return false;
+        if (updatedAt != null ? !updatedAt.equals(that.updatedAt) : that.updatedAt != null) return false;
+        if (bankName != null ? !bankName.equals(that.bankName) : that.bankName != null) return false;
+        return peCciNumber != null ? peCciNumber.equals(that.peCciNumber) : that.peCciNumber == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (id ^ (id >>> 32));
+        result = 31 * result + (accountNumber != null ? accountNumber.hashCode() : 0);
+        result = 31 * result + (accountType != null ? accountType.hashCode() : 0);
+        result = 31 * result + (int) (bankId ^ (bankId >>> 32));
+        result = 31 * result + (createdAt != null ? createdAt.hashCode() : 0);
+        result = 31 * result + (currency != null ? currency.hashCode() : 0);
+        result = 31 * result + (documentNumber != null ? documentNumber.hashCode() : 0);
+        result = 31 * result + (email != null ? email.hashCode() : 0);
+        result = 31 * result + (fullName != null ? fullName.hashCode() : 0);
+        result = 31 * result + (nationalNumberIdentifier != null ? nationalNumberIdentifier.hashCode() : 0);
+        result = 31 * result + (phone != null ? phone.hashCode() : 0);
+        result = 31 * result + (updatedAt != null ? updatedAt.hashCode() : 0);
+        result = 31 * result + (bankName != null ? bankName.hashCode() : 0);
+        result = 31 * result + (peCciNumber != null ? peCciNumber.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Account{" +
+                "id=" + id +
+                ", accountNumber='" + accountNumber + '\'' +
+                ", accountType='" + accountType + '\'' +
+                ", bankId=" + bankId +
+                ", createdAt=" + createdAt +
+                ", currency='" + currency + '\'' +
+                ", documentNumber='" + documentNumber + '\'' +
+                ", email='" + email + '\'' +
+                ", fullName='" + fullName + '\'' +
+                ", nationalNumberIdentifier='" + nationalNumberIdentifier + '\'' +
+                ", phone='" + phone + '\'' +
+                ", updatedAt=" + updatedAt +
+                ", bankName='" + bankName + '\'' +
+                ", peCciNumber='" + peCciNumber + '\'' +
+                '}';
+    }
+}
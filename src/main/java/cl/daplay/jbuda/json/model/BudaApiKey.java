@@ -0,0 +1,111 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.ApiKey;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public final class BudaApiKey implements ApiKey, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String id;
+    private final String name;
+    private final Instant expirationTime;
+    private final boolean enabled;
+    private final boolean expired;
+    private final Instant lastAccessAt;
+    private final String secret;
+
+    public BudaApiKey(final String id,
+                      final String name,
+                      final Instant expirationTime,
+                      final boolean enabled,
+                      final boolean expired,
+                      final Instant lastAccessAt,
+                      final String secret) {
+        this.id = id;
+        this.name = name;
+        this.expirationTime = expirationTime;
+        this.enabled = enabled;
+        this.expired = expired;
+        this.lastAccessAt = lastAccessAt;
+        this.secret = secret;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Instant getExpirationTime() {
+        return expirationTime;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public boolean isExpired() {
+        return expired;
+    }
+
+    @Override
+    public Instant getLastAccessAt() {
+        return lastAccessAt;
+    }
+
+    @Override
+    public String getSecret() {
+        return secret;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaApiKey that = (BudaApiKey) o;
+
+        if (enabled != that.enabled) return false;
+        if (expired != that.expired) return false;
+        if (id != null ? !id.equals(that.id) : that.id != null) return false;
+        if (name != null ? !name.equals(that.name) : that.name != null) return false;
+        if (expirationTime != null ? !expirationTime.equals(that.expirationTime) : that.expirationTime != null) return false;
+        if (lastAccessAt != null ? !lastAccessAt.equals(that.lastAccessAt) : that.lastAccessAt != null) return false;
+        return secret != null ? secret.equals(that.secret) : that.secret == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id != null ? id.hashCode() : 0;
+        result = 31 * result + (name != null ? name.hashCode() : 0);
+        result = 31 * result + (expirationTime != null ? expirationTime.hashCode() : 0);
+        result = 31 * result + (enabled ? 1 : 0);
+        result = 31 * result + (expired ? 1 : 0);
+        result = 31 * result + (lastAccessAt != null ? lastAccessAt.hashCode() : 0);
+        result = 31 * result + (secret != null ? secret.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ApiKey{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", expirationTime=" + expirationTime +
+                ", enabled=" + enabled +
+                ", expired=" + expired +
+                ", lastAccessAt=" + lastAccessAt +
+                ", secret='" + secret + '\'' +
+                '}';
+    }
+}
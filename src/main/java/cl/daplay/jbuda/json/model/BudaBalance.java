@@ -0,0 +1,144 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Balance;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public final class BudaBalance implements Balance, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long accountId;
+    private final String id;
+    private final BigDecimal amount;
+    private final String amountCurrency;
+    private final BigDecimal availableAmount;
+    private final String availableAmountCurrency;
+    private final BigDecimal frozenAmount;
+    private final String frozenAmountCurrency;
+    private final BigDecimal pendingWithdrawAmount;
+    private final String pendingWithdrawAmountCurrency;
+
+    public BudaBalance(final long accountId,
+                       final String id,
+                       final BigDecimal amount,
+                       final String amountCurrency,
+                       final BigDecimal availableAmount,
+                       final String availableAmountCurrency,
+                       final BigDecimal frozenAmount,
+                       final String frozenAmountCurrency,
+                       final BigDecimal pendingWithdrawAmount,
+                       final String pendingWithdrawAmountCurrency) {
+        this.accountId = accountId;
+        this.id = id;
+        this.amount = amount;
+        this.amountCurrency = amountCurrency;
+        this.availableAmount = availableAmount;
+        this.availableAmountCurrency = availableAmountCurrency;
+        this.frozenAmount = frozenAmount;
+        this.frozenAmountCurrency = frozenAmountCurrency;
+        this.pendingWithdrawAmount = pendingWithdrawAmount;
+        this.pendingWithdrawAmountCurrency = pendingWithdrawAmountCurrency;
+    }
+
+    @Override
+    public long getAccountId() {
+        return accountId;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String getAmountCurrency() {
+        return amountCurrency;
+    }
+
+    @Override
+    public BigDecimal getAvailableAmount() {
+        return availableAmount;
+    }
+
+    @Override
+    public String getAvailableAmountCurrency() {
+        return availableAmountCurrency;
+    }
+
+    @Override
+    public BigDecimal getFrozenAmount() {
+        return frozenAmount;
+    }
+
+    @Override
+    public String getFrozenAmountCurrency() {
+        return frozenAmountCurrency;
+    }
+
+    @Override
+    public BigDecimal getPendingWithdrawAmount() {
+        return pendingWithdrawAmount;
+    }
+
+    @Override
+    public String getPendingWithdrawAmountCurrency() {
+        return pendingWithdrawAmountCurrency;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaBalance that = (BudaBalance) o;
+
+        if (accountId != that.accountId) return false;
+        if (id != null ? !id.equals(that.id) : that.id != null) return false;
+        if (amount != null ? !amount.equals(that.amount) : that.amount != null) return false;
+        if (amountCurrency != null ? !amountCurrency.equals(that.amountCurrency) : that.amountCurrency != null) return false;
+        if (availableAmount != null ? !availableAmount.equals(that.availableAmount) : that.availableAmount != null) return false;
+        if (availableAmountCurrency != null ? !availableAmountCurrency.equals(that.availableAmountCurrency) : that.availableAmountCurrency != null) return false;
+        if (frozenAmount != null ? !frozenAmount.equals(that.frozenAmount) : that.frozenAmount != null) return false;
+        if (frozenAmountCurrency != null ? !frozenAmountCurrency.equals(that.frozenAmountCurrency) : that.frozenAmountCurrency != null) return false;
+        if (pendingWithdrawAmount != null ? !pendingWithdrawAmount.equals(that.pendingWithdrawAmount) : that.pendingWithdrawAmount != null) return false;
+        return pendingWithdrawAmountCurrency != null ? pendingWithdrawAmountCurrency.equals(that.pendingWithdrawAmountCurrency) : that.pendingWithdrawAmountCurrency == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (accountId ^ (accountId >>> 32));
+        result = 31 * result + (id != null ? id.hashCode() : 0);
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        result = 31 * result + (amountCurrency != null ? amountCurrency.hashCode() : 0);
+        result = 31 * result + (availableAmount != null ? availableAmount.hashCode() : 0);
+        result = 31 * result + (availableAmountCurrency != null ? availableAmountCurrency.hashCode() : 0);
+        result = 31 * result + (frozenAmount != null ? frozenAmount.hashCode() : 0);
+        result = 31 * result + (frozenAmountCurrency != null ? frozenAmountCurrency.hashCode() : 0);
+        result = 31 * result + (pendingWithdrawAmount != null ? pendingWithdrawAmount.hashCode() : 0);
+        result = 31 * result + (pendingWithdrawAmountCurrency != null ? pendingWithdrawAmountCurrency.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Balance{" +
+                "accountId=" + accountId +
+                ", id='" + id + '\'' +
+                ", amount=" + amount +
+                ", amountCurrency='" + amountCurrency + '\'' +
+                ", availableAmount=" + availableAmount +
+                ", availableAmountCurrency='" + availableAmountCurrency + '\'' +
+                ", frozenAmount=" + frozenAmount +
+                ", frozenAmountCurrency='" + frozenAmountCurrency + '\'' +
+                ", pendingWithdrawAmount=" + pendingWithdrawAmount +
+                ", pendingWithdrawAmountCurrency='" + pendingWithdrawAmountCurrency + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Withdrawal;
+
+import java.io.Serializable;
+
+public final class BudaBitcoinWithdrawalData implements Withdrawal.BitcoinWithdrawalData, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String targetAddress;
+    private final String txHash;
+
+    public BudaBitcoinWithdrawalData(final String targetAddress,
+                                     final String txHash) {
+        this.targetAddress = targetAddress;
+        this.txHash = txHash;
+    }
+
+    @Override
+    public String getTargetAddress() {
+        return targetAddress;
+    }
+
+    @Override
+    public String getTxHash() {
+        return txHash;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaBitcoinWithdrawalData that = (BudaBitcoinWithdrawalData) o;
+
+        if (targetAddress != null ? !targetAddress.equals(that.targetAddress) : that.targetAddress != null) return false;
+        return txHash != null ? txHash.equals(that.txHash) : that.txHash == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = targetAddress != null ? targetAddress.hashCode() : 0;
+        result = 31 * result + (txHash != null ? txHash.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "BitcoinWithdrawalData{" +
+                "targetAddress='" + targetAddress + '\'' +
+                ", txHash='" + txHash + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,100 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Deposit;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public final class BudaDepositData implements Deposit.DepositData, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String type;
+    private final String address;
+    private final String txHash;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final String uploadUrl;
+
+    public BudaDepositData(final String type,
+                           final String address,
+                           final String txHash,
+                           final Instant createdAt,
+                           final Instant updatedAt,
+                           final String uploadUrl) {
+        this.type = type;
+        this.address = address;
+        this.txHash = txHash;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.uploadUrl = uploadUrl;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getAddress() {
+        return address;
+    }
+
+    @Override
+    public String getTxHash() {
+        return txHash;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String getUploadUrl() {
+        return uploadUrl;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaDepositData that = (BudaDepositData) o;
+
+        if (type != null ? !type.equals(that.type) : that.type != null) return false;
+        if (address != null ? !address.equals(that.address) : that.address != null) return false;
+        if (txHash != null ? !txHash.equals(that.txHash) : that.txHash != null) return false;
+        if (createdAt != null ? !createdAt.equals(that.createdAt) : that.createdAt != null) return false;
+        if (updatedAt != null ? !updatedAt.equals(that.updatedAt) : that.updatedAt != null) return false;
+        return uploadUrl != null ? uploadUrl.equals(that.uploadUrl) : that.uploadUrl == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = type != null ? type.hashCode() : 0;
+        result = 31 * result + (address != null ? address.hashCode() : 0);
+        result = 31 * result + (txHash != null ? txHash.hashCode() : 0);
+        result = 31 * result + (createdAt != null ? createdAt.hashCode() : 0);
+        result = 31 * result + (updatedAt != null ? updatedAt.hashCode() : 0);
+        result = 31 * result + (uploadUrl != null ? uploadUrl.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DepositData{" +
+                "type='" + type + '\'' +
+                ", address='" + address + '\'' +
+                ", txHash='" + txHash + '\'' +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", uploadUrl='" + uploadUrl + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,112 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Account;
+import cl.daplay.jbuda.model.Withdrawal;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public final class BudaFiatWithdrawalData implements Withdrawal.FiatWithdrawalData, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long id;
+    private final Instant createdAt;
+    private final Instant updatedAt;
+    private final Instant transactedAt;
+    private final String statementRef;
+    private final Account account;
+    private final Account sourceAccount;
+
+    public BudaFiatWithdrawalData(final long id,
+                                  final Instant createdAt,
+                                  final Instant updatedAt,
+                                  final Instant transactedAt,
+                                  final String statementRef,
+                                  final Account account,
+                                  final Account sourceAccount) {
+        this.id = id;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.transactedAt = transactedAt;
+        this.statementRef = statementRef;
+        this.account = account;
+        this.sourceAccount = sourceAccount;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public Instant getTransactedAt() {
+        return transactedAt;
+    }
+
+    @Override
+    public String getStatementRef() {
+        return statementRef;
+    }
+
+    @Override
+    public Account getAccount() {
+        return account;
+    }
+
+    @Override
+    public Account getSourceAccount() {
+        return sourceAccount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaFiatWithdrawalData that = (BudaFiatWithdrawalData) o;
+
+        if (id != that.id) return false;
+        if (createdAt != null ? !createdAt.equals(that.createdAt) : that.createdAt != null) return false;
+        if (updatedAt != null ? !updatedAt.equals(that.updatedAt) : that.updatedAt != null) return false;
+        if (transactedAt != null ? !transactedAt.equals(that.transactedAt) : that.transactedAt != null) return false;
+        if (statementRef != null ? !statementRef.equals(that.statementRef) : that.statementRef != null) return false;
+        if (account != null ? !account.equals(that.account) : that.account != null) return false;
+        return sourceAccount != null ? sourceAccount.equals(that.sourceAccount) : that.sourceAccount == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (id ^ (id >>> 32));
+        result = 31 * result + (createdAt != null ? createdAt.hashCode() : 0);
+        result = 31 * result + (updatedAt != null ? updatedAt.hashCode() : 0);
+        result = 31 * result + (transactedAt != null ? transactedAt.hashCode() : 0);
+        result = 31 * result + (statementRef != null ? statementRef.hashCode() : 0);
+        result = 31 * result + (account != null ? account.hashCode() : 0);
+        result = 31 * result + (sourceAccount != null ? sourceAccount.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "FiatWithdrawalData{" +
+                "id=" + id +
+                ", createdAt=" + createdAt +
+                ", updatedAt=" + updatedAt +
+                ", transactedAt=" + transactedAt +
+                ", statementRef='" + statementRef + '\'' +
+                ", account=" + account +
+                ", sourceAccount=" + sourceAccount +
+                '}';
+    }
+}
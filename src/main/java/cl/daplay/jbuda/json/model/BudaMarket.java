@@ -0,0 +1,100 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Market;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public final class BudaMarket implements Market, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String id;
+    private final String name;
+    private final String baseCurrency;
+    private final String quoteCurrency;
+    private final BigDecimal minimumOrderAmount;
+    private final String minimumOrderAmountCurrency;
+
+    public BudaMarket(final String id,
+                      final String name,
+                      final String baseCurrency,
+                      final String quoteCurrency,
+                      final BigDecimal minimumOrderAmount,
+                      final String minimumOrderAmountCurrency) {
+        this.id = id;
+        this.name = name;
+        this.baseCurrency = baseCurrency;
+        this.quoteCurrency = quoteCurrency;
+        this.minimumOrderAmount = minimumOrderAmount;
+        this.minimumOrderAmountCurrency = minimumOrderAmountCurrency;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    @Override
+    public String getQuoteCurrency() {
+        return quoteCurrency;
+    }
+
+    @Override
+    public BigDecimal getMinimumOrderAmount() {
+        return minimumOrderAmount;
+    }
+
+    @Override
+    public String getMinimumOrderAmountCurrency() {
+        return minimumOrderAmountCurrency;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaMarket that = (BudaMarket) o;
+
+        if (id != null ? !id.equals(that.id) : that.id != null) return false;
+        if (name != null ? !name.equals(that.name) : that.name != null) return false;
+        if (baseCurrency != null ? !baseCurrency.equals(that.baseCurrency) : that.baseCurrency != null) return false;
+        if (quoteCurrency != null ? !quoteCurrency.equals(that.quoteCurrency) : that.quoteCurrency != null) return false;
+        if (minimumOrderAmount != null ? !minimumOrderAmount.equals(that.minimumOrderAmount) : that.minimumOrderAmount != null) return false;
+        return minimumOrderAmountCurrency != null ? minimumOrderAmountCurrency.equals(that.minimumOrderAmountCurrency) : that.minimumOrderAmountCurrency == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = id != null ? id.hashCode() : 0;
+        result = 31 * result + (name != null ? name.hashCode() : 0);
+        result = 31 * result + (baseCurrency != null ? baseCurrency.hashCode() : 0);
+        result = 31 * result + (quoteCurrency != null ? quoteCurrency.hashCode() : 0);
+        result = 31 * result + (minimumOrderAmount != null ? minimumOrderAmount.hashCode() : 0);
+        result = 31 * result + (minimumOrderAmountCurrency != null ? minimumOrderAmountCurrency.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Market{" +
+                "id='" + id + '\'' +
+                ", name='" + name + '\'' +
+                ", baseCurrency='" + baseCurrency + '\'' +
+                ", quoteCurrency='" + quoteCurrency + '\'' +
+                ", minimumOrderAmount=" + minimumOrderAmount +
+                ", minimumOrderAmountCurrency='" + minimumOrderAmountCurrency + '\'' +
+                '}';
+    }
+}
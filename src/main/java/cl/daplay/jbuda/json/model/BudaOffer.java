@@ -0,0 +1,56 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.OrderBook;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public final class BudaOffer implements OrderBook.Offer, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final BigDecimal price;
+    private final BigDecimal amount;
+
+    public BudaOffer(final BigDecimal price,
+                     final BigDecimal amount) {
+        this.price = price;
+        this.amount = amount;
+    }
+
+    @Override
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaOffer that = (BudaOffer) o;
+
+        if (price != null ? !price.equals(that.price) : that.price != null) return false;
+        return amount != null ? amount.equals(that.amount) : that.amount == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = price != null ? price.hashCode() : 0;
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Offer{" +
+                "price=" + price +
+                ", amount=" + amount +
+                '}';
+    }
+}
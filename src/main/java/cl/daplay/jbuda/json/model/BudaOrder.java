@@ -0,0 +1,254 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Order;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public final class BudaOrder implements Order, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long id;
+    private final String type;
+    private final String state;
+    private final Instant createdAt;
+    private final String marketId;
+    private final long accountId;
+    private final String feeCurrency;
+    private final String priceType;
+    private final BigDecimal limit;
+    private final String limitCurrency;
+    private final BigDecimal amount;
+    private final String amountCurrency;
+    private final BigDecimal originalAmount;
+    private final String originalAmountCurrency;
+    private final BigDecimal tradedAmount;
+    private final String tradedAmountCurrency;
+    private final BigDecimal totalExchanged;
+    private final String totalExchangedCurrency;
+    private final BigDecimal paidFee;
+    private final String paidFeeCurrency;
+
+    public BudaOrder(final long id,
+                     final String type,
+                     final String state,
+                     final Instant createdAt,
+                     final String marketId,
+                     final long accountId,
+                     final String feeCurrency,
+                     final String priceType,
+                     final BigDecimal limit,
+                     final String limitCurrency,
+                     final BigDecimal amount,
+                     final String amountCurrency,
+                     final BigDecimal originalAmount,
+                     final String originalAmountCurrency,
+                     final BigDecimal tradedAmount,
+                     final String tradedAmountCurrency,
+                     final BigDecimal totalExchanged,
+                     final String totalExchangedCurrency,
+                     final BigDecimal paidFee,
+                     final String paidFeeCurrency) {
+        this.id = id;
+        this.type = type;
+        this.state = state;
+        this.createdAt = createdAt;
+        this.marketId = marketId;
+        this.accountId = accountId;
+        this.feeCurrency = feeCurrency;
+        this.priceType = priceType;
+        this.limit = limit;
+        this.limitCurrency = limitCurrency;
+        this.amount = amount;
+        this.amountCurrency = amountCurrency;
+        this.originalAmount = originalAmount;
+        this.originalAmountCurrency = originalAmountCurrency;
+        this.tradedAmount = tradedAmount;
+        this.tradedAmountCurrency = tradedAmountCurrency;
+        this.totalExchanged = totalExchanged;
+        this.totalExchangedCurrency = totalExchangedCurrency;
+        this.paidFee = paidFee;
+        this.paidFeeCurrency = paidFeeCurrency;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public String getMarketId() {
+        return marketId;
+    }
+
+    @Override
+    public long getAccountId() {
+        return accountId;
+    }
+
+    @Override
+    public String getFeeCurrency() {
+        return feeCurrency;
+    }
+
+    @Override
+    public String getPriceType() {
+        return priceType;
+    }
+
+    @Override
+    public BigDecimal getLimit() {
+        return limit;
+    }
+
+    @Override
+    public String getLimitCurrency() {
+        return limitCurrency;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String getAmountCurrency() {
+        return amountCurrency;
+    }
+
+    @Override
+    public BigDecimal getOriginalAmount() {
+        return originalAmount;
+    }
+
+    @Override
+    public String getOriginalAmountCurrency() {
+        return originalAmountCurrency;
+    }
+
+    @Override
+    public BigDecimal getTradedAmount() {
+        return tradedAmount;
+    }
+
+    @Override
+    public String getTradedAmountCurrency() {
+        return tradedAmountCurrency;
+    }
+
+    @Override
+    public BigDecimal getTotalExchanged() {
+        return totalExchanged;
+    }
+
+    @Override
+    public String getTotalExchangedCurrency() {
+        return totalExchangedCurrency;
+    }
+
+    @Override
+    public BigDecimal getPaidFee() {
+        return paidFee;
+    }
+
+    @Override
+    public String getPaidFeeCurrency() {
+        return paidFeeCurrency;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaOrder that = (BudaOrder) o;
+
+        if (id != that.id) return false;
+        if (accountId != that.accountId) return false;
+        if (type != null ? !type.equals(that.type) : that.type != null) return false;
+        if (state != null ? !state.equals(that.state) : that.state != null) return false;
+        if (createdAt != null ? !createdAt.equals(that.createdAt) : that.createdAt != null) return false;
+        if (marketId != null ? !marketId.equals(that.marketId) : that.marketId != null) return false;
+        if (feeCurrency != null ? !feeCurrency.equals(that.feeCurrency) : that.feeCurrency != null) return false;
+        if (priceType != null ? !priceType.equals(that.priceType) : that.priceType != null) return false;
+        if (limit != null ? !limit.equals(that.limit) : that.limit != null) return false;
+        if (limitCurrency != null ? !limitCurrency.equals(that.limitCurrency) : that.limitCurrency != null) return false;
+        if (amount != null ? !amount.equals(that.amount) : that.amount != null) return false;
+        if (amountCurrency != null ? !amountCurrency.equals(that.amountCurrency) : that.amountCurrency != null) return false;
+        if (originalAmount != null ? !originalAmount.equals(that.originalAmount) : that.originalAmount != null) return false;
+        if (originalAmountCurrency != null ? !originalAmountCurrency.equals(that.originalAmountCurrency) : that.originalAmountCurrency != null) return false;
+        if (tradedAmount != null ? !tradedAmount.equals(that.tradedAmount) : that.tradedAmount != null) return false;
+        if (tradedAmountCurrency != null ? !tradedAmountCurrency.equals(that.tradedAmountCurrency) : that.tradedAmountCurrency != null) return false;
+        if (totalExchanged != null ? !totalExchanged.equals(that.totalExchanged) : that.totalExchanged != null) return false;
+        if (totalExchangedCurrency != null ? !totalExchangedCurrency.equals(that.totalExchangedCurrency) : that.totalExchangedCurrency != null) return false;
+        if (paidFee != null ? !paidFee.equals(that.paidFee) : that.paidFee != null) return false;
+        return paidFeeCurrency != null ? paidFeeCurrency.equals(that.paidFeeCurrency) : that.paidFeeCurrency == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (id ^ (id >>> 32));
+        result = 31 * result + (type != null ? type.hashCode() : 0);
+        result = 31 * result + (state != null ? state.hashCode() : 0);
+        result = 31 * result + (createdAt != null ? createdAt.hashCode() : 0);
+        result = 31 * result + (marketId != null ? marketId.hashCode() : 0);
+        result = 31 * result + (int) (accountId ^ (accountId >>> 32));
+        result = 31 * result + (feeCurrency != null ? feeCurrency.hashCode() : 0);
+        result = 31 * result + (priceType != null ? priceType.hashCode() : 0);
+        result = 31 * result + (limit != null ? limit.hashCode() : 0);
+        result = 31 * result + (limitCurrency != null ? limitCurrency.hashCode() : 0);
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        result = 31 * result + (amountCurrency != null ? amountCurrency.hashCode() : 0);
+        result = 31 * result + (originalAmount != null ? originalAmount.hashCode() : 0);
+        result = 31 * result + (originalAmountCurrency != null ? originalAmountCurrency.hashCode() : 0);
+        result = 31 * result + (tradedAmount != null ? tradedAmount.hashCode() : 0);
+        result = 31 * result + (tradedAmountCurrency != null ? tradedAmountCurrency.hashCode() : 0);
+        result = 31 * result + (totalExchanged != null ? totalExchanged.hashCode() : 0);
+        result = 31 * result + (totalExchangedCurrency != null ? totalExchangedCurrency.hashCode() : 0);
+        result = 31 * result + (paidFee != null ? paidFee.hashCode() : 0);
+        result = 31 * result + (paidFeeCurrency != null ? paidFeeCurrency.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Order{" +
+                "id=" + id +
+                ", type='" + type + '\'' +
+                ", state='" + state + '\'' +
+                ", createdAt=" + createdAt +
+                ", marketId='" + marketId + '\'' +
+                ", accountId=" + accountId +
+                ", feeCurrency='" + feeCurrency + '\'' +
+                ", priceType='" + priceType + '\'' +
+                ", limit=" + limit +
+                ", limitCurrency='" + limitCurrency + '\'' +
+                ", amount=" + amount +
+                ", amountCurrency='" + amountCurrency + '\'' +
+                ", originalAmount=" + originalAmount +
+                ", originalAmountCurrency='" + originalAmountCurrency + '\'' +
+                ", tradedAmount=" + tradedAmount +
+                ", tradedAmountCurrency='" + tradedAmountCurrency + '\'' +
+                ", totalExchanged=" + totalExchanged +
+                ", totalExchangedCurrency='" + totalExchangedCurrency + '\'' +
+                ", paidFee=" + paidFee +
+                ", paidFeeCurrency='" + paidFeeCurrency + '\'' +
+                '}';
+    }
+}
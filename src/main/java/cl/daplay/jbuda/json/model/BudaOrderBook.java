@@ -0,0 +1,56 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.OrderBook;
+
+import java.io.Serializable;
+import java.util.List;
+
+public final class BudaOrderBook implements OrderBook, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final List<Offer> bids;
+    private final List<Offer> asks;
+
+    public BudaOrderBook(final List<Offer> bids,
+                         final List<Offer> asks) {
+        this.bids = bids;
+        this.asks = asks;
+    }
+
+    @Override
+    public List<Offer> getBids() {
+        return bids;
+    }
+
+    @Override
+    public List<Offer> getAsks() {
+        return asks;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaOrderBook that = (BudaOrderBook) o;
+
+        if (bids != null ? !bids.equals(that.bids) : that.bids != null) return false;
+        return asks != null ? asks.equals(that.asks) : that.asks == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = bids != null ? bids.hashCode() : 0;
+        result = 31 * result + (asks != null ? asks.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderBook{" +
+                "bids=" + bids +
+                ", asks=" + asks +
+                '}';
+    }
+}
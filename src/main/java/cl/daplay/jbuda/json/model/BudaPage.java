@@ -0,0 +1,67 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Page;
+
+import java.io.Serializable;
+
+public final class BudaPage implements Page, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final int totalPages;
+    private final int totalCount;
+    private final int currentPage;
+
+    public BudaPage(final int totalPages,
+                    final int totalCount,
+                    final int currentPage) {
+        this.totalPages = totalPages;
+        this.totalCount = totalCount;
+        this.currentPage = currentPage;
+    }
+
+    @Override
+    public int getTotalPages() {
+        return totalPages;
+    }
+
+    @Override
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    @Override
+    public int getCurrentPage() {
+        return currentPage;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaPage that = (BudaPage) o;
+
+        if (totalPages != that.totalPages) return false;
+        if (totalCount != that.totalCount) return false;
+        if (currentPage != that.currentPage) return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = totalPages;
+        result = 31 * result + totalCount;
+        result = 31 * result + currentPage;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "totalPages=" + totalPages +
+                ", totalCount=" + totalCount +
+                ", currentPage=" + currentPage +
+                '}';
+    }
+}
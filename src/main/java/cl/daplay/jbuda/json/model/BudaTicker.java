@@ -0,0 +1,155 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Ticker;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public final class BudaTicker implements Ticker, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String marketId;
+    private final BigDecimal lastPrice;
+    private final String lastPriceCurrency;
+    private final BigDecimal minAsk;
+    private final String minAskCurrency;
+    private final BigDecimal maxBid;
+    private final String maxBidCurrency;
+    private final BigDecimal volume;
+    private final String volumeCurrency;
+    private final BigDecimal priceVariation24Hours;
+    private final BigDecimal priceVariation7Days;
+
+    public BudaTicker(final String marketId,
+                      final BigDecimal lastPrice,
+                      final String lastPriceCurrency,
+                      final BigDecimal minAsk,
+                      final String minAskCurrency,
+                      final BigDecimal maxBid,
+                      final String maxBidCurrency,
+                      final BigDecimal volume,
+                      final String volumeCurrency,
+                      final BigDecimal priceVariation24Hours,
+                      final BigDecimal priceVariation7Days) {
+        this.marketId = marketId;
+        this.lastPrice = lastPrice;
+        this.lastPriceCurrency = lastPriceCurrency;
+        this.minAsk = minAsk;
+        this.minAskCurrency = minAskCurrency;
+        this.maxBid = maxBid;
+        this.maxBidCurrency = maxBidCurrency;
+        this.volume = volume;
+        this.volumeCurrency = volumeCurrency;
+        this.priceVariation24Hours = priceVariation24Hours;
+        this.priceVariation7Days = priceVariation7Days;
+    }
+
+    @Override
+    public String getMarketId() {
+        return marketId;
+    }
+
+    @Override
+    public BigDecimal getLastPrice() {
+        return lastPrice;
+    }
+
+    @Override
+    public String getLastPriceCurrency() {
+        return lastPriceCurrency;
+    }
+
+    @Override
+    public BigDecimal getMinAsk() {
+        return minAsk;
+    }
+
+    @Override
+    public String getMinAskCurrency() {
+        return minAskCurrency;
+    }
+
+    @Override
+    public BigDecimal getMaxBid() {
+        return maxBid;
+    }
+
+    @Override
+    public String getMaxBidCurrency() {
+        return maxBidCurrency;
+    }
+
+    @Override
+    public BigDecimal getVolume() {
+        return volume;
+    }
+
+    @Override
+    public String getVolumeCurrency() {
+        return volumeCurrency;
+    }
+
+    @Override
+    public BigDecimal getPriceVariation24Hours() {
+        return priceVariation24Hours;
+    }
+
+    @Override
+    public BigDecimal getPriceVariation7Days() {
+        return priceVariation7Days;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaTicker that = (BudaTicker) o;
+
+        if (marketId != null ? !marketId.equals(that.marketId) : that.marketId != null) return false;
+        if (lastPrice != null ? !lastPrice.equals(that.lastPrice) : that.lastPrice != null) return false;
+        if (lastPriceCurrency != null ? !lastPriceCurrency.equals(that.lastPriceCurrency) : that.lastPriceCurrency != null) return false;
+        if (minAsk != null ? !minAsk.equals(that.minAsk) : that.minAsk != null) return false;
+        if (minAskCurrency != null ? !minAskCurrency.equals(that.minAskCurrency) : that.minAskCurrency != null) return false;
+        if (maxBid != null ? !maxBid.equals(that.maxBid) : that.maxBid != null) return false;
+        if (maxBidCurrency != null ? !maxBidCurrency.equals(that.maxBidCurrency) : that.maxBidCurrency != null) return false;
+        if (volume != null ? !volume.equals(that.volume) : that.volume != null) return false;
+        if (volumeCurrency != null ? !volumeCurrency.equals(that.volumeCurrency) : that.volumeCurrency != null) return false;
+        if (priceVariation24Hours != null ? !priceVariation24Hours.equals(that.priceVariation24Hours) : that.priceVariation24Hours != null) return false;
+        return priceVariation7Days != null ? priceVariation7Days.equals(that.priceVariation7Days) : that.priceVariation7Days == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = marketId != null ? marketId.hashCode() : 0;
+        result = 31 * result + (lastPrice != null ? lastPrice.hashCode() : 0);
+        result = 31 * result + (lastPriceCurrency != null ? lastPriceCurrency.hashCode() : 0);
+        result = 31 * result + (minAsk != null ? minAsk.hashCode() : 0);
+        result = 31 * result + (minAskCurrency != null ? minAskCurrency.hashCode() : 0);
+        result = 31 * result + (maxBid != null ? maxBid.hashCode() : 0);
+        result = 31 * result + (maxBidCurrency != null ? maxBidCurrency.hashCode() : 0);
+        result = 31 * result + (volume != null ? volume.hashCode() : 0);
+        result = 31 * result + (volumeCurrency != null ? volumeCurrency.hashCode() : 0);
+        result = 31 * result + (priceVariation24Hours != null ? priceVariation24Hours.hashCode() : 0);
+        result = 31 * result + (priceVariation7Days != null ? priceVariation7Days.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Ticker{" +
+                "marketId='" + marketId + '\'' +
+                ", lastPrice=" + lastPrice +
+                ", lastPriceCurrency='" + lastPriceCurrency + '\'' +
+                ", minAsk=" + minAsk +
+                ", minAskCurrency='" + minAskCurrency + '\'' +
+                ", maxBid=" + maxBid +
+                ", maxBidCurrency='" + maxBidCurrency + '\'' +
+                ", volume=" + volume +
+                ", volumeCurrency='" + volumeCurrency + '\'' +
+                ", priceVariation24Hours=" + priceVariation24Hours +
+                ", priceVariation7Days=" + priceVariation7Days +
+                '}';
+    }
+}
@@ -0,0 +1,85 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Trades;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.List;
+
+public final class BudaTrades implements Trades, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String marketId;
+    private final Instant timestamp;
+    private final Instant lastTimestamp;
+    private final List<Transaction> entries;
+
+    public BudaTrades(final String marketId,
+                      final Instant timestamp,
+                      final Instant lastTimestamp,
+                      final List<Transaction> entries) {
+        this.marketId = marketId;
+        this.timestamp = timestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.entries = entries;
+    }
+
+    @Override
+    public String getMarketId() {
+        return marketId;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public Instant getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    @Override
+    public List<Transaction> getEntries() {
+        return entries;
+    }
+
+    @Override
+    public Iterator<Transaction> iterator() {
+        return entries.iterator();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaTrades that = (BudaTrades) o;
+
+        if (marketId != null ? !marketId.equals(that.marketId) : that.marketId != null) return false;
+        if (timestamp != null ? !timestamp.equals(that.timestamp) : that.timestamp != null) return false;
+        if (lastTimestamp != null ? !lastTimestamp.equals(that.lastTimestamp) : that.lastTimestamp != null) return false;
+        return entries != null ? entries.equals(that.entries) : that.entries == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = marketId != null ? marketId.hashCode() : 0;
+        result = 31 * result + (timestamp != null ? timestamp.hashCode() : 0);
+        result = 31 * result + (lastTimestamp != null ? lastTimestamp.hashCode() : 0);
+        result = 31 * result + (entries != null ? entries.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Trades{" +
+                "marketId='" + marketId + '\'' +
+                ", timestamp=" + timestamp +
+                ", lastTimestamp=" + lastTimestamp +
+                ", entries=" + entries +
+                '}';
+    }
+}
@@ -0,0 +1,84 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Trades;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public final class BudaTransaction implements Trades.Transaction, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final Instant timestamp;
+    private final BigDecimal amount;
+    private final BigDecimal price;
+    private final String direction;
+
+    public BudaTransaction(final Instant timestamp,
+                           final BigDecimal amount,
+                           final BigDecimal price,
+                           final String direction) {
+        this.timestamp = timestamp;
+        this.amount = amount;
+        this.price = price;
+        this.direction = direction;
+    }
+
+    @Override
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    @Override
+    public String getDirection() {
+        return direction;
+    }
+
+    @Override
+    public int compareTo(final Trades.Transaction o) {
+        return this.timestamp.compareTo(o.getTimestamp());
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaTransaction that = (BudaTransaction) o;
+
+        if (timestamp != null ? !timestamp.equals(that.timestamp) : that.timestamp != null) return false;
+        if (amount != null ? !amount.equals(that.amount) : that.amount != null) return false;
+        if (price != null ? !price.equals(that.price) : that.price != null) return false;
+        return direction != null ? direction.equals(that.direction) : that.direction == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = timestamp != null ? timestamp.hashCode() : 0;
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        result = 31 * result + (price != null ? price.hashCode() : 0);
+        result = 31 * result + (direction != null ? direction.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Transaction{" +
+                "timestamp=" + timestamp +
+                ", amount=" + amount +
+                ", price=" + price +
+                ", direction='" + direction + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,134 @@
+package cl.daplay.jbuda.json.model;
+
+import cl.daplay.jbuda.model.Withdrawal;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public final class BudaWithdrawal implements Withdrawal, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final long id;
+    private final String state;
+    private final String currency;
+    private final Instant createdAt;
+    private final WithdrawalData withdrawalData;
+    private final BigDecimal amount;
+    private final String amountCurrency;
+    private final BigDecimal fee;
+    private final String feeCurrency;
+
+    public BudaWithdrawal(final long id,
+                          final String state,
+                          final String currency,
+                          final Instant createdAt,
+                          final WithdrawalData withdrawalData,
+                          final BigDecimal amount,
+                          final String amountCurrency,
+                          final BigDecimal fee,
+                          final String feeCurrency) {
+        this.id = id;
+        this.state = state;
+        this.currency = currency;
+        this.createdAt = createdAt;
+        this.withdrawalData = withdrawalData;
+        this.amount = amount;
+        this.amountCurrency = amountCurrency;
+        this.fee = fee;
+        this.feeCurrency = feeCurrency;
+    }
+
+    @Override
+    public long getId() {
+        return id;
+    }
+
+    @Override
+    public String getState() {
+        return state;
+    }
+
+    @Override
+    public String getCurrency() {
+        return currency;
+    }
+
+    @Override
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public WithdrawalData getWithdrawalData() {
+        return withdrawalData;
+    }
+
+    @Override
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String getAmountCurrency() {
+        return amountCurrency;
+    }
+
+    @Override
+    public BigDecimal getFee() {
+        return fee;
+    }
+
+    @Override
+    public String getFeeCurrency() {
+        return feeCurrency;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final BudaWithdrawal that = (BudaWithdrawal) o;
+
+        if (id != that.id) return false;
+        if (state != null ? !state.equals(that.state) : that.state != null) return false;
+        if (currency != null ? !currency.equals(that.currency) : that.currency != null) return false;
+        if (createdAt != null ? !createdAt.equals(that.createdAt) : that.createdAt != null) return false;
+        if (withdrawalData != null ? !withdrawalData.equals(that.withdrawalData) : that.withdrawalData != null) return false;
+        if (amount != null ? !amount.equals(that.amount) : that.amount != null) return false;
+        if (amountCurrency != null ? !amountCurrency.equals(that.amountCurrency) : that.amountCurrency != null) return false;
+        if (fee != null ? !fee.equals(that.fee) : that.fee != null) return false;
+        return feeCurrency != null ? feeCurrency.equals(that.feeCurrency) : that.feeCurrency == null;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (id ^ (id >>> 32));
+        result = 31 * result + (state != null ? state.hashCode() : 0);
+        result = 31 * result + (currency != null ? currency.hashCode() : 0);
+        result = 31 * result + (createdAt != null ? createdAt.hashCode() : 0);
+        result = 31 * result + (withdrawalData != null ? withdrawalData.hashCode() : 0);
+        result = 31 * result + (amount != null ? amount.hashCode() : 0);
+        result = 31 * result + (amountCurrency != null ? amountCurrency.hashCode() : 0);
+        result = 31 * result + (fee != null ? fee.hashCode() : 0);
+        result = 31 * result + (feeCurrency != null ? feeCurrency.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "Withdrawal{" +
+                "id=" + id +
+                ", state='" + state + '\'' +
+                ", currency='" + currency + '\'' +
+                ", createdAt=" + createdAt +
+                ", withdrawalData=" + withdrawalData +
+                ", amount=" + amount +
+                ", amountCurrency='" + amountCurrency + '\'' +
+                ", fee=" + fee +
+                ", feeCurrency='" + feeCurrency + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,152 @@
+package cl.daplay.jbuda.kernel;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Aggregations over primitive columns, such as TradeColumns or the levels of a PrimitiveOrderBook: sums, masked
+ * sums (ie: buy volume), min/max, dot products (notional, VWAP) and histograms.
+ *
+ * The jar is multi-release: on Java 17+ started with {@code --add-modules jdk.incubator.vector} kernels run on
+ * the JDK Vector API, several lanes per instruction, otherwise they're plain loops. Set the system property
+ * JBUDA.KERNELS to "scalar" to force the latter.
+ *
+ * Long sums wrap on overflow, as with plain additions. Floating point results may differ in their last bits
+ * between implementations, as vector kernels add in a different order.
+ */
+public final class ColumnKernels {
+
+    private final static Logger LOGGER = Logger.getLogger(ColumnKernels.class.getName());
+
+    final static Kernels KERNELS = kernels();
+
+    private ColumnKernels() {
+    }
+
+    /**
+     * @return true if kernels run on the Vector API
+     */
+    public static boolean isVectorized() {
+        return KERNELS != ScalarKernels.INSTANCE;
+    }
+
+    public static long sum(final long[] values, final int from, final int to) {
+        checkRange(values, from, to);
+        return KERNELS.sum(values, from, to);
+    }
+
+    /**
+     * @return sum of values[i] where mask[i] == selected, ie: buy volume of TradeColumns
+     */
+    public static long sum(final long[] values, final boolean[] mask, final boolean selected, final int from, final int to) {
+        checkRange(values, from, to);
+        checkRange(mask, from, to);
+        return KERNELS.sum(values, mask, selected, from, to);
+    }
+
+    /**
+     * @return Long.MAX_VALUE if range is empty
+     */
+    public static long min(final long[] values, final int from, final int to) {
+        checkRange(values, from, to);
+        return KERNELS.min(values, from, to);
+    }
+
+    /**
+     * @return Long.MIN_VALUE if range is empty
+     */
+    public static long max(final long[] values, final int from, final int to) {
+        checkRange(values, from, to);
+        return KERNELS.max(values, from, to);
+    }
+
+    /**
+     * @return sum of a[i] * b[i] in doubles, ie: notional of prices and amounts, at price plus amount scale
+     */
+    public static double dot(final long[] a, final long[] b, final int from, final int to) {
+        checkRange(a, from, to);
+        checkRange(b, from, to);
+        return KERNELS.dot(a, b, from, to);
+    }
+
+    /**
+     * @return volume weighted average price, at price scale, NaN if there's no volume
+     */
+    public static double vwap(final long[] prices, final long[] amounts, final int from, final int to) {
+        final long volume = sum(amounts, from, to);
+        return volume == 0 ? Double.NaN : dot(prices, amounts, from, to) / volume;
+    }
+
+    /**
+     * Adds weights[i] (or 1, if weights is null) to out[(values[i] - origin) / width], values outside
+     * [origin, origin + width * out.length) are ignored.
+     *
+     * Buckets are scattered, which vectorizes poorly, so this is a plain loop everywhere.
+     */
+    public static void histogram(final long[] values,
+                                 final long[] weights,
+                                 final int from,
+                                 final int to,
+                                 final long origin,
+                                 final long width,
+                                 final long[] out) {
+        checkRange(values, from, to);
+        if (weights != null) {
+            checkRange(weights, from, to);
+        }
+        if (width <= 0) {
+            throw new IllegalArgumentException(format("Invalid width: %d", width));
+        }
+
+        for (int i = from; i < to; i++) {
+            final long offset = values[i] - origin;
+
+            if (offset >= 0) {
+                final long bucket = offset / width;
+
+                if (bucket < out.length) {
+                    out[(int) bucket] += weights == null ? 1 : weights[i];
+                }
+            }
+        }
+    }
+
+    // ** implementation methods **
+
+    private static void checkRange(final long[] values, final int from, final int to) {
+        checkRange(values.length, from, to);
+    }
+
+    private static void checkRange(final boolean[] values, final int from, final int to) {
+        checkRange(values.length, from, to);
+    }
+
+    private static void checkRange(final int length, final int from, final int to) {
+        if (from < 0 || from > to || to > length) {
+            throw new IndexOutOfBoundsException(format("Range: [%d, %d), length: %d", from, to, length));
+        }
+    }
+
+    /**
+     * VectorKernels is only packaged for Java 17+, at META-INF/versions/17, and it fails to initialize if
+     * jdk.incubator.vector isn't resolved: both end up on the scalar kernels
+     */
+    private static Kernels kernels() {
+        if ("scalar".equalsIgnoreCase(System.getProperty("JBUDA.KERNELS", ""))) {
+            return ScalarKernels.INSTANCE;
+        }
+
+        try {
+            final Kernels kernels = (Kernels) Class.forName(ColumnKernels.class.getPackage().getName() + ".VectorKernels")
+                    .getEnumConstants()[0];
+            LOGGER.fine(() -> format("Using vector kernels: %s", kernels));
+            return kernels;
+        } catch (ReflectiveOperationException | LinkageError e) {
+            LOGGER.log(Level.FINE, "Using scalar kernels", e);
+            return ScalarKernels.INSTANCE;
+        }
+    }
+
+}
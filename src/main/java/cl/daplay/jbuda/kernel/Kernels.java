@@ -0,0 +1,25 @@
+package cl.daplay.jbuda.kernel;
+
+/**
+ * Aggregations over [from, to) of primitive columns, implemented by ScalarKernels and, on Java 17+ with the
+ * jdk.incubator.vector module, by VectorKernels. Bounds are checked by ColumnKernels, not here.
+ */
+interface Kernels {
+
+    long sum(long[] values, int from, int to);
+
+    /**
+     * @return sum of values whose mask is selected
+     */
+    long sum(long[] values, boolean[] mask, boolean selected, int from, int to);
+
+    long min(long[] values, int from, int to);
+
+    long max(long[] values, int from, int to);
+
+    /**
+     * @return sum of a[i] * b[i], computed in doubles
+     */
+    double dot(long[] a, long[] b, int from, int to);
+
+}
@@ -0,0 +1,67 @@
+package cl.daplay.jbuda.kernel;
+
+/**
+ * Plain loops, for Java 8 and whenever the Vector API isn't available.
+ */
+enum ScalarKernels implements Kernels {
+
+    INSTANCE;
+
+    @Override
+    public long sum(final long[] values, final int from, final int to) {
+        long sum = 0;
+
+        for (int i = from; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long sum(final long[] values, final boolean[] mask, final boolean selected, final int from, final int to) {
+        long sum = 0;
+
+        for (int i = from; i < to; i++) {
+            if (mask[i] == selected) {
+                sum += values[i];
+            }
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long min(final long[] values, final int from, final int to) {
+        long min = Long.MAX_VALUE;
+
+        for (int i = from; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    @Override
+    public long max(final long[] values, final int from, final int to) {
+        long max = Long.MIN_VALUE;
+
+        for (int i = from; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        return max;
+    }
+
+    @Override
+    public double dot(final long[] a, final long[] b, final int from, final int to) {
+        double sum = 0;
+
+        for (int i = from; i < to; i++) {
+            sum += (double) a[i] * b[i];
+        }
+
+        return sum;
+    }
+
+}
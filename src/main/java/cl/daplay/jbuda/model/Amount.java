@@ -0,0 +1,241 @@
+package cl.daplay.jbuda.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static java.lang.String.format;
+
+/**
+ * Fixed-point amount of a currency: mantissa is the value times 10^scale, where scale is the
+ * currency's. "0.0457" BTC (scale 8) has a mantissa of 4570000.
+ *
+ * Arithmetic is done on longs: add, subtract and multiply by integers are exact (overflow
+ * throws ArithmeticException), operations that drop digits take a RoundingMode.
+ *
+ * Models have fixed-point alternatives to their BigDecimal getters, taking the CurrencyRegistry that
+ * knows each currency's scale, ie: order.getTradedAmount(currencies). They return null when the
+ * BigDecimal getter does.
+ */
+public final class Amount implements Comparable<Amount>, Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private static final long[] POW10 = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    public static Amount of(final long mantissa, final Currency currency) {
+        return new Amount(mantissa, currency);
+    }
+
+    /**
+     * @throws ArithmeticException if value has more fraction digits than currency's scale
+     */
+    public static Amount of(final BigDecimal value, final Currency currency) {
+        return of(value, currency, RoundingMode.UNNECESSARY);
+    }
+
+    public static Amount of(final BigDecimal value, final Currency currency, final RoundingMode roundingMode) {
+        final int scale = currency.getScale();
+
+        // values with up to 18 digits, and no more fraction digits than scale, are scaled up on longs
+        if (value.scale() <= scale && value.precision() <= 18 && scale - value.scale() < POW10.length) {
+            return new Amount(Math.multiplyExact(value.unscaledValue().longValue(), POW10[scale - value.scale()]), currency);
+        }
+
+        return new Amount(value.setScale(scale, roundingMode).unscaledValue().longValueExact(), currency);
+    }
+
+    public static Amount zero(final Currency currency) {
+        return new Amount(0, currency);
+    }
+
+    private final long mantissa;
+    private final Currency currency;
+
+    private Amount(final long mantissa, final Currency currency) {
+        if (currency == null) {
+            throw new IllegalArgumentException("Currency can't be null");
+        }
+
+        this.mantissa = mantissa;
+        this.currency = currency;
+    }
+
+    public long getMantissa() {
+        return mantissa;
+    }
+
+    public Currency getCurrency() {
+        return currency;
+    }
+
+    public int getScale() {
+        return currency.getScale();
+    }
+
+    public int signum() {
+        return Long.signum(mantissa);
+    }
+
+    public boolean isZero() {
+        return mantissa == 0;
+    }
+
+    public Amount negate() {
+        return new Amount(Math.negateExact(mantissa), currency);
+    }
+
+    /**
+     * @throws IllegalArgumentException if currencies differ
+     */
+    public Amount add(final Amount other) {
+        checkCurrency(other);
+        return new Amount(Math.addExact(mantissa, other.mantissa), currency);
+    }
+
+    /**
+     * @throws IllegalArgumentException if currencies differ
+     */
+    public Amount subtract(final Amount other) {
+        checkCurrency(other);
+        return new Amount(Math.subtractExact(mantissa, other.mantissa), currency);
+    }
+
+    public Amount multiply(final long factor) {
+        return new Amount(Math.multiplyExact(mantissa, factor), currency);
+    }
+
+    /**
+     * Value of this amount at a price, ie: 0.5 BTC at 7500000 CLP is 3750000 CLP.
+     *
+     * @param price price of one unit of this amount's currency
+     * @return amount in the price's currency
+     */
+    public Amount multiply(final Amount price, final RoundingMode roundingMode) {
+        final Currency target = price.currency;
+        final int shift = getScale() + price.getScale() - target.getScale();
+
+        final long product;
+        try {
+            product = Math.multiplyExact(mantissa, price.mantissa);
+        } catch (ArithmeticException e) {
+            return of(toBigDecimal().multiply(price.toBigDecimal()), target, roundingMode);
+        }
+
+        if (shift >= POW10.length) {
+            return of(toBigDecimal().multiply(price.toBigDecimal()), target, roundingMode);
+        }
+
+        return new Amount(shift >= 0 ? divide(product, POW10[shift], roundingMode) : Math.multiplyExact(product, POW10[-shift]), target);
+    }
+
+    /**
+     * @return this amount rounded to fractionDigits, same currency and scale, ie: 1.2345 rounded to 2 is 1.2300
+     */
+    public Amount round(final int fractionDigits, final RoundingMode roundingMode) {
+        final int drop = getScale() - fractionDigits;
+
+        if (drop <= 0) {
+            return this;
+        }
+
+        if (drop >= POW10.length) {
+            return of(toBigDecimal().setScale(fractionDigits, roundingMode), currency);
+        }
+
+        final long unit = POW10[drop];
+        return new Amount(Math.multiplyExact(divide(mantissa, unit, roundingMode), unit), currency);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(mantissa, getScale());
+    }
+
+    /**
+     * @throws IllegalArgumentException if currencies differ
+     */
+    @Override
+    public int compareTo(final Amount other) {
+        checkCurrency(other);
+        return Long.compare(mantissa, other.mantissa);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Amount amount = (Amount) o;
+
+        return mantissa == amount.mantissa && currency.equals(amount.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(mantissa) + currency.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency;
+    }
+
+    // ** implementation methods **
+
+    private void checkCurrency(final Amount other) {
+        if (currency != other.currency && !currency.equals(other.currency)) {
+            throw new IllegalArgumentException(format("Currencies differ: %s and %s", currency, other.currency));
+        }
+    }
+
+    /**
+     * @return dividend / divisor (divisor > 0) rounded with roundingMode
+     */
+    static long divide(final long dividend, final long divisor, final RoundingMode roundingMode) {
+        final long quotient = dividend / divisor;
+        final long remainder = dividend - divisor * quotient;
+
+        if (remainder == 0) {
+            return quotient;
+        }
+
+        // sign of the exact result, divisor is positive
+        final int signum = dividend < 0 ? -1 : 1;
+        final boolean increment;
+
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case DOWN:
+                increment = false;
+                break;
+            case UP:
+                increment = true;
+                break;
+            case CEILING:
+                increment = signum > 0;
+                break;
+            case FLOOR:
+                increment = signum < 0;
+                break;
+            default:
+                // HALF_*: compare remainder with half the divisor, without overflowing
+                final long absRemainder = Math.abs(remainder);
+                final long comparison = absRemainder - (divisor - absRemainder);
+
+                if (comparison == 0) {
+                    increment = roundingMode == RoundingMode.HALF_UP
+                            || (roundingMode == RoundingMode.HALF_EVEN && (quotient & 1) != 0);
+                } else {
+                    increment = comparison > 0;
+                }
+        }
+
+        return increment ? quotient + signum : quotient;
+    }
+
+}
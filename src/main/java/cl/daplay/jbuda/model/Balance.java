@@ -24,5 +24,20 @@ public interface Balance extends Serializable {
     BigDecimal getPendingWithdrawAmount();
 
     String getPendingWithdrawAmountCurrency();
-}
 
+    default Amount getAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getAmount(), getAmountCurrency());
+    }
+
+    default Amount getAvailableAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getAvailableAmount(), getAvailableAmountCurrency());
+    }
+
+    default Amount getFrozenAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getFrozenAmount(), getFrozenAmountCurrency());
+    }
+
+    default Amount getPendingWithdrawAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getPendingWithdrawAmount(), getPendingWithdrawAmountCurrency());
+    }
+}
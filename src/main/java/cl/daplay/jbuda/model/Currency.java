@@ -0,0 +1,51 @@
+package cl.daplay.jbuda.model;
+
+import java.io.Serializable;
+
+/**
+ * currency code with the fraction digits its amounts are kept at, instances are interned by {@link CurrencyRegistry}
+ */
+public final class Currency implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final String code;
+    private final int scale;
+
+    Currency(final String code, final int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException(String.format("Invalid scale: %d for currency: '%s'", scale, code));
+        }
+
+        this.code = code;
+        this.scale = scale;
+    }
+
+    public String getCode() {
+        return code;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        Currency currency = (Currency) o;
+
+        return scale == currency.scale && code.equals(currency.code);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * code.hashCode() + scale;
+    }
+
+    @Override
+    public String toString() {
+        return code;
+    }
+}
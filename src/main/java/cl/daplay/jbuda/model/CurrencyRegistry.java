@@ -0,0 +1,136 @@
+package cl.daplay.jbuda.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.lang.String.format;
+
+/**
+ * Currencies and markets known to a client, usually built from JBuda.getMarkets().
+ *
+ * There's a single Currency instance per code, so amounts of the same currency can be told by
+ * identity. Scales come from the precision Buda uses for each currency, unknown codes get 8
+ * fraction digits, or more if the market's minimum order amount needs them.
+ */
+public final class CurrencyRegistry implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    public static final int DEFAULT_SCALE = 8;
+
+    private static final Map<String, Integer> SCALES = new HashMap<>();
+
+    static {
+        SCALES.put("CLP", 2);
+        SCALES.put("COP", 2);
+        SCALES.put("PEN", 2);
+        SCALES.put("ARS", 2);
+        SCALES.put("USDC", 2);
+        SCALES.put("BTC", 8);
+        SCALES.put("BCH", 8);
+        SCALES.put("LTC", 8);
+        SCALES.put("ETH", 9);
+    }
+
+    public static CurrencyRegistry of(final List<Market> markets) {
+        final CurrencyRegistry registry = new CurrencyRegistry();
+
+        for (Market market : markets) {
+            registry.register(market.getBaseCurrency(), minimumScale(market.getMinimumOrderAmount()));
+            registry.register(market.getQuoteCurrency(), 0);
+        }
+
+        // after every currency got its final scale
+        for (Market market : markets) {
+            registry.markets.put(normalize(market.getId()), new Currency[]{registry.get(market.getBaseCurrency()), registry.get(market.getQuoteCurrency())});
+        }
+
+        return registry;
+    }
+
+    private final ConcurrentMap<String, Currency> currencies = new ConcurrentHashMap<>();
+    private final Map<String, Currency[]> markets = new HashMap<>();
+
+    private CurrencyRegistry() {
+    }
+
+    /**
+     * @return currency for code, registered on first use if it isn't known
+     */
+    public Currency get(final String code) {
+        return register(code, 0);
+    }
+
+    /**
+     * @return base currency of market, ie: BTC for BTC-CLP
+     * @throws IllegalArgumentException if market isn't known
+     */
+    public Currency base(final String marketId) {
+        return market(marketId)[0];
+    }
+
+    /**
+     * @return quote currency of market, ie: CLP for BTC-CLP
+     * @throws IllegalArgumentException if market isn't known
+     */
+    public Currency quote(final String marketId) {
+        return market(marketId)[1];
+    }
+
+    /**
+     * @return value as an Amount of currency code, null if value is null
+     * @throws ArithmeticException if value has more fraction digits than the currency's scale
+     */
+    public Amount amount(final BigDecimal value, final String code) {
+        return value == null ? null : Amount.of(value, get(code));
+    }
+
+    @Override
+    public String toString() {
+        return "CurrencyRegistry{" +
+                "currencies=" + currencies.values() +
+                ", markets=" + markets.keySet() +
+                '}';
+    }
+
+    // ** implementation methods **
+
+    private Currency register(final String code, final int minimumScale) {
+        final String normalized = normalize(code);
+
+        return currencies.compute(normalized, (__, current) -> {
+            final int scale = Math.max(minimumScale, SCALES.getOrDefault(normalized, DEFAULT_SCALE));
+
+            if (current != null && current.getScale() >= scale) {
+                return current;
+            }
+
+            return new Currency(normalized, scale);
+        });
+    }
+
+    private Currency[] market(final String marketId) {
+        final Currency[] currencies = markets.get(normalize(marketId));
+
+        if (currencies == null) {
+            throw new IllegalArgumentException(format("Unknown market: '%s'", marketId));
+        }
+
+        return currencies;
+    }
+
+    private static int minimumScale(final BigDecimal minimumOrderAmount) {
+        return minimumOrderAmount == null ? 0 : Math.max(0, minimumOrderAmount.stripTrailingZeros().scale());
+    }
+
+    private static String normalize(final String code) {
+        return code.toUpperCase(Locale.ROOT);
+    }
+
+}
@@ -24,6 +24,14 @@ public interface Deposit extends Serializable {
 
     String getFeeCurrency();
 
+    default Amount getAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getAmount(), getAmountCurrency());
+    }
+
+    default Amount getFee(CurrencyRegistry currencies) {
+        return currencies.amount(getFee(), getFeeCurrency());
+    }
+
     interface DepositData extends Serializable {
 
         String getType();
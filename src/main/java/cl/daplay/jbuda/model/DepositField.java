@@ -0,0 +1,25 @@
+package cl.daplay.jbuda.model;
+
+/**
+ * properties of {@link Deposit}, amounts include their currency
+ */
+public enum DepositField implements Field {
+    ID("id"),
+    STATE("state"),
+    CURRENCY("currency"),
+    CREATED_AT("created_at"),
+    DEPOSIT_DATA("deposit_data"),
+    AMOUNT("amount"),
+    FEE("fee");
+
+    private final String property;
+
+    DepositField(final String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+}
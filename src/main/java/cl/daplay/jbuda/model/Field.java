@@ -0,0 +1,33 @@
+package cl.daplay.jbuda.model;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * property of a model, used to parse only some properties of large lists
+ *
+ * @see OrderField
+ * @see DepositField
+ * @see WithdrawalField
+ */
+public interface Field {
+
+    /**
+     * @return property name in Buda's JSON
+     */
+    String getProperty();
+
+    /**
+     * @return property names of fields, "id" is always included so elements keep their identity
+     */
+    static Set<String> properties(Set<? extends Field> fields) {
+        final Set<String> properties = new HashSet<>();
+
+        properties.add("id");
+        for (Field field : fields) {
+            properties.add(field.getProperty());
+        }
+
+        return properties;
+    }
+}
@@ -16,4 +16,8 @@ public interface Market extends Serializable {
     BigDecimal getMinimumOrderAmount();
 
     String getMinimumOrderAmountCurrency();
+
+    default Amount getMinimumOrderAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getMinimumOrderAmount(), getMinimumOrderAmountCurrency());
+    }
 }
@@ -43,4 +43,28 @@ public interface Order extends Serializable {
     BigDecimal getPaidFee();
 
     String getPaidFeeCurrency();
+
+    default Amount getLimit(CurrencyRegistry currencies) {
+        return currencies.amount(getLimit(), getLimitCurrency());
+    }
+
+    default Amount getAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getAmount(), getAmountCurrency());
+    }
+
+    default Amount getOriginalAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getOriginalAmount(), getOriginalAmountCurrency());
+    }
+
+    default Amount getTradedAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getTradedAmount(), getTradedAmountCurrency());
+    }
+
+    default Amount getTotalExchanged(CurrencyRegistry currencies) {
+        return currencies.amount(getTotalExchanged(), getTotalExchangedCurrency());
+    }
+
+    default Amount getPaidFee(CurrencyRegistry currencies) {
+        return currencies.amount(getPaidFee(), getPaidFeeCurrency());
+    }
 }
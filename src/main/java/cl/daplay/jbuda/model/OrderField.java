@@ -0,0 +1,32 @@
+package cl.daplay.jbuda.model;
+
+/**
+ * properties of {@link Order}, amounts include their currency
+ */
+public enum OrderField implements Field {
+    ID("id"),
+    TYPE("type"),
+    STATE("state"),
+    CREATED_AT("created_at"),
+    MARKET_ID("market_id"),
+    ACCOUNT_ID("account_id"),
+    FEE_CURRENCY("fee_currency"),
+    PRICE_TYPE("price_type"),
+    LIMIT("limit"),
+    AMOUNT("amount"),
+    ORIGINAL_AMOUNT("original_amount"),
+    TRADED_AMOUNT("traded_amount"),
+    TOTAL_EXCHANGED("total_exchanged"),
+    PAID_FEE("paid_fee");
+
+    private final String property;
+
+    OrderField(final String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+}
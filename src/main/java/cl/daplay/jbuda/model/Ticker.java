@@ -33,4 +33,19 @@ public interface Ticker extends Serializable {
 
     BigDecimal getPriceVariation7Days();
 
+    default Amount getLastPrice(CurrencyRegistry currencies) {
+        return currencies.amount(getLastPrice(), getLastPriceCurrency());
+    }
+
+    default Amount getMinAsk(CurrencyRegistry currencies) {
+        return currencies.amount(getMinAsk(), getMinAskCurrency());
+    }
+
+    default Amount getMaxBid(CurrencyRegistry currencies) {
+        return currencies.amount(getMaxBid(), getMaxBidCurrency());
+    }
+
+    default Amount getVolume(CurrencyRegistry currencies) {
+        return currencies.amount(getVolume(), getVolumeCurrency());
+    }
 }
@@ -25,5 +25,19 @@ public interface Trades extends Serializable, Iterable<Trades.Transaction> {
 
         String getDirection();
 
+        /**
+         * @return amount in the market's base currency, null if there's no amount
+         */
+        default Amount getAmount(CurrencyRegistry currencies, String marketId) {
+            return currencies.amount(getAmount(), currencies.base(marketId).getCode());
+        }
+
+        /**
+         * @return price in the market's quote currency, null if there's no price
+         */
+        default Amount getPrice(CurrencyRegistry currencies, String marketId) {
+            return currencies.amount(getPrice(), currencies.quote(marketId).getCode());
+        }
+
     }
 }
@@ -24,6 +24,14 @@ public interface Withdrawal extends Serializable {
 
     String getFeeCurrency();
 
+    default Amount getAmount(CurrencyRegistry currencies) {
+        return currencies.amount(getAmount(), getAmountCurrency());
+    }
+
+    default Amount getFee(CurrencyRegistry currencies) {
+        return currencies.amount(getFee(), getFeeCurrency());
+    }
+
     interface WithdrawalData extends Serializable {
 
 
@@ -0,0 +1,25 @@
+package cl.daplay.jbuda.model;
+
+/**
+ * properties of {@link Withdrawal}, amounts include their currency
+ */
+public enum WithdrawalField implements Field {
+    ID("id"),
+    STATE("state"),
+    CURRENCY("currency"),
+    CREATED_AT("created_at"),
+    WITHDRAWAL_DATA("withdrawal_data"),
+    AMOUNT("amount"),
+    FEE("fee");
+
+    private final String property;
+
+    WithdrawalField(final String property) {
+        this.property = property;
+    }
+
+    @Override
+    public String getProperty() {
+        return property;
+    }
+}
@@ -0,0 +1,150 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.Utils;
+import cl.daplay.jfun.ThrowingFunction;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Walks a paginated endpoint page by page, requesting the next page on a background thread as soon as the
+ * current one arrives (the second one, when iteration starts). Pages are dropped once consumed: at most the
+ * current page and the one in flight are kept in memory, whatever the number of records.
+ *
+ * Only one request is in flight at a time, so signed requests keep their nonce order. Not thread safe.
+ */
+public final class PageIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final ThrowingFunction<Integer, List<T>> loader;
+    private final int totalPages;
+    private final ExecutorService executor;
+
+    private List<T> page;
+    private int index;
+    private int pageIndex;
+    private Future<List<T>> inFlight;
+    private boolean started;
+    private boolean done;
+
+    /**
+     * @param first first page
+     * @param loader fetches a page by index, 0 being the first one
+     */
+    public PageIterator(final List<T> first, final ThrowingFunction<Integer, List<T>> loader, final int totalPages) {
+        this(first, loader, totalPages, Utils.PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * @param executor runs read ahead requests
+     */
+    public PageIterator(final List<T> first,
+                        final ThrowingFunction<Integer, List<T>> loader,
+                        final int totalPages,
+                        final ExecutorService executor) {
+        this.loader = loader;
+        this.totalPages = totalPages;
+        this.executor = executor;
+        this.page = first;
+    }
+
+    /**
+     * @throws RuntimeException wrapping the request's exception, if a page couldn't be fetched
+     */
+    @Override
+    public boolean hasNext() {
+        if (!started && !done) {
+            started = true;
+            request(1);
+        }
+
+        while (!done && index == page.size()) {
+            if (inFlight == null) {
+                close();
+                break;
+            }
+
+            page = await();
+            index = 0;
+            pageIndex++;
+
+            // records may have been removed since the totals were read
+            if (page.isEmpty()) {
+                close();
+                break;
+            }
+
+            request(pageIndex + 1);
+        }
+
+        return !done;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        return page.get(index++);
+    }
+
+    /**
+     * @return records in page order, closing the stream closes this iterator
+     */
+    public Stream<T> stream() {
+        final Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * cancels the request in flight, if any
+     */
+    @Override
+    public void close() {
+        done = true;
+        page = Collections.emptyList();
+        index = 0;
+
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+
+    // ** implementation methods **
+
+    private void request(final int pageIndex) {
+        if (pageIndex < totalPages) {
+            inFlight = executor.submit(() -> loader.apply(pageIndex));
+        }
+    }
+
+    private List<T> await() {
+        final Future<List<T>> future = inFlight;
+        inFlight = null;
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw new RuntimeException(format("Failed fetching page %d", pageIndex + 2), e.getCause());
+        }
+    }
+
+}
@@ -0,0 +1,126 @@
+package cl.daplay.jbuda.page;
+
+import java.time.Duration;
+
+import static java.lang.String.format;
+
+/**
+ * Picks the 'per' (page size) parameter of paginated requests from their measured latency.
+ *
+ * Page latency is modeled as a fixed cost per request plus a cost per record, fitted by least squares over
+ * recent pages (older ones weigh exponentially less). Total time of a scan keeps going down as pages grow, as
+ * there are fewer fixed costs to pay, so scans use the largest page expected to load within the target latency:
+ * past it a page is more likely to time out and be retried whole. "Latest N" queries use pages of N records.
+ *
+ * A scan keeps the same size for all of its pages, so page boundaries don't move. Thread safe.
+ */
+public final class PageSizer {
+
+    /**
+     * buda.com's default page size, and the smallest page used for scans
+     */
+    public final static int DEFAULT_PER = 20;
+
+    public final static int MAX_PER = 300;
+
+    public final static Duration DEFAULT_TARGET = Duration.ofSeconds(2);
+
+    /**
+     * weight of the newest page in the fit
+     */
+    private final static double ALPHA = 0.1;
+
+    private final int maxPer;
+    private final long targetNanos;
+
+    // exponentially weighted means of records (x) and nanos (y)
+    private long pages;
+    private double x;
+    private double y;
+    private double xx;
+    private double xy;
+
+    public PageSizer() {
+        this(MAX_PER, DEFAULT_TARGET);
+    }
+
+    public PageSizer(final int maxPer, final Duration target) {
+        if (maxPer < DEFAULT_PER) {
+            throw new IllegalArgumentException(format("Invalid max per: %d", maxPer));
+        }
+        if (target.isNegative() || target.isZero()) {
+            throw new IllegalArgumentException(format("Invalid target: %s", target));
+        }
+
+        this.maxPer = maxPer;
+        this.targetNanos = target.toNanos();
+    }
+
+    /**
+     * @param records in the page, empty pages are ignored
+     * @param nanos taken to fetch and parse it
+     */
+    public synchronized void record(final int records, final long nanos) {
+        if (records <= 0 || nanos < 0) {
+            return;
+        }
+
+        final double alpha = pages == 0 ? 1 : Math.max(ALPHA, 1.0 / (pages + 1));
+        x += alpha * (records - x);
+        y += alpha * (nanos - y);
+        xx += alpha * ((double) records * records - xx);
+        xy += alpha * ((double) records * nanos - xy);
+        pages++;
+    }
+
+    /**
+     * @return page size for reading a whole history
+     */
+    public synchronized int scan() {
+        final double perRecord = getNanosPerRecord();
+        if (pages == 0 || perRecord <= 0) {
+            return maxPer;
+        }
+
+        // when requests alone take longer than the target, pages are sized as if they took half of it
+        final double budget = Math.max(targetNanos - getFixedNanos(), targetNanos / 2.0);
+        return (int) Math.max(DEFAULT_PER, Math.min(maxPer, budget / perRecord));
+    }
+
+    /**
+     * @return page size for reading the newest n records
+     */
+    public int latest(final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException(format("Invalid n: %d", n));
+        }
+
+        return n <= maxPer ? n : scan();
+    }
+
+    /**
+     * @return estimated nanos per request, regardless of its records
+     */
+    public synchronized double getFixedNanos() {
+        return pages == 0 ? 0 : Math.max(0, y - getNanosPerRecord() * x);
+    }
+
+    /**
+     * @return estimated nanos per record
+     */
+    public synchronized double getNanosPerRecord() {
+        if (pages == 0) {
+            return 0;
+        }
+
+        final double variance = xx - x * x;
+
+        // pages all of the same size can't tell both costs apart, assume it's all per record
+        if (variance < 1) {
+            return y / x;
+        }
+
+        return Math.max(0, (xy - x * y) / variance);
+    }
+
+}
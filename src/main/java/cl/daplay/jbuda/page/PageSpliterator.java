@@ -0,0 +1,130 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jfun.ThrowingFunction;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+/**
+ * Spliterator over paginated results which splits on page boundaries: each split owns a range of pages and
+ * fetches them itself, on the thread consuming it, so parallel streams fetch up to one page per worker at once
+ * instead of waiting on each other.
+ *
+ * Its size is only an estimate from the first page's total count: records may be added or removed while it's
+ * read, shifting later pages, so it's not SIZED. As PageIterator, a split stops at its first empty page.
+ */
+public final class PageSpliterator<T> implements Spliterator<T> {
+
+    private final ThrowingFunction<Integer, List<T>> loader;
+    private final int pageSize;
+    private final int totalCount;
+    private final int end;
+
+    // next page to fetch
+    private int page;
+    // page being read, null if there's none
+    private List<T> current;
+    private int offset;
+
+    /**
+     * @param first first page, its size is the page size
+     * @param loader fetches a page by index, 0 being the first one; must be thread safe
+     */
+    public PageSpliterator(final List<T> first,
+                           final ThrowingFunction<Integer, List<T>> loader,
+                           final int totalPages,
+                           final int totalCount) {
+        this(loader, Math.max(1, first.size()), totalCount, 1, Math.max(1, totalPages), first, 0);
+    }
+
+    private PageSpliterator(final ThrowingFunction<Integer, List<T>> loader,
+                            final int pageSize,
+                            final int totalCount,
+                            final int page,
+                            final int end,
+                            final List<T> current,
+                            final int offset) {
+        this.loader = loader;
+        this.pageSize = pageSize;
+        this.totalCount = totalCount;
+        this.page = page;
+        this.end = end;
+        this.current = current;
+        this.offset = offset;
+    }
+
+    /**
+     * @throws RuntimeException wrapping the request's exception, if a page couldn't be fetched
+     */
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        while (current == null || offset >= current.size()) {
+            if (page >= end) {
+                return false;
+            }
+
+            current = load(page++);
+            offset = 0;
+
+            // records may have been removed since the totals were read
+            if (current.isEmpty()) {
+                page = end;
+            }
+        }
+
+        action.accept(current.get(offset++));
+        return true;
+    }
+
+    /**
+     * @return pages before the middle of the ones not fetched yet (plus the one being read), null if there's
+     * only one left
+     */
+    @Override
+    public Spliterator<T> trySplit() {
+        if (end - page < 2) {
+            return null;
+        }
+
+        final int middle = page + (end - page) / 2;
+        final Spliterator<T> prefix = new PageSpliterator<>(loader, pageSize, totalCount, page, middle, current, offset);
+
+        page = middle;
+        current = null;
+        offset = 0;
+
+        return prefix;
+    }
+
+    /**
+     * @return records left, from the totals read with the first page
+     */
+    @Override
+    public long estimateSize() {
+        final long unread = current == null ? 0 : current.size() - offset;
+        final long pending = Math.min((long) totalCount, (long) end * pageSize) - (long) page * pageSize;
+
+        return unread + Math.max(0, pending);
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    // ** implementation methods **
+
+    private List<T> load(final int index) {
+        try {
+            return loader.apply(index);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(format("Failed fetching page %d", index + 1), e);
+        }
+    }
+
+}
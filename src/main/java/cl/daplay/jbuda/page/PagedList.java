@@ -0,0 +1,88 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jfun.ThrowingFunction;
+import cl.daplay.lazylist.LazyList;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Paginated list fetching each page when it's first accessed, through a LazyList, whose streams (parallel ones
+ * included) split on page boundaries and fetch the pages they need, see PageSpliterator.
+ *
+ * Both share one page cache, so a page is fetched once whether it's first read through get(), iteration or a
+ * stream. Not thread safe, as LazyList, but its streams are.
+ */
+public final class PagedList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final List<T> first;
+    private final ThrowingFunction<Integer, List<T>> loader;
+    private final int totalPages;
+    private final int totalCount;
+    private final Map<Integer, List<T>> cache = new ConcurrentHashMap<>();
+    private final LazyList<T> pages;
+
+    /**
+     * @param first first page, its size is the page size
+     * @param loader fetches a page by index, 0 being the first one
+     */
+    public PagedList(final List<T> first,
+                     final ThrowingFunction<Integer, List<T>> loader,
+                     final int totalPages,
+                     final int totalCount) {
+        this.first = first;
+        this.loader = loader;
+        this.totalPages = totalPages;
+        this.totalCount = totalCount;
+        this.cache.put(0, first);
+        this.pages = new LazyList<>(first, this::page, totalPages, totalCount);
+    }
+
+    @Override
+    public T get(final int index) {
+        return pages.get(index);
+    }
+
+    @Override
+    public int size() {
+        return totalCount;
+    }
+
+    /**
+     * @return list fetching every page but the first in the background, see PrefetchingList, or this list if it
+     * has a single page
+     */
+    public List<T> prefetch(final int parallelism) {
+        return totalPages > 1 ? new PrefetchingList<>(first, loader, totalPages, totalCount, parallelism) : this;
+    }
+
+    /**
+     * @return spliterator reading pages already fetched, and fetching (and caching) the missing ones itself
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new PageSpliterator<>(first, this::page, totalPages, totalCount);
+    }
+
+    // ** implementation methods **
+
+    /**
+     * @return page from the cache, fetched if it isn't there; splits own distinct pages, so they never fetch the
+     * same one at once
+     */
+    private List<T> page(final Integer index) throws Exception {
+        final List<T> cached = cache.get(index);
+        if (cached != null) {
+            return cached;
+        }
+
+        final List<T> page = loader.apply(index);
+        final List<T> previous = cache.putIfAbsent(index, page);
+        return previous == null ? page : previous;
+    }
+
+}
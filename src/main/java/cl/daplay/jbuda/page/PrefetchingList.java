@@ -0,0 +1,160 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.Utils;
+import cl.daplay.jfun.ThrowingFunction;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static java.lang.String.format;
+
+/**
+ * Paginated list which, unlike LazyList, fetches every remaining page in the background as soon as it's created,
+ * with up to parallelism requests at once, counting those of readers.
+ *
+ * Each page is claimed exactly once, by a prefetch task or by a reader reaching it first (which then fetches it
+ * on its own thread), and everyone else waits for that fetch: concurrent readers never request the same page
+ * twice. A page which failed is released, so the next reader touching it fetches it again.
+ *
+ * Thread safe.
+ */
+public final class PrefetchingList<T> extends AbstractList<T> implements RandomAccess {
+
+    private final static Logger LOGGER = Logger.getLogger(PrefetchingList.class.getName());
+
+    private final ThrowingFunction<Integer, List<T>> loader;
+    private final int pageSize;
+    private final int totalPages;
+    private final int totalCount;
+    private final AtomicReferenceArray<CompletableFuture<List<T>>> pages;
+    private final AtomicInteger next = new AtomicInteger(1);
+    private final Semaphore requests;
+
+    /**
+     * @param first first page, its size is the page size
+     * @param loader fetches a page by index, 0 being the first one
+     */
+    public PrefetchingList(final List<T> first,
+                           final ThrowingFunction<Integer, List<T>> loader,
+                           final int totalPages,
+                           final int totalCount,
+                           final int parallelism) {
+        this(first, loader, totalPages, totalCount, parallelism, Utils.PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * @param executor runs prefetch tasks
+     */
+    public PrefetchingList(final List<T> first,
+                           final ThrowingFunction<Integer, List<T>> loader,
+                           final int totalPages,
+                           final int totalCount,
+                           final int parallelism,
+                           final Executor executor) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(format("Invalid parallelism: %d", parallelism));
+        }
+
+        this.loader = loader;
+        this.pageSize = Math.max(1, first.size());
+        this.totalPages = Math.max(1, totalPages);
+        this.totalCount = totalCount;
+        this.pages = new AtomicReferenceArray<>(this.totalPages);
+        this.pages.set(0, CompletableFuture.completedFuture(first));
+        this.requests = new Semaphore(parallelism);
+
+        for (int i = 0; i < Math.min(parallelism, this.totalPages - 1); i++) {
+            executor.execute(this::prefetch);
+        }
+    }
+
+    /**
+     * @throws RuntimeException wrapping the request's exception, if index's page couldn't be fetched
+     */
+    @Override
+    public T get(final int index) {
+        if (index < 0 || index >= totalCount) {
+            throw new IndexOutOfBoundsException(format("Index: %d, size: %d", index, totalCount));
+        }
+
+        return page(index / pageSize).get(index % pageSize);
+    }
+
+    @Override
+    public int size() {
+        return totalCount;
+    }
+
+    /**
+     * @return spliterator splitting on page boundaries, reading (or claiming) the same pages as get
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new PageSpliterator<>(page(0), this::page, totalPages, totalCount);
+    }
+
+    // ** implementation methods **
+
+    private void prefetch() {
+        for (int page = next.getAndIncrement(); page < totalPages; page = next.getAndIncrement()) {
+            try {
+                claim(page).join();
+            } catch (CompletionException e) {
+                // left for a reader to fetch again
+                LOGGER.log(Level.FINE, format("Failed prefetching page %d", page + 1), e.getCause());
+            }
+        }
+    }
+
+    private List<T> page(final int page) {
+        try {
+            return claim(page).join();
+        } catch (CompletionException e) {
+            throw new RuntimeException(format("Failed fetching page %d", page + 1), e.getCause());
+        }
+    }
+
+    /**
+     * @return page's future, fetching it on this thread (once there's a request to spare) if no one claimed it yet
+     */
+    private CompletableFuture<List<T>> claim(final int page) {
+        while (true) {
+            final CompletableFuture<List<T>> existing = pages.get(page);
+            if (existing != null) {
+                return existing;
+            }
+
+            final CompletableFuture<List<T>> future = new CompletableFuture<>();
+            if (pages.compareAndSet(page, null, future)) {
+                try {
+                    requests.acquire();
+                    try {
+                        future.complete(loader.apply(page));
+                    } finally {
+                        requests.release();
+                    }
+                } catch (Throwable e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    pages.compareAndSet(page, future, null);
+                    future.completeExceptionally(e);
+                }
+
+                return future;
+            }
+        }
+    }
+
+}
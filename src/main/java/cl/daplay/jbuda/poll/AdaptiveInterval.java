@@ -0,0 +1,67 @@
+package cl.daplay.jbuda.poll;
+
+/**
+ * Polling interval of a single feed, between min and max nanoseconds.
+ *
+ * Halves when a poll sees a change and grows 25% when it doesn't, so it settles around the feed's change
+ * period. On top of that, a moving average of price moves (in bps per poll) shortens it for volatile markets.
+ * Not thread safe, each feed polls one at a time.
+ */
+final class AdaptiveInterval {
+
+    final static double SPEEDUP = 0.5;
+    final static double SLOWDOWN = 1.25;
+    final static double BACKOFF = 2;
+
+    /**
+     * weight of the last poll in the volatility moving average
+     */
+    final static double ALPHA = 0.2;
+
+    /**
+     * average move, in bps per poll, that halves the interval
+     */
+    final static double VOLATILITY_BPS = 10;
+
+    private final long min;
+    private final long max;
+
+    private double base;
+    private double volatility;
+
+    AdaptiveInterval(final long min, final long max) {
+        this.min = min;
+        this.max = max;
+        this.base = min;
+    }
+
+    void update(final boolean changed, final double moveBps) {
+        base = clamp(base * (changed ? SPEEDUP : SLOWDOWN));
+        volatility += ALPHA * (moveBps - volatility);
+    }
+
+    /**
+     * after a failed poll
+     */
+    void backoff() {
+        base = clamp(base * BACKOFF);
+    }
+
+    double getVolatility() {
+        return volatility;
+    }
+
+    /**
+     * @return desired interval in nanoseconds, before fitting it into the request budget
+     */
+    long nanos() {
+        return (long) clamp(base / (1 + volatility / VOLATILITY_BPS));
+    }
+
+    // ** implementation methods **
+
+    private double clamp(final double nanos) {
+        return Math.max(min, Math.min(max, nanos));
+    }
+
+}
@@ -0,0 +1,328 @@
+package cl.daplay.jbuda.poll;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.http.RateLimiter;
+import cl.daplay.jbuda.model.OrderBook;
+import cl.daplay.jbuda.model.Ticker;
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jfun.ThrowingSupplier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static cl.daplay.jbuda.Utils.newDaemonThreadFactory;
+import static java.lang.String.format;
+
+/**
+ * Polls tickers, order books and trades of many markets, each one at its own adaptive interval.
+ *
+ * A feed polls faster while its responses keep changing and its price keeps moving, and slower while it's quiet
+ * (see AdaptiveInterval). When the feeds together want more than the request budget, every interval is stretched
+ * by the same factor, and a shared RateLimiter spaces the actual requests. All feeds run on a small scheduled
+ * thread pool, no thread is ever blocked waiting for its turn.
+ *
+ * Consumers are only called with responses that changed since the previous poll of the same feed.
+ */
+public final class MarketPoller implements AutoCloseable {
+
+    public enum Feed {
+        TICKER, ORDER_BOOK, TRADES
+    }
+
+    private final static Logger LOGGER = Logger.getLogger(MarketPoller.class.getName());
+
+    private final static Duration DEFAULT_MIN_INTERVAL = Duration.ofSeconds(1);
+    private final static Duration DEFAULT_MAX_INTERVAL = Duration.ofMinutes(1);
+    private final static int DEFAULT_THREADS = 2;
+
+    private final JBuda jbuda;
+    private final RateLimiter rateLimiter;
+    private final ScheduledExecutorService executor;
+    private final long minInterval;
+    private final long maxInterval;
+    private final List<Task<?>> tasks = new CopyOnWriteArrayList<>();
+
+    private volatile boolean started;
+    private volatile boolean closed;
+
+    public MarketPoller(final JBuda jbuda, final double requestsPerSecond) {
+        this(jbuda, new RateLimiter(requestsPerSecond), DEFAULT_THREADS, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    /**
+     * @param rateLimiter request budget, may be shared with other users of the same JBuda
+     */
+    public MarketPoller(final JBuda jbuda, final RateLimiter rateLimiter, final int threads, final Duration minInterval, final Duration maxInterval) {
+        if (threads < 1) {
+            throw new IllegalArgumentException(format("Invalid threads: %d", threads));
+        }
+        if (minInterval.isNegative() || minInterval.isZero() || minInterval.compareTo(maxInterval) > 0) {
+            throw new IllegalArgumentException(format("Invalid intervals: %s, %s", minInterval, maxInterval));
+        }
+
+        this.jbuda = jbuda;
+        this.rateLimiter = rateLimiter;
+        this.executor = Executors.newScheduledThreadPool(threads, newDaemonThreadFactory("jbuda-poller-"));
+        this.minInterval = minInterval.toNanos();
+        this.maxInterval = maxInterval.toNanos();
+    }
+
+    public void watchTicker(final String marketId, final Consumer<? super Ticker> consumer) {
+        watch(new Task<>(marketId, Feed.TICKER, () -> jbuda.getTicker(marketId),
+                MarketPoller::fingerprint, MarketPoller::price, consumer));
+    }
+
+    public void watchOrderBook(final String marketId, final Consumer<? super OrderBook> consumer) {
+        watch(new Task<>(marketId, Feed.ORDER_BOOK, () -> jbuda.getOrderBook(marketId),
+                MarketPoller::fingerprint, MarketPoller::price, consumer));
+    }
+
+    public void watchOrderBook(final String marketId, final int maxDepth, final Consumer<? super OrderBook> consumer) {
+        watch(new Task<>(marketId, Feed.ORDER_BOOK, () -> jbuda.getOrderBook(marketId, maxDepth),
+                MarketPoller::fingerprint, MarketPoller::price, consumer));
+    }
+
+    public void watchTrades(final String marketId, final Consumer<? super Trades> consumer) {
+        watch(new Task<>(marketId, Feed.TRADES, () -> jbuda.getTrades(marketId),
+                MarketPoller::fingerprint, MarketPoller::price, consumer));
+    }
+
+    /**
+     * starts polling every watched feed, feeds watched later start right away
+     */
+    public synchronized void start() {
+        if (closed) {
+            throw new IllegalStateException("MarketPoller is closed");
+        }
+        if (started) {
+            return;
+        }
+
+        started = true;
+
+        for (Task<?> task : tasks) {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * @return interval the feed is currently polled at, null if it's not watched
+     */
+    public Duration getInterval(final String marketId, final Feed feed) {
+        for (Task<?> task : tasks) {
+            if (task.marketId.equals(marketId) && task.feed == feed) {
+                return Duration.ofNanos(task.delay);
+            }
+        }
+
+        return null;
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        executor.shutdownNow();
+    }
+
+    // ** implementation methods **
+
+    /**
+     * watches any feed, visible for testing
+     */
+    <T> void watch(final String marketId,
+                   final Feed feed,
+                   final ThrowingSupplier<T> fetch,
+                   final ToLongFunction<? super T> fingerprint,
+                   final ToDoubleFunction<? super T> price,
+                   final Consumer<? super T> consumer) {
+        watch(new Task<>(marketId, feed, fetch, fingerprint, price, consumer));
+    }
+
+    private synchronized void watch(final Task<?> task) {
+        if (closed) {
+            throw new IllegalStateException("MarketPoller is closed");
+        }
+
+        tasks.add(task);
+
+        if (started) {
+            executor.execute(task);
+        }
+    }
+
+    /**
+     * @return factor to stretch every interval by, so all feeds together fit the request budget
+     */
+    private double budgetScale() {
+        double requestsPerSecond = 0;
+
+        for (Task<?> task : tasks) {
+            requestsPerSecond += TimeUnit.SECONDS.toNanos(1) / (double) task.interval.nanos();
+        }
+
+        return Math.max(1, requestsPerSecond / rateLimiter.getRate());
+    }
+
+    private final class Task<T> implements Runnable {
+
+        private final String marketId;
+        private final Feed feed;
+        private final ThrowingSupplier<T> fetch;
+        private final ToLongFunction<? super T> fingerprint;
+        private final ToDoubleFunction<? super T> price;
+        private final Consumer<? super T> consumer;
+        private final AdaptiveInterval interval;
+
+        private volatile long delay;
+
+        private boolean polled;
+        private long lastFingerprint;
+        private double lastPrice = Double.NaN;
+
+        private Task(final String marketId,
+                     final Feed feed,
+                     final ThrowingSupplier<T> fetch,
+                     final ToLongFunction<? super T> fingerprint,
+                     final ToDoubleFunction<? super T> price,
+                     final Consumer<? super T> consumer) {
+            this.marketId = marketId;
+            this.feed = feed;
+            this.fetch = fetch;
+            this.fingerprint = fingerprint;
+            this.price = price;
+            this.consumer = consumer;
+            this.interval = new AdaptiveInterval(minInterval, maxInterval);
+            this.delay = minInterval;
+        }
+
+        @Override
+        public void run() {
+            if (closed) {
+                return;
+            }
+
+            final long wait = rateLimiter.reserve();
+
+            if (wait > 0) {
+                executor.schedule(this::poll, wait, TimeUnit.NANOSECONDS);
+            } else {
+                poll();
+            }
+        }
+
+        private void poll() {
+            if (closed) {
+                return;
+            }
+
+            final T value;
+
+            try {
+                value = fetch.get();
+            } catch (Exception ex) {
+                LOGGER.log(Level.WARNING, format("Failed polling %s of '%s'", feed, marketId), ex);
+                interval.backoff();
+                reschedule();
+                return;
+            }
+
+            // whatever fails from here on, the feed keeps polling
+            try {
+                final long currentFingerprint = fingerprint.applyAsLong(value);
+                final double currentPrice = price.applyAsDouble(value);
+                final boolean changed = !polled || currentFingerprint != lastFingerprint;
+                final double moveBps = lastPrice > 0 && currentPrice > 0 ? Math.abs(currentPrice - lastPrice) / lastPrice * 10_000 : 0;
+
+                interval.update(changed, moveBps);
+                polled = true;
+                lastFingerprint = currentFingerprint;
+                if (!Double.isNaN(currentPrice)) {
+                    lastPrice = currentPrice;
+                }
+
+                if (changed) {
+                    consumer.accept(value);
+                }
+            } catch (RuntimeException ex) {
+                LOGGER.log(Level.WARNING, format("Failed handling %s of '%s'", feed, marketId), ex);
+            } finally {
+                reschedule();
+            }
+        }
+
+        private void reschedule() {
+            if (closed) {
+                return;
+            }
+
+            delay = (long) (interval.nanos() * budgetScale());
+            executor.schedule(this, delay, TimeUnit.NANOSECONDS);
+        }
+
+    }
+
+    // fingerprints only need to change when the response does, collisions just miss a change
+
+    private static long fingerprint(final Ticker ticker) {
+        return Objects.hash(ticker.getLastPrice(), ticker.getMinAsk(), ticker.getMaxBid(), ticker.getVolume());
+    }
+
+    private static long fingerprint(final OrderBook orderBook) {
+        return 31L * fingerprint(orderBook.getBids()) + fingerprint(orderBook.getAsks());
+    }
+
+    private static long fingerprint(final List<OrderBook.Offer> offers) {
+        long hash = offers.size();
+
+        for (OrderBook.Offer offer : offers) {
+            hash = 31L * hash + Objects.hashCode(offer.getPrice());
+            hash = 31L * hash + Objects.hashCode(offer.getAmount());
+        }
+
+        return hash;
+    }
+
+    private static long fingerprint(final Trades trades) {
+        final List<Trades.Transaction> entries = trades.getEntries();
+
+        if (entries.isEmpty()) {
+            return 0;
+        }
+
+        final Trades.Transaction newest = entries.get(0);
+        return Objects.hash(entries.size(), newest.getTimestamp(), newest.getAmount(), newest.getPrice(), newest.getDirection());
+    }
+
+    private static double price(final Ticker ticker) {
+        return doubleValue(ticker.getLastPrice());
+    }
+
+    private static double price(final OrderBook orderBook) {
+        if (orderBook.getBids().isEmpty() || orderBook.getAsks().isEmpty()) {
+            return Double.NaN;
+        }
+
+        return (doubleValue(orderBook.getBids().get(0).getPrice()) + doubleValue(orderBook.getAsks().get(0).getPrice())) / 2;
+    }
+
+    private static double price(final Trades trades) {
+        final List<Trades.Transaction> entries = trades.getEntries();
+        return entries.isEmpty() ? Double.NaN : doubleValue(entries.get(0).getPrice());
+    }
+
+    private static double doubleValue(final BigDecimal value) {
+        return value == null ? Double.NaN : value.doubleValue();
+    }
+
+}
@@ -12,4 +12,9 @@ public enum NOOPSigner implements Signer {
         return "";
     }
 
+    @Override
+    public boolean isSigning() {
+        return false;
+    }
+
 }
@@ -0,0 +1,261 @@
+package cl.daplay.jbuda.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * Append only segment files behind TradeStore and OrderBookArchive, and the varints their records are encoded with.
+ *
+ * Segments are named prefix-NNNNNNNNNN.seg and start with a header of magic, version, price and amount scales,
+ * followed by records only the owning store knows how to walk. Only the last segment is written to; readers map
+ * each segment's first length() bytes.
+ *
+ * Not thread safe, owners synchronize.
+ */
+public final class SegmentFiles implements AutoCloseable {
+
+    public final static int HEADER_BYTES = 8;
+
+    private final static String SUFFIX = ".seg";
+
+    private final Path directory;
+    private final String prefix;
+    private final int magic;
+    private final short version;
+    private final int priceScale;
+    private final int amountScale;
+    private final List<Segment> segments = new ArrayList<>();
+
+    private FileChannel channel;
+
+    public SegmentFiles(final Path directory, final String prefix, final int magic, final short version, final int priceScale, final int amountScale) {
+        this.directory = directory;
+        this.prefix = prefix;
+        this.magic = magic;
+        this.version = version;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+    }
+
+    /**
+     * opens every segment in the directory, in name order, truncating each one after the last record scanner
+     * accepts, then opens the last one (or a new one) for writing
+     *
+     * @throws IllegalArgumentException if a segment has another magic, version or scales
+     */
+    public void open(final Scanner scanner) throws IOException {
+        final List<Path> paths = new ArrayList<>();
+
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                paths.add(path);
+            }
+        }
+
+        paths.sort(null);
+
+        for (Path path : paths) {
+            final Segment segment = new Segment(path, Files.size(path));
+            final int index = segments.size();
+            segments.add(segment);
+
+            if (segment.length < HEADER_BYTES) {
+                // torn while being created
+                segment.length = 0;
+                continue;
+            }
+
+            final ByteBuffer buffer = segment.map();
+            checkHeader(path, buffer);
+
+            // drops whatever a crash left after the last complete record
+            segment.length = scanner.scan(index, buffer, segment.length);
+        }
+
+        if (segments.isEmpty()) {
+            roll();
+        } else {
+            channel = FileChannel.open(last().path, StandardOpenOption.WRITE);
+            channel.truncate(last().length);
+            channel.position(last().length);
+
+            if (last().length == 0) {
+                writeHeader();
+            }
+        }
+    }
+
+    /**
+     * @return number of segments, the last one is being written
+     */
+    public int count() {
+        return segments.size();
+    }
+
+    /**
+     * @return bytes written to segment
+     */
+    public long length(final int segment) {
+        return segments.get(segment).length;
+    }
+
+    /**
+     * @return bytes written to the last segment
+     */
+    public long length() {
+        return last().length;
+    }
+
+    /**
+     * @return read only view of the segment's first length bytes, mapped again only when it grew
+     */
+    public ByteBuffer map(final int segment) throws IOException {
+        return segments.get(segment).map();
+    }
+
+    /**
+     * starts writing a new segment
+     */
+    public void roll() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+
+        final Path path = directory.resolve(format("%s-%010d%s", prefix, segments.size(), SUFFIX));
+        segments.add(new Segment(path, 0));
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writeHeader();
+    }
+
+    /**
+     * appends buffer's remaining bytes to the last segment
+     */
+    public void write(final ByteBuffer buffer) throws IOException {
+        final int bytes = buffer.remaining();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        last().length += bytes;
+    }
+
+    public void force() throws IOException {
+        channel.force(false);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    public static long zigzag(final long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    public static long unzigzag(final long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static void putVarLong(final ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+
+        out.put((byte) value);
+    }
+
+    public static long getVarLong(final ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+
+        while (true) {
+            final byte b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+
+            if (b >= 0) {
+                return value;
+            }
+
+            shift += 7;
+        }
+    }
+
+    // ** implementation methods **
+
+    private void checkHeader(final Path path, final ByteBuffer buffer) {
+        if (buffer.getInt(0) != magic || buffer.getShort(4) != version) {
+            throw new IllegalArgumentException(format("Invalid segment file: %s", path));
+        }
+
+        final int segmentPriceScale = buffer.get(6);
+        final int segmentAmountScale = buffer.get(7);
+
+        if (segmentPriceScale != priceScale || segmentAmountScale != amountScale) {
+            throw new IllegalArgumentException(format("Segment '%s' has scales %d/%d instead of %d/%d",
+                    path, segmentPriceScale, segmentAmountScale, priceScale, amountScale));
+        }
+    }
+
+    private Segment last() {
+        return segments.get(segments.size() - 1);
+    }
+
+    private void writeHeader() throws IOException {
+        final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        header.putInt(magic).putShort(version).put((byte) priceScale).put((byte) amountScale);
+        header.flip();
+
+        write(header);
+    }
+
+    /**
+     * walks the records of a segment being opened
+     */
+    @FunctionalInterface
+    public interface Scanner {
+
+        /**
+         * @param buffer segment's first length bytes, records start at HEADER_BYTES
+         * @return offset right after the last complete record
+         */
+        long scan(int segment, ByteBuffer buffer, long length);
+
+    }
+
+    private final static class Segment {
+
+        private final Path path;
+        private long length;
+
+        private MappedByteBuffer mapped;
+
+        private Segment(final Path path, final long length) {
+            this.path = path;
+            this.length = length;
+        }
+
+        private ByteBuffer map() throws IOException {
+            if (mapped == null || mapped.capacity() < length) {
+                try (FileChannel readChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    mapped = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+                }
+            }
+
+            return mapped.duplicate();
+        }
+
+    }
+
+}
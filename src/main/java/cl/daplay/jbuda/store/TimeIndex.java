@@ -0,0 +1,95 @@
+package cl.daplay.jbuda.store;
+
+import java.util.Arrays;
+
+/**
+ * Sparse time index of a TradeReader snapshot: one entry per block, its time range, from the block headers.
+ *
+ * Blocks appended in time order don't overlap, so the ones in a range are found by binary search. Otherwise
+ * every block's range is checked, still without decoding any of them.
+ */
+final class TimeIndex {
+
+    private final TradeReader reader;
+    private final boolean ordered;
+
+    TimeIndex(final TradeReader reader) {
+        this.reader = reader;
+
+        boolean ordered = true;
+        for (int i = 1; i < reader.blocks() && ordered; i++) {
+            ordered = reader.blockMax(i - 1) <= reader.blockMin(i);
+        }
+
+        this.ordered = ordered;
+    }
+
+    boolean isOrdered() {
+        return ordered;
+    }
+
+    /**
+     * @return blocks that may hold trades in [from, to), in append order
+     */
+    int[] blocks(final long from, final long to) {
+        if (ordered) {
+            final int first = firstEndingAtOrAfter(from);
+            final int last = firstStartingAtOrAfter(to);
+
+            final int[] blocks = new int[Math.max(0, last - first)];
+            for (int i = 0; i < blocks.length; i++) {
+                blocks[i] = first + i;
+            }
+
+            return blocks;
+        }
+
+        final int[] blocks = new int[reader.blocks()];
+        int count = 0;
+
+        for (int i = 0; i < reader.blocks(); i++) {
+            if (reader.blockMax(i) >= from && reader.blockMin(i) < to) {
+                blocks[count++] = i;
+            }
+        }
+
+        return Arrays.copyOf(blocks, count);
+    }
+
+    // ** implementation methods **
+
+    private int firstEndingAtOrAfter(final long timestamp) {
+        int low = 0;
+        int high = reader.blocks();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (reader.blockMax(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private int firstStartingAtOrAfter(final long timestamp) {
+        int low = 0;
+        int high = reader.blocks();
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (reader.blockMin(mid) < timestamp) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+}
@@ -0,0 +1,137 @@
+package cl.daplay.jbuda.store;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Trades aggregated over [start, end): count and volume by direction, and VWAP.
+ *
+ * Volumes are fixed point, at the store's amount scale.
+ */
+public final class TradeAggregate implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    private final Instant start;
+    private final Instant end;
+    private final long buyCount;
+    private final long sellCount;
+    private final long buyVolume;
+    private final long sellVolume;
+    private final double notional;
+    private final int amountScale;
+
+    public TradeAggregate(final Instant start,
+                          final Instant end,
+                          final long buyCount,
+                          final long sellCount,
+                          final long buyVolume,
+                          final long sellVolume,
+                          final double notional,
+                          final int amountScale) {
+        this.start = start;
+        this.end = end;
+        this.buyCount = buyCount;
+        this.sellCount = sellCount;
+        this.buyVolume = buyVolume;
+        this.sellVolume = sellVolume;
+        this.notional = notional;
+        this.amountScale = amountScale;
+    }
+
+    public Instant getStart() {
+        return start;
+    }
+
+    public Instant getEnd() {
+        return end;
+    }
+
+    public long getCount() {
+        return buyCount + sellCount;
+    }
+
+    public long getBuyCount() {
+        return buyCount;
+    }
+
+    public long getSellCount() {
+        return sellCount;
+    }
+
+    public long getVolume() {
+        return buyVolume + sellVolume;
+    }
+
+    public long getBuyVolume() {
+        return buyVolume;
+    }
+
+    public long getSellVolume() {
+        return sellVolume;
+    }
+
+    /**
+     * @return sum of price times amount, in quote currency
+     */
+    public double getNotional() {
+        return notional;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @return volume weighted average price, in quote currency, NaN without trades
+     */
+    public double getVwap() {
+        final long volume = getVolume();
+        return volume == 0 ? Double.NaN : notional / (volume / Math.pow(10, amountScale));
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final TradeAggregate that = (TradeAggregate) o;
+
+        if (buyCount != that.buyCount) return false;
+        if (sellCount != that.sellCount) return false;
+        if (buyVolume != that.buyVolume) return false;
+        if (sellVolume != that.sellVolume) return false;
+        if (Double.compare(that.notional, notional) != 0) return false;
+        if (amountScale != that.amountScale) return false;
+        if (!start.equals(that.start)) return false;
+        return end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = start.hashCode();
+        result = 31 * result + end.hashCode();
+        result = 31 * result + Long.hashCode(buyCount);
+        result = 31 * result + Long.hashCode(sellCount);
+        result = 31 * result + Long.hashCode(buyVolume);
+        result = 31 * result + Long.hashCode(sellVolume);
+        result = 31 * result + Double.hashCode(notional);
+        result = 31 * result + amountScale;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "TradeAggregate{" +
+                "start=" + start +
+                ", end=" + end +
+                ", buyCount=" + buyCount +
+                ", sellCount=" + sellCount +
+                ", buyVolume=" + buyVolume +
+                ", sellVolume=" + sellVolume +
+                ", notional=" + notional +
+                ", amountScale=" + amountScale +
+                '}';
+    }
+
+}
@@ -0,0 +1,133 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.kernel.ColumnKernels;
+
+import java.util.Arrays;
+
+/**
+ * Trades as parallel primitive arrays, for ColumnKernels: timestamps in millis, fixed point prices and amounts,
+ * and whether each one was a buy. Built by TradeQuery.columns, or incrementally as a TradeVisitor.
+ *
+ * Getters return the backing arrays, valid up to size(). Not thread safe.
+ */
+public final class TradeColumns implements TradeVisitor {
+
+    private final int priceScale;
+    private final int amountScale;
+
+    private long[] timestamps;
+    private long[] prices;
+    private long[] amounts;
+    private boolean[] buys;
+    private int size;
+
+    public TradeColumns(final int priceScale, final int amountScale) {
+        this(priceScale, amountScale, 1024);
+    }
+
+    public TradeColumns(final int priceScale, final int amountScale, final int capacity) {
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+        this.timestamps = new long[capacity];
+        this.prices = new long[capacity];
+        this.amounts = new long[capacity];
+        this.buys = new boolean[capacity];
+    }
+
+    @Override
+    public void visit(final long timestamp, final long price, final long amount, final boolean buy) {
+        if (size == timestamps.length) {
+            final int capacity = Math.max(16, size * 2);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            prices = Arrays.copyOf(prices, capacity);
+            amounts = Arrays.copyOf(amounts, capacity);
+            buys = Arrays.copyOf(buys, capacity);
+        }
+
+        timestamps[size] = timestamp;
+        prices[size] = price;
+        amounts[size] = amount;
+        buys[size] = buy;
+        size++;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long[] timestamps() {
+        return timestamps;
+    }
+
+    public long[] prices() {
+        return prices;
+    }
+
+    public long[] amounts() {
+        return amounts;
+    }
+
+    public boolean[] buys() {
+        return buys;
+    }
+
+    // aggregates over every trade, see ColumnKernels
+
+    /**
+     * @return at amount scale
+     */
+    public long volume() {
+        return ColumnKernels.sum(amounts, 0, size);
+    }
+
+    /**
+     * @return at amount scale
+     */
+    public long buyVolume() {
+        return ColumnKernels.sum(amounts, buys, true, 0, size);
+    }
+
+    /**
+     * @return at amount scale
+     */
+    public long sellVolume() {
+        return ColumnKernels.sum(amounts, buys, false, 0, size);
+    }
+
+    /**
+     * @return at price scale, Long.MAX_VALUE if there are no trades
+     */
+    public long minPrice() {
+        return ColumnKernels.min(prices, 0, size);
+    }
+
+    /**
+     * @return at price scale, Long.MIN_VALUE if there are no trades
+     */
+    public long maxPrice() {
+        return ColumnKernels.max(prices, 0, size);
+    }
+
+    /**
+     * @return in quote currency, NaN if there are no trades
+     */
+    public double vwap() {
+        return ColumnKernels.vwap(prices, amounts, 0, size) * Math.pow(10, -priceScale);
+    }
+
+    /**
+     * @return in quote currency
+     */
+    public double notional() {
+        return ColumnKernels.dot(prices, amounts, 0, size) * Math.pow(10, -(priceScale + amountScale));
+    }
+
+}
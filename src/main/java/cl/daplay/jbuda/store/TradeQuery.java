@@ -0,0 +1,447 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import cl.daplay.jbuda.model.Trades;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import static java.lang.String.format;
+
+/**
+ * Range queries over a TradeReader snapshot: scans, per interval aggregates and the largest trades.
+ *
+ * The blocks a range touches are found through the sparse TimeIndex, without decoding any block. Aggregates
+ * and top trades split those blocks into fork-join tasks, each one decoding its blocks straight from the
+ * mapped segments with its own reader: segments are never copied onto the heap.
+ *
+ * Ranges are [from, to).
+ */
+public final class TradeQuery {
+
+    /**
+     * blocks decoded by a single fork-join task, 32K trades
+     */
+    final static int BLOCKS_PER_TASK = 8;
+
+    /**
+     * keeps per interval aggregates within a few dozen MB
+     */
+    final static int MAX_INTERVALS = 1_000_000;
+
+    private final TradeReader reader;
+    private final TimeIndex index;
+    private final ForkJoinPool pool;
+
+    public TradeQuery(final TradeStore store) throws IOException {
+        this(store.reader());
+    }
+
+    public TradeQuery(final TradeReader reader) {
+        this(reader, ForkJoinPool.commonPool());
+    }
+
+    public TradeQuery(final TradeReader reader, final ForkJoinPool pool) {
+        this.reader = reader;
+        this.index = new TimeIndex(reader);
+        this.pool = pool;
+    }
+
+    /**
+     * visits every trade in range, in append order, on the calling thread
+     */
+    public void scan(final Instant from, final Instant to, final TradeVisitor visitor) {
+        final long start = checkRange(from, to);
+        final long end = to.toEpochMilli();
+        final int[] blocks = index.blocks(start, end);
+
+        visit(reader.copy(), blocks, 0, blocks.length, start, end, visitor);
+    }
+
+    /**
+     * @return trades in range as primitive columns, in append order
+     */
+    public TradeColumns columns(final Instant from, final Instant to) {
+        final TradeColumns columns = new TradeColumns(reader.getPriceScale(), reader.getAmountScale());
+        scan(from, to, columns);
+        return columns;
+    }
+
+    public long count(final Instant from, final Instant to) {
+        return run(from, to, (min, max) -> new Count()).count;
+    }
+
+    public TradeAggregate aggregate(final Instant from, final Instant to) {
+        return aggregate(from, to, Duration.ofMillis(to.toEpochMilli() - from.toEpochMilli())).get(0);
+    }
+
+    /**
+     * @return one aggregate per interval from 'from', the last one may end after 'to', empty ones included
+     */
+    public List<TradeAggregate> aggregate(final Instant from, final Instant to, final Duration interval) {
+        final long start = checkRange(from, to);
+        final long millis = interval.toMillis();
+
+        if (millis <= 0) {
+            throw new IllegalArgumentException(format("Invalid interval: %s", interval));
+        }
+
+        final long intervals = (to.toEpochMilli() - start + millis - 1) / millis;
+        if (intervals > MAX_INTERVALS) {
+            throw new IllegalArgumentException(format("Too many intervals: %d", intervals));
+        }
+
+        final Buckets buckets = run(from, to, (min, max) -> min > max
+                ? new Buckets(start, millis, 0, -1)
+                : new Buckets(start, millis, (min - start) / millis, (max - start) / millis));
+        final double notionalUnit = Math.pow(10, -(reader.getPriceScale() + reader.getAmountScale()));
+        final List<TradeAggregate> out = new ArrayList<>((int) intervals);
+
+        for (int i = 0; i < intervals; i++) {
+            final int j = (int) (i - buckets.first);
+            final boolean inside = j >= 0 && j < buckets.notional.length;
+
+            out.add(new TradeAggregate(Instant.ofEpochMilli(start + i * millis),
+                    Instant.ofEpochMilli(start + (i + 1) * millis),
+                    inside ? buckets.buyCount[j] : 0,
+                    inside ? buckets.sellCount[j] : 0,
+                    inside ? buckets.buyVolume[j] : 0,
+                    inside ? buckets.sellVolume[j] : 0,
+                    inside ? buckets.notional[j] * notionalUnit : 0,
+                    reader.getAmountScale()));
+        }
+
+        return out;
+    }
+
+    /**
+     * @return n largest trades by amount, largest first, ties by timestamp
+     */
+    public List<Trades.Transaction> top(final Instant from, final Instant to, final int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException(format("Invalid n: %d", n));
+        }
+
+        final Top top = run(from, to, (min, max) -> new Top(n));
+        final Integer[] order = new Integer[top.size];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> -top.amounts[i]).thenComparingLong(i -> top.timestamps[i]));
+
+        final List<Trades.Transaction> out = new ArrayList<>(order.length);
+        for (int i : order) {
+            out.add(new BudaTransaction(Instant.ofEpochMilli(top.timestamps[i]),
+                    BigDecimal.valueOf(top.amounts[i], reader.getAmountScale()),
+                    BigDecimal.valueOf(top.prices[i], reader.getPriceScale()),
+                    top.buys[i] ? "buy" : "sell"));
+        }
+
+        return out;
+    }
+
+    // ** implementation methods **
+
+    private static long checkRange(final Instant from, final Instant to) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException(format("Invalid range: %s, %s", from, to));
+        }
+
+        return from.toEpochMilli();
+    }
+
+    private <A extends Accumulator<A>> A run(final Instant from, final Instant to, final AccumulatorFactory<A> factory) {
+        final long start = checkRange(from, to);
+        final long end = to.toEpochMilli();
+        final int[] blocks = index.blocks(start, end);
+
+        return pool.invoke(new Task<>(reader, blocks, 0, blocks.length, start, end, factory));
+    }
+
+    private static void visit(final TradeReader reader,
+                              final int[] blocks,
+                              final int low,
+                              final int high,
+                              final long from,
+                              final long to,
+                              final TradeVisitor visitor) {
+        for (int i = low; i < high; i++) {
+            reader.seek(blocks[i]);
+
+            final int size = reader.blockSize(blocks[i]);
+            for (int j = 0; j < size; j++) {
+                reader.next();
+
+                final long timestamp = reader.timestamp();
+                if (timestamp >= from && timestamp < to) {
+                    visitor.visit(timestamp, reader.price(), reader.amount(), reader.isBuy());
+                }
+            }
+        }
+    }
+
+    private interface Accumulator<A> extends TradeVisitor {
+
+        /**
+         * @return this, or a new accumulator, with other's trades added
+         */
+        A merge(A other);
+
+    }
+
+    @FunctionalInterface
+    private interface AccumulatorFactory<A> {
+
+        /**
+         * @param min oldest timestamp it may visit, greater than max if none
+         * @param max newest timestamp it may visit
+         */
+        A create(long min, long max);
+
+    }
+
+    private final static class Task<A extends Accumulator<A>> extends RecursiveTask<A> {
+
+        private static final long serialVersionUID = 2026_10_19;
+
+        private final TradeReader reader;
+        private final int[] blocks;
+        private final int low;
+        private final int high;
+        private final long from;
+        private final long to;
+        private final AccumulatorFactory<A> factory;
+
+        private Task(final TradeReader reader, final int[] blocks, final int low, final int high, final long from, final long to, final AccumulatorFactory<A> factory) {
+            this.reader = reader;
+            this.blocks = blocks;
+            this.low = low;
+            this.high = high;
+            this.from = from;
+            this.to = to;
+            this.factory = factory;
+        }
+
+        @Override
+        protected A compute() {
+            if (high - low <= BLOCKS_PER_TASK) {
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (int i = low; i < high; i++) {
+                    min = Math.min(min, Math.max(from, reader.blockMin(blocks[i])));
+                    max = Math.max(max, Math.min(to - 1, reader.blockMax(blocks[i])));
+                }
+
+                final A accumulator = factory.create(min, max);
+                visit(reader.copy(), blocks, low, high, from, to, accumulator);
+                return accumulator;
+            }
+
+            final int mid = (low + high) >>> 1;
+            final Task<A> left = new Task<>(reader, blocks, low, mid, from, to, factory);
+            left.fork();
+
+            final A right = new Task<>(reader, blocks, mid, high, from, to, factory).compute();
+            return left.join().merge(right);
+        }
+
+    }
+
+    private final static class Count implements Accumulator<Count> {
+
+        private long count;
+
+        @Override
+        public void visit(final long timestamp, final long price, final long amount, final boolean buy) {
+            count++;
+        }
+
+        @Override
+        public Count merge(final Count other) {
+            count += other.count;
+            return this;
+        }
+
+    }
+
+    /**
+     * aggregates of intervals first to last (counted from start), only those a task's blocks may touch
+     */
+    private final static class Buckets implements Accumulator<Buckets> {
+
+        private final long start;
+        private final long interval;
+        private final long first;
+        private final long[] buyCount;
+        private final long[] sellCount;
+        private final long[] buyVolume;
+        private final long[] sellVolume;
+        // price times amount, at price scale plus amount scale
+        private final double[] notional;
+
+        private Buckets(final long start, final long interval, final long first, final long last) {
+            final int length = (int) Math.max(0, last - first + 1);
+
+            this.start = start;
+            this.interval = interval;
+            this.first = first;
+            this.buyCount = new long[length];
+            this.sellCount = new long[length];
+            this.buyVolume = new long[length];
+            this.sellVolume = new long[length];
+            this.notional = new double[length];
+        }
+
+        @Override
+        public void visit(final long timestamp, final long price, final long amount, final boolean buy) {
+            final int i = (int) ((timestamp - start) / interval - first);
+
+            if (buy) {
+                buyCount[i]++;
+                buyVolume[i] += amount;
+            } else {
+                sellCount[i]++;
+                sellVolume[i] += amount;
+            }
+
+            notional[i] += (double) price * amount;
+        }
+
+        @Override
+        public Buckets merge(final Buckets other) {
+            if (other.notional.length == 0) {
+                return this;
+            }
+            if (notional.length == 0) {
+                return other;
+            }
+
+            final Buckets out;
+            if (other.first >= first && other.first + other.notional.length <= first + notional.length) {
+                out = this;
+            } else {
+                final long outFirst = Math.min(first, other.first);
+                final long outLast = Math.max(first + notional.length, other.first + other.notional.length) - 1;
+
+                out = new Buckets(start, interval, outFirst, outLast);
+                out.add(this);
+            }
+
+            out.add(other);
+            return out;
+        }
+
+        private void add(final Buckets other) {
+            final int offset = (int) (other.first - first);
+
+            for (int i = 0; i < other.notional.length; i++) {
+                buyCount[offset + i] += other.buyCount[i];
+                sellCount[offset + i] += other.sellCount[i];
+                buyVolume[offset + i] += other.buyVolume[i];
+                sellVolume[offset + i] += other.sellVolume[i];
+                notional[offset + i] += other.notional[i];
+            }
+        }
+
+    }
+
+    /**
+     * n largest trades by amount, as a binary min heap over parallel arrays
+     */
+    private final static class Top implements Accumulator<Top> {
+
+        private final long[] timestamps;
+        private final long[] prices;
+        private final long[] amounts;
+        private final boolean[] buys;
+        private int size;
+
+        private Top(final int n) {
+            this.timestamps = new long[n];
+            this.prices = new long[n];
+            this.amounts = new long[n];
+            this.buys = new boolean[n];
+        }
+
+        @Override
+        public void visit(final long timestamp, final long price, final long amount, final boolean buy) {
+            if (size < amounts.length) {
+                set(size, timestamp, price, amount, buy);
+                siftUp(size++);
+            } else if (amount > amounts[0]) {
+                set(0, timestamp, price, amount, buy);
+                siftDown(0);
+            }
+        }
+
+        @Override
+        public Top merge(final Top other) {
+            for (int i = 0; i < other.size; i++) {
+                visit(other.timestamps[i], other.prices[i], other.amounts[i], other.buys[i]);
+            }
+
+            return this;
+        }
+
+        private void set(final int i, final long timestamp, final long price, final long amount, final boolean buy) {
+            timestamps[i] = timestamp;
+            prices[i] = price;
+            amounts[i] = amount;
+            buys[i] = buy;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (amounts[parent] <= amounts[i]) {
+                    return;
+                }
+
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                final int left = 2 * i + 1;
+                final int right = left + 1;
+                int smallest = i;
+
+                if (left < size && amounts[left] < amounts[smallest]) {
+                    smallest = left;
+                }
+                if (right < size && amounts[right] < amounts[smallest]) {
+                    smallest = right;
+                }
+                if (smallest == i) {
+                    return;
+                }
+
+                swap(i, smallest);
+                i = smallest;
+            }
+        }
+
+        private void swap(final int a, final int b) {
+            final long timestamp = timestamps[a];
+            final long price = prices[a];
+            final long amount = amounts[a];
+            final boolean buy = buys[a];
+
+            set(a, timestamps[b], prices[b], amounts[b], buys[b]);
+            set(b, timestamp, price, amount, buy);
+        }
+
+    }
+
+}
@@ -0,0 +1,240 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import cl.daplay.jbuda.model.Trades;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.NoSuchElementException;
+
+import static cl.daplay.jbuda.store.SegmentFiles.getVarLong;
+import static cl.daplay.jbuda.store.SegmentFiles.unzigzag;
+import static java.lang.String.format;
+
+/**
+ * Cursor over a snapshot of a TradeStore, decoding each trade straight from the mapped segment files into
+ * primitive fields: no objects are allocated per trade, unless asked for with transaction().
+ *
+ * Typical use is {@code while (reader.next()) { reader.timestamp(); reader.price(); ... }}.
+ * Not thread safe, but readers are cheap to create and independent from each other.
+ */
+public final class TradeReader {
+
+    private final static int TIMESTAMP = 0;
+    private final static int PRICE = 1;
+    private final static int AMOUNT = 2;
+
+    private final ByteBuffer[] segments;
+    private final int blocks;
+    private final int[] blockSegment;
+    private final int[] blockOffset;
+    private final int[] blockCount;
+    private final long[] blockMin;
+    private final long[] blockMax;
+    private final int priceScale;
+    private final int amountScale;
+
+    // current block
+    private int block = -1;
+    private ByteBuffer buffer;
+    private final int[] positions = new int[3];
+    private int directions;
+    private int index;
+    private int count;
+
+    // current trade
+    private long timestamp;
+    private long price;
+    private long amount;
+    private boolean buy;
+
+    TradeReader(final ByteBuffer[] segments,
+                final int blocks,
+                final int[] blockSegment,
+                final int[] blockOffset,
+                final int[] blockCount,
+                final long[] blockMin,
+                final long[] blockMax,
+                final int priceScale,
+                final int amountScale) {
+        this.segments = segments;
+        this.blocks = blocks;
+        this.blockSegment = blockSegment;
+        this.blockOffset = blockOffset;
+        this.blockCount = blockCount;
+        this.blockMin = blockMin;
+        this.blockMax = blockMax;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @return trades in this snapshot
+     */
+    public long size() {
+        long size = 0;
+
+        for (int i = 0; i < blocks; i++) {
+            size += blockCount[i];
+        }
+
+        return size;
+    }
+
+    /**
+     * moves to the next trade, in append order
+     *
+     * @return false when there are no more trades
+     */
+    public boolean next() {
+        while (index == count) {
+            if (block + 1 >= blocks) {
+                return false;
+            }
+
+            open(block + 1);
+        }
+
+        timestamp += unzigzag(varLong(TIMESTAMP));
+        price += unzigzag(varLong(PRICE));
+        amount = unzigzag(varLong(AMOUNT));
+        buy = (buffer.get(directions + (index >> 3)) & (1 << (index & 7))) != 0;
+        index++;
+
+        return true;
+    }
+
+    /**
+     * @return epoch millis
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return fixed point price, at getPriceScale()
+     */
+    public long price() {
+        return price;
+    }
+
+    /**
+     * @return fixed point amount, at getAmountScale()
+     */
+    public long amount() {
+        return amount;
+    }
+
+    public boolean isBuy() {
+        return buy;
+    }
+
+    public String direction() {
+        return buy ? "buy" : "sell";
+    }
+
+    /**
+     * @return current trade as a model object, allocating it
+     */
+    public Trades.Transaction transaction() {
+        if (index == 0) {
+            throw new NoSuchElementException();
+        }
+
+        return new BudaTransaction(Instant.ofEpochMilli(timestamp),
+                BigDecimal.valueOf(amount, amountScale),
+                BigDecimal.valueOf(price, priceScale),
+                direction());
+    }
+
+    // block level access, so callers can skip blocks by time range without decoding them
+
+    public int blocks() {
+        return blocks;
+    }
+
+    public int blockSize(final int block) {
+        return blockCount[block];
+    }
+
+    /**
+     * @return oldest timestamp in block, in millis
+     */
+    public long blockMin(final int block) {
+        return blockMin[block];
+    }
+
+    /**
+     * @return newest timestamp in block, in millis
+     */
+    public long blockMax(final int block) {
+        return blockMax[block];
+    }
+
+    /**
+     * positions this reader before the first trade of block, next() returns it
+     */
+    public void seek(final int block) {
+        if (block < 0 || block > blocks) {
+            throw new IllegalArgumentException(format("Invalid block: %d", block));
+        }
+
+        if (block == blocks) {
+            this.block = blocks - 1;
+            this.index = this.count = 0;
+        } else {
+            open(block);
+        }
+    }
+
+    // ** implementation methods **
+
+    /**
+     * @return independent reader over the same snapshot, for another thread
+     */
+    TradeReader copy() {
+        final ByteBuffer[] buffers = new ByteBuffer[segments.length];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = segments[i].duplicate();
+        }
+
+        return new TradeReader(buffers, blocks, blockSegment, blockOffset, blockCount, blockMin, blockMax, priceScale, amountScale);
+    }
+
+    private void open(final int block) {
+        this.block = block;
+        this.buffer = segments[blockSegment[block]];
+
+        final int offset = blockOffset[block];
+        final int timestampBytes = buffer.getInt(offset + 24);
+        final int priceBytes = buffer.getInt(offset + 28);
+        final int amountBytes = buffer.getInt(offset + 32);
+
+        positions[TIMESTAMP] = offset + TradeStore.BLOCK_HEADER_BYTES;
+        positions[PRICE] = positions[TIMESTAMP] + timestampBytes;
+        positions[AMOUNT] = positions[PRICE] + priceBytes;
+        directions = positions[AMOUNT] + amountBytes;
+
+        index = 0;
+        count = buffer.getInt(offset + 4);
+        timestamp = 0;
+        price = 0;
+    }
+
+    private long varLong(final int column) {
+        buffer.position(positions[column]);
+        final long value = getVarLong(buffer);
+        positions[column] = buffer.position();
+        return value;
+    }
+
+}
@@ -0,0 +1,338 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.model.CurrencyRegistry;
+import cl.daplay.jbuda.model.Trades;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static cl.daplay.jbuda.Decoders.toFixed;
+import static cl.daplay.jbuda.store.SegmentFiles.putVarLong;
+import static cl.daplay.jbuda.store.SegmentFiles.zigzag;
+import static java.lang.String.format;
+
+/**
+ * Append only, columnar store of a market's trades, in memory mapped segment files.
+ *
+ * Trades are buffered into blocks of up to BLOCK_SIZE, which are written as four columns: timestamps and prices
+ * as zigzag varint deltas from the previous trade, amounts as varints, and directions as a bitmap. Prices and
+ * amounts are fixed point longs at the store's scales. Segment files roll over after SEGMENT_SIZE bytes.
+ *
+ * Opening a store only walks block headers, which make up its in memory index (time range and offset of every
+ * block), so startup doesn't depend on the number of trades. Readers decode straight from the mapped files
+ * and only see blocks written before they were created, see reader() and flush().
+ *
+ * Trades may be appended in any order, though blocks of increasing timestamps make range scans cheaper.
+ */
+public final class TradeStore implements AutoCloseable {
+
+    final static int BLOCK_SIZE = 4096;
+    final static long SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    final static int SEGMENT_MAGIC = 0x4A425453; // "JBTS"
+    final static short SEGMENT_VERSION = 1;
+
+    /**
+     * length, count, min and max timestamps, and the byte length of the timestamp, price and amount columns
+     */
+    final static int BLOCK_HEADER_BYTES = 4 + 4 + 8 + 8 + 4 + 4 + 4;
+
+    private final Path directory;
+    private final int priceScale;
+    private final int amountScale;
+    private final SegmentFiles files;
+
+    // block index, parallel arrays
+    private int blocks;
+    private int[] blockSegment = new int[64];
+    private int[] blockOffset = new int[64];
+    private int[] blockCount = new int[64];
+    private long[] blockMin = new long[64];
+    private long[] blockMax = new long[64];
+    private long size;
+
+    // block being filled
+    private final long[] timestamps = new long[BLOCK_SIZE];
+    private final long[] prices = new long[BLOCK_SIZE];
+    private final long[] amounts = new long[BLOCK_SIZE];
+    private final boolean[] buys = new boolean[BLOCK_SIZE];
+    private int pending;
+
+    private final ByteBuffer scratch = ByteBuffer.allocate(BLOCK_HEADER_BYTES + BLOCK_SIZE * 3 * 10 + BLOCK_SIZE / 8);
+    private boolean closed;
+
+    private TradeStore(final Path directory, final int priceScale, final int amountScale) {
+        this.directory = directory;
+        this.priceScale = priceScale;
+        this.amountScale = amountScale;
+        this.files = new SegmentFiles(directory, "trades", SEGMENT_MAGIC, SEGMENT_VERSION, priceScale, amountScale);
+    }
+
+    /**
+     * opens the store in directory, creating it if needed
+     *
+     * @throws IllegalArgumentException if directory holds a store with different scales
+     */
+    public static TradeStore open(final Path directory, final int priceScale, final int amountScale) throws IOException {
+        if (priceScale < 0 || priceScale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid price scale: %d", priceScale));
+        }
+        if (amountScale < 0 || amountScale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid amount scale: %d", amountScale));
+        }
+
+        Files.createDirectories(directory);
+
+        final TradeStore store = new TradeStore(directory, priceScale, amountScale);
+        store.load();
+        return store;
+    }
+
+    /**
+     * opens the store with the scales of the market's quote (prices) and base (amounts) currencies
+     */
+    public static TradeStore open(final Path directory, final CurrencyRegistry currencies, final String marketId) throws IOException {
+        return open(directory, currencies.quote(marketId).getScale(), currencies.base(marketId).getScale());
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public int getPriceScale() {
+        return priceScale;
+    }
+
+    public int getAmountScale() {
+        return amountScale;
+    }
+
+    /**
+     * @return trades stored, including those not flushed yet
+     */
+    public synchronized long size() {
+        return size + pending;
+    }
+
+    /**
+     * @return newest trade timestamp in millis, Long.MIN_VALUE if empty
+     */
+    public synchronized long getNewestTimestamp() {
+        long newest = Long.MIN_VALUE;
+
+        for (int i = 0; i < blocks; i++) {
+            newest = Math.max(newest, blockMax[i]);
+        }
+        for (int i = 0; i < pending; i++) {
+            newest = Math.max(newest, timestamps[i]);
+        }
+
+        return newest;
+    }
+
+    /**
+     * @throws ArithmeticException if price or amount have more decimals than the store's scales
+     * @throws UncheckedIOException if a full block couldn't be written
+     */
+    public synchronized void append(final Trades.Transaction transaction) {
+        append(transaction.getTimestamp().toEpochMilli(),
+                toFixed(transaction.getPrice(), priceScale),
+                toFixed(transaction.getAmount(), amountScale),
+                "buy".equals(transaction.getDirection()));
+    }
+
+    /**
+     * appends a getTrades batch from oldest to newest trade, it doesn't skip trades already stored, see TradeIngestor
+     */
+    public synchronized void append(final Trades trades) {
+        final List<Trades.Transaction> entries = trades.getEntries();
+
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            append(entries.get(i));
+        }
+    }
+
+    /**
+     * @param price fixed point, at the store's price scale
+     * @param amount fixed point, at the store's amount scale
+     */
+    public synchronized void append(final long timestamp, final long price, final long amount, final boolean buy) {
+        checkOpen();
+
+        timestamps[pending] = timestamp;
+        prices[pending] = price;
+        amounts[pending] = amount;
+        buys[pending] = buy;
+        pending++;
+
+        if (pending == BLOCK_SIZE) {
+            try {
+                writeBlock();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * writes buffered trades as a (possibly short) block, so new readers see them
+     */
+    public synchronized void flush() throws IOException {
+        checkOpen();
+
+        if (pending > 0) {
+            writeBlock();
+        }
+
+        files.force();
+    }
+
+    /**
+     * @return reader over every trade flushed so far
+     */
+    public synchronized TradeReader reader() throws IOException {
+        checkOpen();
+
+        final ByteBuffer[] buffers = new ByteBuffer[files.count()];
+        for (int i = 0; i < buffers.length; i++) {
+            buffers[i] = files.map(i);
+        }
+
+        return new TradeReader(buffers, blocks,
+                Arrays.copyOf(blockSegment, blocks),
+                Arrays.copyOf(blockOffset, blocks),
+                Arrays.copyOf(blockCount, blocks),
+                Arrays.copyOf(blockMin, blocks),
+                Arrays.copyOf(blockMax, blocks),
+                priceScale, amountScale);
+    }
+
+    /**
+     * flushes pending trades, readers already created remain usable
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        try {
+            flush();
+        } finally {
+            closed = true;
+            files.close();
+        }
+    }
+
+    // ** implementation methods **
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException(format("TradeStore '%s' is closed", directory));
+        }
+    }
+
+    private void load() throws IOException {
+        files.open((segment, buffer, length) -> {
+            int offset = SegmentFiles.HEADER_BYTES;
+            while (offset + BLOCK_HEADER_BYTES <= length) {
+                final int blockLength = buffer.getInt(offset);
+                if (blockLength < BLOCK_HEADER_BYTES || offset + (long) blockLength > length) {
+                    break;
+                }
+
+                index(segment, offset, buffer.getInt(offset + 4), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+                offset += blockLength;
+            }
+
+            return offset;
+        });
+
+        if (files.length() >= SEGMENT_SIZE) {
+            files.roll();
+        }
+    }
+
+    private void writeBlock() throws IOException {
+        final ByteBuffer out = scratch;
+        out.clear();
+        out.position(BLOCK_HEADER_BYTES);
+
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long previous = 0;
+        for (int i = 0; i < pending; i++) {
+            putVarLong(out, zigzag(timestamps[i] - previous));
+            previous = timestamps[i];
+            min = Math.min(min, previous);
+            max = Math.max(max, previous);
+        }
+        final int timestampBytes = out.position() - BLOCK_HEADER_BYTES;
+
+        previous = 0;
+        for (int i = 0; i < pending; i++) {
+            putVarLong(out, zigzag(prices[i] - previous));
+            previous = prices[i];
+        }
+        final int priceBytes = out.position() - BLOCK_HEADER_BYTES - timestampBytes;
+
+        for (int i = 0; i < pending; i++) {
+            putVarLong(out, zigzag(amounts[i]));
+        }
+        final int amountBytes = out.position() - BLOCK_HEADER_BYTES - timestampBytes - priceBytes;
+
+        for (int i = 0; i < pending; i += 8) {
+            int bits = 0;
+            for (int j = 0; j < 8 && i + j < pending; j++) {
+                if (buys[i + j]) {
+                    bits |= 1 << j;
+                }
+            }
+            out.put((byte) bits);
+        }
+
+        final int length = out.position();
+        out.putInt(0, length);
+        out.putInt(4, pending);
+        out.putLong(8, min);
+        out.putLong(16, max);
+        out.putInt(24, timestampBytes);
+        out.putInt(28, priceBytes);
+        out.putInt(32, amountBytes);
+        out.flip();
+
+        final int offset = (int) files.length();
+        files.write(out);
+        index(files.count() - 1, offset, pending, min, max);
+        pending = 0;
+
+        if (files.length() >= SEGMENT_SIZE) {
+            files.roll();
+        }
+    }
+
+    private void index(final int segment, final int offset, final int count, final long min, final long max) {
+        if (blocks == blockSegment.length) {
+            final int capacity = blocks * 2;
+            blockSegment = Arrays.copyOf(blockSegment, capacity);
+            blockOffset = Arrays.copyOf(blockOffset, capacity);
+            blockCount = Arrays.copyOf(blockCount, capacity);
+            blockMin = Arrays.copyOf(blockMin, capacity);
+            blockMax = Arrays.copyOf(blockMax, capacity);
+        }
+
+        blockSegment[blocks] = segment;
+        blockOffset[blocks] = offset;
+        blockCount[blocks] = count;
+        blockMin[blocks] = min;
+        blockMax[blocks] = max;
+        blocks++;
+        size += count;
+    }
+
+}
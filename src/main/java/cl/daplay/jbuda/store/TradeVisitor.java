@@ -0,0 +1,11 @@
+package cl.daplay.jbuda.store;
+
+/**
+ * receives stored trades as primitives, prices and amounts at the store's scales
+ */
+@FunctionalInterface
+public interface TradeVisitor {
+
+    void visit(long timestamp, long price, long amount, boolean buy);
+
+}
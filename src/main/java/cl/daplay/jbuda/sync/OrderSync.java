@@ -0,0 +1,113 @@
+package cl.daplay.jbuda.sync;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.model.Order;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Incremental sync of a market's orders: each sync() returns only the orders created or changed since the
+ * previous one, see OrderWatermark.
+ *
+ * Orders are read newest first, a page at a time (never prefetched), up to the first one already seen in a
+ * terminal state: every order past it is known, and either terminal or open. Open orders older than that are
+ * fetched one by one with getOrder, so a poll usually costs a page or two instead of the whole history.
+ *
+ * The watermark only moves when a sync succeeds. Thread safe.
+ */
+public final class OrderSync {
+
+    /**
+     * states orders don't leave
+     */
+    public final static Set<String> TERMINAL_STATES = Collections.unmodifiableSet(new HashSet<>(Arrays.asList("traded", "canceled")));
+
+    private final JBuda jbuda;
+    private final String marketId;
+
+    private OrderWatermark watermark;
+
+    /**
+     * starts from scratch, the first sync returns every order
+     */
+    public OrderSync(final JBuda jbuda, final String marketId) {
+        this(jbuda, marketId, OrderWatermark.EMPTY);
+    }
+
+    /**
+     * @param watermark of a previous sync, ie: persisted across restarts
+     */
+    public OrderSync(final JBuda jbuda, final String marketId, final OrderWatermark watermark) {
+        // pages are read lazily and in order, up to the watermark, even if jbuda prefetches them
+        this.jbuda = jbuda.withPagePrefetch(0);
+        this.marketId = marketId;
+        this.watermark = watermark;
+    }
+
+    public String getMarketId() {
+        return marketId;
+    }
+
+    public synchronized OrderWatermark getWatermark() {
+        return watermark;
+    }
+
+    /**
+     * @return orders created or changed since the last sync, newest first
+     */
+    public synchronized List<Order> sync() throws Exception {
+        final Map<Long, Order> known = watermark.getOpen();
+        final Map<Long, Order> open = new LinkedHashMap<>();
+        final Set<Long> seen = new HashSet<>();
+        final List<Order> changes = new ArrayList<>();
+
+        long newestId = watermark.getNewestId();
+
+        for (Order order : jbuda.getOrders(marketId)) {
+            final long id = order.getId();
+
+            if (id <= watermark.getNewestId() && !known.containsKey(id)) {
+                break;
+            }
+            // orders placed while reading shift the pages, repeating some
+            if (!seen.add(id)) {
+                continue;
+            }
+
+            newestId = Math.max(newestId, id);
+            update(order, known, open, changes);
+        }
+
+        // open orders the walk didn't reach
+        for (Long id : known.keySet()) {
+            if (!seen.contains(id)) {
+                update(jbuda.getOrder(id), known, open, changes);
+            }
+        }
+
+        watermark = new OrderWatermark(newestId, open);
+        return changes;
+    }
+
+    // ** implementation methods **
+
+    private static void update(final Order order,
+                               final Map<Long, Order> known,
+                               final Map<Long, Order> open,
+                               final List<Order> changes) {
+        if (!order.equals(known.get(order.getId()))) {
+            changes.add(order);
+        }
+        if (!TERMINAL_STATES.contains(order.getState())) {
+            open.put(order.getId(), order);
+        }
+    }
+
+}
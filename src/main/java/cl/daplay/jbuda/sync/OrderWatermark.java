@@ -0,0 +1,71 @@
+package cl.daplay.jbuda.sync;
+
+import cl.daplay.jbuda.model.Order;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * How far an OrderSync got: the newest order id it has seen, and the orders which were still open (not traded
+ * nor canceled) then, as they were. Orders up to newestId not in open are terminal, and won't change again.
+ */
+public final class OrderWatermark implements Serializable {
+
+    private static final long serialVersionUID = 2026_10_19;
+
+    /**
+     * nothing seen yet, the first sync reads the whole history
+     */
+    public final static OrderWatermark EMPTY = new OrderWatermark(0, Collections.emptyMap());
+
+    private final long newestId;
+    private final Map<Long, Order> open;
+
+    /**
+     * @param open orders by id
+     */
+    public OrderWatermark(final long newestId, final Map<Long, Order> open) {
+        this.newestId = newestId;
+        this.open = Collections.unmodifiableMap(new LinkedHashMap<>(open));
+    }
+
+    public long getNewestId() {
+        return newestId;
+    }
+
+    /**
+     * @return open orders by id
+     */
+    public Map<Long, Order> getOpen() {
+        return open;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final OrderWatermark that = (OrderWatermark) o;
+
+        if (newestId != that.newestId) return false;
+        return open.equals(that.open);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(newestId);
+        result = 31 * result + open.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderWatermark{" +
+                "newestId=" + newestId +
+                ", open=" + open.keySet() +
+                '}';
+    }
+
+}
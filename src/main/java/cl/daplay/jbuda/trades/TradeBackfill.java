@@ -0,0 +1,193 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.Utils;
+import cl.daplay.jbuda.http.RateLimiter;
+import cl.daplay.jbuda.model.Trades;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Fetches long trade histories by splitting them into time segments, each one walked by its own TradeCursor.
+ *
+ * Paging through getTrades(marketId, timestamp) is sequential, as each request starts where the previous one
+ * ended, but segments don't depend on each other. Up to parallelism segments are fetched at once, all within
+ * the same RateLimiter, and returned in order as the caller reaches them.
+ *
+ * Segments are half open, [from, to), so a trade on the edge between two of them belongs to exactly one,
+ * and each cursor already skips repeated trades between its batches: the result has neither gaps nor duplicates.
+ * Segments fetched ahead of the caller are kept in memory, so memory is bound by parallelism segments.
+ */
+public final class TradeBackfill {
+
+    private final JBuda jbuda;
+    private final RateLimiter rateLimiter;
+    private final int parallelism;
+
+    /**
+     * @param rateLimiter shared by every segment, null for none
+     */
+    public TradeBackfill(final JBuda jbuda, final RateLimiter rateLimiter, final int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(format("Invalid parallelism: %d", parallelism));
+        }
+
+        this.jbuda = jbuda;
+        this.rateLimiter = rateLimiter;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * splits the range in four segments per parallel fetch
+     */
+    public Stream<Trades.Transaction> stream(final String marketId, final Instant from, final Instant to) {
+        return stream(marketId, from, to, parallelism * 4);
+    }
+
+    /**
+     * @param from oldest trade timestamp, inclusive
+     * @param to newest trade timestamp, exclusive
+     * @return trades from newest to oldest, closing the stream cancels pending segments
+     */
+    public Stream<Trades.Transaction> stream(final String marketId, final Instant from, final Instant to, final int segments) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException(format("Invalid range: %s, %s", from, to));
+        }
+        if (segments < 1) {
+            throw new IllegalArgumentException(format("Invalid segments: %d", segments));
+        }
+
+        final Backfill backfill = new Backfill(marketId, split(from, to, segments));
+        final Spliterator<Trades.Transaction> spliterator = Spliterators.spliteratorUnknownSize(backfill,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(backfill::close);
+    }
+
+    // ** implementation methods **
+
+    /**
+     * @return segment bounds from newest to oldest, segment i is [bounds[i + 1], bounds[i])
+     */
+    static Instant[] split(final Instant from, final Instant to, final int segments) {
+        final long start = from.toEpochMilli();
+        final long end = to.toEpochMilli();
+        // no point in segments shorter than a millisecond
+        final int count = (int) Math.max(1, Math.min(segments, end - start));
+
+        final Instant[] bounds = new Instant[count + 1];
+        bounds[0] = to;
+        bounds[count] = from;
+
+        for (int i = 1; i < count; i++) {
+            bounds[i] = Instant.ofEpochMilli(end - (end - start) * i / count);
+        }
+
+        return bounds;
+    }
+
+    private final class Backfill implements Iterator<Trades.Transaction> {
+
+        private final String marketId;
+        private final Instant[] bounds;
+        private final Deque<Future<List<Trades.Transaction>>> pending = new ArrayDeque<>();
+
+        private int nextSegment;
+        private Iterator<Trades.Transaction> current = Collections.emptyIterator();
+
+        private Backfill(final String marketId, final Instant[] bounds) {
+            this.marketId = marketId;
+            this.bounds = bounds;
+
+            while (pending.size() < parallelism && submit()) {
+                // fill the window
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                if (pending.isEmpty()) {
+                    return false;
+                }
+
+                final List<Trades.Transaction> segment = await(pending.poll());
+                submit();
+                current = segment.iterator();
+            }
+
+            return true;
+        }
+
+        @Override
+        public Trades.Transaction next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return current.next();
+        }
+
+        private void close() {
+            for (Future<List<Trades.Transaction>> future : pending) {
+                future.cancel(true);
+            }
+
+            pending.clear();
+            nextSegment = bounds.length - 1;
+            current = Collections.emptyIterator();
+        }
+
+        private boolean submit() {
+            if (nextSegment >= bounds.length - 1) {
+                return false;
+            }
+
+            final Instant segmentFrom = bounds[nextSegment + 1];
+            final Instant segmentTo = bounds[nextSegment];
+            nextSegment++;
+
+            pending.add(Utils.PREFETCH_EXECUTOR.submit(() -> {
+                final List<Trades.Transaction> trades = new ArrayList<>();
+
+                try (TradeCursor cursor = new TradeCursor(jbuda, marketId, segmentFrom, segmentTo, rateLimiter, Utils.PREFETCH_EXECUTOR)) {
+                    cursor.forEachRemaining(trades::add);
+                }
+
+                return trades;
+            }));
+
+            return true;
+        }
+
+        private List<Trades.Transaction> await(final Future<List<Trades.Transaction>> future) {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException(e);
+            } catch (ExecutionException e) {
+                close();
+                throw new RuntimeException(format("Failed backfilling trades of market '%s'", marketId), e.getCause());
+            }
+        }
+
+    }
+
+}
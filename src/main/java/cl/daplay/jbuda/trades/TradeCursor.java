@@ -0,0 +1,273 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.Utils;
+import cl.daplay.jbuda.http.RateLimiter;
+import cl.daplay.jbuda.model.Trades;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+/**
+ * Walks a market's trade history from newest to oldest, between two instants.
+ *
+ * Each batch returned by getTrades(marketId, timestamp) ends at its oldest trade, which is where the next one is
+ * requested from. That next request is sent on a background thread as soon as a batch arrives, so the network
+ * works while the caller consumes it: at most the current batch and the one in flight are kept in memory.
+ *
+ * Trades at a batch boundary may be returned again by the next batch, those are skipped. Not thread safe.
+ */
+public final class TradeCursor implements Iterator<Trades.Transaction>, AutoCloseable {
+
+    private final static Logger LOGGER = Logger.getLogger(TradeCursor.class.getName());
+
+    private final JBuda jbuda;
+    private final String marketId;
+    private final Instant from;
+    private final Instant to;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService executor;
+
+    private List<Trades.Transaction> batch = Collections.emptyList();
+    private int index;
+
+    // trades at the oldest timestamp of the current and previous batch, the only ones a batch may repeat
+    // as it's requested from that timestamp (the boundary)
+    private List<Trades.Transaction> tail = Collections.emptyList();
+    private List<Trades.Transaction> previousTail = Collections.emptyList();
+    private Instant boundary;
+
+    // largest batch seen, ie: the API's page size
+    private int batchSize;
+
+    private Instant requested;
+    private Future<Trades> inFlight;
+
+    private Trades.Transaction next;
+    private Instant position;
+    private boolean done;
+
+    /**
+     * @param from oldest trade timestamp, inclusive
+     * @param to newest trade timestamp, exclusive
+     */
+    public TradeCursor(final JBuda jbuda, final String marketId, final Instant from, final Instant to) {
+        this(jbuda, marketId, from, to, null, Utils.PREFETCH_EXECUTOR);
+    }
+
+    /**
+     * @param rateLimiter acquired before each request, null for none
+     * @param executor runs prefetch requests
+     */
+    public TradeCursor(final JBuda jbuda,
+                       final String marketId,
+                       final Instant from,
+                       final Instant to,
+                       final RateLimiter rateLimiter,
+                       final ExecutorService executor) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException(format("Invalid range: %s, %s", from, to));
+        }
+
+        this.jbuda = jbuda;
+        this.marketId = marketId;
+        this.from = from;
+        this.to = to;
+        this.rateLimiter = rateLimiter;
+        this.executor = executor;
+
+        request(to);
+    }
+
+    public String getMarketId() {
+        return marketId;
+    }
+
+    /**
+     * @return timestamp of the last trade returned, null before the first one
+     */
+    public Instant getPosition() {
+        return position;
+    }
+
+    /**
+     * @throws RuntimeException wrapping the request's exception, if a batch couldn't be fetched
+     */
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = advance();
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public Trades.Transaction next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Trades.Transaction transaction = next;
+        next = null;
+        position = transaction.getTimestamp();
+
+        return transaction;
+    }
+
+    /**
+     * @return trades from newest to oldest, closing the stream closes this cursor
+     */
+    public Stream<Trades.Transaction> stream() {
+        final Spliterator<Trades.Transaction> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
+
+    /**
+     * cancels the prefetch in flight, if any
+     */
+    @Override
+    public void close() {
+        done = true;
+        next = null;
+        batch = Collections.emptyList();
+
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+    }
+
+    // ** implementation methods **
+
+    private Trades.Transaction advance() {
+        while (true) {
+            while (index < batch.size()) {
+                final Trades.Transaction transaction = batch.get(index++);
+                final Instant timestamp = transaction.getTimestamp();
+
+                if (!timestamp.isBefore(to)) {
+                    continue;
+                }
+                if (timestamp.isBefore(from)) {
+                    close();
+                    return null;
+                }
+                if (timestamp.equals(boundary) && contains(previousTail, transaction)) {
+                    continue;
+                }
+
+                return transaction;
+            }
+
+            if (inFlight == null) {
+                close();
+                return null;
+            }
+
+            load(await());
+        }
+    }
+
+    private void load(final Trades trades) {
+        final List<Trades.Transaction> entries = trades.getEntries();
+
+        previousTail = tail;
+        boundary = requested;
+        batch = entries;
+        index = 0;
+
+        if (entries.isEmpty()) {
+            tail = Collections.emptyList();
+            return;
+        }
+
+        final Instant oldest = entries.get(entries.size() - 1).getTimestamp();
+
+        tail = new ArrayList<>();
+        for (int i = entries.size() - 1; i >= 0 && entries.get(i).getTimestamp().equals(oldest); i--) {
+            tail.add(entries.get(i));
+        }
+
+        if (oldest.isBefore(from)) {
+            return;
+        }
+
+        batchSize = Math.max(batchSize, entries.size());
+
+        if (oldest.isBefore(requested)) {
+            request(oldest);
+        } else {
+            // every trade is at the requested millisecond, the API can't page inside it
+            if (entries.size() == batchSize) {
+                LOGGER.warning(format("At least %d trades at %s for market '%s', some may be missing", entries.size(), oldest, marketId));
+            }
+            request(oldest.minusMillis(1));
+        }
+    }
+
+    private void request(final Instant timestamp) {
+        requested = timestamp;
+        inFlight = executor.submit(() -> {
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+
+            return jbuda.getTrades(marketId, timestamp);
+        });
+    }
+
+    private Trades await() {
+        final Future<Trades> future = inFlight;
+        inFlight = null;
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException(e);
+        } catch (ExecutionException e) {
+            close();
+            throw new RuntimeException(format("Failed fetching trades of market '%s' at %s", marketId, requested), e.getCause());
+        }
+    }
+
+    private static boolean contains(final List<Trades.Transaction> transactions, final Trades.Transaction transaction) {
+        for (Trades.Transaction other : transactions) {
+            if (same(other, transaction)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * same trade, comparing amounts and prices by value as different batches may differ in scale
+     */
+    static boolean same(final Trades.Transaction a, final Trades.Transaction b) {
+        return a.getTimestamp().equals(b.getTimestamp()) &&
+                a.getAmount().compareTo(b.getAmount()) == 0 &&
+                a.getPrice().compareTo(b.getPrice()) == 0 &&
+                Objects.equals(a.getDirection(), b.getDirection());
+    }
+
+}
@@ -0,0 +1,138 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.model.Trades;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+/**
+ * Forwards each trade downstream exactly once, however many overlapping getTrades batches return it.
+ *
+ * Trades are identified by a 64 bit hash of timestamp, amount, price and direction, kept in a primitive
+ * open addressing set only for the given window behind the newest trade seen. Memory is bound by the trades
+ * within that window, not by the length of the stream. Trades older than the window can't be told apart
+ * from already seen ones, so they're dropped and counted as late: the window must cover the overlap between
+ * the batches being ingested.
+ *
+ * Downstream is called while holding this ingestor's lock, in ingestion order.
+ */
+public final class TradeIngestor {
+
+    private final long window;
+    private final Consumer<? super Trades.Transaction> downstream;
+    private final TradeKeySet keys = new TradeKeySet();
+
+    private long newest = Long.MIN_VALUE;
+    private long lastExpiry = Long.MIN_VALUE;
+    private long duplicates;
+    private long late;
+
+    public TradeIngestor(final Duration window, final Consumer<? super Trades.Transaction> downstream) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException(format("Invalid window: %s", window));
+        }
+
+        this.window = window.toMillis();
+        this.downstream = downstream;
+    }
+
+    /**
+     * ingests a batch from oldest to newest trade, as getTrades returns them newest first
+     *
+     * @return number of trades forwarded downstream
+     */
+    public synchronized int ingest(final Trades trades) {
+        final List<Trades.Transaction> entries = trades.getEntries();
+        int count = 0;
+
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            if (accept(entries.get(i))) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * @return true if transaction was new, and forwarded downstream
+     */
+    public synchronized boolean accept(final Trades.Transaction transaction) {
+        final long timestamp = transaction.getTimestamp().toEpochMilli();
+
+        if (newest != Long.MIN_VALUE && timestamp < newest - window) {
+            late++;
+            return false;
+        }
+
+        if (!keys.add(key(transaction), timestamp)) {
+            duplicates++;
+            return false;
+        }
+
+        if (timestamp > newest) {
+            newest = timestamp;
+            expire();
+        }
+
+        downstream.accept(transaction);
+        return true;
+    }
+
+    /**
+     * @return trades currently remembered, those within the window
+     */
+    public synchronized int size() {
+        return keys.size();
+    }
+
+    public synchronized long getDuplicates() {
+        return duplicates;
+    }
+
+    public synchronized long getLate() {
+        return late;
+    }
+
+    // ** implementation methods **
+
+    /**
+     * expires keys older than the window, sweeping the table only every quarter window so it's amortized
+     */
+    private void expire() {
+        if (lastExpiry == Long.MIN_VALUE) {
+            lastExpiry = newest;
+        } else if (newest - lastExpiry >= Math.max(1, window / 4)) {
+            keys.expire(newest - window);
+            lastExpiry = newest;
+        }
+    }
+
+    /**
+     * amounts and prices are hashed by value through their double bits, so "1.50" and "1.5" are the same
+     */
+    static long key(final Trades.Transaction transaction) {
+        long h = transaction.getTimestamp().toEpochMilli();
+        h = h * 0x9E3779B97F4A7C15L + bits(transaction.getAmount());
+        h = h * 0x9E3779B97F4A7C15L + bits(transaction.getPrice());
+        h = h * 0x9E3779B97F4A7C15L + (transaction.getDirection() == null ? 0 : transaction.getDirection().hashCode());
+
+        // murmur3 finalizer
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE1A85F2BL;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    private static long bits(final BigDecimal value) {
+        return value == null ? 0 : Double.doubleToLongBits(value.doubleValue() + 0.0);
+    }
+
+}
@@ -0,0 +1,162 @@
+package cl.daplay.jbuda.trades;
+
+/**
+ * Open addressing (linear probing) set of 64 bit trade keys, each one stored next to its trade's timestamp
+ * so old keys can be expired in bulk. Two long arrays, no boxing nor per entry objects. Not thread safe.
+ *
+ * 0 marks an empty slot, so a key of 0 is kept apart.
+ */
+final class TradeKeySet {
+
+    private final static int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private long[] timestamps;
+    private int size;
+
+    private boolean zero;
+    private long zeroTimestamp;
+
+    TradeKeySet() {
+        this(MIN_CAPACITY);
+    }
+
+    TradeKeySet(final int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    int size() {
+        return zero ? size + 1 : size;
+    }
+
+    /**
+     * table slots, memory used is 16 bytes per slot
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    boolean contains(final long key) {
+        if (key == 0) {
+            return zero;
+        }
+
+        final int mask = keys.length - 1;
+
+        for (int i = mix(key) & mask; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * @return true if key wasn't in the set
+     */
+    boolean add(final long key, final long timestamp) {
+        if (key == 0) {
+            if (zero) {
+                return false;
+            }
+
+            zero = true;
+            zeroTimestamp = timestamp;
+            return true;
+        }
+
+        final int mask = keys.length - 1;
+
+        int i = mix(key) & mask;
+        for (; keys[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return false;
+            }
+        }
+
+        keys[i] = key;
+        timestamps[i] = timestamp;
+        size++;
+
+        // load factor of 1/2 keeps probe sequences short
+        if (size * 2 > keys.length) {
+            rehash(keys.length * 2, Long.MIN_VALUE);
+        }
+
+        return true;
+    }
+
+    /**
+     * removes every key with a timestamp before the given one, shrinking the table if it got too sparse
+     */
+    void expire(final long before) {
+        if (zero && zeroTimestamp < before) {
+            zero = false;
+        }
+
+        rehash(Math.max(capacityFor(liveCount(before)), MIN_CAPACITY), before);
+    }
+
+    // ** implementation methods **
+
+    private int liveCount(final long before) {
+        int count = 0;
+
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != 0 && timestamps[i] >= before) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private void rehash(final int capacity, final long before) {
+        final long[] oldKeys = keys;
+        final long[] oldTimestamps = timestamps;
+
+        allocate(capacity);
+
+        final int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            final long k = oldKeys[j];
+
+            if (k != 0 && oldTimestamps[j] >= before) {
+                int i = mix(k) & mask;
+                while (keys[i] != 0) {
+                    i = (i + 1) & mask;
+                }
+
+                keys[i] = k;
+                timestamps[i] = oldTimestamps[j];
+                size++;
+            }
+        }
+    }
+
+    private void allocate(final int capacity) {
+        keys = new long[capacity];
+        timestamps = new long[capacity];
+        size = 0;
+    }
+
+    private static int capacityFor(final int size) {
+        int capacity = MIN_CAPACITY;
+
+        while (capacity < size * 2 + 2) {
+            capacity <<= 1;
+        }
+
+        return capacity;
+    }
+
+    /**
+     * keys are already hashes, this only spreads their high bits into the low ones used as index
+     */
+    private static int mix(final long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+}
@@ -0,0 +1,120 @@
+package cl.daplay.jbuda.kernel;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernels on the JDK Vector API, at the widest lane count the CPU supports, with scalar loops for the tails.
+ * Loaded by ColumnKernels only on Java 17+ with the jdk.incubator.vector module.
+ */
+enum VectorKernels implements Kernels {
+
+    INSTANCE;
+
+    private final static VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private final static VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public long sum(final long[] values, final int from, final int to) {
+        final int bound = from + LONGS.loopBound(to - from);
+        LongVector sums = LongVector.zero(LONGS);
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            sums = sums.add(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += values[i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long sum(final long[] values, final boolean[] mask, final boolean selected, final int from, final int to) {
+        final int bound = from + LONGS.loopBound(to - from);
+        LongVector sums = LongVector.zero(LONGS);
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            final VectorMask<Long> lanes = VectorMask.fromArray(LONGS, mask, i);
+            sums = sums.add(LongVector.fromArray(LONGS, values, i), selected ? lanes : lanes.not());
+        }
+
+        long sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            if (mask[i] == selected) {
+                sum += values[i];
+            }
+        }
+
+        return sum;
+    }
+
+    @Override
+    public long min(final long[] values, final int from, final int to) {
+        final int bound = from + LONGS.loopBound(to - from);
+        LongVector mins = LongVector.broadcast(LONGS, Long.MAX_VALUE);
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            mins = mins.min(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long min = mins.reduceLanes(VectorOperators.MIN);
+        for (; i < to; i++) {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    @Override
+    public long max(final long[] values, final int from, final int to) {
+        final int bound = from + LONGS.loopBound(to - from);
+        LongVector maxs = LongVector.broadcast(LONGS, Long.MIN_VALUE);
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            maxs = maxs.max(LongVector.fromArray(LONGS, values, i));
+        }
+
+        long max = maxs.reduceLanes(VectorOperators.MAX);
+        for (; i < to; i++) {
+            max = Math.max(max, values[i]);
+        }
+
+        return max;
+    }
+
+    @Override
+    public double dot(final long[] a, final long[] b, final int from, final int to) {
+        final int bound = from + LONGS.loopBound(to - from);
+        DoubleVector sums = DoubleVector.zero(DOUBLES);
+        int i = from;
+
+        for (; i < bound; i += LONGS.length()) {
+            final DoubleVector x = (DoubleVector) LongVector.fromArray(LONGS, a, i).convertShape(VectorOperators.L2D, DOUBLES, 0);
+            final DoubleVector y = (DoubleVector) LongVector.fromArray(LONGS, b, i).convertShape(VectorOperators.L2D, DOUBLES, 0);
+            sums = sums.add(x.mul(y));
+        }
+
+        double sum = sums.reduceLanes(VectorOperators.ADD);
+        for (; i < to; i++) {
+            sum += (double) a[i] * b[i];
+        }
+
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        return "VectorKernels{lanes=" + LONGS.length() + '}';
+    }
+
+}
@@ -0,0 +1,368 @@
+package cl.daplay.jbuda;
+
+import cl.daplay.jbuda.book.PrimitiveOrderBook;
+import cl.daplay.jbuda.model.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * tests any JSON implementation against the examples at src/test/resources
+ */
+public abstract class AbstractJSON_UT {
+
+    protected final JSON json;
+
+    protected AbstractJSON_UT(final JSON json) {
+        this.json = json;
+    }
+
+    @Test
+    public void newAPIKey() throws IOException {
+        Instant expiration = Instant.now();
+        String name = UUID.randomUUID().toString();
+
+        String out = json.newAPIKey(name, expiration);
+        ApiKey apiKey = json.apiKey(out);
+
+        Assert.assertEquals(expiration, apiKey.getExpirationTime());
+        Assert.assertEquals(name, apiKey.getName());
+
+        System.out.println(out);
+        System.out.println(apiKey);
+    }
+
+    @Test
+    public void newOrder() throws IOException {
+        Random random = new Random();
+
+        String marketId = UUID.randomUUID().toString();
+        String orderType = UUID.randomUUID().toString();
+        String orderPriceType = UUID.randomUUID().toString();
+
+        BigDecimal qty = new BigDecimal(random.nextInt());
+        BigDecimal price = new BigDecimal(random.nextInt());
+
+        String out = json.newOrder(marketId, orderType, orderPriceType, qty, price);
+
+        System.out.println(out);
+    }
+
+    @Test
+    public void cancelOrder() throws IOException {
+        Random random = new Random();
+
+        String out = json.cancelOrder(random.nextLong());
+        System.out.println(out);
+        Assert.assertTrue("{\"state\":\"CANCELING\"}".equals(out));
+    }
+
+    @Test
+    public void apiKey() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/api_key.json"));
+        ApiKey apiKey = json.apiKey(jsonExample);
+
+        Assert.assertTrue(jsonExample.contains(apiKey.getId()));
+        Assert.assertTrue(jsonExample.contains(apiKey.getName()));
+        Assert.assertTrue(jsonExample.contains(apiKey.getSecret()));
+    }
+
+    @Test
+    public void markets() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/markets.json"));
+        List<Market> markets = json.markets(jsonExample);
+
+        Assert.assertFalse(markets.isEmpty());
+    }
+
+    @Test
+    public void order() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order.json"));
+        Order order = json.order(jsonExample);
+
+        Assert.assertTrue(jsonExample.contains(order.getId() + ""));
+        Assert.assertTrue(jsonExample.contains(order.getType()));
+        Assert.assertTrue(jsonExample.contains(order.getState()));
+    }
+
+    @Test
+    public void ticker() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/ticker.json"));
+        Ticker ticker = json.ticker(jsonExample);
+
+        Assert.assertTrue(ticker.getLastPrice().longValueExact() == 1749000);
+    }
+
+    @Test
+    public void trades() throws IOException {
+        for (int i = 1; i < 8; i++) {
+            String fileName = format("/trades%d.json", i);
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(fileName));
+            Trades trades = json.trades(jsonExample);
+
+            List<Trades.Transaction> transactions = trades.getEntries();
+            Trades.Transaction lastTransaction = transactions.get(transactions.size() - 1);
+
+            Assert.assertTrue(trades.getLastTimestamp().equals(lastTransaction.getTimestamp()));
+        }
+    }
+
+    @Test
+    public void order_book() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        OrderBook orderBook = json.orderBook(jsonExample);
+
+        Assert.assertTrue(orderBook.getAsks().size() == 35);
+        Assert.assertTrue(orderBook.getBids().size() == 72);
+    }
+
+    @Test
+    public void order_book_max_depth() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        OrderBook orderBook = json.orderBook(jsonExample);
+
+        for (int maxDepth : new int[]{0, 1, 10, 35, 50, 100}) {
+            OrderBook limited = json.orderBook(jsonExample, maxDepth);
+
+            Assert.assertEquals(orderBook.getAsks().subList(0, Math.min(maxDepth, 35)), limited.getAsks());
+            Assert.assertEquals(orderBook.getBids().subList(0, Math.min(maxDepth, 72)), limited.getBids());
+            Assert.assertEquals(limited.toString(), json.orderBook(bytes(jsonExample), maxDepth).toString());
+        }
+    }
+
+    @Test
+    public void primitive_order_book() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        OrderBook orderBook = json.orderBook(jsonExample);
+        PrimitiveOrderBook primitive = json.primitiveOrderBook(jsonExample, 2, 8);
+
+        Assert.assertEquals(PrimitiveOrderBook.of(orderBook, 2, 8), primitive);
+        Assert.assertEquals(primitive, json.primitiveOrderBook(bytes(jsonExample), 2, 8));
+        Assert.assertEquals(orderBook.getBids().size(), primitive.bids().size());
+        Assert.assertEquals(orderBook.getAsks().size(), primitive.asks().size());
+
+        for (int i = 0; i < primitive.bids().size(); i++) {
+            Assert.assertEquals(0, orderBook.getBids().get(i).getPrice().compareTo(primitive.getBids().get(i).getPrice()));
+            Assert.assertEquals(0, orderBook.getBids().get(i).getAmount().compareTo(primitive.getBids().get(i).getAmount()));
+        }
+    }
+
+    @Test(expected = Exception.class)
+    public void primitive_order_book_scale_too_small() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        json.primitiveOrderBook(jsonExample, 2, 4);
+    }
+
+    @Test
+    public void orders_projected() throws IOException {
+        Set<OrderField> fields = EnumSet.of(OrderField.STATE, OrderField.TRADED_AMOUNT, OrderField.TOTAL_EXCHANGED);
+
+        for (String filename : Arrays.asList("/orders.json", "/orders2.json", "/orders_empty.json")) {
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(filename));
+            List<Order> orders = json.orders(jsonExample);
+            List<Order> projected = json.orders(jsonExample, fields);
+
+            Assert.assertEquals(orders.size(), projected.size());
+            Assert.assertEquals(projected.toString(), json.orders(bytes(jsonExample), fields).toString());
+
+            for (int i = 0; i < orders.size(); i++) {
+                Assert.assertEquals(orders.get(i).getId(), projected.get(i).getId());
+                Assert.assertEquals(orders.get(i).getState(), projected.get(i).getState());
+                Assert.assertEquals(orders.get(i).getTradedAmount(), projected.get(i).getTradedAmount());
+                Assert.assertEquals(orders.get(i).getTradedAmountCurrency(), projected.get(i).getTradedAmountCurrency());
+                Assert.assertEquals(orders.get(i).getTotalExchanged(), projected.get(i).getTotalExchanged());
+                Assert.assertNull(projected.get(i).getType());
+                Assert.assertNull(projected.get(i).getCreatedAt());
+                Assert.assertNull(projected.get(i).getLimit());
+                Assert.assertNull(projected.get(i).getPaidFeeCurrency());
+            }
+        }
+    }
+
+    @Test
+    public void deposits_and_withdrawals_projected() throws IOException {
+        String deposits = convertStreamToString(getClass().getResourceAsStream("/deposits_btc.json"));
+        List<Deposit> projectedDeposits = json.deposits(deposits, EnumSet.of(DepositField.AMOUNT));
+
+        Assert.assertEquals(json.deposits(deposits).get(0).getAmount(), projectedDeposits.get(0).getAmount());
+        Assert.assertNull(projectedDeposits.get(0).getDepositData());
+        Assert.assertNull(projectedDeposits.get(0).getState());
+
+        String withdrawals = convertStreamToString(getClass().getResourceAsStream("/withdrawals_clp.json"));
+        List<Withdrawal> projectedWithdrawals = json.withdrawls(withdrawals, EnumSet.of(WithdrawalField.STATE));
+
+        Assert.assertEquals(json.withdrawls(withdrawals).size(), projectedWithdrawals.size());
+        Assert.assertEquals(json.withdrawls(withdrawals).get(0).getState(), projectedWithdrawals.get(0).getState());
+        Assert.assertNull(projectedWithdrawals.get(0).getWithdrawalData());
+        Assert.assertNull(projectedWithdrawals.get(0).getAmount());
+
+        String empty = convertStreamToString(getClass().getResourceAsStream("/withdrawals_empty.json"));
+        Assert.assertTrue(json.withdrawls(empty, EnumSet.of(WithdrawalField.STATE)).isEmpty());
+    }
+
+    @Test
+    public void balances() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/balances.json"));
+        List<Balance> balances = json.balances(jsonExample);
+
+        Assert.assertTrue(balances.size() == 4);
+    }
+
+    @Test
+    public void balance() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/balance.json"));
+        Balance balance = json.balance(jsonExample);
+
+        Assert.assertTrue(balance.getAccountId() == 1898);
+    }
+
+    @Test
+    public void orders() throws IOException {
+        List<String> filenames = Arrays.asList("/orders.json", "/orders2.json", "/orders_empty.json");
+
+        for (String filename: filenames) {
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(filename));
+            List<Order> orders = json.orders(jsonExample);
+
+            if (filename.endsWith("_empty.json")) {
+                Assert.assertTrue(orders.isEmpty());
+            } else {
+                Assert.assertFalse(orders.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void deposits() throws IOException {
+        List<String> filenames = Arrays.asList("/deposits_btc.json", "/deposits_clp.json", "/deposits_empty.json");
+
+        for (String filename: filenames) {
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(filename));
+            List<Deposit> deposits = json.deposits(jsonExample);
+
+            if (filename.endsWith("_empty.json")) {
+                Assert.assertTrue(deposits.isEmpty());
+            } else {
+                Assert.assertFalse(deposits.isEmpty());
+            }
+        }
+    }
+
+    @Test
+    public void withdrawls() throws IOException {
+        List<String> filenames = Arrays.asList("/withdrawals_btc.json", "/withdrawals_clp.json", "/withdrawals_empty.json");
+
+        for (String filename: filenames) {
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(filename));
+            List<Withdrawal> withdrawls = json.withdrawls(jsonExample);
+
+            if (filename.endsWith("_empty.json")) {
+                Assert.assertTrue(withdrawls.isEmpty());
+            } else {
+                Assert.assertFalse(withdrawls.isEmpty());
+            }
+        }
+
+    }
+
+    @Test
+    public void page() throws IOException {
+        // List<String> filenames = Arrays.asList(
+        //         "/withdrawals_btc.json",
+        //         "/withdrawals_clp.json",
+        //         "/withdrawals_empty.json",
+        //         "/orders2.json",
+        //         "/orders.json",
+        //         "/orders_empty.json",
+        //         "/deposits_btc.json",
+        //         "/deposits_clp.json",
+        //         "/deposits_empty.json");
+
+        List<String> filenames = Arrays.asList("/withdrawals_btc.json");
+
+        for (String filename: filenames) {
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(filename));
+            Page page = json.page(jsonExample);
+
+        }
+
+        /// aqui hay que probar todos los archivos de ejemplo y punto
+    }
+
+    /**
+     * wraps json as UTF-8 in the middle of a larger array, as pooled buffers do
+     */
+    private ByteBuffer bytes(String json) {
+        byte[] bytes = json.getBytes(UTF_8);
+        byte[] array = new byte[bytes.length + 20];
+        Arrays.fill(array, (byte) '?');
+        System.arraycopy(bytes, 0, array, 10, bytes.length);
+
+        return ByteBuffer.wrap(array, 10, bytes.length).slice();
+    }
+
+    @Test
+    public void bytes() throws Exception {
+        String orders = convertStreamToString(getClass().getResourceAsStream("/orders.json"));
+        String trades = convertStreamToString(getClass().getResourceAsStream("/trades1.json"));
+        String orderBook = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        String withdrawals = convertStreamToString(getClass().getResourceAsStream("/withdrawals_clp.json"));
+        String deposits = convertStreamToString(getClass().getResourceAsStream("/deposits_btc.json"));
+        String ticker = convertStreamToString(getClass().getResourceAsStream("/ticker.json"));
+        String exception = convertStreamToString(getClass().getResourceAsStream("/exception2.json"));
+
+        Assert.assertEquals(json.orders(orders).toString(), json.orders(bytes(orders)).toString());
+        Assert.assertEquals(json.page(orders).getTotalCount(), json.page(bytes(orders)).getTotalCount());
+        Assert.assertEquals(json.trades(trades).toString(), json.trades(bytes(trades)).toString());
+        Assert.assertEquals(json.orderBook(orderBook).toString(), json.orderBook(bytes(orderBook)).toString());
+        Assert.assertEquals(json.withdrawls(withdrawals).toString(), json.withdrawls(bytes(withdrawals)).toString());
+        Assert.assertEquals(json.deposits(deposits).toString(), json.deposits(bytes(deposits)).toString());
+        Assert.assertEquals(json.ticker(ticker).toString(), json.ticker(bytes(ticker)).toString());
+        Assert.assertEquals(json.exception(400, exception).getMessage(), json.exception(400, bytes(exception)).getMessage());
+    }
+
+    @Test
+    public void bytes_direct_buffer() throws IOException {
+        String orders = convertStreamToString(getClass().getResourceAsStream("/orders.json"));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(orders.length() * 2);
+        buffer.put(orders.getBytes(UTF_8)).flip();
+
+        Assert.assertEquals(json.orders(orders).toString(), json.orders(buffer).toString());
+        Assert.assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void exception() throws Exception {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/exception.json"));
+        JBudaException exception = json.exception(400, jsonExample);
+        Assert.assertTrue(exception.message.equals("authentication failed"));
+    }
+
+    @Test
+    public void exception2() throws Exception {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/exception2.json"));
+        JBudaException exception = json.exception(400, jsonExample);
+        Assert.assertTrue(exception.message.equals("Validation Failed"));
+        Assert.assertTrue(exception.code.equals("invalid_record"));
+        Assert.assertTrue(exception.details.length == 1);
+        Assert.assertTrue(exception.details[0].resource.equals("Bid"));
+        Assert.assertTrue(exception.details[0].field.equals("amount_cents"));
+        Assert.assertTrue(exception.details[0].code.equals("insolvent"));
+        Assert.assertTrue(exception.details[0].message.equals("insolvent"));
+    }
+
+}
@@ -0,0 +1,151 @@
+package cl.daplay.jbuda;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.Random;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+public class Decoders_UT {
+
+    private static Instant instant(String text) {
+        final byte[] bytes = ("__" + text + "__").getBytes(US_ASCII);
+        final Instant fromBytes = Decoders.parseInstant(bytes, 2, text.length());
+        final Instant fromChars = Decoders.parseInstant(text.toCharArray(), 0, text.length());
+
+        Assert.assertEquals(fromBytes, fromChars);
+        return fromBytes;
+    }
+
+    private static BigDecimal decimal(String text) {
+        final byte[] bytes = ("__" + text + "__").getBytes(US_ASCII);
+        final BigDecimal fromBytes = Decoders.parseDecimal(bytes, 2, text.length());
+        final BigDecimal fromChars = Decoders.parseDecimal(text.toCharArray(), 0, text.length());
+
+        Assert.assertEquals(fromBytes, fromChars);
+        return fromBytes;
+    }
+
+    private static long fixed(String text, int scale) {
+        final long fromBytes = Decoders.parseFixed(text.getBytes(US_ASCII), 0, text.length(), scale);
+        final long fromChars = Decoders.parseFixed(text.toCharArray(), 0, text.length(), scale);
+
+        Assert.assertEquals(fromBytes, fromChars);
+        return fromBytes;
+    }
+
+    @Test
+    public void instant_epoch_millis() {
+        Assert.assertEquals(Instant.ofEpochMilli(1509127464240L), instant("1509127464240"));
+        Assert.assertEquals(Instant.EPOCH, instant("0"));
+        Assert.assertNull(instant(""));
+    }
+
+    @Test
+    public void instant_iso() {
+        for (String text : new String[]{
+                "2017-10-22T23:37:15.279Z",
+                "2017-10-22T23:37:15Z",
+                "2017-10-22T23:37:15.1Z",
+                "2017-10-22T23:37:15.123456789Z",
+                "2016-02-29T00:00:00.000Z",
+                "1970-01-01T00:00:00Z",
+                "1969-12-31T23:59:59.999Z",
+                "0001-01-01T00:00:00Z",
+                "9999-12-31T23:59:59.999999999Z"}) {
+            Assert.assertEquals(text, Instant.parse(text), instant(text));
+        }
+
+        Assert.assertEquals(OffsetDateTime.parse("2017-10-22T20:37:15.279-03:00").toInstant(), instant("2017-10-22T20:37:15.279-03:00"));
+        Assert.assertEquals(OffsetDateTime.parse("2017-10-23T05:07:15+05:30").toInstant(), instant("2017-10-23T05:07:15+05:30"));
+    }
+
+    @Test
+    public void instant_random() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            final Instant expected = Instant.ofEpochSecond(random.nextInt(Integer.MAX_VALUE), random.nextInt(1_000_000_000));
+            Assert.assertEquals(expected, instant(expected.toString()));
+        }
+    }
+
+    @Test(expected = java.time.format.DateTimeParseException.class)
+    public void instant_invalid_day() {
+        instant("2017-02-29T00:00:00Z");
+    }
+
+    @Test(expected = java.time.format.DateTimeParseException.class)
+    public void instant_garbage() {
+        instant("yesterday");
+    }
+
+    @Test
+    public void decimal_same_as_big_decimal() {
+        for (String text : new String[]{
+                "0", "0.0", "-0.0", "3853999.0", "0.00050403", "-0.049", "+1.5", ".5", "-.5", "1.",
+                "123456789012345678", "1234567890123456789", "99999999999999999999.99", "1E+3", "1.5e-7"}) {
+            final BigDecimal expected = new BigDecimal(text);
+            final BigDecimal actual = decimal(text);
+
+            Assert.assertEquals(text, expected, actual);
+            Assert.assertEquals(text, expected.scale(), actual.scale());
+        }
+
+        Assert.assertNull(decimal(""));
+    }
+
+    @Test
+    public void decimal_random() {
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            final String text = BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(20)).toPlainString();
+            Assert.assertEquals(text, new BigDecimal(text), decimal(text));
+        }
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void decimal_invalid() {
+        decimal("1.2.3");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void decimal_sign_only() {
+        decimal("-");
+    }
+
+    @Test
+    public void fixed() {
+        Assert.assertEquals(1250L, fixed("12.5", 2));
+        Assert.assertEquals(50403L, fixed("0.00050403", 8));
+        Assert.assertEquals(3853999L, fixed("3853999.0", 0));
+        Assert.assertEquals(-4900L, fixed("-0.049", 5));
+        Assert.assertEquals(1234567890123456789L, fixed("1234567890123456789", 0));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void fixed_rounding() {
+        fixed("0.125", 2);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void fixed_overflow() {
+        fixed("92233720368547758.08", 2);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixed_negative_scale() {
+        Decoders.parseFixed("12.5".getBytes(US_ASCII), 0, 4, -1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixed_negative_scale_chars() {
+        Decoders.parseFixed("12.5".toCharArray(), 0, 4, -1);
+    }
+
+}
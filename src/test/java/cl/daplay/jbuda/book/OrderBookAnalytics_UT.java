@@ -0,0 +1,138 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import cl.daplay.jbuda.model.OrderBook;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+import static cl.daplay.jbuda.book.OrderBooks.book;
+
+public class OrderBookAnalytics_UT {
+
+    private PrimitiveOrderBook newBook() {
+        // bids: 1.00 @ 100, 2.00 @ 99 / asks: 1.00 @ 102, 3.00 @ 104
+        return book(0, 2, new long[]{100, 99}, new long[]{100, 200}, new long[]{102, 104}, new long[]{100, 300});
+    }
+
+    /**
+     * cost to fill quantity, the BigDecimal way
+     */
+    private BigDecimal cost(List<OrderBook.Offer> offers, BigDecimal quantity) {
+        BigDecimal cost = BigDecimal.ZERO;
+        BigDecimal remaining = quantity;
+
+        for (OrderBook.Offer offer : offers) {
+            BigDecimal filled = remaining.min(offer.getAmount());
+            cost = cost.add(filled.multiply(offer.getPrice()));
+            remaining = remaining.subtract(filled);
+
+            if (remaining.signum() == 0) {
+                return cost;
+            }
+        }
+
+        return null;
+    }
+
+    @Test
+    public void cost_and_average_price() {
+        OrderBookAnalytics analytics = new OrderBookAnalytics(newBook());
+
+        Assert.assertEquals(102 * 0.5, analytics.cost(true, 50), 1e-9);
+        Assert.assertEquals(102 + 104 * 2, analytics.cost(true, 300), 1e-9);
+        Assert.assertEquals((102 + 104 * 2) / 3.0, analytics.averagePrice(true, 300), 1e-9);
+        Assert.assertEquals(100 + 99 * 0.5, analytics.cost(false, 150), 1e-9);
+        Assert.assertTrue(Double.isNaN(analytics.cost(true, 401)));
+    }
+
+    @Test
+    public void price_after() {
+        OrderBookAnalytics analytics = new OrderBookAnalytics(newBook());
+
+        Assert.assertEquals(102, analytics.priceAfter(true, 100));
+        Assert.assertEquals(104, analytics.priceAfter(true, 101));
+        Assert.assertEquals(99, analytics.priceAfter(false, 300));
+        Assert.assertEquals(-1, analytics.priceAfter(false, 301));
+    }
+
+    @Test
+    public void mid_imbalance_and_depth() {
+        OrderBookAnalytics analytics = new OrderBookAnalytics(newBook());
+
+        Assert.assertEquals(101, analytics.mid(), 1e-9);
+        Assert.assertEquals(101, analytics.weightedMid(), 1e-9);
+        Assert.assertEquals(0, analytics.imbalance(1), 1e-9);
+        Assert.assertEquals((300 - 400) / 700.0, analytics.imbalance(10), 1e-9);
+        // 100 bps of 101 is 99.99 to 102.01
+        Assert.assertEquals(100, analytics.depthWithin(true, 100));
+        Assert.assertEquals(100, analytics.depthWithin(false, 100));
+        Assert.assertEquals(300, analytics.depthWithin(true, 300));
+        Assert.assertEquals(400, analytics.depthWithin(false, 300));
+    }
+
+    @Test
+    public void depth_band_edges_are_exact() {
+        OrderBookAnalytics analytics = new OrderBookAnalytics(book(0, 2, new long[]{199, 198}, new long[]{100, 200}, new long[]{201, 202}, new long[]{100, 300}));
+
+        // 50 bps of 200 is 199 to 201 exactly, which doubles round to 200.99999999999997
+        Assert.assertEquals(100, analytics.depthWithin(true, 50));
+        Assert.assertEquals(100, analytics.depthWithin(false, 50));
+        Assert.assertEquals(0, analytics.depthWithin(false, 49.99));
+        Assert.assertEquals(300, analytics.depthWithin(true, 100));
+    }
+
+    @Test
+    public void slippage() {
+        OrderBookAnalytics analytics = new OrderBookAnalytics(newBook());
+
+        Assert.assertEquals(0, analytics.slippage(true, 100), 1e-9);
+        Assert.assertEquals(((102 + 104 * 2) / 3.0 - 102) / 102 * 10_000, analytics.slippage(true, 300), 1e-9);
+        Assert.assertEquals(((100 - (100 + 99 * 2) / 3.0) / 100) * 10_000, analytics.slippage(false, 300), 1e-9);
+    }
+
+    @Test
+    public void same_as_big_decimal() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        OrderBook orderBook = BudaJSON.INSTANCE.orderBook(jsonExample);
+        OrderBookAnalytics analytics = new OrderBookAnalytics(BudaJSON.INSTANCE.primitiveOrderBook(jsonExample, 2, 8));
+
+        for (String quantity : new String[]{"0.0001", "0.05", "0.5", "1.23456789", "3"}) {
+            long fixed = new BigDecimal(quantity).movePointRight(8).longValueExact();
+
+            BigDecimal expected = cost(orderBook.getAsks(), new BigDecimal(quantity));
+            if (expected == null) {
+                Assert.assertTrue(Double.isNaN(analytics.cost(true, fixed)));
+            } else {
+                Assert.assertEquals(expected.doubleValue(), analytics.cost(true, fixed), expected.doubleValue() * 1e-12);
+            }
+
+            expected = cost(orderBook.getBids(), new BigDecimal(quantity));
+            Assert.assertEquals(expected.doubleValue(), analytics.cost(false, fixed), expected.doubleValue() * 1e-12);
+        }
+    }
+
+    @Test
+    public void incremental_update() {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.update(newBook());
+
+        OrderBookAnalytics analytics = new OrderBookAnalytics(tracker.getLast());
+        tracker.addListener(analytics);
+
+        tracker.update(book(0, 2, new long[]{100, 99}, new long[]{100, 200}, new long[]{102, 103, 104}, new long[]{100, 50, 300}));
+        tracker.update(book(0, 2, new long[]{100, 98}, new long[]{100, 500}, new long[]{102, 103, 104}, new long[]{100, 50, 300}));
+
+        OrderBookAnalytics expected = new OrderBookAnalytics(tracker.getLast());
+        for (long quantity = 0; quantity <= 600; quantity += 25) {
+            Assert.assertEquals(expected.cost(true, quantity), analytics.cost(true, quantity), 1e-9);
+            Assert.assertEquals(expected.cost(false, quantity), analytics.cost(false, quantity), 1e-9);
+        }
+        Assert.assertSame(tracker.getLast(), analytics.getBook());
+    }
+
+}
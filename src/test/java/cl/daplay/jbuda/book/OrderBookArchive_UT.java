@@ -0,0 +1,217 @@
+package cl.daplay.jbuda.book;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static cl.daplay.jbuda.book.OrderBooks.book;
+
+public class OrderBookArchive_UT {
+
+    private final static long START = 1_500_000_000_000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void before() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void time_travel() throws IOException {
+        List<PrimitiveOrderBook> books = books(500, new Random(1));
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8, 10)) {
+            Assert.assertNull(archive.getNewest());
+
+            for (int i = 0; i < books.size(); i++) {
+                archive.append(Instant.ofEpochMilli(START + i * 1000L), books.get(i));
+            }
+
+            Assert.assertEquals(Instant.ofEpochMilli(START), archive.getOldest());
+            Assert.assertEquals(Instant.ofEpochMilli(START + 499_000), archive.getNewest());
+            check(archive, books);
+        }
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8, 10)) {
+            // every 7th book is unchanged
+            Assert.assertEquals(500 - 71, archive.size());
+            check(archive, books);
+
+            // continues with a delta from the reloaded book
+            archive.append(Instant.ofEpochMilli(START + 500_000), books.get(0));
+            Assert.assertEquals(books.get(0), archive.at(Instant.ofEpochMilli(START + 600_000)));
+            Assert.assertEquals(books.get(499), archive.at(Instant.ofEpochMilli(START + 499_999)));
+        }
+    }
+
+    @Test
+    public void unchanged_books_are_not_written() throws IOException {
+        PrimitiveOrderBook book = book(new long[]{100, 99}, new long[]{1, 2}, new long[]{101}, new long[]{3});
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 0, 0)) {
+            Assert.assertTrue(archive.append(Instant.ofEpochMilli(START), book));
+            Assert.assertFalse(archive.append(Instant.ofEpochMilli(START + 1), book(new long[]{100, 99}, new long[]{1, 2}, new long[]{101}, new long[]{3})));
+            Assert.assertEquals(1, archive.size());
+            Assert.assertEquals(Instant.ofEpochMilli(START), archive.getNewest());
+        }
+    }
+
+    @Test
+    public void deltas_are_small() throws IOException {
+        List<PrimitiveOrderBook> books = books(1_000, new Random(2));
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8)) {
+            for (int i = 0; i < books.size(); i++) {
+                archive.append(Instant.ofEpochMilli(START + i * 1000L), books.get(i));
+            }
+        }
+
+        long bytes = 0;
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.collect(Collectors.toList())) {
+                bytes += Files.size(path);
+            }
+        }
+
+        // a keyframe of 2 * 50 levels takes about 700 bytes
+        Assert.assertTrue("archive took " + bytes + " bytes", bytes < 1_000 * 100);
+    }
+
+    @Test
+    public void replay() throws IOException {
+        List<PrimitiveOrderBook> books = books(100, new Random(3));
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8, 16)) {
+            for (int i = 0; i < books.size(); i++) {
+                archive.append(Instant.ofEpochMilli(START + i * 1000L), books.get(i));
+            }
+
+            List<Instant> times = new ArrayList<>();
+            archive.replay(Instant.ofEpochMilli(START + 20_500), Instant.ofEpochMilli(START + 60_000), (time, book) -> {
+                Assert.assertEquals(books.get((int) (time.toEpochMilli() - START) / 1000), book);
+                times.add(time);
+            });
+
+            Assert.assertEquals(Instant.ofEpochMilli(START + 21_000), times.get(0));
+            // book 59 didn't change
+            Assert.assertEquals(Instant.ofEpochMilli(START + 58_000), times.get(times.size() - 1));
+            Assert.assertEquals(33, times.size());
+        }
+    }
+
+    @Test
+    public void torn_tail_is_dropped() throws IOException {
+        List<PrimitiveOrderBook> books = books(30, new Random(4));
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8, 10)) {
+            for (int i = 0; i < books.size(); i++) {
+                archive.append(Instant.ofEpochMilli(START + i * 1000L), books.get(i));
+            }
+        }
+
+        Path segment = directory.resolve("book-0000000000.seg");
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8, 10)) {
+            Assert.assertEquals(30 - 4 - 1, archive.size());
+            Assert.assertEquals(books.get(28), archive.at(Instant.ofEpochMilli(START + 29_000)));
+
+            archive.append(Instant.ofEpochMilli(START + 29_000), books.get(29));
+            Assert.assertEquals(books.get(29), archive.at(Instant.ofEpochMilli(START + 29_000)));
+        }
+    }
+
+    @Test
+    public void archives_tracked_changes() throws IOException {
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 0, 0)) {
+            OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+            tracker.addListener(archive);
+
+            tracker.update(book(new long[]{100}, new long[]{1}, new long[]{101}, new long[]{3}));
+            tracker.update(book(new long[]{100}, new long[]{1}, new long[]{101}, new long[]{3}));
+            tracker.update(book(new long[]{100}, new long[]{2}, new long[]{101}, new long[]{3}));
+
+            Assert.assertEquals(2, archive.size());
+            Assert.assertEquals(2, archive.at(archive.getNewest()).bids().amount(0));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_other_scales() throws IOException {
+        try (OrderBookArchive archive = OrderBookArchive.open(directory, 2, 8)) {
+            archive.append(Instant.ofEpochMilli(START), book(new long[]{100}, new long[]{1}, new long[]{101}, new long[]{3}));
+        }
+    }
+
+    // ** implementation methods **
+
+    private void check(final OrderBookArchive archive, final List<PrimitiveOrderBook> books) throws IOException {
+        Assert.assertNull(archive.at(Instant.ofEpochMilli(START - 1)));
+
+        for (int i = 0; i < books.size(); i++) {
+            Assert.assertEquals(books.get(i), archive.at(Instant.ofEpochMilli(START + i * 1000L)));
+            Assert.assertEquals(books.get(i), archive.at(Instant.ofEpochMilli(START + i * 1000L + 999)));
+        }
+    }
+
+    /**
+     * books of 50 levels per side, each one changing a few levels of the previous, some not changing at all
+     */
+    private static List<PrimitiveOrderBook> books(final int count, final Random random) {
+        final List<PrimitiveOrderBook> books = new ArrayList<>(count);
+        final long[] bidPrices = new long[50];
+        final long[] bidAmounts = new long[50];
+        final long[] askPrices = new long[50];
+        final long[] askAmounts = new long[50];
+
+        for (int i = 0; i < 50; i++) {
+            bidPrices[i] = 500_000_000 - i * 1_000;
+            askPrices[i] = 500_001_000 + i * 1_000;
+            bidAmounts[i] = 1 + random.nextInt(100_000_000);
+            askAmounts[i] = 1 + random.nextInt(100_000_000);
+        }
+
+        for (int n = 0; n < count; n++) {
+            if (n % 7 != 3) {
+                for (int change = random.nextInt(4); change >= 0; change--) {
+                    final int level = random.nextInt(50);
+                    final long[] prices = random.nextBoolean() ? bidPrices : askPrices;
+                    final long[] amounts = prices == bidPrices ? bidAmounts : askAmounts;
+
+                    if (random.nextInt(5) == 0) {
+                        // level moves to an unused price, ie: a removal and an addition
+                        prices[level] += prices == bidPrices ? -7 : 7;
+                    }
+                    amounts[level] = 1 + random.nextInt(100_000_000);
+                }
+            }
+
+            books.add(new PrimitiveOrderBook(2, 8,
+                    bidPrices.clone(), bidAmounts.clone(), 50,
+                    askPrices.clone(), askAmounts.clone(), 50));
+        }
+
+        return books;
+    }
+
+}
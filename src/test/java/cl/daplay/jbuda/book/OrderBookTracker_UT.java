@@ -0,0 +1,123 @@
+package cl.daplay.jbuda.book;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+import static cl.daplay.jbuda.book.OrderBooks.book;
+
+public class OrderBookTracker_UT {
+
+    @Test
+    public void first_snapshot_is_all_additions() {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        OrderBookDiff diff = tracker.update(book(new long[]{100, 99}, new long[]{1, 2}, new long[]{101}, new long[]{3}));
+
+        Assert.assertEquals(2, diff.bids().size());
+        Assert.assertEquals(OrderBookDiff.Change.ADDED, diff.bids().change(0));
+        Assert.assertEquals(100, diff.bids().price(0));
+        Assert.assertEquals(1, diff.asks().size());
+        Assert.assertTrue(diff.isTopOfBookChanged());
+        Assert.assertNull(diff.getPrevious());
+    }
+
+    @Test
+    public void minimal_diff() {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.update(book(new long[]{100, 99, 97}, new long[]{1, 2, 3}, new long[]{101, 102}, new long[]{4, 5}));
+
+        OrderBookDiff diff = tracker.update(book(new long[]{100, 98, 97}, new long[]{1, 7, 4}, new long[]{101, 102}, new long[]{4, 5}));
+
+        Assert.assertEquals(3, diff.bids().size());
+        Assert.assertEquals(OrderBookDiff.Change.REMOVED, diff.bids().change(0));
+        Assert.assertEquals(99, diff.bids().price(0));
+        Assert.assertEquals(2, diff.bids().previousAmount(0));
+        Assert.assertEquals(OrderBookDiff.Change.ADDED, diff.bids().change(1));
+        Assert.assertEquals(98, diff.bids().price(1));
+        Assert.assertEquals(7, diff.bids().amount(1));
+        Assert.assertEquals(OrderBookDiff.Change.CHANGED, diff.bids().change(2));
+        Assert.assertEquals(3, diff.bids().previousAmount(2));
+        Assert.assertEquals(4, diff.bids().amount(2));
+        Assert.assertEquals(0, diff.asks().size());
+        Assert.assertFalse(diff.isTopOfBookChanged());
+    }
+
+    @Test
+    public void top_of_book() {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.update(book(new long[]{100}, new long[]{1}, new long[]{101, 102}, new long[]{4, 5}));
+
+        OrderBookDiff diff = tracker.update(book(new long[]{100}, new long[]{1}, new long[]{102}, new long[]{5}));
+
+        Assert.assertTrue(diff.isTopOfBookChanged());
+        Assert.assertEquals(OrderBookDiff.Change.REMOVED, diff.asks().change(0));
+    }
+
+    @Test
+    public void listeners_only_get_changes() {
+        List<OrderBookDiff> diffs = new ArrayList<>();
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.addListener(diffs::add);
+        tracker.addListener(diff -> {
+            throw new IllegalStateException("listeners can't break each other");
+        });
+
+        tracker.update(book(new long[]{100}, new long[]{1}, new long[]{101}, new long[]{1}));
+        tracker.update(book(new long[]{100}, new long[]{1}, new long[]{101}, new long[]{1}));
+        tracker.update(book(new long[]{100}, new long[]{2}, new long[]{101}, new long[]{1}));
+
+        Assert.assertEquals(2, diffs.size());
+        Assert.assertSame(tracker.getLast(), diffs.get(1).getCurrent());
+    }
+
+    @Test
+    public void same_snapshot_has_no_changes() throws IOException {
+        String jsonExample = convertStreamToString(getClass().getResourceAsStream("/order_book.json"));
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+
+        Assert.assertEquals(72, tracker.update(BudaJSON.INSTANCE.primitiveOrderBook(jsonExample, 2, 8)).bids().size());
+        Assert.assertTrue(tracker.update(BudaJSON.INSTANCE.primitiveOrderBook(jsonExample, 2, 8)).isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scales_must_match() {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        tracker.update(book(new long[0], new long[0], new long[0], new long[0]));
+        tracker.update(new PrimitiveOrderBook(2, 8, new long[0], new long[0], 0, new long[0], new long[0], 0));
+    }
+
+    @Test
+    public void concurrent_updates_are_published_in_order() throws Exception {
+        OrderBookTracker tracker = new OrderBookTracker("BTC-CLP");
+        List<OrderBookDiff> published = new CopyOnWriteArrayList<>();
+        tracker.addListener(published::add);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final long offset = t * 1_000;
+            Thread thread = new Thread(() -> {
+                for (long i = 0; i < 500; i++) {
+                    tracker.update(book(new long[]{100}, new long[]{offset + i + 1}, new long[]{101}, new long[]{1}));
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // each diff starts from the snapshot the previous one ended at
+        for (int i = 1; i < published.size(); i++) {
+            Assert.assertSame(published.get(i - 1).getCurrent(), published.get(i).getPrevious());
+        }
+        Assert.assertSame(tracker.getLast(), published.get(published.size() - 1).getCurrent());
+    }
+
+}
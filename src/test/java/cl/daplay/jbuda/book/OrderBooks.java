@@ -0,0 +1,22 @@
+package cl.daplay.jbuda.book;
+
+/**
+ * order book fixtures for the book tests
+ */
+final class OrderBooks {
+
+    private OrderBooks() {
+    }
+
+    /**
+     * @return book of every given level, prices and amounts at scale 0
+     */
+    static PrimitiveOrderBook book(long[] bidPrices, long[] bidAmounts, long[] askPrices, long[] askAmounts) {
+        return book(0, 0, bidPrices, bidAmounts, askPrices, askAmounts);
+    }
+
+    static PrimitiveOrderBook book(int priceScale, int amountScale, long[] bidPrices, long[] bidAmounts, long[] askPrices, long[] askAmounts) {
+        return new PrimitiveOrderBook(priceScale, amountScale, bidPrices, bidAmounts, bidPrices.length, askPrices, askAmounts, askPrices.length);
+    }
+
+}
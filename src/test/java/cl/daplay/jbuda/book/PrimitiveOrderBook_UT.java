@@ -0,0 +1,86 @@
+package cl.daplay.jbuda.book;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+
+public class PrimitiveOrderBook_UT {
+
+    private PrimitiveOrderBook newOrderBook() {
+        return new PrimitiveOrderBook(0, 2,
+                new long[]{100, 99, 97}, new long[]{150, 200, 50}, 3,
+                new long[]{101, 102, 105, 0}, new long[]{100, 300, 1000, 0}, 3);
+    }
+
+    @Test
+    public void best_prices() {
+        PrimitiveOrderBook orderBook = newOrderBook();
+
+        Assert.assertEquals(100, orderBook.bids().bestPrice());
+        Assert.assertEquals(101, orderBook.asks().bestPrice());
+        Assert.assertEquals(1, orderBook.spread());
+    }
+
+    @Test
+    public void cumulative_depth() {
+        PrimitiveOrderBook orderBook = newOrderBook();
+
+        Assert.assertEquals(150, orderBook.bids().depth(0));
+        Assert.assertEquals(350, orderBook.bids().depth(1));
+        Assert.assertEquals(400, orderBook.bids().totalDepth());
+        Assert.assertEquals(1400, orderBook.asks().totalDepth());
+    }
+
+    @Test
+    public void index_of() {
+        PrimitiveOrderBook orderBook = newOrderBook();
+
+        Assert.assertEquals(1, orderBook.bids().indexOf(99));
+        Assert.assertEquals(-3, orderBook.bids().indexOf(98));
+        Assert.assertEquals(-1, orderBook.bids().indexOf(101));
+        Assert.assertEquals(-4, orderBook.bids().indexOf(1));
+        Assert.assertEquals(2, orderBook.asks().indexOf(105));
+        Assert.assertEquals(-3, orderBook.asks().indexOf(103));
+    }
+
+    @Test
+    public void depth_at_price() {
+        PrimitiveOrderBook orderBook = newOrderBook();
+
+        Assert.assertEquals(350, orderBook.bids().depthAt(99));
+        Assert.assertEquals(350, orderBook.bids().depthAt(98));
+        Assert.assertEquals(0, orderBook.bids().depthAt(101));
+        Assert.assertEquals(400, orderBook.asks().depthAt(103));
+        Assert.assertEquals(1400, orderBook.asks().depthAt(1000));
+    }
+
+    @Test
+    public void sorts_levels() {
+        PrimitiveOrderBook orderBook = new PrimitiveOrderBook(0, 0,
+                new long[]{97, 100, 99}, new long[]{3, 1, 2}, 3,
+                new long[]{105, 101, 102}, new long[]{3, 1, 2}, 3);
+
+        Assert.assertEquals(newOrderBook().bids().price(1), orderBook.bids().price(1));
+        Assert.assertEquals(2, orderBook.bids().amount(1));
+        Assert.assertEquals(101, orderBook.asks().price(0));
+        Assert.assertEquals(1, orderBook.asks().amount(0));
+    }
+
+    @Test
+    public void offers() {
+        PrimitiveOrderBook orderBook = newOrderBook();
+
+        Assert.assertEquals(3, orderBook.getAsks().size());
+        Assert.assertEquals(new BigDecimal("105"), orderBook.getAsks().get(2).getPrice());
+        Assert.assertEquals(new BigDecimal("10.00"), orderBook.getAsks().get(2).getAmount());
+        Assert.assertEquals(orderBook, PrimitiveOrderBook.of(orderBook, 0, 2));
+        Assert.assertEquals(orderBook, PrimitiveOrderBook.of(PrimitiveOrderBook.of(orderBook, 2, 4), 0, 2));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void empty_side() {
+        new PrimitiveOrderBook(0, 0, new long[0], new long[0], 0, new long[0], new long[0], 0).bids().bestPrice();
+    }
+
+}
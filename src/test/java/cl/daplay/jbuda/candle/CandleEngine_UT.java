@@ -0,0 +1,111 @@
+package cl.daplay.jbuda.candle;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import cl.daplay.jbuda.model.Trades;
+import cl.daplay.jbuda.store.TradeStore;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+public class CandleEngine_UT {
+
+    private final static long MINUTE = 60_000;
+    private final static long START = 1_500_000_000_000L / MINUTE * MINUTE;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void ohlcv_at_several_resolutions() {
+        CandleEngine engine = new CandleEngine(0, 0);
+
+        engine.visit(START + 1_000, 100, 1, true);
+        engine.visit(START + 20_000, 120, 2, false);
+        engine.visit(START + 40_000, 90, 3, true);
+        engine.visit(START + 59_999, 110, 4, false);
+        engine.visit(START + MINUTE, 105, 5, true);
+
+        Candle minute = engine.get(Duration.ofMinutes(1), Instant.ofEpochMilli(START));
+        Assert.assertEquals(Instant.ofEpochMilli(START), minute.getStart());
+        Assert.assertEquals(100, minute.getOpen());
+        Assert.assertEquals(120, minute.getHigh());
+        Assert.assertEquals(90, minute.getLow());
+        Assert.assertEquals(110, minute.getClose());
+        Assert.assertEquals(4, minute.getBuyVolume());
+        Assert.assertEquals(6, minute.getSellVolume());
+        Assert.assertEquals(4, minute.getCount());
+
+        Candle hour = engine.last(Duration.ofHours(1));
+        Assert.assertEquals(5, hour.getCount());
+        Assert.assertEquals(15, hour.getVolume());
+
+        Assert.assertEquals(105, engine.last(Duration.ofMinutes(1)).getClose());
+        Assert.assertEquals(5, engine.candles(Duration.ofSeconds(1), Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 2 * MINUTE)).size());
+        Assert.assertNull(engine.get(Duration.ofSeconds(1), Instant.ofEpochMilli(START + 2_000)));
+    }
+
+    @Test
+    public void late_trades() {
+        CandleEngine engine = new CandleEngine(0, 0, new Duration[]{Duration.ofMinutes(1)}, new int[]{3});
+
+        engine.visit(START + 30_000, 100, 1, true);
+        engine.visit(START + 2 * MINUTE, 100, 1, true);
+        // late, but still within the last 3 candles
+        engine.visit(START + 10_000, 80, 1, true);
+        engine.visit(START + 50_000, 130, 1, true);
+
+        Candle first = engine.get(Duration.ofMinutes(1), Instant.ofEpochMilli(START));
+        Assert.assertEquals(80, first.getOpen());
+        Assert.assertEquals(130, first.getClose());
+        Assert.assertEquals(80, first.getLow());
+        Assert.assertEquals(3, first.getCount());
+
+        // ring moves past the first candle
+        engine.visit(START + 3 * MINUTE, 100, 1, true);
+        engine.visit(START + 40_000, 100, 1, true);
+
+        Assert.assertEquals(1, engine.getDropped());
+        Assert.assertNull(engine.get(Duration.ofMinutes(1), Instant.ofEpochMilli(START)));
+        // minutes 2 and 3, minute 1 had no trades
+        Assert.assertEquals(2, engine.candles(Duration.ofMinutes(1), Instant.ofEpochMilli(0), Instant.ofEpochMilli(START + 10 * MINUTE)).size());
+    }
+
+    @Test
+    public void rebuild_from_store_matches_live() throws IOException {
+        CandleEngine live = new CandleEngine(2, 8);
+        try (TradeStore store = TradeStore.open(folder.getRoot().toPath(), 2, 8)) {
+            for (int i = 1; i <= 3; i++) {
+                Trades trades = BudaJSON.INSTANCE.trades(convertStreamToString(getClass().getResourceAsStream("/trades" + i + ".json")));
+                trades.getEntries().forEach(live);
+                store.append(trades);
+            }
+            store.flush();
+
+            CandleEngine rebuilt = new CandleEngine(2, 8);
+            rebuilt.rebuild(store.reader());
+
+            for (Duration resolution : new Duration[]{Duration.ofMinutes(1), Duration.ofHours(1)}) {
+                Instant from = Instant.ofEpochMilli(0);
+                Instant to = Instant.ofEpochMilli(Long.MAX_VALUE / 2);
+                List<Candle> expected = live.candles(resolution, from, to);
+
+                Assert.assertFalse(expected.isEmpty());
+                Assert.assertEquals(expected, rebuilt.candles(resolution, from, to));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknown_resolution() {
+        new CandleEngine(0, 0).last(Duration.ofMinutes(15));
+    }
+
+}
@@ -0,0 +1,49 @@
+package cl.daplay.jbuda.http;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class BufferPool_UT {
+
+    @Test
+    public void released_buffers_are_reused() {
+        BufferPool pool = new BufferPool(16, 64, 2);
+
+        byte[] buffer = pool.acquire();
+        assertEquals(16, buffer.length);
+
+        pool.release(buffer);
+        assertSame(buffer, pool.acquire());
+    }
+
+    @Test
+    public void grown_buffers_are_reused_up_to_max_retained_size() {
+        BufferPool pool = new BufferPool(16, 64, 2);
+
+        byte[] grown = new byte[64];
+        pool.release(grown);
+        assertSame(grown, pool.acquire());
+
+        byte[] tooLarge = new byte[128];
+        pool.release(tooLarge);
+        assertNotSame(tooLarge, pool.acquire());
+    }
+
+    @Test
+    public void pool_is_bounded() {
+        BufferPool pool = new BufferPool(16, 64, 1);
+
+        byte[] first = pool.acquire();
+        byte[] second = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+    }
+
+}
@@ -0,0 +1,183 @@
+package cl.daplay.jbuda.http;
+
+import cl.daplay.jbuda.HTTPClient;
+import cl.daplay.jbuda.Signer;
+import cl.daplay.jbuda.signer.NOOPSigner;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DefaultHTTPClient_UT {
+
+    private HttpServer server;
+    private ExecutorService executor;
+
+    private final List<Long> nonces = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    // requests to /slow wait for release
+    private final CountDownLatch slowArrived = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/slow", exchange -> {
+            slowArrived.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.createContext("/", exchange -> {
+            // requests being processed, until their response starts
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                String nonce = exchange.getRequestHeaders().getFirst("X-SBTC-NONCE");
+                if (nonce != null) {
+                    nonces.add(Long.parseLong(nonce));
+                }
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                inFlight.decrementAndGet();
+            }
+
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void signed_requests_arrive_in_nonce_order() throws Exception {
+        DefaultHTTPClient client = client();
+
+        requests(client, (body, method, path, nonce) -> "signature");
+
+        Assert.assertEquals(16, nonces.size());
+        for (int i = 1; i < nonces.size(); i++) {
+            Assert.assertTrue(nonces.toString(), nonces.get(i - 1) < nonces.get(i));
+        }
+        Assert.assertEquals(1, maxInFlight.get());
+    }
+
+    @Test
+    public void unsigned_requests_run_concurrently() throws Exception {
+        requests(client(), NOOPSigner.INSTANCE);
+
+        Assert.assertTrue(maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void unsigned_requests_dont_wait_for_signed_ones() throws Exception {
+        DefaultHTTPClient client = client();
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+
+        try {
+            Future<Integer> signed = threads.submit(() -> client.get("/slow", (body, method, path, nonce) -> "signature", (statusCode, body) -> statusCode));
+            Assert.assertTrue(slowArrived.await(5, TimeUnit.SECONDS));
+
+            Future<String> unsigned = threads.submit(() -> client.get("/api/v2/markets/btc-clp/ticker", NOOPSigner.INSTANCE, (statusCode, body) -> statusCode + body));
+            Assert.assertEquals("200{}", unsigned.get(5, TimeUnit.SECONDS));
+            Assert.assertFalse(signed.isDone());
+
+            release.countDown();
+            Assert.assertEquals(200, (int) signed.get(5, TimeUnit.SECONDS));
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void signed_requests_are_sent_once_the_previous_one_is_answered() throws Exception {
+        DefaultHTTPClient client = client();
+        ExecutorService threads = Executors.newFixedThreadPool(2);
+        Signer signer = (body, method, path, nonce) -> "signature";
+
+        try {
+            Future<Integer> first = threads.submit(() -> client.get("/slow", signer, (statusCode, body) -> statusCode));
+            Assert.assertTrue(slowArrived.await(5, TimeUnit.SECONDS));
+
+            CountDownLatch sent = new CountDownLatch(1);
+            Future<String> second = threads.submit(() -> client.get("/api/v2/balances", signer, new HTTPClient.HTTPResponseHandler<String>() {
+
+                @Override
+                public void onSend() {
+                    sent.countDown();
+                }
+
+                @Override
+                public String handle(int statusCode, String responseBody) {
+                    return statusCode + responseBody;
+                }
+
+            }));
+
+            // queued behind the first one, so page latencies don't count the wait
+            Assert.assertFalse(sent.await(200, TimeUnit.MILLISECONDS));
+
+            release.countDown();
+            Assert.assertEquals(200, (int) first.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals("200{}", second.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(0, sent.getCount());
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private DefaultHTTPClient client() {
+        return new DefaultHTTPClient("http://127.0.0.1:" + server.getAddress().getPort(), null, "key",
+                new AtomicLong()::incrementAndGet, "test");
+    }
+
+    private static void requests(DefaultHTTPClient client, Signer signer) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                responses.add(threads.submit(() -> client.get("/api/v2/balances", signer, (statusCode, body) -> statusCode + body)));
+            }
+            for (Future<String> response : responses) {
+                Assert.assertEquals("200{}", response.get());
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+}
@@ -0,0 +1,38 @@
+package cl.daplay.jbuda.http;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimiter_UT {
+
+    @Test
+    public void permits_are_evenly_spaced() {
+        AtomicLong clock = new AtomicLong(1_000);
+        RateLimiter limiter = new RateLimiter(4, clock::get);
+
+        Assert.assertEquals(0, limiter.reserve());
+        Assert.assertEquals(250_000_000, limiter.reserve());
+        Assert.assertEquals(500_000_000, limiter.reserve());
+
+        clock.addAndGet(600_000_000);
+        Assert.assertEquals(150_000_000, limiter.reserve());
+    }
+
+    @Test
+    public void idle_time_is_not_saved_up() {
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(10, clock::get);
+
+        clock.addAndGet(10_000_000_000L);
+        Assert.assertEquals(0, limiter.reserve());
+        Assert.assertEquals(100_000_000, limiter.reserve());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_rate() {
+        new RateLimiter(0);
+    }
+
+}
@@ -0,0 +1,156 @@
+package cl.daplay.jbuda.indicator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class Indicators_UT {
+
+    @Test
+    public void ema() {
+        Ema ema = new Ema(3);
+
+        ema.update(1);
+        ema.update(2);
+        Assert.assertTrue(Double.isNaN(ema.value()));
+
+        ema.update(3);
+        Assert.assertEquals(2, ema.value(), 1e-12);
+
+        ema.update(6);
+        Assert.assertEquals(4, ema.value(), 1e-12);
+    }
+
+    @Test
+    public void rsi() {
+        Rsi rising = new Rsi(14);
+        for (int i = 0; i < 20; i++) {
+            rising.update(100 + i);
+        }
+        Assert.assertEquals(100, rising.value(), 0);
+
+        // gains 1, 1, losses 2: averages 2/3 and 2/3
+        Rsi rsi = new Rsi(3);
+        rsi.update(10);
+        rsi.update(11);
+        rsi.update(12);
+        Assert.assertTrue(Double.isNaN(rsi.value()));
+        rsi.update(10);
+        Assert.assertEquals(50, rsi.value(), 1e-9);
+
+        // Wilder smoothing: gain (2/3 * 2 + 3) / 3, loss 2/3 * 2 / 3
+        rsi.update(13);
+        final double gain = (2.0 / 3 * 2 + 3) / 3;
+        final double loss = 2.0 / 3 * 2 / 3;
+        Assert.assertEquals(100 - 100 / (1 + gain / loss), rsi.value(), 1e-9);
+    }
+
+    @Test
+    public void bollinger_and_volatility_match_naive() {
+        final Random random = new Random(42);
+        final BollingerBands bollinger = new BollingerBands(20, 2);
+        final RealizedVolatility volatility = new RealizedVolatility(30);
+        final double[] prices = new double[1_000];
+
+        double price = 5_000_000;
+        for (int i = 0; i < prices.length; i++) {
+            price *= Math.exp(random.nextGaussian() * 0.001);
+            prices[i] = price;
+
+            bollinger.update(price);
+            volatility.update(price);
+
+            if (i >= 19) {
+                double sum = 0;
+                for (int j = i - 19; j <= i; j++) {
+                    sum += prices[j];
+                }
+                final double mean = sum / 20;
+                double squares = 0;
+                for (int j = i - 19; j <= i; j++) {
+                    squares += (prices[j] - mean) * (prices[j] - mean);
+                }
+                final double deviation = Math.sqrt(squares / 20);
+
+                Assert.assertEquals(mean, bollinger.middle(), 1e-6);
+                Assert.assertEquals(mean + 2 * deviation, bollinger.upper(), 1e-3);
+                Assert.assertEquals(mean - 2 * deviation, bollinger.lower(), 1e-3);
+            }
+
+            if (i >= 30) {
+                double squares = 0;
+                for (int j = i - 29; j <= i; j++) {
+                    final double r = Math.log(prices[j] / prices[j - 1]);
+                    squares += r * r;
+                }
+
+                Assert.assertEquals(Math.sqrt(squares), volatility.value(), 1e-12);
+            } else {
+                Assert.assertTrue(Double.isNaN(volatility.value()));
+            }
+        }
+    }
+
+    @Test
+    public void snapshot() {
+        Indicators indicators = new Indicators(2, 2, 2, 2, 2);
+
+        IndicatorSnapshot empty = indicators.snapshot();
+        Assert.assertEquals(0, empty.getCount());
+        Assert.assertNull(empty.getTimestamp());
+        Assert.assertTrue(Double.isNaN(empty.getPrice()));
+
+        indicators.update(1_000, 10);
+        indicators.update(2_000, 12);
+        indicators.visitor(2).visit(3_000, 1_100, 1, true);
+
+        IndicatorSnapshot snapshot = indicators.snapshot();
+        Assert.assertEquals(3, snapshot.getCount());
+        Assert.assertEquals(3_000, snapshot.getTimestamp().toEpochMilli());
+        Assert.assertEquals(11, snapshot.getPrice(), 1e-12);
+        Assert.assertEquals(11, snapshot.getEma(), 1e-12);
+        Assert.assertEquals(11.5, snapshot.getBollingerMiddle(), 1e-12);
+        Assert.assertEquals(12.5, snapshot.getBollingerUpper(), 1e-12);
+        Assert.assertEquals(10.5, snapshot.getBollingerLower(), 1e-12);
+        Assert.assertEquals(snapshot, indicators.snapshot());
+    }
+
+    @Test
+    public void snapshots_are_consistent_across_threads() throws InterruptedException {
+        // with period 1 every indicator follows the last price exactly
+        final Indicators indicators = new Indicators(1, 1, 2, 0, 1);
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicBoolean torn = new AtomicBoolean();
+
+        final Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 1_000_000; i++) {
+                indicators.update(i, i);
+            }
+            done.set(true);
+        });
+        writer.start();
+
+        while (!done.get()) {
+            final IndicatorSnapshot snapshot = indicators.snapshot();
+
+            if (snapshot.getCount() > 2) {
+                final double price = snapshot.getCount();
+
+                if (snapshot.getPrice() != price
+                        || snapshot.getTimestamp().toEpochMilli() != snapshot.getCount()
+                        || snapshot.getEma() != price
+                        || snapshot.getBollingerMiddle() != price - 0.5
+                        || snapshot.getVolatility() != Math.log(price / (price - 1))) {
+                    torn.set(true);
+                }
+            }
+        }
+
+        writer.join();
+        Assert.assertFalse(torn.get());
+        Assert.assertEquals(1_000_000, indicators.snapshot().getCount());
+    }
+
+}
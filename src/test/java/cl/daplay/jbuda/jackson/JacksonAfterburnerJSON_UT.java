@@ -0,0 +1,31 @@
+package cl.daplay.jbuda.jackson;
+
+import cl.daplay.jbuda.AbstractJSON_UT;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+import static java.lang.String.format;
+
+/**
+ * runs every example against JacksonJSON.AFTERBURNER, whose readers are bytecode generated
+ */
+public class JacksonAfterburnerJSON_UT extends AbstractJSON_UT {
+
+    public JacksonAfterburnerJSON_UT() {
+        super(JacksonJSON.AFTERBURNER);
+    }
+
+    @Test
+    public void trades_same_as_without_afterburner() throws IOException {
+        for (int i = 1; i < 8; i++) {
+            String fileName = format("/trades%d.json", i);
+            String jsonExample = convertStreamToString(getClass().getResourceAsStream(fileName));
+
+            Assert.assertEquals(JacksonJSON.INSTANCE.trades(jsonExample), json.trades(jsonExample));
+        }
+    }
+
+}
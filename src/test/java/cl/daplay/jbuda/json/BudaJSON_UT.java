@@ -0,0 +1,183 @@
+package cl.daplay.jbuda.json;
+
+import cl.daplay.jbuda.AbstractJSON_UT;
+import cl.daplay.jbuda.JSON;
+import cl.daplay.jbuda.jackson.JacksonJSON;
+import cl.daplay.jbuda.jackson.model.order.JacksonOffer;
+import cl.daplay.jbuda.model.*;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+import static java.lang.String.format;
+
+public class BudaJSON_UT extends AbstractJSON_UT {
+
+    private final JSON jackson = JacksonJSON.INSTANCE;
+
+    public BudaJSON_UT() {
+        super(BudaJSON.INSTANCE);
+    }
+
+    private List<JacksonOffer> toJackson(List<OrderBook.Offer> offers) {
+        return offers.stream()
+                .map(offer -> new JacksonOffer(offer.getPrice(), offer.getAmount()))
+                .collect(Collectors.toList());
+    }
+
+    private String resource(String filename) {
+        return convertStreamToString(getClass().getResourceAsStream(filename));
+    }
+
+    @Test
+    public void orders_same_as_jackson() throws IOException {
+        for (String filename : Arrays.asList("/orders.json", "/orders2.json")) {
+            String jsonExample = resource(filename);
+
+            List<Order> expected = jackson.orders(jsonExample);
+            List<Order> actual = json.orders(jsonExample);
+
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Order e = expected.get(i);
+                Order a = actual.get(i);
+
+                Assert.assertEquals(e.getId(), a.getId());
+                Assert.assertEquals(e.getType(), a.getType());
+                Assert.assertEquals(e.getState(), a.getState());
+                Assert.assertEquals(e.getCreatedAt(), a.getCreatedAt());
+                Assert.assertEquals(e.getAccountId(), a.getAccountId());
+                Assert.assertEquals(e.getFeeCurrency(), a.getFeeCurrency());
+                Assert.assertEquals(e.getPriceType(), a.getPriceType());
+                Assert.assertEquals(e.getAmount(), a.getAmount());
+                Assert.assertEquals(e.getOriginalAmount(), a.getOriginalAmount());
+                Assert.assertEquals(e.getTradedAmount(), a.getTradedAmount());
+                Assert.assertEquals(e.getTotalExchanged(), a.getTotalExchanged());
+                Assert.assertEquals(e.getTotalExchangedCurrency(), a.getTotalExchangedCurrency());
+                Assert.assertEquals(e.getPaidFee(), a.getPaidFee());
+                Assert.assertEquals(e.getPaidFeeCurrency(), a.getPaidFeeCurrency());
+            }
+        }
+    }
+
+    @Test
+    public void order_limit_null() throws IOException {
+        Order order = json.order(resource("/order.json"));
+
+        Assert.assertEquals(3470150L, order.getId());
+        Assert.assertNull(order.getLimit());
+        Assert.assertNull(order.getLimitCurrency());
+    }
+
+    @Test
+    public void trades_same_as_jackson() throws IOException {
+        for (int i = 1; i < 8; i++) {
+            String jsonExample = resource(format("/trades%d.json", i));
+
+            List<Trades.Transaction> expected = jackson.trades(jsonExample).getEntries();
+            List<Trades.Transaction> actual = json.trades(jsonExample).getEntries();
+
+            Assert.assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                Assert.assertEquals(expected.get(j).getAmount(), actual.get(j).getAmount());
+                Assert.assertEquals(expected.get(j).getPrice(), actual.get(j).getPrice());
+                Assert.assertEquals(expected.get(j).getDirection(), actual.get(j).getDirection());
+                Assert.assertEquals(expected.get(j).getTimestamp(), actual.get(j).getTimestamp());
+            }
+        }
+    }
+
+    @Test
+    public void trades_epoch_millis() throws IOException {
+        Trades trades = json.trades(resource("/trades1.json"));
+
+        Assert.assertNull(trades.getTimestamp());
+        Assert.assertEquals(1509127464240L, trades.getLastTimestamp().toEpochMilli());
+    }
+
+    @Test
+    public void order_book_same_as_jackson() throws IOException {
+        String jsonExample = resource("/order_book.json");
+
+        OrderBook expected = jackson.orderBook(jsonExample);
+        OrderBook actual = json.orderBook(jsonExample);
+
+        Assert.assertEquals(expected.getAsks(), toJackson(actual.getAsks()));
+        Assert.assertEquals(expected.getBids(), toJackson(actual.getBids()));
+    }
+
+    @Test
+    public void ticker_same_as_jackson() throws IOException {
+        String jsonExample = resource("/ticker.json");
+
+        Ticker expected = jackson.ticker(jsonExample);
+        Ticker actual = json.ticker(jsonExample);
+
+        Assert.assertEquals(expected.getMinAsk(), actual.getMinAsk());
+        Assert.assertEquals(expected.getMaxBid(), actual.getMaxBid());
+        Assert.assertEquals(expected.getVolume(), actual.getVolume());
+        Assert.assertEquals(expected.getVolumeCurrency(), actual.getVolumeCurrency());
+        Assert.assertEquals(expected.getPriceVariation24Hours(), actual.getPriceVariation24Hours());
+        Assert.assertEquals(expected.getPriceVariation7Days(), actual.getPriceVariation7Days());
+    }
+
+    @Test
+    public void withdrawals_fiat() throws IOException {
+        List<Withdrawal> withdrawals = json.withdrawls(resource("/withdrawals_clp.json"));
+        Withdrawal.FiatWithdrawalData data = (Withdrawal.FiatWithdrawalData) withdrawals.get(0).getWithdrawalData();
+
+        Assert.assertEquals(16922L, data.getId());
+        Assert.assertEquals("BANCO DE CREDITO E INVERSIONES", data.getAccount().getBankName());
+        Assert.assertEquals("76.415.528-9", data.getSourceAccount().getNationalNumberIdentifier());
+        Assert.assertNull(data.getAccount().getPeCciNumber());
+    }
+
+    @Test
+    public void withdrawals_bitcoin() throws IOException {
+        List<Withdrawal> withdrawals = json.withdrawls(resource("/withdrawals_btc.json"));
+        Withdrawal.BitcoinWithdrawalData data = (Withdrawal.BitcoinWithdrawalData) withdrawals.get(0).getWithdrawalData();
+
+        Assert.assertEquals("32nWKHGXz8L888WYELyfe3JrXUvkWjxvQ", data.getTargetAddress());
+    }
+
+    @Test
+    public void page_meta() throws IOException {
+        Page page = json.page(resource("/orders.json"));
+
+        Assert.assertEquals(7, page.getTotalPages());
+        Assert.assertEquals(123, page.getTotalCount());
+        Assert.assertEquals(1, page.getCurrentPage());
+    }
+
+    @Test
+    public void escapes_and_unknown_properties() throws IOException {
+        String jsonExample = "{\"unknown\": {\"a\": [1, {\"b\": \"]}\"}], \"c\": null},"
+                + " \"balance\": {\"id\": \"C\\u004cP \\\"x\\\"\", \"extra\": [[]], \"account_id\": \"42\"}}";
+
+        Balance balance = json.balance(jsonExample);
+
+        Assert.assertEquals("CLP \"x\"", balance.getId());
+        Assert.assertEquals(42L, balance.getAccountId());
+    }
+
+    @Test(expected = IOException.class)
+    public void malformed() throws IOException {
+        json.order("{\"order\": {\"id\": 1, ");
+    }
+
+    @Test(expected = IOException.class)
+    public void missing_separator() throws IOException {
+        json.order("{\"order\": {\"id\": 1 \"type\": \"Bid\"}}");
+    }
+
+    @Test(expected = Exception.class)
+    public void exception_empty_body() throws Exception {
+        json.exception(500, "");
+    }
+
+}
@@ -0,0 +1,78 @@
+package cl.daplay.jbuda.kernel;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class ColumnKernels_UT {
+
+    private final static Random RANDOM = new Random(7);
+
+    @Test
+    public void kernels_match_plain_loops() {
+        // odd lengths and offsets, so vector kernels go through their tails
+        for (int length : new int[]{0, 1, 3, 7, 8, 17, 1_000, 4_099}) {
+            final long[] prices = new long[length];
+            final long[] amounts = new long[length];
+            final boolean[] buys = new boolean[length];
+
+            for (int i = 0; i < length; i++) {
+                prices[i] = 500_000_000L + RANDOM.nextInt(10_000_000) - 5_000_000;
+                amounts[i] = RANDOM.nextInt(100_000_000);
+                buys[i] = RANDOM.nextBoolean();
+            }
+
+            for (int from : new int[]{0, Math.min(1, length), length / 3}) {
+                final int to = length - (length - from) / 5;
+
+                long sum = 0;
+                long buy = 0;
+                long sell = 0;
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                double dot = 0;
+                for (int i = from; i < to; i++) {
+                    sum += amounts[i];
+                    buy += buys[i] ? amounts[i] : 0;
+                    sell += buys[i] ? 0 : amounts[i];
+                    min = Math.min(min, prices[i]);
+                    max = Math.max(max, prices[i]);
+                    dot += (double) prices[i] * amounts[i];
+                }
+
+                for (Kernels kernels : new Kernels[]{ScalarKernels.INSTANCE, ColumnKernels.KERNELS}) {
+                    Assert.assertEquals(sum, kernels.sum(amounts, from, to));
+                    Assert.assertEquals(buy, kernels.sum(amounts, buys, true, from, to));
+                    Assert.assertEquals(sell, kernels.sum(amounts, buys, false, from, to));
+                    Assert.assertEquals(min, kernels.min(prices, from, to));
+                    Assert.assertEquals(max, kernels.max(prices, from, to));
+                    Assert.assertEquals(dot, kernels.dot(prices, amounts, from, to), Math.abs(dot) * 1e-12);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void vwap_and_histogram() {
+        final long[] prices = {100, 200, 300, 400, 1_000};
+        final long[] amounts = {1, 1, 2, 0, 5};
+
+        Assert.assertEquals((100 + 200 + 600) / 4.0, ColumnKernels.vwap(prices, amounts, 0, 4), 1e-12);
+        Assert.assertTrue(Double.isNaN(ColumnKernels.vwap(prices, amounts, 3, 4)));
+
+        final long[] counts = new long[3];
+        ColumnKernels.histogram(prices, null, 0, prices.length, 100, 150, counts);
+        Assert.assertArrayEquals(new long[]{2, 1, 1}, counts);
+
+        final long[] volumes = new long[3];
+        ColumnKernels.histogram(prices, amounts, 0, prices.length, 100, 150, volumes);
+        Assert.assertArrayEquals(new long[]{2, 2, 0}, volumes);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void checks_ranges() {
+        ColumnKernels.sum(new long[4], 1, 5);
+    }
+
+}
@@ -0,0 +1,119 @@
+package cl.daplay.jbuda.model;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+public class Amount_UT {
+
+    private final Currency btc = new Currency("BTC", 8);
+    private final Currency clp = new Currency("CLP", 2);
+
+    /**
+     * @return rounding mode which rounds -x as roundingMode rounds x
+     */
+    private RoundingMode mirror(RoundingMode roundingMode) {
+        switch (roundingMode) {
+            case CEILING:
+                return RoundingMode.FLOOR;
+            case FLOOR:
+                return RoundingMode.CEILING;
+            default:
+                return roundingMode;
+        }
+    }
+
+    @Test
+    public void of_big_decimal() {
+        Assert.assertEquals(4570000L, Amount.of(new BigDecimal("0.0457"), btc).getMantissa());
+        Assert.assertEquals(385399900L, Amount.of(new BigDecimal("3853999.0"), clp).getMantissa());
+        Assert.assertEquals(100000L, Amount.of(new BigDecimal("1E+3"), clp).getMantissa());
+        Assert.assertEquals(new BigDecimal("0.04570000"), Amount.of(new BigDecimal("0.0457"), btc).toBigDecimal());
+        Assert.assertEquals("0.04570000 BTC", Amount.of(new BigDecimal("0.0457"), btc).toString());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void of_big_decimal_too_many_digits() {
+        Amount.of(new BigDecimal("0.001"), clp);
+    }
+
+    @Test
+    public void of_big_decimal_rounded() {
+        Assert.assertEquals(1L, Amount.of(new BigDecimal("0.005"), clp, RoundingMode.HALF_UP).getMantissa());
+        Assert.assertEquals(0L, Amount.of(new BigDecimal("0.005"), clp, RoundingMode.HALF_EVEN).getMantissa());
+    }
+
+    @Test
+    public void add_and_subtract() {
+        Amount a = Amount.of(new BigDecimal("0.1"), btc);
+        Amount b = Amount.of(new BigDecimal("0.2"), btc);
+
+        Assert.assertEquals(Amount.of(new BigDecimal("0.3"), btc), a.add(b));
+        Assert.assertEquals(Amount.of(new BigDecimal("-0.1"), btc), a.subtract(b));
+        Assert.assertEquals(b, a.multiply(2));
+        Assert.assertEquals(-1, a.compareTo(b));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void add_different_currencies() {
+        Amount.zero(btc).add(Amount.zero(clp));
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void add_overflow() {
+        Amount.of(Long.MAX_VALUE, btc).add(Amount.of(1, btc));
+    }
+
+    @Test
+    public void multiply_by_price() {
+        Amount amount = Amount.of(new BigDecimal("0.5"), btc);
+        Amount price = Amount.of(new BigDecimal("7500000"), clp);
+
+        Assert.assertEquals(Amount.of(new BigDecimal("3750000"), clp), amount.multiply(price, RoundingMode.UNNECESSARY));
+
+        Amount small = Amount.of(new BigDecimal("0.00000001"), btc);
+        Assert.assertEquals(Amount.of(new BigDecimal("0.08"), clp), small.multiply(price, RoundingMode.HALF_EVEN));
+        Assert.assertEquals(Amount.of(new BigDecimal("0.07"), clp), small.multiply(price, RoundingMode.DOWN));
+    }
+
+    @Test
+    public void multiply_by_price_same_as_big_decimal() {
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            Amount amount = Amount.of(random.nextInt(Integer.MAX_VALUE) * (long) random.nextInt(1000), btc);
+            Amount price = Amount.of((long) random.nextInt(Integer.MAX_VALUE) * 100, clp);
+
+            for (RoundingMode roundingMode : new RoundingMode[]{RoundingMode.UP, RoundingMode.DOWN, RoundingMode.CEILING, RoundingMode.FLOOR, RoundingMode.HALF_UP, RoundingMode.HALF_DOWN, RoundingMode.HALF_EVEN}) {
+                BigDecimal expected = amount.toBigDecimal().multiply(price.toBigDecimal()).setScale(2, roundingMode);
+                Assert.assertEquals(expected, amount.multiply(price, roundingMode).toBigDecimal());
+                Assert.assertEquals(expected.negate(), amount.negate().multiply(price, mirror(roundingMode)).toBigDecimal());
+            }
+        }
+    }
+
+    @Test
+    public void round() {
+        Amount amount = Amount.of(new BigDecimal("1.23456789"), btc);
+
+        Assert.assertEquals(Amount.of(new BigDecimal("1.23"), btc), amount.round(2, RoundingMode.DOWN));
+        Assert.assertEquals(Amount.of(new BigDecimal("1.24"), btc), amount.round(2, RoundingMode.UP));
+        Assert.assertEquals(Amount.of(new BigDecimal("1.2346"), btc), amount.round(4, RoundingMode.HALF_EVEN));
+        Assert.assertSame(amount, amount.round(8, RoundingMode.UNNECESSARY));
+    }
+
+    @Test
+    public void divide_half_modes() {
+        Assert.assertEquals(3, Amount.divide(25, 10, RoundingMode.HALF_UP));
+        Assert.assertEquals(2, Amount.divide(25, 10, RoundingMode.HALF_DOWN));
+        Assert.assertEquals(2, Amount.divide(25, 10, RoundingMode.HALF_EVEN));
+        Assert.assertEquals(4, Amount.divide(35, 10, RoundingMode.HALF_EVEN));
+        Assert.assertEquals(-3, Amount.divide(-25, 10, RoundingMode.HALF_UP));
+        Assert.assertEquals(-2, Amount.divide(-25, 10, RoundingMode.CEILING));
+        Assert.assertEquals(-3, Amount.divide(-25, 10, RoundingMode.FLOOR));
+    }
+
+}
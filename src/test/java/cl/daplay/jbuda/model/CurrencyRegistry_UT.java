@@ -0,0 +1,67 @@
+package cl.daplay.jbuda.model;
+
+import cl.daplay.jbuda.jackson.JacksonJSON;
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+public class CurrencyRegistry_UT {
+
+    private CurrencyRegistry newRegistry() throws IOException {
+        String markets = convertStreamToString(getClass().getResourceAsStream("/markets.json"));
+        return CurrencyRegistry.of(JacksonJSON.INSTANCE.markets(markets));
+    }
+
+    @Test
+    public void markets() throws IOException {
+        CurrencyRegistry registry = newRegistry();
+
+        Assert.assertEquals("BTC", registry.base("BTC-CLP").getCode());
+        Assert.assertEquals("CLP", registry.quote("btc-clp").getCode());
+        Assert.assertEquals(8, registry.base("BTC-COP").getScale());
+        Assert.assertEquals(2, registry.quote("BTC-CLP").getScale());
+        Assert.assertEquals(9, registry.base("ETH-CLP").getScale());
+    }
+
+    @Test
+    public void interned() throws IOException {
+        CurrencyRegistry registry = newRegistry();
+
+        Assert.assertSame(registry.get("BTC"), registry.base("BTC-CLP"));
+        Assert.assertSame(registry.get("btc"), registry.quote("ETH-BTC"));
+        Assert.assertSame(registry.get("XYZ"), registry.get("XYZ"));
+        Assert.assertEquals(CurrencyRegistry.DEFAULT_SCALE, registry.get("XYZ").getScale());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknown_market() throws IOException {
+        newRegistry().base("ABC-XYZ");
+    }
+
+    @Test
+    public void model_accessors() throws IOException {
+        CurrencyRegistry registry = newRegistry();
+
+        Order order = JacksonJSON.INSTANCE.order(convertStreamToString(getClass().getResourceAsStream("/order.json")));
+        Amount tradedAmount = order.getTradedAmount(registry);
+        Assert.assertEquals(0, order.getTradedAmount().compareTo(tradedAmount.toBigDecimal()));
+        Assert.assertSame(registry.get(order.getTradedAmountCurrency()), tradedAmount.getCurrency());
+
+        Ticker ticker = JacksonJSON.INSTANCE.ticker(convertStreamToString(getClass().getResourceAsStream("/ticker.json")));
+        Assert.assertEquals(0, ticker.getLastPrice().compareTo(ticker.getLastPrice(registry).toBigDecimal()));
+
+        Trades.Transaction transaction = JacksonJSON.INSTANCE.trades(convertStreamToString(getClass().getResourceAsStream("/trades1.json"))).getEntries().get(0);
+        Assert.assertEquals(0, transaction.getPrice().compareTo(transaction.getPrice(registry, "BTC-CLP").toBigDecimal()));
+        Assert.assertEquals(0, transaction.getAmount().compareTo(transaction.getAmount(registry, "BTC-CLP").toBigDecimal()));
+        Assert.assertSame(registry.base("BTC-CLP"), transaction.getAmount(registry, "BTC-CLP").getCurrency());
+
+        Trades.Transaction empty = new BudaTransaction(transaction.getTimestamp(), null, null, "buy");
+        Assert.assertNull(empty.getAmount(registry, "BTC-CLP"));
+        Assert.assertNull(empty.getPrice(registry, "BTC-CLP"));
+    }
+
+}
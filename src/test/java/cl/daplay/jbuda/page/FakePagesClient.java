@@ -0,0 +1,111 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.HTTPClient;
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.Signer;
+import cl.daplay.jbuda.jackson.JacksonJSON;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * serves a synthetic order history the way buda.com does: newest first, in pages of 'per' orders (20 by
+ * default), with their totals at 'meta'. Order i (0 being the newest) has id count - i, and was created id seconds
+ * after FIRST, so the same order looks the same whatever count is.
+ */
+public class FakePagesClient implements HTTPClient {
+
+    public final static Instant FIRST = Instant.parse("2018-02-06T04:19:57Z");
+
+    final int count;
+    final String[] states;
+    final long delayMillis;
+
+    public final AtomicInteger requests = new AtomicInteger();
+    public final Map<Integer, AtomicInteger> pageRequests = new ConcurrentHashMap<>();
+    public final AtomicInteger orderRequests = new AtomicInteger();
+    final AtomicInteger inFlight = new AtomicInteger();
+    final AtomicInteger maxInFlight = new AtomicInteger();
+
+    public FakePagesClient(int count, long delayMillis) {
+        this.count = count;
+        this.states = new String[count];
+        this.delayMillis = delayMillis;
+
+        for (int i = 0; i < count; i++) {
+            states[i] = "traded";
+        }
+    }
+
+    public JBuda jbuda() {
+        return new JBuda(this, JBuda.newBigDecimalFormat(), JacksonJSON.INSTANCE, null, null);
+    }
+
+    public void setState(long id, String state) {
+        states[count - (int) id] = state;
+    }
+
+    @Override
+    public <T> T get(String path, Signer signer, HTTPResponseHandler<T> responseMapper) throws Exception {
+        requests.incrementAndGet();
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+        try {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+
+            if (path.startsWith("/api/v2/orders/")) {
+                orderRequests.incrementAndGet();
+                int id = Integer.parseInt(path.substring("/api/v2/orders/".length()));
+                return responseMapper.handle(200, String.format("{\"order\":%s}", order(count - id)));
+            }
+
+            int page = parameter(path, "page", 1);
+            int per = parameter(path, "per", 20);
+            pageRequests.computeIfAbsent(page, key -> new AtomicInteger()).incrementAndGet();
+
+            StringBuilder orders = new StringBuilder();
+            for (int i = (page - 1) * per; i < Math.min(count, page * per); i++) {
+                orders.append(orders.length() == 0 ? "" : ",").append(order(i));
+            }
+
+            String json = String.format("{\"orders\":[%s],\"meta\":{\"total_pages\":%d,\"total_count\":%d,\"current_page\":%d}}",
+                    orders, (count + per - 1) / per, count, page);
+            return responseMapper.handle(200, json);
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    @Override
+    public <T> T put(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> T post(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+        throw new UnsupportedOperationException();
+    }
+
+    private String order(int i) {
+        return String.format("{\"id\":%d,\"market_id\":\"BTC-CLP\",\"account_id\":1895,\"type\":\"Ask\",\"state\":\"%s\"," +
+                        "\"created_at\":\"%s\",\"fee_currency\":\"CLP\",\"price_type\":\"market\",\"limit\":null," +
+                        "\"amount\":[\"0.0\",\"BTC\"],\"original_amount\":[\"0.02780227\",\"BTC\"],\"traded_amount\":[\"0.02780227\",\"BTC\"]," +
+                        "\"total_exchanged\":[\"120967.72\",\"CLP\"],\"paid_fee\":[\"967.74\",\"CLP\"]}",
+                count - i, states[i], FIRST.plusSeconds(count - i));
+    }
+
+    private static int parameter(String path, String name, int defaultValue) {
+        int index = path.indexOf(name + "=");
+        if (index < 0 || (path.charAt(index - 1) != '?' && path.charAt(index - 1) != '&')) {
+            return defaultValue;
+        }
+
+        int end = path.indexOf('&', index);
+        return Integer.parseInt(path.substring(index + name.length() + 1, end < 0 ? path.length() : end));
+    }
+
+}
@@ -0,0 +1,84 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.model.Order;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class PageIterator_UT {
+
+    @Test
+    public void streams_every_order_once() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_005, 0);
+
+        try (Stream<Order> orders = client.jbuda().streamOrders("BTC-CLP")) {
+            long expected = 1_005;
+            for (Iterator<Order> iterator = orders.iterator(); iterator.hasNext(); ) {
+                Assert.assertEquals(expected--, iterator.next().getId());
+            }
+            Assert.assertEquals(0, expected);
+        }
+
+        // pages of PageSizer.MAX_PER orders
+        Assert.assertEquals(4, client.requests.get());
+        Assert.assertEquals(1, client.maxInFlight.get());
+        client.pageRequests.forEach((page, requests) -> Assert.assertEquals("page " + page, 1, requests.get()));
+    }
+
+    @Test
+    public void reads_one_page_ahead() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+
+        try (Stream<Order> orders = client.jbuda().streamOrders("BTC-CLP")) {
+            Iterator<Order> iterator = orders.iterator();
+            Assert.assertEquals(1_000, iterator.next().getId());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.requests.get() < 2 && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+
+            Assert.assertEquals(2, client.requests.get());
+        }
+    }
+
+    @Test
+    public void stops_on_early_close() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+
+        try (Stream<Order> orders = client.jbuda().streamOrders("BTC-CLP", "traded")) {
+            Assert.assertEquals(30, orders.limit(30).count());
+        }
+
+        Assert.assertTrue(client.requests.get() <= 3);
+    }
+
+    @Test
+    public void stops_on_empty_page() {
+        PageIterator<String> iterator = new PageIterator<>(Arrays.asList("a", "b"),
+                page -> page == 1 ? Collections.singletonList("c") : Collections.<String>emptyList(), 10);
+
+        List<String> out = iterator.stream().collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("a", "b", "c"), out);
+        Assert.assertFalse(iterator.hasNext());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void fails_with_the_request() {
+        PageIterator<String> iterator = new PageIterator<>(Collections.singletonList("a"), page -> {
+            throw new IllegalStateException("boom");
+        }, 2);
+
+        iterator.next();
+        iterator.next();
+    }
+
+}
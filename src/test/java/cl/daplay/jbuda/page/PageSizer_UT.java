@@ -0,0 +1,121 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.model.Order;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+public class PageSizer_UT {
+
+    private final static long MILLIS = 1_000_000L;
+
+    @Test
+    public void scans_with_the_largest_page_until_measured() {
+        PageSizer sizer = new PageSizer();
+
+        Assert.assertEquals(PageSizer.MAX_PER, sizer.scan());
+        Assert.assertEquals(5, sizer.latest(5));
+        Assert.assertEquals(PageSizer.MAX_PER, sizer.latest(5_000));
+    }
+
+    @Test
+    public void fits_fixed_and_per_record_costs() {
+        PageSizer sizer = new PageSizer();
+
+        // 100ms per request plus 10ms per record
+        for (int i = 0; i < 50; i++) {
+            int records = i % 2 == 0 ? 20 : 100;
+            sizer.record(records, (100 + 10 * records) * MILLIS);
+        }
+
+        Assert.assertEquals(100 * MILLIS, sizer.getFixedNanos(), MILLIS);
+        Assert.assertEquals(10 * MILLIS, sizer.getNanosPerRecord(), MILLIS / 100);
+        // (2s - 100ms) / 10ms
+        Assert.assertEquals(190, sizer.scan(), 1);
+    }
+
+    @Test
+    public void fast_pages_keep_the_largest_size() {
+        PageSizer sizer = new PageSizer();
+
+        for (int i = 0; i < 10; i++) {
+            sizer.record(PageSizer.MAX_PER, 300 * MILLIS);
+        }
+
+        Assert.assertEquals(PageSizer.MAX_PER, sizer.scan());
+    }
+
+    @Test
+    public void slow_pages_get_smaller_but_not_below_default() {
+        PageSizer sizer = new PageSizer(PageSizer.MAX_PER, Duration.ofSeconds(1));
+
+        for (int i = 0; i < 10; i++) {
+            sizer.record(PageSizer.MAX_PER, 3_000 * MILLIS);
+        }
+        // 10ms per record, as pages of a single size can't tell fixed costs apart
+        Assert.assertEquals(100, sizer.scan());
+
+        // 100ms per record
+        PageSizer slow = new PageSizer(PageSizer.MAX_PER, Duration.ofSeconds(1));
+        for (int i = 0; i < 10; i++) {
+            slow.record(20, 2_000 * MILLIS);
+            slow.record(PageSizer.MAX_PER, 30_000 * MILLIS);
+        }
+        Assert.assertEquals(PageSizer.DEFAULT_PER, slow.scan());
+    }
+
+    @Test
+    public void ignores_empty_pages() {
+        PageSizer sizer = new PageSizer();
+        sizer.record(0, 60_000 * MILLIS);
+
+        Assert.assertEquals(PageSizer.MAX_PER, sizer.scan());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejects_small_max_per() {
+        new PageSizer(PageSizer.DEFAULT_PER - 1, PageSizer.DEFAULT_TARGET);
+    }
+
+    @Test
+    public void latest_orders_in_a_single_small_page() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+
+        List<Order> orders = client.jbuda().getLatestOrders("BTC-CLP", 5);
+
+        Assert.assertEquals(5, orders.size());
+        Assert.assertEquals(1_000, orders.get(0).getId());
+        Assert.assertEquals(996, orders.get(4).getId());
+        Assert.assertEquals(1, client.requests.get());
+    }
+
+    @Test
+    public void latest_orders_beyond_a_page() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+        JBuda jbuda = client.jbuda();
+
+        List<Order> orders = jbuda.getLatestOrders("BTC-CLP", 700);
+        Assert.assertEquals(700, orders.size());
+        Assert.assertEquals(301, orders.get(699).getId());
+        Assert.assertEquals(3, client.requests.get());
+
+        Assert.assertEquals(1_000, jbuda.getLatestOrders("BTC-CLP", 5_000).size());
+    }
+
+    @Test
+    public void latest_orders_need_a_positive_limit() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+
+        try {
+            client.jbuda().getLatestOrders("BTC-CLP", 0);
+            Assert.fail();
+        } catch (IllegalArgumentException e) {
+            Assert.assertEquals("Invalid limit: 0", e.getMessage());
+        }
+        Assert.assertEquals(0, client.requests.get());
+    }
+
+}
@@ -0,0 +1,119 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.model.Order;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+public class PageSpliterator_UT {
+
+    @Test
+    public void splits_on_page_boundaries() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_005, 0);
+        List<Order> orders = client.jbuda().getOrders("BTC-CLP");
+
+        Spliterator<Order> suffix = orders.spliterator();
+        Assert.assertFalse(suffix.hasCharacteristics(Spliterator.SIZED));
+        Assert.assertEquals(1_005, suffix.estimateSize());
+
+        // 51 pages: the first one plus 25 to the prefix, 25 to the suffix
+        Spliterator<Order> prefix = suffix.trySplit();
+        Assert.assertEquals(520, prefix.estimateSize());
+        Assert.assertEquals(485, suffix.estimateSize());
+
+        long[] first = new long[1];
+        Assert.assertTrue(suffix.tryAdvance(order -> first[0] = order.getId()));
+        Assert.assertEquals(485, first[0]);
+        Assert.assertEquals(484, suffix.estimateSize());
+
+        Assert.assertTrue(prefix.tryAdvance(order -> first[0] = order.getId()));
+        Assert.assertEquals(1_005, first[0]);
+        // only the first page was fetched by getOrders, and page 27 by the suffix
+        Assert.assertEquals(2, client.requests.get());
+    }
+
+    @Test
+    public void parallel_streams_fetch_each_page_once() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_005, 20);
+        List<Order> orders = client.jbuda().getOrders("BTC-CLP");
+
+        Assert.assertEquals(1_005L * 1_006 / 2, orders.parallelStream().mapToLong(Order::getId).sum());
+        Assert.assertEquals(1_005, orders.parallelStream().toArray().length);
+
+        client.pageRequests.forEach((page, requests) -> Assert.assertEquals("page " + page, 1, requests.get()));
+        if (Runtime.getRuntime().availableProcessors() > 1) {
+            Assert.assertTrue(client.maxInFlight.get() > 1);
+        }
+    }
+
+    @Test
+    public void streams_read_pages_already_fetched() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_005, 0);
+        List<Order> orders = client.jbuda().getOrders("BTC-CLP");
+
+        for (Order order : orders.subList(0, 500)) {
+            Assert.assertNotNull(order);
+        }
+        Assert.assertEquals(25, client.requests.get());
+
+        Assert.assertEquals(1_005, orders.stream().count());
+        Assert.assertEquals(1_005, orders.parallelStream().map(Order::getId).distinct().count());
+        Assert.assertEquals(51, client.requests.get());
+    }
+
+    @Test
+    public void prefetched_pages_are_shared() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+        List<Order> orders = client.jbuda().withPagePrefetch(2).getOrders("BTC-CLP");
+
+        List<Long> ids = orders.parallelStream().map(Order::getId).collect(Collectors.toList());
+
+        Assert.assertEquals(1_000, ids.size());
+        Assert.assertEquals(Long.valueOf(1_000), ids.get(0));
+        Assert.assertEquals(Long.valueOf(1), ids.get(999));
+        Assert.assertEquals(50, client.requests.get());
+    }
+
+    @Test
+    public void stops_on_empty_page() {
+        Spliterator<String> spliterator = new PageSpliterator<>(Arrays.asList("a", "b"),
+                page -> page == 1 ? Collections.<String>emptyList() : Collections.singletonList("c"), 3, 5);
+
+        Assert.assertEquals(Arrays.asList("a", "b"), StreamSupport.stream(spliterator, false).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void history_grows_between_pages() {
+        // 3 records when the first page was read, 4 by the second one
+        List<String> list = new PagedList<>(Arrays.asList("a", "b"), page -> Arrays.asList("c", "d"), 2, 3);
+
+        Assert.assertArrayEquals(new Object[]{"a", "b", "c", "d"}, list.stream().toArray());
+        Assert.assertArrayEquals(new Object[]{"a", "b", "c", "d"}, list.parallelStream().toArray());
+    }
+
+    @Test
+    public void history_shrinks_between_pages() {
+        // 4 records when the first page was read, 3 by the second one
+        List<String> list = new PagedList<>(Arrays.asList("a", "b"), page -> Collections.singletonList("c"), 2, 4);
+
+        Assert.assertArrayEquals(new Object[]{"a", "b", "c"}, list.stream().toArray());
+        Assert.assertArrayEquals(new Object[]{"a", "b", "c"}, list.parallelStream().toArray());
+    }
+
+    @Test(expected = RuntimeException.class)
+    public void fails_with_the_request() {
+        Spliterator<String> spliterator = new PageSpliterator<>(Collections.singletonList("a"), page -> {
+            throw new Exception("boom");
+        }, 2, 2);
+
+        spliterator.forEachRemaining(value -> {
+        });
+    }
+
+}
@@ -0,0 +1,97 @@
+package cl.daplay.jbuda.page;
+
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.model.Order;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class PrefetchingList_UT {
+
+    @Test
+    public void prefetches_every_page_once() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 20);
+        JBuda jbuda = client.jbuda().withPagePrefetch(4);
+
+        List<Order> orders = jbuda.getOrders("BTC-CLP");
+        Assert.assertTrue(orders instanceof PrefetchingList);
+        Assert.assertEquals(1_000, orders.size());
+
+        // readers race the prefetch tasks, and each other
+        List<Throwable> failures = new CopyOnWriteArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> readers = new ArrayList<>();
+
+        for (int r = 0; r < 4; r++) {
+            final boolean backwards = r % 2 == 1;
+            Thread reader = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < orders.size(); j++) {
+                        int i = backwards ? orders.size() - 1 - j : j;
+                        Assert.assertEquals(1_000 - i, orders.get(i).getId());
+                    }
+                } catch (Throwable e) {
+                    failures.add(e);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        Assert.assertEquals(Arrays.asList(), failures);
+        Assert.assertEquals(50, client.requests.get());
+        client.pageRequests.forEach((page, requests) -> Assert.assertEquals("page " + page, 1, requests.get()));
+        Assert.assertTrue(client.maxInFlight.get() <= 4);
+    }
+
+    @Test
+    public void fetches_in_parallel() throws Exception {
+        FakePagesClient client = new FakePagesClient(400, 50);
+        long start = System.nanoTime();
+
+        List<Order> orders = client.jbuda().withPagePrefetch(5).getOrders("BTC-CLP");
+        Assert.assertEquals(1, orders.get(399).getId());
+
+        // 19 remaining pages, 5 at a time, instead of 19 * 50ms
+        Assert.assertTrue(System.nanoTime() - start < 19 * 50 * 1_000_000L);
+        Assert.assertTrue(client.maxInFlight.get() > 1);
+    }
+
+    @Test
+    public void failed_pages_are_fetched_again() {
+        List<Integer> requested = new CopyOnWriteArrayList<>();
+        List<String> first = Arrays.asList("a", "b");
+
+        PrefetchingList<String> list = new PrefetchingList<>(first, page -> {
+            requested.add(page);
+            if (requested.size() == 1) {
+                throw new IllegalStateException("boom");
+            }
+            return Arrays.asList("c", "d");
+        }, 2, 4, 1, Runnable::run);
+
+        Assert.assertEquals("c", list.get(2));
+        Assert.assertEquals(Arrays.asList(1, 1), requested);
+    }
+
+    @Test
+    public void lazy_by_default() throws Exception {
+        FakePagesClient client = new FakePagesClient(100, 0);
+        List<Order> orders = client.jbuda().getOrders("BTC-CLP");
+
+        Assert.assertFalse(orders instanceof PrefetchingList);
+        Assert.assertEquals(1, client.requests.get());
+    }
+
+}
@@ -0,0 +1,132 @@
+package cl.daplay.jbuda.poll;
+
+import cl.daplay.jbuda.HTTPClient;
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.Signer;
+import cl.daplay.jbuda.http.RateLimiter;
+import cl.daplay.jbuda.jackson.JacksonJSON;
+import cl.daplay.jbuda.model.Ticker;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+public class MarketPoller_UT {
+
+    private final static long MS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    public void interval_slows_down_while_quiet() {
+        AdaptiveInterval interval = new AdaptiveInterval(10 * MS, 1000 * MS);
+
+        for (int i = 0; i < 100; i++) {
+            interval.update(false, 0);
+        }
+
+        Assert.assertEquals(1000 * MS, interval.nanos());
+    }
+
+    @Test
+    public void interval_speeds_up_on_changes() {
+        AdaptiveInterval interval = new AdaptiveInterval(10 * MS, 1000 * MS);
+
+        for (int i = 0; i < 100; i++) {
+            interval.update(false, 0);
+        }
+        interval.update(true, 0);
+
+        Assert.assertEquals(500 * MS, interval.nanos());
+    }
+
+    @Test
+    public void interval_speeds_up_on_volatility() {
+        AdaptiveInterval quiet = new AdaptiveInterval(10 * MS, 1000 * MS);
+        AdaptiveInterval volatile_ = new AdaptiveInterval(10 * MS, 1000 * MS);
+
+        for (int i = 0; i < 5; i++) {
+            quiet.update(false, 0);
+            volatile_.update(false, 50);
+        }
+
+        Assert.assertTrue(volatile_.getVolatility() > 0);
+        Assert.assertTrue(volatile_.nanos() < quiet.nanos());
+    }
+
+    @Test
+    public void interval_backs_off_on_failures() {
+        AdaptiveInterval interval = new AdaptiveInterval(10 * MS, 1000 * MS);
+        interval.backoff();
+
+        Assert.assertEquals(20 * MS, interval.nanos());
+    }
+
+    @Test
+    public void unchanged_responses_are_not_published() throws Exception {
+        String json = convertStreamToString(getClass().getResourceAsStream("/ticker.json"));
+        AtomicInteger requests = new AtomicInteger();
+        JBuda jbuda = new JBuda(httpClient(json, requests), null, JacksonJSON.INSTANCE, null, null);
+        List<Ticker> tickers = new CopyOnWriteArrayList<>();
+
+        try (MarketPoller poller = new MarketPoller(jbuda, new RateLimiter(1000), 1, Duration.ofMillis(1), Duration.ofMillis(20))) {
+            poller.watchTicker("BTC-CLP", tickers::add);
+            poller.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests.get() < 10 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            Assert.assertTrue(requests.get() >= 10);
+            Assert.assertEquals(1, tickers.size());
+            Assert.assertTrue(poller.getInterval("BTC-CLP", MarketPoller.Feed.TICKER).compareTo(Duration.ofMillis(1)) > 0);
+            Assert.assertNull(poller.getInterval("BTC-CLP", MarketPoller.Feed.TRADES));
+        }
+    }
+
+    @Test
+    public void failed_handling_keeps_polling() throws Exception {
+        JBuda jbuda = new JBuda(httpClient("{}", new AtomicInteger()), null, JacksonJSON.INSTANCE, null, null);
+        AtomicInteger polls = new AtomicInteger();
+
+        try (MarketPoller poller = new MarketPoller(jbuda, new RateLimiter(1000), 1, Duration.ofMillis(1), Duration.ofMillis(5))) {
+            poller.watch("BTC-CLP", MarketPoller.Feed.TICKER, polls::incrementAndGet, value -> {
+                throw new NullPointerException("no body");
+            }, value -> 0, value -> Assert.fail());
+            poller.start();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (polls.get() < 3 && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+
+            Assert.assertTrue(polls.get() >= 3);
+        }
+    }
+
+    private static HTTPClient httpClient(String json, AtomicInteger requests) {
+        return new HTTPClient() {
+            @Override
+            public <T> T get(String path, Signer signer, HTTPResponseHandler<T> responseMapper) throws Exception {
+                requests.incrementAndGet();
+                return responseMapper.handle(200, json);
+            }
+
+            @Override
+            public <T> T put(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public <T> T post(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,148 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.model.Trades;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TradeQuery_UT {
+
+    private final static long START = 1_500_000_000_000L;
+    private final static int TRADES = TradeStore.BLOCK_SIZE * 40 + 123;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private TradeStore store;
+
+    @Before
+    public void before() throws IOException {
+        store = TradeStore.open(folder.getRoot().toPath(), 2, 8);
+
+        // one trade per second, amount i, price 1000.00 + i % 10
+        for (int i = 0; i < TRADES; i++) {
+            store.append(START + i * 1000L, 100_000 + i % 10, i, i % 4 == 0);
+        }
+        store.flush();
+    }
+
+    @After
+    public void after() throws IOException {
+        store.close();
+    }
+
+    @Test
+    public void index_finds_blocks_in_range() throws IOException {
+        TimeIndex index = new TimeIndex(store.reader());
+
+        Assert.assertTrue(index.isOrdered());
+        Assert.assertArrayEquals(new int[]{0}, index.blocks(START, START + 1));
+        Assert.assertArrayEquals(new int[]{1, 2}, index.blocks(START + TradeStore.BLOCK_SIZE * 1000L, START + TradeStore.BLOCK_SIZE * 2000L + 1));
+        Assert.assertEquals(0, index.blocks(START - 10, START).length);
+        Assert.assertEquals(41, index.blocks(Long.MIN_VALUE, Long.MAX_VALUE).length);
+    }
+
+    @Test
+    public void scan_and_count() throws IOException {
+        TradeQuery query = new TradeQuery(store);
+        Instant from = Instant.ofEpochMilli(START + 5_000_500);
+        Instant to = Instant.ofEpochMilli(START + 100_000_000);
+
+        AtomicLong scanned = new AtomicLong();
+        AtomicLong previous = new AtomicLong(Long.MIN_VALUE);
+        query.scan(from, to, (timestamp, price, amount, buy) -> {
+            Assert.assertTrue(timestamp >= from.toEpochMilli() && timestamp < to.toEpochMilli());
+            Assert.assertTrue(timestamp > previous.get());
+            previous.set(timestamp);
+            scanned.incrementAndGet();
+        });
+
+        Assert.assertEquals(100_000 - 5_001, scanned.get());
+        Assert.assertEquals(scanned.get(), query.count(from, to));
+    }
+
+    @Test
+    public void columns_match_aggregate() throws IOException {
+        TradeQuery query = new TradeQuery(store);
+        Instant from = Instant.ofEpochMilli(START + 1_000_000);
+        Instant to = Instant.ofEpochMilli(START + 50_000_000);
+
+        TradeColumns columns = query.columns(from, to);
+        TradeAggregate aggregate = query.aggregate(from, to);
+
+        Assert.assertEquals(aggregate.getCount(), columns.size());
+        Assert.assertEquals(START + 1_000_000, columns.timestamps()[0]);
+        Assert.assertEquals(aggregate.getBuyVolume(), columns.buyVolume());
+        Assert.assertEquals(aggregate.getSellVolume(), columns.sellVolume());
+        Assert.assertEquals(aggregate.getVolume(), columns.volume());
+        Assert.assertEquals(100_000, columns.minPrice());
+        Assert.assertEquals(100_009, columns.maxPrice());
+        Assert.assertEquals(aggregate.getVwap(), columns.vwap(), 1e-9);
+        Assert.assertEquals(aggregate.getNotional(), columns.notional(), aggregate.getNotional() * 1e-12);
+    }
+
+    @Test
+    public void aggregates() throws IOException {
+        TradeQuery query = new TradeQuery(store);
+        Instant from = Instant.ofEpochMilli(START);
+        Instant to = Instant.ofEpochMilli(START + TRADES * 1000L);
+
+        List<TradeAggregate> minutes = query.aggregate(from, to, Duration.ofMinutes(1));
+        Assert.assertEquals((TRADES + 59) / 60, minutes.size());
+
+        TradeAggregate second = minutes.get(1);
+        Assert.assertEquals(60, second.getCount());
+        Assert.assertEquals(15, second.getBuyCount());
+        Assert.assertEquals(45, second.getSellCount());
+        // amounts 60 to 119
+        Assert.assertEquals((60 + 119) * 30, second.getVolume());
+
+        long volume = 0;
+        long count = 0;
+        for (TradeAggregate minute : minutes) {
+            volume += minute.getVolume();
+            count += minute.getCount();
+        }
+
+        TradeAggregate total = query.aggregate(from, to);
+        Assert.assertEquals(TRADES, count);
+        Assert.assertEquals(TRADES, total.getCount());
+        Assert.assertEquals(volume, total.getVolume());
+        Assert.assertTrue(total.getVwap() > 1000.0 && total.getVwap() < 1000.1);
+    }
+
+    @Test
+    public void aggregates_of_empty_ranges() throws IOException {
+        TradeQuery query = new TradeQuery(store);
+
+        List<TradeAggregate> hours = query.aggregate(Instant.ofEpochMilli(START - 7_200_000), Instant.ofEpochMilli(START), Duration.ofHours(1));
+
+        Assert.assertEquals(2, hours.size());
+        Assert.assertEquals(0, hours.get(0).getCount());
+        Assert.assertTrue(Double.isNaN(hours.get(1).getVwap()));
+    }
+
+    @Test
+    public void top() throws IOException {
+        TradeQuery query = new TradeQuery(store);
+
+        List<Trades.Transaction> top = query.top(Instant.ofEpochMilli(START), Instant.ofEpochMilli(START + 50_000_000), 5);
+
+        Assert.assertEquals(5, top.size());
+        for (int i = 0; i < 5; i++) {
+            long index = 49_999 - i;
+            Assert.assertEquals(START + index * 1000, top.get(i).getTimestamp().toEpochMilli());
+            Assert.assertEquals(index, top.get(i).getAmount().movePointRight(8).longValueExact());
+        }
+    }
+
+}
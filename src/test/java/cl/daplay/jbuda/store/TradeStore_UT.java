@@ -0,0 +1,160 @@
+package cl.daplay.jbuda.store;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import cl.daplay.jbuda.model.Trades;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+public class TradeStore_UT {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void before() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void round_trip() throws IOException {
+        int count = TradeStore.BLOCK_SIZE * 2 + 100;
+
+        try (TradeStore store = TradeStore.open(directory, 2, 8)) {
+            for (int i = 0; i < count; i++) {
+                store.append(1_500_000_000_000L + i * 13 - (i % 3), 380_000_000L + (i % 7 - 3) * 100, i * 1_000_000L, i % 3 == 0);
+            }
+            Assert.assertEquals(count, store.size());
+            store.flush();
+
+            TradeReader reader = store.reader();
+            Assert.assertEquals(3, reader.blocks());
+            Assert.assertEquals(count, reader.size());
+
+            for (int i = 0; i < count; i++) {
+                Assert.assertTrue(reader.next());
+                Assert.assertEquals(1_500_000_000_000L + i * 13 - (i % 3), reader.timestamp());
+                Assert.assertEquals(380_000_000L + (i % 7 - 3) * 100, reader.price());
+                Assert.assertEquals(i * 1_000_000L, reader.amount());
+                Assert.assertEquals(i % 3 == 0, reader.isBuy());
+            }
+            Assert.assertFalse(reader.next());
+
+            // deltas and varints, instead of 25 bytes per trade
+            Assert.assertTrue(segmentBytes() < count * 12);
+        }
+    }
+
+    @Test
+    public void reopen_and_append() throws IOException {
+        List<Trades.Transaction> expected = new ArrayList<>();
+
+        // trades4.json is an ETH-BTC market, amounts with 9 decimals
+        try (TradeStore store = TradeStore.open(directory, 8, 9)) {
+            for (int i = 1; i <= 3; i++) {
+                Trades trades = BudaJSON.INSTANCE.trades(convertStreamToString(getClass().getResourceAsStream("/trades" + i + ".json")));
+                store.append(trades);
+                for (int j = trades.getEntries().size() - 1; j >= 0; j--) {
+                    expected.add(trades.getEntries().get(j));
+                }
+            }
+        }
+
+        try (TradeStore store = TradeStore.open(directory, 8, 9)) {
+            Assert.assertEquals(expected.size(), store.size());
+
+            Trades trades = BudaJSON.INSTANCE.trades(convertStreamToString(getClass().getResourceAsStream("/trades4.json")));
+            store.append(trades);
+            for (int j = trades.getEntries().size() - 1; j >= 0; j--) {
+                expected.add(trades.getEntries().get(j));
+            }
+            store.flush();
+
+            TradeReader reader = store.reader();
+            for (Trades.Transaction transaction : expected) {
+                Assert.assertTrue(reader.next());
+                Trades.Transaction actual = reader.transaction();
+                Assert.assertEquals(transaction.getTimestamp(), actual.getTimestamp());
+                Assert.assertEquals(0, transaction.getPrice().compareTo(actual.getPrice()));
+                Assert.assertEquals(0, transaction.getAmount().compareTo(actual.getAmount()));
+                Assert.assertEquals(transaction.getDirection(), actual.getDirection());
+            }
+            Assert.assertFalse(reader.next());
+            Assert.assertEquals(expected.stream().mapToLong(t -> t.getTimestamp().toEpochMilli()).max().getAsLong(), store.getNewestTimestamp());
+        }
+    }
+
+    @Test
+    public void torn_block_is_dropped() throws IOException {
+        try (TradeStore store = TradeStore.open(directory, 0, 0)) {
+            store.append(1000, 1, 1, true);
+            store.flush();
+            store.append(2000, 2, 2, false);
+        }
+
+        Path segment = segments().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try (TradeStore store = TradeStore.open(directory, 0, 0)) {
+            Assert.assertEquals(1, store.size());
+            store.append(3000, 3, 3, true);
+            store.flush();
+
+            TradeReader reader = store.reader();
+            Assert.assertTrue(reader.next());
+            Assert.assertEquals(1000, reader.timestamp());
+            Assert.assertTrue(reader.next());
+            Assert.assertEquals(3000, reader.timestamp());
+            Assert.assertFalse(reader.next());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void scales_must_match() throws IOException {
+        TradeStore.open(directory, 2, 8).close();
+        TradeStore.open(directory, 2, 9);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void too_many_decimals() throws IOException {
+        try (TradeStore store = TradeStore.open(directory, 0, 0)) {
+            Trades trades = BudaJSON.INSTANCE.trades(convertStreamToString(getClass().getResourceAsStream("/trades1.json")));
+            store.append(trades);
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.seg")) {
+            stream.forEach(segments::add);
+        }
+        segments.sort(null);
+        return segments;
+    }
+
+    private long segmentBytes() throws IOException {
+        long bytes = 0;
+        for (Path segment : segments()) {
+            bytes += Files.size(segment);
+        }
+        return bytes;
+    }
+
+}
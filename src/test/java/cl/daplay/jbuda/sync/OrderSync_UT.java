@@ -0,0 +1,132 @@
+package cl.daplay.jbuda.sync;
+
+import cl.daplay.jbuda.model.Order;
+import cl.daplay.jbuda.page.FakePagesClient;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class OrderSync_UT {
+
+    @Test
+    public void first_sync_reads_everything() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+        client.setState(1_000, "pending");
+
+        OrderSync sync = new OrderSync(client.jbuda(), "BTC-CLP");
+        List<Order> orders = sync.sync();
+
+        Assert.assertEquals(1_000, orders.size());
+        Assert.assertEquals(1_000, sync.getWatermark().getNewestId());
+        Assert.assertEquals(Arrays.asList(1_000L), ids(sync.getWatermark().getOpen().values()));
+        Assert.assertEquals(50, client.requests.get());
+    }
+
+    @Test
+    public void stops_at_the_first_known_terminal_order() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+        OrderSync sync = new OrderSync(client.jbuda(), "BTC-CLP");
+        sync.sync();
+        client.requests.set(0);
+
+        Assert.assertEquals(Arrays.asList(), sync.sync());
+        Assert.assertEquals(1, client.requests.get());
+    }
+
+    @Test
+    public void never_prefetches() throws Exception {
+        FakePagesClient client = new FakePagesClient(1_000, 0);
+        OrderSync sync = new OrderSync(client.jbuda().withPagePrefetch(4), "BTC-CLP");
+        sync.sync();
+        client.requests.set(0);
+
+        Assert.assertEquals(Arrays.asList(), sync.sync());
+        Thread.sleep(50);
+        Assert.assertEquals(1, client.requests.get());
+    }
+
+    @Test
+    public void returns_only_new_and_changed_orders() throws Exception {
+        FakePagesClient before = new FakePagesClient(1_000, 0);
+        for (long id = 995; id <= 1_000; id++) {
+            before.setState(id, "pending");
+        }
+        before.setState(10, "pending");
+
+        OrderSync first = new OrderSync(before.jbuda(), "BTC-CLP");
+        first.sync();
+        Assert.assertEquals(Arrays.asList(1_000L, 999L, 998L, 997L, 996L, 995L, 10L), ids(first.getWatermark().getOpen().values()));
+
+        // five new orders, one of them open, and two open ones done
+        FakePagesClient after = new FakePagesClient(1_005, 0);
+        for (long id = 995; id <= 1_000; id++) {
+            after.setState(id, "pending");
+        }
+        after.setState(1_003, "pending");
+        after.setState(998, "traded");
+        after.setState(10, "canceled");
+
+        OrderSync sync = new OrderSync(after.jbuda(), "BTC-CLP", first.getWatermark());
+        List<Order> changes = sync.sync();
+
+        Assert.assertEquals(Arrays.asList(1_005L, 1_004L, 1_003L, 1_002L, 1_001L, 998L, 10L), ids(changes));
+        Assert.assertEquals("traded", changes.get(5).getState());
+        Assert.assertEquals("canceled", changes.get(6).getState());
+
+        Assert.assertEquals(1_005, sync.getWatermark().getNewestId());
+        Assert.assertEquals(Arrays.asList(1_003L, 1_000L, 999L, 997L, 996L, 995L), ids(sync.getWatermark().getOpen().values()));
+
+        // a single page, plus the open order it didn't reach
+        Assert.assertEquals(2, after.requests.get());
+        Assert.assertEquals(1, after.orderRequests.get());
+    }
+
+    @Test
+    public void watermark_survives_serialization() throws Exception {
+        FakePagesClient client = new FakePagesClient(100, 0);
+        client.setState(50, "pending");
+
+        OrderSync sync = new OrderSync(client.jbuda(), "BTC-CLP");
+        sync.sync();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(sync.getWatermark());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            Assert.assertEquals(sync.getWatermark(), in.readObject());
+        }
+    }
+
+    @Test
+    public void failed_syncs_keep_the_watermark() throws Exception {
+        FakePagesClient client = new FakePagesClient(100, 0);
+        Order missing = new OrderSync(new FakePagesClient(200, 0).jbuda(), "BTC-CLP").sync().get(0);
+
+        // order 200 is open, but the client can't fetch it
+        OrderWatermark watermark = new OrderWatermark(100, Collections.singletonMap(200L, missing));
+        OrderSync sync = new OrderSync(client.jbuda(), "BTC-CLP", watermark);
+
+        try {
+            sync.sync();
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertSame(watermark, sync.getWatermark());
+        }
+    }
+
+    private static List<Long> ids(Iterable<Order> orders) {
+        List<Long> ids = new ArrayList<>();
+        orders.forEach(order -> ids.add(order.getId()));
+        return ids;
+    }
+
+}
@@ -0,0 +1,79 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.HTTPClient;
+import cl.daplay.jbuda.JBuda;
+import cl.daplay.jbuda.Signer;
+import cl.daplay.jbuda.json.BudaJSON;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * serves a synthetic trade history the way buda.com does: newest first, at most batchSize trades
+ * with timestamp <= the requested one, so boundary trades come back on the next batch
+ */
+class FakeTradesClient implements HTTPClient {
+
+    final long[] timestamps;
+    final int batchSize;
+    final AtomicInteger requests = new AtomicInteger();
+
+    /**
+     * @param timestamps trade timestamps in millis, descending, trade i has amount i + 1
+     */
+    FakeTradesClient(long[] timestamps, int batchSize) {
+        this.timestamps = timestamps;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @param perMillis trades sharing each millisecond
+     */
+    static long[] history(long newest, int count, int perMillis) {
+        long[] timestamps = new long[count];
+
+        for (int i = 0; i < count; i++) {
+            timestamps[i] = newest - 7 * (i / perMillis);
+        }
+
+        return timestamps;
+    }
+
+    JBuda jbuda() {
+        return new JBuda(this, null, BudaJSON.INSTANCE, null, null);
+    }
+
+    @Override
+    public <T> T get(String path, Signer signer, HTTPResponseHandler<T> responseMapper) throws Exception {
+        requests.incrementAndGet();
+
+        int index = path.indexOf("timestamp=");
+        long timestamp = index < 0 ? Long.MAX_VALUE : Long.parseLong(path.substring(index + "timestamp=".length()));
+
+        StringBuilder entries = new StringBuilder();
+        long last = 0;
+        int count = 0;
+
+        for (int i = 0; i < timestamps.length && count < batchSize; i++) {
+            if (timestamps[i] <= timestamp) {
+                entries.append(count == 0 ? "" : ",")
+                        .append(String.format("[\"%d\",\"%d.5\",\"1000.0\",\"%s\"]", timestamps[i], i + 1, i % 2 == 0 ? "buy" : "sell"));
+                last = timestamps[i];
+                count++;
+            }
+        }
+
+        String json = String.format("{\"trades\":{\"timestamp\":null,\"last_timestamp\":\"%d\",\"entries\":[%s]}}", last, entries);
+        return responseMapper.handle(200, json);
+    }
+
+    @Override
+    public <T> T put(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public <T> T post(String path, Signer signer, String jsonBody, HTTPResponseHandler<T> responseHandler) {
+        throw new UnsupportedOperationException();
+    }
+
+}
@@ -0,0 +1,59 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.http.RateLimiter;
+import cl.daplay.jbuda.model.Trades;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TradeBackfill_UT {
+
+    @Test
+    public void same_trades_as_a_single_cursor() {
+        // triples of trades on the same millisecond, some of them on segment edges
+        long[] timestamps = FakeTradesClient.history(1_000_000, 600, 3);
+        FakeTradesClient client = new FakeTradesClient(timestamps, 7);
+
+        Instant from = Instant.ofEpochMilli(timestamps[599]);
+        Instant to = Instant.ofEpochMilli(timestamps[0] + 1);
+
+        List<Trades.Transaction> expected;
+        try (Stream<Trades.Transaction> stream = client.jbuda().streamTrades("BTC-CLP", from, to)) {
+            expected = stream.collect(Collectors.toList());
+        }
+
+        List<Trades.Transaction> actual;
+        TradeBackfill backfill = new TradeBackfill(client.jbuda(), new RateLimiter(100_000), 3);
+        try (Stream<Trades.Transaction> stream = backfill.stream("BTC-CLP", from, to, 13)) {
+            actual = stream.collect(Collectors.toList());
+        }
+
+        Assert.assertEquals(600, expected.size());
+        Assert.assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertTrue(TradeCursor.same(expected.get(i), actual.get(i)));
+        }
+    }
+
+    @Test
+    public void split() {
+        Instant[] bounds = TradeBackfill.split(Instant.ofEpochMilli(0), Instant.ofEpochMilli(100), 4);
+
+        Assert.assertEquals(5, bounds.length);
+        Assert.assertEquals(100, bounds[0].toEpochMilli());
+        Assert.assertEquals(75, bounds[1].toEpochMilli());
+        Assert.assertEquals(0, bounds[4].toEpochMilli());
+    }
+
+    @Test
+    public void split_never_below_a_millisecond() {
+        Instant[] bounds = TradeBackfill.split(Instant.ofEpochMilli(0), Instant.ofEpochMilli(3), 10);
+
+        Assert.assertEquals(4, bounds.length);
+    }
+
+}
@@ -0,0 +1,75 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.model.Trades;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+public class TradeCursor_UT {
+
+    @Test
+    public void walks_history_without_duplicates_nor_gaps() {
+        // pairs of trades on the same millisecond, so batch boundaries split them
+        long[] timestamps = FakeTradesClient.history(1_000_000, 100, 2);
+        FakeTradesClient client = new FakeTradesClient(timestamps, 5);
+
+        Instant from = Instant.ofEpochMilli(timestamps[80]);
+        Instant to = Instant.ofEpochMilli(timestamps[10]);
+
+        try (Stream<Trades.Transaction> stream = client.jbuda().streamTrades("BTC-CLP", from, to)) {
+            List<Trades.Transaction> trades = stream.collect(Collectors.toList());
+
+            // to is exclusive, so trades 10 and 11 (same millisecond) are out, 80 and 81 are in
+            Assert.assertEquals(70, trades.size());
+            for (int i = 0; i < trades.size(); i++) {
+                Assert.assertEquals(timestamps[i + 12], trades.get(i).getTimestamp().toEpochMilli());
+                Assert.assertEquals(0, new BigDecimal((i + 13) + ".5").compareTo(trades.get(i).getAmount()));
+            }
+        }
+    }
+
+    @Test
+    public void whole_batch_in_one_millisecond() {
+        long[] timestamps = {1000, 1000, 1000, 1000, 999, 998};
+        FakeTradesClient client = new FakeTradesClient(timestamps, 3);
+
+        TradeCursor cursor = new TradeCursor(client.jbuda(), "BTC-CLP", Instant.ofEpochMilli(0), Instant.ofEpochMilli(2000));
+        int count = 0;
+        while (cursor.hasNext()) {
+            cursor.next();
+            count++;
+        }
+
+        // the fourth trade at 1000 can't be reached through the API
+        Assert.assertEquals(5, count);
+        Assert.assertEquals(998, cursor.getPosition().toEpochMilli());
+    }
+
+    @Test
+    public void stops_requesting_past_from() {
+        long[] timestamps = FakeTradesClient.history(1_000_000, 1000, 1);
+        FakeTradesClient client = new FakeTradesClient(timestamps, 10);
+
+        TradeCursor cursor = new TradeCursor(client.jbuda(), "BTC-CLP", Instant.ofEpochMilli(timestamps[25]), Instant.ofEpochMilli(timestamps[0] + 1));
+        int count = 0;
+        while (cursor.hasNext()) {
+            cursor.next();
+            count++;
+        }
+
+        Assert.assertEquals(26, count);
+        // three batches to reach trade 25, maybe a prefetched fourth one
+        Assert.assertTrue(client.requests.get() <= 4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_range() {
+        new TradeCursor(null, "BTC-CLP", Instant.ofEpochMilli(10), Instant.ofEpochMilli(10));
+    }
+
+}
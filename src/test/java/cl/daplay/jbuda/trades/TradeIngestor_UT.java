@@ -0,0 +1,100 @@
+package cl.daplay.jbuda.trades;
+
+import cl.daplay.jbuda.json.BudaJSON;
+import cl.daplay.jbuda.json.model.BudaTransaction;
+import cl.daplay.jbuda.model.Trades;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static cl.daplay.jbuda.Utils.convertStreamToString;
+
+public class TradeIngestor_UT {
+
+    @Test
+    public void overlapping_batches_are_forwarded_once() throws Exception {
+        List<Trades.Transaction> forwarded = new ArrayList<>();
+        Set<Trades.Transaction> expected = new HashSet<>();
+        TradeIngestor ingestor = new TradeIngestor(Duration.ofDays(60), forwarded::add);
+
+        List<Trades> batches = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            String json = convertStreamToString(getClass().getResourceAsStream("/trades" + i + ".json"));
+            batches.add(BudaJSON.INSTANCE.trades(json));
+        }
+
+        // every batch twice, as polling the same window again would return them
+        int total = 0;
+        for (int i = 0; i < 14; i++) {
+            Trades trades = batches.get(i % 2 == 0 ? i / 2 : (i / 2 + 3) % 7);
+
+            expected.addAll(trades.getEntries());
+            total += trades.getEntries().size();
+            ingestor.ingest(trades);
+        }
+
+        Assert.assertTrue(expected.size() < total);
+        Assert.assertEquals(expected.size(), forwarded.size());
+        Assert.assertEquals(expected, new HashSet<>(forwarded));
+        Assert.assertEquals(total - expected.size(), ingestor.getDuplicates());
+        Assert.assertEquals(0, ingestor.getLate());
+    }
+
+    @Test
+    public void amounts_are_compared_by_value() {
+        List<Trades.Transaction> forwarded = new ArrayList<>();
+        TradeIngestor ingestor = new TradeIngestor(Duration.ofMinutes(1), forwarded::add);
+
+        Assert.assertTrue(ingestor.accept(transaction(1000, "1.50", "buy")));
+        Assert.assertFalse(ingestor.accept(transaction(1000, "1.5", "buy")));
+        Assert.assertTrue(ingestor.accept(transaction(1000, "1.5", "sell")));
+        Assert.assertTrue(ingestor.accept(transaction(1001, "1.5", "sell")));
+
+        Assert.assertEquals(3, forwarded.size());
+    }
+
+    @Test
+    public void memory_is_bound_by_window() {
+        TradeIngestor ingestor = new TradeIngestor(Duration.ofSeconds(1), transaction -> {
+        });
+
+        for (int i = 0; i < 100_000; i++) {
+            ingestor.accept(transaction(i, "1", "buy"));
+        }
+
+        // one trade per millisecond, at most a window and a quarter of them remembered
+        Assert.assertTrue(ingestor.size() <= 1250);
+        Assert.assertFalse(ingestor.accept(transaction(10, "2", "buy")));
+        Assert.assertEquals(1, ingestor.getLate());
+    }
+
+    @Test
+    public void key_set() {
+        TradeKeySet set = new TradeKeySet();
+
+        for (long key = 0; key < 1000; key++) {
+            Assert.assertTrue(set.add(key, key));
+        }
+        Assert.assertFalse(set.add(500, 500));
+        Assert.assertEquals(1000, set.size());
+
+        set.expire(900);
+
+        Assert.assertEquals(100, set.size());
+        Assert.assertTrue(set.capacity() <= 256);
+        Assert.assertTrue(set.contains(950));
+        Assert.assertFalse(set.contains(10));
+    }
+
+    private static Trades.Transaction transaction(long millis, String amount, String direction) {
+        return new BudaTransaction(Instant.ofEpochMilli(millis), new BigDecimal(amount), new BigDecimal("1000"), direction);
+    }
+
+}